@@ -650,6 +650,11 @@ PRIMITIVE_ARRAY_TO_NATIVE(Long, int64_t, i64, polyglot_as_i64);
 PRIMITIVE_ARRAY_TO_NATIVE(Double, double, double, polyglot_as_double);
 PRIMITIVE_ARRAY_TO_NATIVE(Object, PyObjectPtr, PyObjectPtr, (PyObjectPtr));
 
+/** to be used from Java code only; frees an array created by one of the 'PyTruffle_*ArrayToNative' functions */
+PyAPI_FUNC(void) PyTruffle_ArrayFree(void* array) {
+    free(array);
+}
+
 PyAPI_FUNC(Py_ssize_t) PyTruffle_Object_Size(PyObject *op) {
     return ((PyVarObject*)op)->ob_size;
 }
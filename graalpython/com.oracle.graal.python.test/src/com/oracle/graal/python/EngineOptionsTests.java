@@ -41,9 +41,12 @@
 package com.oracle.graal.python;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import org.graalvm.polyglot.Context;
 import org.graalvm.polyglot.Engine;
+import org.graalvm.polyglot.Source;
 import org.junit.Test;
 
 public class EngineOptionsTests {
@@ -57,6 +60,61 @@ public class EngineOptionsTests {
         assertEquals("native", doit(engine, "native"));
     }
 
+    @Test
+    public void warmupModules() {
+        try (Engine engine = Engine.newBuilder().build()) {
+            for (int i = 0; i < 2; i++) {
+                Context.Builder builder = Context.newBuilder().engine(engine).allowExperimentalOptions(true).allowAllAccess(true);
+                builder.option("python.WarmupModules", "json, collections.abc");
+                try (Context context = builder.build()) {
+                    assertTrue(context.eval("python", "import sys; 'json' in sys.modules and 'collections.abc' in sys.modules").asBoolean());
+                    // each context gets its own module objects
+                    assertFalse(context.eval("python", "import json; hasattr(json, 'marker')").asBoolean());
+                    context.eval("python", "json.marker = 1");
+                }
+            }
+        }
+    }
+
+    @Test
+    public void uncachedInterpreterLimit() {
+        String source = "def fib(n):\n" +
+                        "    a, b = 0, 1\n" +
+                        "    for i in range(n):\n" +
+                        "        a, b = b, a + b\n" +
+                        "    return a\n";
+        for (String limit : new String[]{"0", "1", "10000"}) {
+            try (Engine engine = Engine.newBuilder().allowExperimentalOptions(true).option("python.UncachedInterpreterLimit", limit).build();
+                            Context context = Context.newBuilder().engine(engine).build()) {
+                context.eval("python", source);
+                assertEquals(limit, "354224848199626926148", context.eval("python", "str(sum(fib(i) for i in range(50)) + fib(100))").asString());
+            }
+        }
+    }
+
+    @Test
+    public void lineCoverageOfContextsSharingEngine() {
+        Source source = Source.newBuilder("python", "def branchy(x):\n" +
+                        "    if x:\n" +
+                        "        return 1\n" +
+                        "    return 2\n", "branchy.py").buildLiteral();
+        String lines = "sorted(__graalpython__.get_line_coverage().get(branchy.__code__.co_filename, ()))";
+        try (Engine engine = Engine.create();
+                        Context first = Context.newBuilder().engine(engine).build();
+                        Context second = Context.newBuilder().engine(engine).build()) {
+            first.eval(source);
+            second.eval(source);
+            first.eval("python", "__graalpython__.start_line_coverage()");
+            second.eval("python", "__graalpython__.start_line_coverage()");
+            // the first context hits the lines before the second one, which must still see them
+            first.eval("python", "branchy(True)");
+            second.eval("python", "branchy(True)");
+            second.eval("python", "branchy(False)");
+            assertEquals("[2, 3]", first.eval("python", lines).toString());
+            assertEquals("[2, 3, 4]", second.eval("python", lines).toString());
+        }
+    }
+
     private static String doit(Engine engine, String backend) {
         Context.Builder builder = Context.newBuilder().engine(engine).allowExperimentalOptions(true).allowAllAccess(true);
         if (backend != null) {
@@ -479,6 +479,15 @@ public class CompilerTests extends PythonTests {
         doTest(source);
     }
 
+    @Test
+    public void testSuperinstructions() {
+        String source = "def foo(obj):\n" +
+                        "   if obj.flag:\n" +
+                        "      return 'yes'\n" +
+                        "   return obj.value\n";
+        doTest(source);
+    }
+
     @Test
     public void testClosure() {
         String s = "def foo():\n" +
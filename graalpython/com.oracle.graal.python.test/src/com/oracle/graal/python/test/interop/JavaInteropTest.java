@@ -49,6 +49,7 @@ import static org.junit.Assert.fail;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
+import java.nio.ByteOrder;
 import java.util.Arrays;
 import java.util.Map;
 
@@ -195,6 +196,56 @@ public class JavaInteropTest {
             assertPrints("b'\\x01\\x02\\x03\\x04'\n", source);
         }
 
+        @Test
+        public void bytesBufferElements() {
+            Value bytes = context.eval("python", "b'\\x01\\x02\\x03\\x04\\x05\\x06\\x07\\x08'");
+            assertTrue(bytes.hasBufferElements());
+            assertFalse(bytes.isBufferWritable());
+            assertEquals(8, bytes.getBufferSize());
+            assertEquals(3, bytes.readBufferByte(2));
+            assertEquals(0x0102, bytes.readBufferShort(ByteOrder.BIG_ENDIAN, 0));
+            assertEquals(0x0201, bytes.readBufferShort(ByteOrder.LITTLE_ENDIAN, 0));
+            assertEquals(0x0102030405060708L, bytes.readBufferLong(ByteOrder.BIG_ENDIAN, 0));
+            try {
+                bytes.readBufferInt(ByteOrder.BIG_ENDIAN, 6);
+                fail("expected out of bounds read to fail");
+            } catch (IndexOutOfBoundsException e) {
+                // expected
+            }
+            try {
+                bytes.writeBufferByte(0, (byte) 0);
+                fail("expected write to immutable bytes to fail");
+            } catch (UnsupportedOperationException e) {
+                // expected
+            }
+        }
+
+        @Test
+        public void writableBufferElements() {
+            Value bytearray = context.eval("python", "bytearray(8)");
+            assertTrue(bytearray.isBufferWritable());
+            bytearray.writeBufferInt(ByteOrder.BIG_ENDIAN, 4, 0x01020304);
+            assertEquals(4, bytearray.readBufferByte(7));
+            bytearray.writeBufferDouble(ByteOrder.LITTLE_ENDIAN, 0, 1.5);
+            assertEquals(1.5, bytearray.readBufferDouble(ByteOrder.LITTLE_ENDIAN, 0), 0);
+
+            Value array = context.eval("python", "__import__('array').array('i', [1, 2, 3])");
+            assertTrue(array.hasBufferElements());
+            assertEquals(12, array.getBufferSize());
+            assertEquals(3, array.readBufferInt(ByteOrder.nativeOrder(), 8));
+        }
+
+        @Test
+        public void memoryviewBufferElements() {
+            Value view = context.eval("python", "memoryview(b'abcdef')[2:]");
+            assertTrue(view.hasBufferElements());
+            assertEquals(4, view.getBufferSize());
+            assertEquals('c', view.readBufferByte(0));
+            assertFalse(context.eval("python", "memoryview(b'abcdef')[::2]").hasBufferElements());
+            assertFalse(context.eval("python", "(lambda m: (m.release(), m)[1])(memoryview(b'abc'))").hasBufferElements());
+            assertFalse(context.eval("python", "[1, 2]").hasBufferElements());
+        }
+
         @Test
         public void testPassingFloats() throws UnsupportedEncodingException {
             String source = "import polyglot\n" +
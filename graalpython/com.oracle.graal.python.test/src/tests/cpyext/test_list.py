@@ -38,7 +38,7 @@
 # SOFTWARE.
 
 import sys
-from . import CPyExtTestCase, CPyExtFunction, CPyExtFunctionOutVars, unhandled_error_compare, GRAALPYTHON
+from . import CPyExtTestCase, CPyExtFunction, CPyExtFunctionOutVars, CPyExtType, unhandled_error_compare, GRAALPYTHON
 __dir__ = __file__.rpartition("/")[0]
 
 
@@ -219,6 +219,39 @@ class TestPyList(CPyExtTestCase):
         cmpfunc=unhandled_error_compare
     )
 
+    test_PySequence_Fast_ITEMS_write = CPyExtFunction(
+        lambda args: [x * 2 for x in args[0]] + ["tail"],
+        lambda: (
+            ([],),
+            ([1, 2, 3],),
+            ([1.5, -2.0],),
+            ([1, "a", 0.5],),
+        ),
+        code='''PyObject* wrap_PySequence_Fast_ITEMS_write(PyObject* list) {
+            Py_ssize_t i, n = PyList_GET_SIZE(list);
+            PyObject **items = PySequence_Fast_ITEMS(list);
+            for (i = 0; i < n; i++) {
+                PyObject *doubled = PyNumber_Add(items[i], items[i]);
+                if (doubled == NULL) {
+                    return NULL;
+                }
+                Py_DECREF(items[i]);
+                items[i] = doubled;
+            }
+            if (PyList_Append(list, PyUnicode_FromString("tail"))) {
+                return NULL;
+            }
+            Py_INCREF(list);
+            return list;
+        }
+        ''',
+        resultspec="O",
+        argspec='O',
+        arguments=["PyObject* list"],
+        callfunction="wrap_PySequence_Fast_ITEMS_write",
+        cmpfunc=unhandled_error_compare
+    )
+
     test_PyList_Append = CPyExtFunction(
         _reference_append,
         lambda: (
@@ -378,3 +411,104 @@ class TestPyList(CPyExtTestCase):
         callfunction="wrap_PyList_Reverse",
         cmpfunc=unhandled_error_compare
     )
+
+
+class TestPyListWithNative(object):
+    def test_items_used_by_two_threads(self):
+        import threading
+        TestItemsUser = CPyExtType("TestItemsUser",
+                             """
+                             PyObject* sumItemsAfterCall(PyObject* self, PyObject* args) {
+                                 PyObject *list, *callback, *result, *sum;
+                                 Py_ssize_t i, n;
+                                 if (!PyArg_ParseTuple(args, "OO", &list, &callback)) {
+                                     return NULL;
+                                 }
+                                 PyObject **items = PySequence_Fast_ITEMS(list);
+                                 n = PyList_GET_SIZE(list);
+                                 result = PyObject_CallObject(callback, NULL);
+                                 if (result == NULL) {
+                                     return NULL;
+                                 }
+                                 Py_DECREF(result);
+                                 sum = PyLong_FromLong(0);
+                                 for (i = 0; i < n && sum != NULL; i++) {
+                                     PyObject *tmp = PyNumber_Add(sum, items[i]);
+                                     Py_DECREF(sum);
+                                     sum = tmp;
+                                 }
+                                 return sum;
+                             }
+                             """,
+                             tp_methods='{"sumItemsAfterCall", (PyCFunction)sumItemsAfterCall, METH_VARARGS, ""}',
+        )
+        tester = TestItemsUser()
+        lst = [1, 2, 3, 4]
+        started = threading.Event()
+        resume = threading.Event()
+        results = []
+
+        def inner_callback():
+            started.set()
+            resume.wait()
+
+        def outer_callback():
+            # the second thread takes the items pointer while the first call still uses it
+            thread.start()
+            started.wait()
+
+        thread = threading.Thread(target=lambda: results.append(tester.sumItemsAfterCall(lst, inner_callback)))
+        assert tester.sumItemsAfterCall(lst, outer_callback) == 10
+        # the first call returned, the second one must still be able to read the items
+        resume.set()
+        thread.join()
+        assert results == [10]
+        lst.append(5)
+        assert tester.sumItemsAfterCall(lst, lambda: None) == 15
+        assert lst == [1, 2, 3, 4, 5]
+
+    def test_items_storage_after_call(self):
+        TestItemsStorage = CPyExtType("TestItemsStorage",
+                             """
+                             PyObject* doubleItems(PyObject* self, PyObject* list) {
+                                 Py_ssize_t i, n = PyList_GET_SIZE(list);
+                                 PyObject **items = PySequence_Fast_ITEMS(list);
+                                 for (i = 0; i < n; i++) {
+                                     PyObject *doubled = PyNumber_Add(items[i], items[i]);
+                                     if (doubled == NULL) {
+                                         return NULL;
+                                     }
+                                     Py_DECREF(items[i]);
+                                     items[i] = doubled;
+                                 }
+                                 Py_RETURN_NONE;
+                             }
+                             """,
+                             tp_methods='{"doubleItems", (PyCFunction)doubleItems, METH_O, ""}',
+                             post_ready_code="""
+                             PyObject *escaped = PyList_New(0);
+                             PyObject *item = PyFloat_FromDouble(1.5);
+                             if (escaped == NULL || item == NULL || PyList_Append(escaped, item) < 0) {
+                                 return NULL;
+                             }
+                             Py_DECREF(item);
+                             /* the module init function is not a call into the extension that ends */
+                             PySequence_Fast_ITEMS(escaped);
+                             if (PyDict_SetItemString(TestItemsStorageType.tp_dict, "escaped", escaped) < 0) {
+                                 return NULL;
+                             }
+                             Py_DECREF(escaped);
+                             """,
+        )
+        tester = TestItemsStorage()
+        lst = [1.5, 2.5]
+        tester.doubleItems(lst)
+        assert lst == [3.0, 5.0]
+        escaped = TestItemsStorage.escaped
+        tester.doubleItems(escaped)
+        assert escaped == [3.0]
+        if GRAALPYTHON:
+            # the list is moved back to specialized managed storage once the call returned
+            assert __graalpython__.get_storage_strategy(lst) == "DoubleSequenceStorage"
+            # the items pointer was taken outside of a call, so the list stays native
+            assert __graalpython__.get_storage_strategy(escaped) == "NativeSequenceStorage"
@@ -104,3 +104,37 @@ def test_add_int_to_long_array():
     y = array('l', [1, 2])
     y[0] = 42 # should not raise
     assert y[0] == 42
+
+def test_append_and_shrink():
+    from array import array
+    a = array('i')
+    for i in range(10000):
+        a.append(i)
+    assert len(a) == 10000
+    assert a[9999] == 9999
+    for i in range(20):
+        a.pop()
+    assert len(a) == 9980
+    del a[10:5000]
+    assert len(a) == 4990
+    assert a[9] == 9 and a[10] == 5000
+    a.extend(array('i', [1, 2, 3]))
+    assert a[-3:] == array('i', [1, 2, 3])
+
+def test_file_io_with_array():
+    import os
+    import tempfile
+    from array import array
+    fd, name = tempfile.mkstemp()
+    os.close(fd)
+    try:
+        with open(name, 'wb', buffering=0) as f:
+            assert f.write(array('b', [1, 2, 3])) == 3
+            assert f.write(memoryview(b'xyz')[1:]) == 2
+            assert f.write(bytearray(b'!')) == 1
+        buf = bytearray(10)
+        with open(name, 'rb', buffering=0) as f:
+            assert f.readinto(buf) == 6
+        assert buf[:6] == b'\x01\x02\x03yz!'
+    finally:
+        os.remove(name)
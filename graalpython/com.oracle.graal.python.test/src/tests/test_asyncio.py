@@ -0,0 +1,264 @@
+# Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+# DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+#
+# The Universal Permissive License (UPL), Version 1.0
+#
+# Subject to the condition set forth below, permission is hereby granted to any
+# person obtaining a copy of this software, associated documentation and/or
+# data (collectively the "Software"), free of charge and under any and all
+# copyright rights in the Software, and any and all patent rights owned or
+# freely licensable by each licensor hereunder covering either (i) the
+# unmodified Software as contributed to or provided by such licensor, or (ii)
+# the Larger Works (as defined below), to deal in both
+#
+# (a) the Software, and
+#
+# (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+# one is included with the Software each a "Larger Work" to which the Software
+# is contributed by such licensors),
+#
+# without restriction, including without limitation the rights to copy, create
+# derivative works of, display, perform, and distribute the Software and make,
+# use, sell, offer for sale, import, export, have made, and have sold the
+# Software and the Larger Work(s), and to sublicense the foregoing rights on
+# either these or other terms.
+#
+# This license is subject to the following condition:
+#
+# The above copyright notice and either this complete permission notice or at a
+# minimum a reference to the UPL must be included in all copies or substantial
+# portions of the Software.
+#
+# THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+# IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+# FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+# AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+# LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+# OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+# SOFTWARE.
+import _asyncio
+import collections.abc
+import contextvars
+import unittest
+from asyncio import exceptions
+
+
+class FakeLoop:
+    """Just enough of an event loop to drive futures and tasks by hand."""
+
+    def __init__(self):
+        self.ready = []
+
+    def get_debug(self):
+        return False
+
+    def call_soon(self, callback, *args, context=None):
+        self.ready.append((callback, args, context))
+
+    def run(self):
+        while self.ready:
+            callback, args, context = self.ready.pop(0)
+            if context is None:
+                callback(*args)
+            else:
+                context.run(callback, *args)
+
+
+class GenCoro(collections.abc.Coroutine):
+    """Wraps a generator so that asyncio accepts it as a coroutine."""
+
+    def __init__(self, gen):
+        self.gen = gen
+
+    def send(self, value):
+        return self.gen.send(value)
+
+    def throw(self, *args):
+        return self.gen.throw(*args)
+
+    def close(self):
+        self.gen.close()
+
+    def __await__(self):
+        return self.gen
+
+
+class FutureTest(unittest.TestCase):
+
+    def setUp(self):
+        self.loop = FakeLoop()
+
+    def test_result(self):
+        fut = _asyncio.Future(loop=self.loop)
+        self.assertIs(fut.get_loop(), self.loop)
+        self.assertFalse(fut.done())
+        self.assertRaises(exceptions.InvalidStateError, fut.result)
+        fut.set_result(42)
+        self.assertTrue(fut.done())
+        self.assertEqual(fut.result(), 42)
+        self.assertIsNone(fut.exception())
+        self.assertRaises(exceptions.InvalidStateError, fut.set_result, 1)
+
+    def test_exception(self):
+        fut = _asyncio.Future(loop=self.loop)
+        self.assertRaises(exceptions.InvalidStateError, fut.exception)
+        fut.set_exception(ValueError)
+        self.assertIsInstance(fut.exception(), ValueError)
+        self.assertRaises(ValueError, fut.result)
+        fut = _asyncio.Future(loop=self.loop)
+        self.assertRaises(TypeError, fut.set_exception, StopIteration())
+        self.assertRaises(TypeError, fut.set_exception, 1)
+
+    def test_cancel(self):
+        fut = _asyncio.Future(loop=self.loop)
+        self.assertTrue(fut.cancel(msg="stop"))
+        self.assertTrue(fut.cancelled())
+        self.assertFalse(fut.cancel())
+        with self.assertRaises(exceptions.CancelledError) as cm:
+            fut.result()
+        self.assertEqual(cm.exception.args, ("stop",))
+        self.assertRaises(exceptions.CancelledError, fut.exception)
+
+    def test_callbacks(self):
+        fut = _asyncio.Future(loop=self.loop)
+        seen = []
+        cb1 = lambda f: seen.append(("cb1", f.result()))
+        cb2 = lambda f: seen.append(("cb2", f.result()))
+        fut.add_done_callback(cb1)
+        fut.add_done_callback(cb2)
+        fut.add_done_callback(cb1)
+        self.assertEqual(fut.remove_done_callback(cb1), 2)
+        self.assertEqual(len(fut._callbacks), 1)
+        fut.set_result("x")
+        self.assertEqual(self.loop.ready[0][1], (fut,))
+        self.assertIsInstance(self.loop.ready[0][2], contextvars.Context)
+        self.loop.run()
+        self.assertEqual(seen, [("cb2", "x")])
+        # callbacks added to a done future are scheduled right away
+        fut.add_done_callback(cb1)
+        self.loop.run()
+        self.assertEqual(seen, [("cb2", "x"), ("cb1", "x")])
+
+    def test_await(self):
+        fut = _asyncio.Future(loop=self.loop)
+        it = fut.__await__()
+        self.assertIs(next(it), fut)
+        self.assertTrue(fut._asyncio_future_blocking)
+        self.assertRaises(RuntimeError, next, it)
+        fut.set_result(7)
+        with self.assertRaises(StopIteration) as cm:
+            next(it)
+        self.assertEqual(cm.exception.value, 7)
+
+    def test_state_and_repr(self):
+        fut = _asyncio.Future(loop=self.loop)
+        self.assertEqual(fut._state, "PENDING")
+        self.assertIn("pending", repr(fut))
+        fut.set_result(None)
+        self.assertEqual(fut._state, "FINISHED")
+        self.assertRaises(ValueError, setattr, fut, "_log_traceback", True)
+
+    def test_uninitialized(self):
+        fut = _asyncio.Future.__new__(_asyncio.Future)
+        self.assertRaises(RuntimeError, fut.get_loop)
+        self.assertRaises(RuntimeError, fut.set_result, 1)
+
+
+class TaskTest(unittest.TestCase):
+
+    def setUp(self):
+        self.loop = FakeLoop()
+
+    def test_result(self):
+        fut = _asyncio.Future(loop=self.loop)
+
+        def gen():
+            x = yield from fut
+            yield
+            return x + 1
+
+        task = _asyncio.Task(GenCoro(gen()), loop=self.loop, name="t")
+        self.assertEqual(task.get_name(), "t")
+        self.loop.run()
+        self.assertIs(task._fut_waiter, fut)
+        self.assertFalse(task.done())
+        fut.set_result(41)
+        self.loop.run()
+        self.assertTrue(task.done())
+        self.assertEqual(task.result(), 42)
+
+    def test_exception(self):
+        def gen():
+            if False:
+                yield
+            raise KeyError("k")
+
+        task = _asyncio.Task(GenCoro(gen()), loop=self.loop)
+        self.assertTrue(task.get_name().startswith("Task-"))
+        self.loop.run()
+        self.assertIsInstance(task.exception(), KeyError)
+        self.assertRaises(RuntimeError, task.set_result, 1)
+        self.assertRaises(RuntimeError, task.set_exception, KeyError)
+
+    def test_cancel(self):
+        fut = _asyncio.Future(loop=self.loop)
+
+        def gen():
+            yield from fut
+
+        task = _asyncio.Task(GenCoro(gen()), loop=self.loop)
+        self.loop.run()
+        self.assertTrue(task.cancel())
+        self.assertTrue(fut.cancelled())
+        self.loop.run()
+        self.assertTrue(task.cancelled())
+
+    def test_current_task(self):
+        seen = []
+
+        def gen():
+            seen.append(_asyncio._current_tasks.get(self.loop))
+            yield
+
+        task = _asyncio.Task(GenCoro(gen()), loop=self.loop)
+        self.loop.run()
+        self.assertEqual(seen, [task])
+        self.assertNotIn(self.loop, _asyncio._current_tasks)
+        self.assertIn(task, _asyncio._all_tasks)
+
+    def test_bad_yield(self):
+        def gen():
+            try:
+                yield 1
+            except RuntimeError as e:
+                return str(e)
+
+        task = _asyncio.Task(GenCoro(gen()), loop=self.loop)
+        self.loop.run()
+        self.assertIn("bad yield", task.result())
+
+    def test_not_a_coroutine(self):
+        self.assertRaises(TypeError, _asyncio.Task, 1, loop=self.loop)
+
+
+class RunningLoopTest(unittest.TestCase):
+
+    def test_running_loop(self):
+        loop = FakeLoop()
+        self.assertIsNone(_asyncio._get_running_loop())
+        self.assertRaises(RuntimeError, _asyncio.get_running_loop)
+        _asyncio._set_running_loop(loop)
+        try:
+            self.assertIs(_asyncio.get_running_loop(), loop)
+            self.assertIs(_asyncio.get_event_loop(), loop)
+        finally:
+            _asyncio._set_running_loop(None)
+
+    def test_enter_leave_task(self):
+        loop, task, other = object(), object(), object()
+        _asyncio._enter_task(loop, task)
+        try:
+            self.assertRaises(RuntimeError, _asyncio._enter_task, loop, other)
+            self.assertRaises(RuntimeError, _asyncio._leave_task, loop, other)
+        finally:
+            _asyncio._leave_task(loop, task)
@@ -37,6 +37,7 @@
 # OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
 # SOFTWARE.
 
+import sys
 import unittest
 import csv
 from tempfile import TemporaryFile
@@ -103,3 +104,76 @@ class TestDialectValidity(unittest.TestCase):
 
 
 
+
+class TestBatchReading(unittest.TestCase):
+    def test_read_rows(self):
+        data = ['a,b,c\r\n', '1,,3\n', '\n', '"x,y",z\n', 'p,"multi\n', 'line",q\n', 'last,']
+        reader = csv.reader(data)
+        self.assertEqual(reader.read_rows(2), [['a', 'b', 'c'], ['1', '', '3']])
+        self.assertEqual(reader.read_rows(10), [[], ['x,y', 'z'], ['p', 'multi\nline', 'q'], ['last', '']])
+        self.assertEqual(reader.read_rows(10), [])
+        self.assertEqual(reader.line_num, 7)
+        self.assertEqual(list(csv.reader(data)), [['a', 'b', 'c'], ['1', '', '3'], [], ['x,y', 'z'], ['p', 'multi\nline', 'q'], ['last', '']])
+
+    def test_read_columns(self):
+        reader = csv.reader(['1,2.5,"x"\n', '3,4,"y"\n'], quoting=csv.QUOTE_NONNUMERIC)
+        self.assertEqual(reader.read_columns(5), [[1.0, 3.0], [2.5, 4.0], ['x', 'y']])
+        self.assertEqual(csv.reader(['a,b', 'c,d']).read_columns(1), [['a'], ['b']])
+        self.assertEqual(csv.reader([]).read_columns(3), [])
+        self.assertRaises(csv.Error, csv.reader(['a,b', 'c']).read_columns, 2)
+        self.assertEqual(csv.reader(['', 'a,b', '', 'c,d']).read_columns(2), [['a', 'c'], ['b', 'd']])
+        self.assertEqual(csv.reader(['', '']).read_columns(2), [])
+        reader = csv.reader(['a,b', '', 'c,d', 'e'])
+        with self.assertRaisesRegex(csv.Error, 'line 4 has 1 fields, expected 2'):
+            reader.read_columns(5)
+        self.assertEqual(reader.line_num, 4)
+        self.assertRaises(ValueError, csv.reader(['a']).read_rows, -1)
+
+    def test_simple_lines(self):
+        self.assertEqual(list(csv.reader(['a;b'], delimiter=';')), [['a', 'b']])
+        self.assertEqual(list(csv.reader(['a, b'], skipinitialspace=True)), [['a', 'b']])
+        self.assertEqual(list(csv.reader(['a\\,b,c'], escapechar='\\')), [['a,b', 'c']])
+        self.assertEqual(list(csv.reader(['1,,2'], quoting=csv.QUOTE_NONNUMERIC)), [[1.0, '', 2.0]])
+        self.assertRaises(ValueError, list, csv.reader(['1,x'], quoting=csv.QUOTE_NONNUMERIC))
+        self.assertRaises(csv.Error, list, csv.reader(['a\nb']))
+        limit = csv.field_size_limit(3)
+        try:
+            self.assertRaises(csv.Error, list, csv.reader(['abcd']))
+            self.assertEqual(list(csv.reader(['abc'])), [['abc']])
+        finally:
+            csv.field_size_limit(limit)
+
+class TestBatchWriting(unittest.TestCase):
+    class Output:
+        def __init__(self):
+            self.chunks = []
+
+        def write(self, s):
+            self.chunks.append(s)
+
+    def test_writerows_chunks(self):
+        out = self.Output()
+        writer = csv.writer(out)
+        rows = [[i, 'x' * 10, 'a,b', 'q"q', None] for i in range(5000)]
+        writer.writerows(rows)
+        if sys.implementation.name == 'graalpy':
+            self.assertLess(len(out.chunks), 5000)
+        expected = ''.join('%d,xxxxxxxxxx,"a,b","q""q",\r\n' % i for i in range(5000))
+        self.assertEqual(''.join(out.chunks), expected)
+
+    def test_writerows_error(self):
+        out = self.Output()
+        writer = csv.writer(out)
+        self.assertRaises(csv.Error, writer.writerows, [['a', 'b'], ['c'], 5, ['d']])
+        self.assertEqual(''.join(out.chunks), 'a,b\r\nc\r\n')
+
+    def test_special_chars(self):
+        out = self.Output()
+        writer = csv.writer(out, delimiter='\U0001F642', lineterminator='\n', quoting=csv.QUOTE_MINIMAL)
+        writer.writerow(['a\nb', 'c\U0001F642', 'plain', ''])
+        self.assertEqual(out.chunks, ['"a\nb"\U0001F642"c\U0001F642"\U0001F642plain\U0001F642\n'])
+        out = self.Output()
+        writer = csv.writer(out, quoting=csv.QUOTE_NONE, escapechar='\\')
+        writer.writerow(['a,b', 'c'])
+        self.assertEqual(out.chunks, ['a\\,b,c\r\n'])
+        self.assertRaises(csv.Error, csv.writer(out, quoting=csv.QUOTE_NONE).writerow, [''])
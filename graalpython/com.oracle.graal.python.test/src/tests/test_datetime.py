@@ -0,0 +1,111 @@
+# Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+# DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+#
+# The Universal Permissive License (UPL), Version 1.0
+#
+# Subject to the condition set forth below, permission is hereby granted to any
+# person obtaining a copy of this software, associated documentation and/or
+# data (collectively the "Software"), free of charge and under any and all
+# copyright rights in the Software, and any and all patent rights owned or
+# freely licensable by each licensor hereunder covering either (i) the
+# unmodified Software as contributed to or provided by such licensor, or (ii)
+# the Larger Works (as defined below), to deal in both
+#
+# (a) the Software, and
+#
+# (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+# one is included with the Software each a "Larger Work" to which the Software
+# is contributed by such licensors),
+#
+# without restriction, including without limitation the rights to copy, create
+# derivative works of, display, perform, and distribute the Software and make,
+# use, sell, offer for sale, import, export, have made, and have sold the
+# Software and the Larger Work(s), and to sublicense the foregoing rights on
+# either these or other terms.
+#
+# This license is subject to the following condition:
+#
+# The above copyright notice and either this complete permission notice or at a
+# minimum a reference to the UPL must be included in all copies or substantial
+# portions of the Software.
+#
+# THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+# IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+# FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+# AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+# LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+# OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+# SOFTWARE.
+
+
+import unittest
+from datetime import date, datetime, time, timedelta, timezone
+
+
+class IsoformatTest(unittest.TestCase):
+
+    def test_datetime_fromisoformat(self):
+        self.assertEqual(datetime.fromisoformat('2021-03-04T05:06:07.123456'), datetime(2021, 3, 4, 5, 6, 7, 123456))
+        self.assertEqual(datetime.fromisoformat('2021-03-04 05:06'), datetime(2021, 3, 4, 5, 6))
+        self.assertEqual(datetime.fromisoformat('2021-03-04'), datetime(2021, 3, 4))
+        self.assertEqual(datetime.fromisoformat('2021-03-04T05:06:07.123'), datetime(2021, 3, 4, 5, 6, 7, 123000))
+        dt = datetime.fromisoformat('2021-03-04T05:06:07-00:00')
+        self.assertIs(dt.tzinfo, timezone.utc)
+        dt = datetime.fromisoformat('2021-03-04T05:06:07+01:30')
+        self.assertEqual(dt.utcoffset(), timedelta(hours=1, minutes=30))
+        dt = datetime.fromisoformat('2021-03-04T05:06:07-05:30:15.000001')
+        self.assertEqual(dt.utcoffset(), -timedelta(hours=5, minutes=30, seconds=15, microseconds=1))
+
+    def test_fromisoformat_invalid(self):
+        for s in ('2021-13-04', '2021/03/04', '2021-03-04T05:6', '2021-03-04T25:00',
+                  '2021-03-04T05:06:07+24:00', '2021-03-04T05:06:07.123456 '):
+            self.assertRaises(ValueError, datetime.fromisoformat, s)
+        self.assertRaises(ValueError, date.fromisoformat, '2021-03-4')
+        self.assertRaises(ValueError, time.fromisoformat, '5:06')
+        self.assertRaises(TypeError, datetime.fromisoformat, b'2021-03-04')
+
+    def test_date_and_time_fromisoformat(self):
+        self.assertEqual(date.fromisoformat('0001-01-01'), date(1, 1, 1))
+        self.assertEqual(time.fromisoformat('23:59:59.999999'), time(23, 59, 59, 999999))
+        self.assertEqual(time.fromisoformat('10:00+02:00').utcoffset(), timedelta(hours=2))
+
+    def test_isoformat(self):
+        t = time(5, 6, 7, 123456)
+        self.assertEqual(t.isoformat(), '05:06:07.123456')
+        self.assertEqual(t.isoformat('hours'), '05')
+        self.assertEqual(t.isoformat('minutes'), '05:06')
+        self.assertEqual(t.isoformat('seconds'), '05:06:07')
+        self.assertEqual(t.isoformat('milliseconds'), '05:06:07.123')
+        self.assertEqual(time(5, 6, 7).isoformat(), '05:06:07')
+        self.assertRaises(ValueError, t.isoformat, 'days')
+        dt = datetime(2021, 3, 4, 5, 6, 7, 890, tzinfo=timezone(timedelta(hours=-3)))
+        self.assertEqual(dt.isoformat(' '), '2021-03-04 05:06:07.000890-03:00')
+        self.assertEqual(datetime.fromisoformat(dt.isoformat()), dt)
+
+
+class TimedeltaTest(unittest.TestCase):
+
+    def test_normalization(self):
+        td = timedelta(days=1, seconds=-1, microseconds=-1)
+        self.assertEqual((td.days, td.seconds, td.microseconds), (0, 86398, 999999))
+        td = timedelta(weeks=2, hours=25, minutes=61, milliseconds=1500)
+        self.assertEqual((td.days, td.seconds, td.microseconds), (15, 7261, 500000))
+        td = timedelta(microseconds=-1)
+        self.assertEqual((td.days, td.seconds, td.microseconds), (-1, 86399, 999999))
+        td = timedelta(seconds=True)
+        self.assertEqual(td.seconds, 1)
+        td = timedelta(hours=1.5, microseconds=2**62)
+        self.assertEqual(td, timedelta(hours=1, minutes=30) + timedelta(microseconds=2**62))
+
+    def test_arithmetic(self):
+        a = timedelta(days=3, seconds=7200)
+        b = timedelta(hours=-5, microseconds=10)
+        self.assertEqual(a + b, timedelta(days=2, hours=21, microseconds=10))
+        self.assertEqual(a - b, timedelta(days=3, hours=7, microseconds=-10))
+        self.assertEqual(-a, timedelta(days=-4, hours=22))
+        self.assertEqual(datetime(2021, 1, 1) - datetime(2020, 1, 1), timedelta(days=366))
+
+    def test_overflow(self):
+        self.assertRaises(OverflowError, timedelta, 1000000000)
+        self.assertRaises(OverflowError, timedelta, weeks=2**62)
+        self.assertEqual(timedelta(999999999, 86399, 999999), timedelta.max)
@@ -0,0 +1,98 @@
+# Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+# DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+#
+# The Universal Permissive License (UPL), Version 1.0
+#
+# Subject to the condition set forth below, permission is hereby granted to any
+# person obtaining a copy of this software, associated documentation and/or
+# data (collectively the "Software"), free of charge and under any and all
+# copyright rights in the Software, and any and all patent rights owned or
+# freely licensable by each licensor hereunder covering either (i) the
+# unmodified Software as contributed to or provided by such licensor, or (ii)
+# the Larger Works (as defined below), to deal in both
+#
+# (a) the Software, and
+#
+# (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+# one is included with the Software each a "Larger Work" to which the Software
+# is contributed by such licensors),
+#
+# without restriction, including without limitation the rights to copy, create
+# derivative works of, display, perform, and distribute the Software and make,
+# use, sell, offer for sale, import, export, have made, and have sold the
+# Software and the Larger Work(s), and to sublicense the foregoing rights on
+# either these or other terms.
+#
+# This license is subject to the following condition:
+#
+# The above copyright notice and either this complete permission notice or at a
+# minimum a reference to the UPL must be included in all copies or substantial
+# portions of the Software.
+#
+# THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+# IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+# FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+# AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+# LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+# OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+# SOFTWARE.
+
+
+import unittest
+import decimal
+from decimal import Decimal, Context, Inexact, Rounded, Overflow, Subnormal
+
+
+class DecimalArithmeticTest(unittest.TestCase):
+
+    def test_add_exact(self):
+        ctx = Context(prec=28)
+        self.assertEqual(str(ctx.add(Decimal('1.10'), Decimal('2.2'))), '3.30')
+        self.assertEqual(str(ctx.subtract(Decimal('1.10'), Decimal('2.2'))), '-1.10')
+        self.assertEqual(str(ctx.add(Decimal('123456789012345678'), Decimal('0.001'))), '123456789012345678.001')
+        self.assertFalse(ctx.flags[Inexact])
+        self.assertFalse(ctx.flags[Rounded])
+
+    def test_add_zero_sign(self):
+        ctx = Context(prec=5, rounding=decimal.ROUND_FLOOR)
+        self.assertEqual(str(ctx.add(Decimal('1.5'), Decimal('-1.5'))), '-0.0')
+        ctx = Context(prec=5)
+        self.assertEqual(str(ctx.add(Decimal('1.5'), Decimal('-1.5'))), '0.0')
+
+    def test_add_rounding(self):
+        ctx = Context(prec=5, rounding=decimal.ROUND_HALF_EVEN)
+        self.assertEqual(str(ctx.add(Decimal('99999'), Decimal('0.5'))), '1.0000E+5')
+        self.assertTrue(ctx.flags[Inexact])
+        self.assertTrue(ctx.flags[Rounded])
+        ctx = Context(prec=3)
+        self.assertEqual(str(ctx.add(Decimal('100'), Decimal('100'))), '200')
+        self.assertEqual(str(ctx.add(Decimal('1000'), Decimal('1000'))), '2.00E+3')
+        self.assertFalse(ctx.flags[Inexact])
+        self.assertTrue(ctx.flags[Rounded])
+        for rounding, expected in ((decimal.ROUND_DOWN, '-1.23'), (decimal.ROUND_UP, '-1.24'), (decimal.ROUND_CEILING, '-1.23'),
+                                   (decimal.ROUND_FLOOR, '-1.24'), (decimal.ROUND_HALF_UP, '-1.24'), (decimal.ROUND_HALF_DOWN, '-1.23'),
+                                   (decimal.ROUND_HALF_EVEN, '-1.24'), (decimal.ROUND_05UP, '-1.23')):
+            ctx = Context(prec=3, rounding=rounding)
+            self.assertEqual(str(ctx.add(Decimal('-1.2'), Decimal('-0.035'))), expected, rounding)
+
+    def test_mul(self):
+        ctx = Context(prec=28)
+        self.assertEqual(str(ctx.multiply(Decimal('1.25'), Decimal('-0.40'))), '-0.5000')
+        self.assertEqual(str(ctx.multiply(Decimal('3037000500'), Decimal('3037000500'))), '9223372037000250000')
+        self.assertEqual(str(ctx.multiply(Decimal('12345678901234567890'), Decimal('98765432109876543210'))), '1.219326311370217952237463801E+39')
+        self.assertTrue(ctx.flags[Inexact])
+        self.assertEqual(str(ctx.multiply(Decimal('0'), Decimal('-1.5'))), '-0.0')
+
+    def test_limits(self):
+        ctx = Context(prec=3, Emax=5, Emin=-5, traps=[])
+        self.assertEqual(str(ctx.multiply(Decimal('9990'), Decimal('999'))), 'Infinity')
+        self.assertTrue(ctx.flags[Overflow])
+        self.assertEqual(str(ctx.multiply(Decimal('0.001'), Decimal('0.001'))), '0.000001')
+        self.assertTrue(ctx.flags[Subnormal])
+        ctx = Context(prec=3, Emax=5, Emin=-5, clamp=1)
+        self.assertEqual(str(ctx.add(Decimal('1E+5'), Decimal('2E+5'))), '3.00E+5')
+
+    def test_traps(self):
+        ctx = Context(prec=3, traps=[Inexact])
+        self.assertRaises(Inexact, ctx.add, Decimal('1.23'), Decimal('0.001'))
+        self.assertEqual(str(ctx.add(Decimal('1.23'), Decimal('0.01'))), '1.24')
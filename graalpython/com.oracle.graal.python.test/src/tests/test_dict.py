@@ -1267,3 +1267,56 @@ def test_dict_values_eq():
     d1 = {1: 1, 2: 2, 4: 4}
     assert d1.values() != d1.values()
 
+
+
+def test_int_keys():
+    d = {}
+    for i in range(-50, 50):
+        d[i] = i * 2
+    assert len(d) == 100
+    assert d[1] == 2 and d[True] == 2 and d[1.0] == 2
+    assert d[-1] == -2 and d[-2] == -4
+    assert False in d and 2.5 not in d and 'a' not in d
+    del d[True]
+    assert 1 not in d and len(d) == 99
+    d[1] = 'x'
+    assert list(d)[-1] == 1
+    assert list(reversed(d))[0] == 1
+    assert d.pop(-1) == -2 and d.pop(-1, None) is None
+
+    big = 2 ** 61
+    d = {big: 'a', -big: 'b', 2 ** 62: 'c'}
+    assert d[big] == 'a' and d[float(big)] == 'a' and d[-big] == 'b'
+    assert hash(big) == 1 and 1 not in d
+    d[1] = 'd'
+    assert d[big] == 'a' and d[1] == 'd' and len(d) == 4
+
+    class MyInt(int):
+        pass
+
+    d = {1: 'a', 2: 'b'}
+    assert d[MyInt(1)] == 'a'
+    d[MyInt(2)] = 'c'
+    assert d == {1: 'a', 2: 'c'}
+    assert type(list(d)[1]) is int
+    d['s'] = 'd'
+    assert d == {1: 'a', 2: 'c', 's': 'd'}
+    assert list(d.keys()) == [1, 2, 's']
+
+    d = dict.fromkeys(range(1000))
+    for i in range(0, 1000, 2):
+        del d[i]
+    for i in range(1000, 2000):
+        d[i] = i
+    assert len(d) == 1500
+    assert list(d)[:3] == [1, 3, 5]
+    assert set(d.copy().items()) == set(d.items())
+
+
+def test_int_keys_set():
+    s = set(range(10))
+    assert 3 in s and True in s and 3.0 in s and 10 not in s
+    s.discard(True)
+    assert 1 not in s
+    assert s | {'a'} == {0, 2, 3, 4, 5, 6, 7, 8, 9, 'a'}
+    assert s & {2.0, 3} == {2, 3}
@@ -0,0 +1,175 @@
+# Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+# DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+#
+# The Universal Permissive License (UPL), Version 1.0
+#
+# Subject to the condition set forth below, permission is hereby granted to any
+# person obtaining a copy of this software, associated documentation and/or
+# data (collectively the "Software"), free of charge and under any and all
+# copyright rights in the Software, and any and all patent rights owned or
+# freely licensable by each licensor hereunder covering either (i) the
+# unmodified Software as contributed to or provided by such licensor, or (ii)
+# the Larger Works (as defined below), to deal in both
+#
+# (a) the Software, and
+#
+# (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+# one is included with the Software each a "Larger Work" to which the Software
+# is contributed by such licensors),
+#
+# without restriction, including without limitation the rights to copy, create
+# derivative works of, display, perform, and distribute the Software and make,
+# use, sell, offer for sale, import, export, have made, and have sold the
+# Software and the Larger Work(s), and to sublicense the foregoing rights on
+# either these or other terms.
+#
+# This license is subject to the following condition:
+#
+# The above copyright notice and either this complete permission notice or at a
+# minimum a reference to the UPL must be included in all copies or substantial
+# portions of the Software.
+#
+# THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+# IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+# FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+# AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+# LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+# OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+# SOFTWARE.
+import copy
+import functools
+import pickle
+import threading
+import unittest
+
+
+@functools.lru_cache(maxsize=None)
+def _module_level_cached(x):
+    return x * 2
+
+
+class LruCacheTest(unittest.TestCase):
+
+    def test_bounded(self):
+        calls = []
+
+        @functools.lru_cache(maxsize=2)
+        def f(x):
+            calls.append(x)
+            return x * 10
+
+        self.assertEqual(f(1), 10)
+        self.assertEqual(f(2), 20)
+        self.assertEqual(f(1), 10)
+        # 2 is now the least recently used entry and gets evicted
+        self.assertEqual(f(3), 30)
+        self.assertEqual(f(1), 10)
+        self.assertEqual(f(2), 20)
+        self.assertEqual(calls, [1, 2, 3, 2])
+        info = f.cache_info()
+        self.assertEqual(info, (2, 4, 2, 2))
+        self.assertEqual(type(info).__name__, "CacheInfo")
+        f.cache_clear()
+        self.assertEqual(f.cache_info(), (0, 0, 2, 0))
+
+    def test_unbounded_and_zero(self):
+        @functools.lru_cache(maxsize=None)
+        def f(x):
+            return [x]
+
+        self.assertIs(f(1), f(1))
+        self.assertEqual(f.cache_info(), (1, 1, None, 1))
+
+        @functools.lru_cache(maxsize=0)
+        def g(x):
+            return [x]
+
+        self.assertIsNot(g(1), g(1))
+        self.assertEqual(g.cache_info(), (0, 2, 0, 0))
+
+    def test_keys(self):
+        @functools.lru_cache(maxsize=None)
+        def f(*args, **kwargs):
+            return (args, kwargs)
+
+        f(1, 2)
+        f(1, b=2)
+        f(b=2)
+        f(1, 2)
+        f(1, b=2)
+        self.assertEqual(f.cache_info().hits, 2)
+        self.assertEqual(f.cache_info().currsize, 3)
+        # 1 and 1.0 are equal and hash the same, so they share an entry unless typed
+        self.assertEqual(f(1.0, 2), ((1, 2), {}))
+
+        @functools.lru_cache(maxsize=None, typed=True)
+        def g(x):
+            return type(x)
+
+        self.assertIs(g(1), int)
+        self.assertIs(g(1.0), float)
+        self.assertIs(g(True), bool)
+        self.assertEqual(g.cache_info().currsize, 3)
+
+    def test_unhashable(self):
+        @functools.lru_cache(maxsize=4)
+        def f(x):
+            return x
+
+        self.assertRaises(TypeError, f, [])
+
+    def test_recursive(self):
+        @functools.lru_cache(maxsize=16)
+        def fib(n):
+            return n if n < 2 else fib(n - 1) + fib(n - 2)
+
+        self.assertEqual(fib(100), 354224848179261915075)
+        self.assertEqual(fib.cache_info().currsize, 16)
+
+    def test_wrapper_attributes(self):
+        def f(x):
+            "doc"
+            return x
+
+        cached = functools.lru_cache(f)
+        self.assertEqual(cached.__name__, "f")
+        self.assertEqual(cached.__doc__, "doc")
+        self.assertIs(cached.__wrapped__, f)
+        self.assertEqual(cached.cache_parameters(), {"maxsize": 128, "typed": False})
+        self.assertRaises(TypeError, functools._lru_cache_wrapper, 1, 1, False, None)
+        self.assertIs(copy.copy(cached), cached)
+        self.assertIs(copy.deepcopy(cached), cached)
+        self.assertIs(pickle.loads(pickle.dumps(_module_level_cached)), _module_level_cached)
+
+    def test_method(self):
+        class A:
+            def __init__(self, v):
+                self.v = v
+
+            @functools.lru_cache(maxsize=None)
+            def get(self, x):
+                return self.v + x
+
+        a, b = A(1), A(2)
+        self.assertEqual(a.get(1), 2)
+        self.assertEqual(b.get(1), 3)
+        self.assertEqual(a.get(1), 2)
+        self.assertEqual(A.get.cache_info().hits, 1)
+
+    def test_threads(self):
+        @functools.lru_cache(maxsize=32)
+        def f(x):
+            return x * x
+
+        def work():
+            for i in range(1000):
+                self.assertEqual(f(i % 64), (i % 64) ** 2)
+
+        threads = [threading.Thread(target=work) for _ in range(4)]
+        for t in threads:
+            t.start()
+        for t in threads:
+            t.join()
+        info = f.cache_info()
+        self.assertEqual(info.hits + info.misses, 4000)
+        self.assertLessEqual(info.currsize, 32)
@@ -48,3 +48,58 @@ def test_gc_collect():
 def test_gc_count():
     c0, c1, c2 = gc.get_count()
     assert c0 + c1 + c2 > 0, "we definitely had something collected"
+
+
+def test_gc_collect_generation():
+    for generation in range(3):
+        assert gc.collect(generation) == 0
+    assert gc.collect(generation=0) == 0
+    for invalid in (-1, 3):
+        try:
+            gc.collect(invalid)
+        except ValueError:
+            pass
+        else:
+            assert False, "expected ValueError"
+
+
+def test_gc_collect_weakref_callback():
+    class A:
+        pass
+
+    called = []
+    a = A()
+    r = ref(a, lambda x: called.append(x))
+    del a
+    for i in range(10):
+        gc.collect()
+        if called:
+            break
+    assert r() is None
+    assert called == [r]
+
+
+def test_gc_get_stats():
+    stats = gc.get_stats()
+    assert len(stats) == 3
+    for generation_stats in stats:
+        assert set(generation_stats) >= {"collections", "collected", "uncollectable"}
+    before = stats[2]["collections"]
+    gc.collect()
+    assert gc.get_stats()[2]["collections"] > before
+
+
+def test_gc_callbacks():
+    events = []
+
+    def callback(phase, info):
+        events.append((phase, info["generation"]))
+
+    gc.callbacks.append(callback)
+    try:
+        gc.collect(1)
+    finally:
+        gc.callbacks.remove(callback)
+    assert ("start", 1) in events
+    assert ("stop", 1) in events
+    assert events.index(("start", 1)) < events.index(("stop", 1))
@@ -69,3 +69,115 @@ def test_list_comprehension():
 
     ll = [i for i in range(0, 1, 2)]
     assert ll == [0], "expected '[0]' but was '%r'" % ll
+
+
+def test_builtin_consumers():
+    xs = [1, 2, 3, 4]
+    assert sum(x * x for x in xs) == 30
+    assert sum(x for x in []) == 0
+    assert sum(x / 2 for x in xs) == 5.0
+    assert list(x + y for x in xs for y in (10, 20) if x % 2) == [11, 21, 13, 23]
+    assert tuple(str(x) for x in xs) == ('1', '2', '3', '4')
+    assert ",".join(str(x) for x in xs) == "1,2,3,4"
+    assert any(x > 3 for x in xs) and not any(x > 4 for x in xs) and not any(x for x in [])
+    assert all(x > 0 for x in xs) and not all(x > 1 for x in xs) and all(x for x in [])
+    assert any(x == y for x in xs for y in xs[1:]) and not all(x == y for x in xs for y in xs)
+
+    # short-circuiting must stop consuming the iterator
+    it = iter(xs)
+    assert any(x == 2 for x in it)
+    assert next(it) == 3
+    it = iter(xs)
+    assert not all(x < 2 for x in it)
+    assert list(it) == [3, 4]
+
+    # closures over the loop variable and the enclosing scope
+    k = 10
+    fs = list((lambda: x + k) for x in xs)
+    assert [f() for f in fs] == [14, 14, 14, 14]
+
+    try:
+        sum(1 / x for x in [1, 0])
+    except ZeroDivisionError:
+        pass
+    else:
+        assert False
+    try:
+        sum(str(x) for x in xs)
+    except TypeError as e:
+        # same message as when summing a plain iterator, i.e. starting with 0
+        assert str(e) == "unsupported operand type(s) for +: 'int' and 'str'", str(e)
+    else:
+        assert False
+
+
+def test_builtin_consumers_stop_iteration():
+    # PEP 479 applies to generator expressions passed to builtins as well. The calls are
+    # written out, because only literal calls of these names are compiled to the fused form.
+    def check(consume):
+        try:
+            consume(iter([]))
+        except RuntimeError as e:
+            assert str(e) == "generator raised StopIteration", str(e)
+            assert isinstance(e.__cause__, StopIteration)
+        else:
+            assert False
+
+    check(lambda it: list(next(it) for _ in range(3)))
+    check(lambda it: tuple(next(it) for _ in range(3)))
+    check(lambda it: sum(next(it) for _ in range(3)))
+    check(lambda it: any(next(it) for _ in range(3)))
+    check(lambda it: all(next(it) for _ in range(3)))
+    check(lambda it: "".join(next(it) for _ in range(3)))
+
+    def outer():
+        it = iter([])
+        yield 1
+        yield list(next(it) for _ in range(3))
+        yield 2
+
+    g = outer()
+    assert next(g) == 1
+    try:
+        next(g)
+    except RuntimeError:
+        pass
+    else:
+        assert False
+
+
+def test_nested_builtin_consumers():
+    rows = [[1, 2], [3], []]
+    assert sum(sum(x for x in r) for r in rows) == 6
+    assert list(tuple(x * 2 for x in r) for r in rows) == [(2, 4), (6,), ()]
+    assert all(any(x > 2 for x in r) for r in rows[1:2])
+
+
+def test_shadowed_builtin_consumers():
+    def sum(g):
+        return type(g).__name__
+
+    def any(g):
+        return [x for x in g]
+
+    assert sum(x for x in range(3)) == 'generator'
+    assert any(x for x in range(3)) == [0, 1, 2]
+
+    class Sep(str):
+        def join(self, g):
+            return type(g).__name__
+
+    assert Sep(",").join(str(x) for x in range(3)) == 'generator'
+    try:
+        str.join(42, (x for x in range(3)))
+    except TypeError:
+        pass
+    else:
+        assert False
+    try:
+        b",".join(x for x in [1])
+    except TypeError:
+        pass
+    else:
+        assert False
+    assert b",".join(bytes([x]) for x in b"ab") == b"a,b"
@@ -0,0 +1,183 @@
+# Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+# DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+#
+# The Universal Permissive License (UPL), Version 1.0
+#
+# Subject to the condition set forth below, permission is hereby granted to any
+# person obtaining a copy of this software, associated documentation and/or
+# data (collectively the "Software"), free of charge and under any and all
+# copyright rights in the Software, and any and all patent rights owned or
+# freely licensable by each licensor hereunder covering either (i) the
+# unmodified Software as contributed to or provided by such licensor, or (ii)
+# the Larger Works (as defined below), to deal in both
+#
+# (a) the Software, and
+#
+# (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+# one is included with the Software each a "Larger Work" to which the Software
+# is contributed by such licensors),
+#
+# without restriction, including without limitation the rights to copy, create
+# derivative works of, display, perform, and distribute the Software and make,
+# use, sell, offer for sale, import, export, have made, and have sold the
+# Software and the Larger Work(s), and to sublicense the foregoing rights on
+# either these or other terms.
+#
+# This license is subject to the following condition:
+#
+# The above copyright notice and either this complete permission notice or at a
+# minimum a reference to the UPL must be included in all copies or substantial
+# portions of the Software.
+#
+# THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+# IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+# FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+# AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+# LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+# OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+# SOFTWARE.
+
+
+import bisect
+import heapq
+import random
+import unittest
+
+
+class HeapqTest(unittest.TestCase):
+
+    def check_heap(self, heap, max_heap=False):
+        for pos in range(1, len(heap)):
+            parent = (pos - 1) >> 1
+            if max_heap:
+                self.assertLessEqual(heap[pos], heap[parent])
+            else:
+                self.assertLessEqual(heap[parent], heap[pos])
+
+    def test_push_pop(self):
+        rnd = random.Random(42)
+        for make in (int, float, lambda x: x * 2 ** 40, str, lambda x: (x, str(x))):
+            data = [make(rnd.randrange(1000)) for _ in range(500)]
+            heap = []
+            for item in data:
+                heapq.heappush(heap, item)
+                self.check_heap(heap)
+            self.assertEqual([heapq.heappop(heap) for _ in range(len(data))], sorted(data))
+            self.assertRaises(IndexError, heapq.heappop, heap)
+
+    def test_heapify_replace_pushpop(self):
+        for data in ([5, 3, 8, 1, 9, 2], [5.0, 3.5, 8.25, -1.0], [10 ** 20, 3, -7, 2 ** 63]):
+            heap = list(data)
+            heapq.heapify(heap)
+            self.check_heap(heap)
+            smallest = heap[0]
+            self.assertEqual(heapq.heapreplace(heap, 4), smallest)
+            self.check_heap(heap)
+            self.assertEqual(heapq.heappushpop(heap, -100), -100)
+            smallest = heap[0]
+            self.assertEqual(heapq.heappushpop(heap, 10 ** 30), smallest)
+            self.check_heap(heap)
+        self.assertEqual(heapq.heappushpop([], 1), 1)
+        self.assertRaises(IndexError, heapq.heapreplace, [], 1)
+
+    def test_mixed_types(self):
+        heap = [3, 1, 2]
+        heapq.heapify(heap)
+        heapq.heappush(heap, 1.5)
+        heapq.heappush(heap, 2 ** 70)
+        self.assertEqual([heapq.heappop(heap) for _ in range(5)], [1, 1.5, 2, 3, 2 ** 70])
+
+    def test_max_heap(self):
+        self.assertEqual(heapq.nlargest(3, [5, 1, 7, 3, 9, 2]), [9, 7, 5])
+        self.assertEqual(heapq.nlargest(2, [0.5, 1.5, -2.0]), [1.5, 0.5])
+        self.assertEqual(list(heapq.merge([1, 4, 7], [2, 5, 8], reverse=False)), [1, 2, 4, 5, 7, 8])
+        self.assertEqual(list(heapq.merge([7, 4, 1], [8, 5, 2], reverse=True)), [8, 7, 5, 4, 2, 1])
+
+    def test_errors(self):
+        self.assertRaises(TypeError, heapq.heappush, (), 1)
+        self.assertRaises(TypeError, heapq.heapify, None)
+        self.assertRaises(TypeError, heapq.heappush, [1, 2], 'a')
+
+        class Mutating:
+            def __init__(self, heap):
+                self.heap = heap
+
+            def __lt__(self, other):
+                self.heap.clear()
+                return False
+
+        heap = []
+        heap.extend(Mutating(heap) for _ in range(10))
+        self.assertRaises((RuntimeError, IndexError), heapq.heapify, heap)
+
+
+class BisectTest(unittest.TestCase):
+
+    def test_primitive_lists(self):
+        for data in ([1, 2, 2, 2, 5, 9], [1.0, 2.5, 2.5, 7.0], [-2 ** 40, 0, 0, 2 ** 40], ['a', 'b', 'b', 'd']):
+            for x in set(data) | {data[0], data[-1]}:
+                self.assertEqual(bisect.bisect_left(data, x), data.index(x))
+                self.assertEqual(bisect.bisect_right(data, x), len(data) - data[::-1].index(x))
+        data = [1, 2, 2, 2, 5, 9]
+        self.assertEqual(bisect.bisect_left(data, 2, 2), 2)
+        self.assertEqual(bisect.bisect_right(data, 2, 0, 3), 3)
+        self.assertEqual(bisect.bisect_right(data, 2, 0, None), 4)
+        self.assertEqual(bisect.bisect_right(data, 100, 10), 10)
+        self.assertEqual(bisect.bisect_left(data, 2.5), 4)
+        self.assertEqual(bisect.bisect_left(data, 2 ** 70), 6)
+        self.assertRaises(ValueError, bisect.bisect_left, data, 1, -1)
+        self.assertRaises(IndexError, bisect.bisect_left, data, 1, 0, 20)
+
+    def test_key_and_sequences(self):
+        data = [(1, 'a'), (3, 'b'), (3, 'c'), (8, 'd')]
+        self.assertEqual(bisect.bisect_left(data, 3, key=lambda t: t[0]), 1)
+        self.assertEqual(bisect.bisect_right(data, 3, key=lambda t: t[0]), 3)
+        self.assertEqual(bisect.bisect(range(0, 100, 5), 42), 9)
+        self.assertEqual(bisect.bisect_left((1, 3, 5), 3), 1)
+
+        class MyList(list):
+            def __getitem__(self, index):
+                return -list.__getitem__(self, index)
+
+        self.assertEqual(bisect.bisect_left(MyList([-1, -2, -3]), 2), 1)
+
+    def test_float_subclass(self):
+        calls = []
+
+        class MyFloat(float):
+            def __lt__(self, other):
+                calls.append(other)
+                return float.__gt__(self, other)
+
+        data = [1.0, 2.0, 3.0, 4.0]
+        self.assertEqual(bisect.bisect_right(data, MyFloat(2.5)), 4)
+        self.assertTrue(calls)
+        self.assertEqual(bisect.bisect_right(data, 2.5), 2)
+        self.assertEqual(bisect.bisect_left(data, float(2.0)), 1)
+
+    def test_insort(self):
+        data = []
+        for x in (5, 1, 4, 1, 5, 9, 2, 6):
+            bisect.insort(data, x)
+        self.assertEqual(data, [1, 1, 2, 4, 5, 5, 6, 9])
+        bisect.insort_left(data, 3.5)
+        bisect.insort_right(data, 'x', 100, 100, key=lambda v: 0)
+        self.assertEqual(data, [1, 1, 2, 3.5, 4, 5, 5, 6, 9, 'x'])
+
+        class Inserting:
+            def __init__(self):
+                self.items = []
+
+            def __len__(self):
+                return len(self.items)
+
+            def __getitem__(self, index):
+                return self.items[index]
+
+            def insert(self, index, value):
+                self.items.insert(index, value)
+
+        seq = Inserting()
+        for x in (3, 1, 2):
+            bisect.insort_left(seq, x)
+        self.assertEqual(seq.items, [1, 2, 3])
@@ -377,6 +377,29 @@ def test_create_int_from_float():
         assert False, "expected ValueError"
 
 
+def test_literal_arithmetic():
+    # arithmetic on literals is folded by the compiler, the results must match the runtime ones
+    assert 9223372036854775807 + 1 == 9223372036854775808
+    assert -9223372036854775807 - 1 - 1 == -9223372036854775809
+    assert 3037000500 * 3037000500 == 9223372037000250000
+    assert (-9223372036854775807 - 1) // -1 == 9223372036854775808
+    assert -7 // 2 == -4
+    assert -7 % 3 == 2
+    assert 7 % -3 == -2
+    assert 1 << 63 == 9223372036854775808
+    assert -1 >> 100 == -1
+    assert 6 & 3 | 8 ^ 1 == 11
+    assert 3 * 1.5 == 4.5
+    assert type(2 * 3) is int and type(2 * 3.0) is float
+    assert 1 / 2 == 0.5
+    try:
+        1 // 0
+    except ZeroDivisionError:
+        assert True
+    else:
+        assert False, "expected ZeroDivisionError"
+
+
 class FromBytesTests(unittest.TestCase):
 
     def check(self, tests, byteorder, signed=False):
@@ -621,6 +621,48 @@ if sys.implementation.name == "graalpy":
         else:
             assert False, "should throw a type error again"
 
+    def test_host_primitive_array_constructors():
+        import java
+        import array
+        ia = java.type("int[]")(4)
+        for i in range(4):
+            ia[i] = i * 10 - 10
+        l = list(ia)
+        assert l == [-10, 0, 10, 20]
+        l.append(1.5)
+        assert ia[3] == 20, "the list must not share the host array"
+        da = java.type("double[]")(2)
+        da[1] = 2.5
+        assert list(da) == [0.0, 2.5]
+        ba = java.type("byte[]")(3)
+        ba[0] = -1
+        assert list(ba) == [-1, 0, 0]
+        l = [1, 2]
+        l.__init__(ia)
+        assert l == [-10, 0, 10, 20]
+
+        assert array.array('i', ia).tolist() == [-10, 0, 10, 20]
+        assert array.array('d', da).tolist() == [0.0, 2.5]
+        assert array.array('q', ia).tolist() == [-10, 0, 10, 20]
+
+        sa = java.type("short[]")(3)
+        sa[0] = 255
+        assert bytes(sa) == b'\xff\x00\x00'
+        try:
+            bytes(ba)
+        except ValueError:
+            pass
+        else:
+            assert False, "negative bytes should be rejected"
+
+        import jarray
+        ja = jarray.array([1, 2, 3], 'i')
+        assert list(ja) == [1, 2, 3]
+        ja = jarray.array([1.5, 2.5], 'd')
+        assert list(ja) == [1.5, 2.5]
+        ja = jarray.array([1, 2], 'l')
+        assert list(ja) == [1, 2]
+
     @skipIf(is_native, "not supported in native mode")
     def test_foreign_repl():
         from java.util.logging import LogRecord
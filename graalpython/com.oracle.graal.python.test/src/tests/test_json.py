@@ -83,3 +83,67 @@ class JsonTest(unittest.TestCase):
             1521583201347000000,
             10,
         }
+
+    def test_load_numeric_arrays(self):
+        import json
+        assert json.loads('[1, 2, -3, 0]') == [1, 2, -3, 0]
+        assert json.loads('[ 1521583201297000000 , -5 ]') == [1521583201297000000, -5]
+        assert json.loads('[123456789012345678901234567890, 1]') == [123456789012345678901234567890, 1]
+        values = json.loads('[1.5, -2e3, 0.25E-1]')
+        assert values == [1.5, -2000.0, 0.025]
+        assert all(type(v) is float for v in values)
+        mixed = json.loads('[1, 2.0, 3]')
+        assert mixed == [1, 2.0, 3]
+        assert [type(v) for v in mixed] == [int, float, int]
+        assert json.loads('[1, -Infinity]') == [1, float('-inf')]
+        assert json.loads('[1, [2, 3], {"a": [4.5]}]') == [1, [2, 3], {"a": [4.5]}]
+        values = json.loads('[1, 2]')
+        values.append("x")
+        assert values == [1, 2, "x"]
+        assert json.loads('[1, 2]', parse_int=str) == ["1", "2"]
+        assert json.loads('[1.5]', parse_float=str) == ["1.5"]
+        for invalid in ('[1, 2', '[01]', '[1,]', '[1 2]', '[-]'):
+            self.assertRaises(json.JSONDecodeError, json.loads, invalid)
+
+    def test_load_objects(self):
+        import json
+        assert json.loads('{"a": 1, "b": {"c": [1, 2]}, "d": "x,}"}') == {"a": 1, "b": {"c": [1, 2]}, "d": "x,}"}
+        assert json.loads('{}') == {}
+        assert json.loads('{"a": 1, "b": 2}', object_pairs_hook=list) == [("a", 1), ("b", 2)]
+
+    def test_dump_chunked(self):
+        import json
+        import io
+        data = {"values": list(range(10000)), "nested": [{"a": "x" * 100, "b": [1.5, None, True]}] * 100}
+
+        class Writer:
+            def __init__(self):
+                self.chunks = []
+
+            def write(self, s):
+                assert isinstance(s, str)
+                self.chunks.append(s)
+
+        writer = Writer()
+        encoder = json.encoder.c_make_encoder(
+            {}, None, json.encoder.encode_basestring_ascii, None, ': ', ', ', False, False, True)
+        encoder.dump(data, writer, 1024)
+        assert len(writer.chunks) > 1
+        assert all(len(c) < 2048 for c in writer.chunks)
+        assert "".join(writer.chunks) == json.dumps(data)
+
+        out = io.StringIO()
+        json.dump(data, out, sort_keys=True, separators=(',', ':'))
+        assert out.getvalue() == json.dumps(data, sort_keys=True, separators=(',', ':'))
+
+        out = io.StringIO()
+        json.dump(data, out, indent=2)
+        assert out.getvalue() == json.dumps(data, indent=2)
+
+        class Custom(json.JSONEncoder):
+            def default(self, o):
+                return sorted(o)
+
+        out = io.StringIO()
+        json.dump({"s": {3, 1, 2}}, out, cls=Custom)
+        assert out.getvalue() == '{"s": [1, 2, 3]}'
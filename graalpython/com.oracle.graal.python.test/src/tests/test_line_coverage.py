@@ -0,0 +1,102 @@
+# Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+# DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+#
+# The Universal Permissive License (UPL), Version 1.0
+#
+# Subject to the condition set forth below, permission is hereby granted to any
+# person obtaining a copy of this software, associated documentation and/or
+# data (collectively the "Software"), free of charge and under any and all
+# copyright rights in the Software, and any and all patent rights owned or
+# freely licensable by each licensor hereunder covering either (i) the
+# unmodified Software as contributed to or provided by such licensor, or (ii)
+# the Larger Works (as defined below), to deal in both
+#
+# (a) the Software, and
+#
+# (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+# one is included with the Software each a "Larger Work" to which the Software
+# is contributed by such licensors),
+#
+# without restriction, including without limitation the rights to copy, create
+# derivative works of, display, perform, and distribute the Software and make,
+# use, sell, offer for sale, import, export, have made, and have sold the
+# Software and the Larger Work(s), and to sublicense the foregoing rights on
+# either these or other terms.
+#
+# This license is subject to the following condition:
+#
+# The above copyright notice and either this complete permission notice or at a
+# minimum a reference to the UPL must be included in all copies or substantial
+# portions of the Software.
+#
+# THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+# IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+# FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+# AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+# LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+# OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+# SOFTWARE.
+import sys
+import unittest
+
+
+def branchy(x):
+    if x:
+        a = 1
+    else:
+        a = 2
+    return a
+
+
+@unittest.skipUnless(sys.implementation.name == "graalpy", "GraalPy specific line coverage API")
+class LineCoverageTests(unittest.TestCase):
+    def tearDown(self):
+        __graalpython__.stop_line_coverage()
+
+    def lines_of(self, func):
+        first = func.__code__.co_firstlineno
+        cov = __graalpython__.get_line_coverage().get(func.__code__.co_filename, set())
+        return {line - first for line in cov if line > first}
+
+    def test_executed_lines(self):
+        __graalpython__.start_line_coverage()
+        for i in range(100):
+            branchy(True)
+        __graalpython__.stop_line_coverage()
+        lines = self.lines_of(branchy)
+        self.assertIn(1, lines)
+        self.assertIn(2, lines)
+        self.assertNotIn(4, lines)
+        self.assertIn(5, lines)
+
+    def test_restart_clears(self):
+        __graalpython__.start_line_coverage()
+        branchy(True)
+        __graalpython__.start_line_coverage()
+        branchy(False)
+        __graalpython__.stop_line_coverage()
+        lines = self.lines_of(branchy)
+        self.assertNotIn(2, lines)
+        self.assertIn(4, lines)
+
+    def test_stopped_records_nothing(self):
+        __graalpython__.start_line_coverage()
+        __graalpython__.stop_line_coverage()
+        branchy(False)
+        self.assertNotIn(4, self.lines_of(branchy))
+
+    def test_restart_after_stop(self):
+        __graalpython__.start_line_coverage()
+        branchy(True)
+        __graalpython__.stop_line_coverage()
+        branchy(False)
+        __graalpython__.start_line_coverage()
+        branchy(True)
+        __graalpython__.stop_line_coverage()
+        lines = self.lines_of(branchy)
+        self.assertIn(2, lines)
+        self.assertNotIn(4, lines)
+
+
+if __name__ == '__main__':
+    unittest.main()
@@ -840,6 +840,35 @@ class ListCompareTest(CompareTest):
         l += [0x100000000, 'a']
         self.assertEqual([1, 0x100000000, 'a'], l)
 
+    def test_large_slices_are_independent(self):
+        l = [str(i) for i in range(100)]
+        s = l[1:]
+        s[0] = 'x'
+        l[2] = 'y'
+        s.append('z')
+        l.insert(0, 'w')
+        self.assertEqual(s, ['x', '2'] + [str(i) for i in range(3, 100)] + ['z'])
+        self.assertEqual(l, ['w', '0', '1', 'y'] + [str(i) for i in range(3, 100)])
+        s2 = l[50:]
+        s2.reverse()
+        l.sort()
+        self.assertEqual(s2, [str(i) for i in range(99, 48, -1)])
+
+    def test_write_after_large_slice_is_gone(self):
+        import gc
+        l = [str(i) for i in range(100)]
+        s = l[10:]
+        t = s[10:]
+        del s
+        gc.collect()
+        l[20] = 'x'
+        self.assertEqual(t[0], '20')
+        del t
+        gc.collect()
+        l[30] = 'y'
+        self.assertEqual(l[20:31:10], ['x', 'y'])
+        self.assertEqual(l[10:][10:] + ['z'], ['x'] + [str(i) for i in range(21, 30)] + ['y'] + [str(i) for i in range(31, 100)] + ['z'])
+
 
 if __name__ == '__main__':
     unittest.main()
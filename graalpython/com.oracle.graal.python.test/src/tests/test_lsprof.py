@@ -0,0 +1,110 @@
+# Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+# DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+#
+# The Universal Permissive License (UPL), Version 1.0
+#
+# Subject to the condition set forth below, permission is hereby granted to any
+# person obtaining a copy of this software, associated documentation and/or
+# data (collectively the "Software"), free of charge and under any and all
+# copyright rights in the Software, and any and all patent rights owned or
+# freely licensable by each licensor hereunder covering either (i) the
+# unmodified Software as contributed to or provided by such licensor, or (ii)
+# the Larger Works (as defined below), to deal in both
+#
+# (a) the Software, and
+#
+# (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+# one is included with the Software each a "Larger Work" to which the Software
+# is contributed by such licensors),
+#
+# without restriction, including without limitation the rights to copy, create
+# derivative works of, display, perform, and distribute the Software and make,
+# use, sell, offer for sale, import, export, have made, and have sold the
+# Software and the Larger Work(s), and to sublicense the foregoing rights on
+# either these or other terms.
+#
+# This license is subject to the following condition:
+#
+# The above copyright notice and either this complete permission notice or at a
+# minimum a reference to the UPL must be included in all copies or substantial
+# portions of the Software.
+#
+# THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+# IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+# FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+# AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+# LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+# OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+# SOFTWARE.
+import cProfile
+import io
+import pstats
+import unittest
+
+
+def fib(n):
+    return n if n < 2 else fib(n - 1) + fib(n - 2)
+
+
+def caller():
+    for i in range(10):
+        fib(3)
+    return len([1, 2, 3])
+
+
+def entries_by_name(stats):
+    return {func[2]: value for func, value in stats.stats.items()}
+
+
+class LsprofTests(unittest.TestCase):
+    def profile(self, func, **kwargs):
+        profiler = cProfile.Profile(**kwargs)
+        profiler.enable()
+        func()
+        profiler.disable()
+        return pstats.Stats(profiler)
+
+    def test_call_counts_are_exact(self):
+        stats = entries_by_name(self.profile(caller))
+        self.assertEqual(stats["caller"][:2], (1, 1))
+        # fib(3) makes 5 calls, 4 of them recursive
+        primitive_calls, total_calls, inline_time, cumulative_time, callers = stats["fib"]
+        self.assertEqual(primitive_calls, 10)
+        self.assertEqual(total_calls, 50)
+        self.assertGreaterEqual(cumulative_time, 0)
+        self.assertGreaterEqual(inline_time, 0)
+
+    def test_callers(self):
+        stats = self.profile(caller)
+        fib_callers = {func[2]: value for func, value in entries_by_name(stats)["fib"][4].items()}
+        self.assertEqual(fib_callers["caller"][:2], (10, 10))
+        self.assertEqual(fib_callers["fib"][0], 40)
+
+    def test_builtins(self):
+        self.assertTrue(any("len" in name for name in entries_by_name(self.profile(caller))))
+        self.assertFalse(any("len" in name for name in entries_by_name(self.profile(caller, builtins=False))))
+
+    def test_external_timer(self):
+        ticks = iter(range(1000000))
+        stats = entries_by_name(self.profile(caller, timer=lambda: next(ticks), timeunit=1.0))
+        self.assertEqual(stats["fib"][1], 50)
+        self.assertGreater(stats["caller"][3], 0)
+
+    def test_print_stats(self):
+        out = io.StringIO()
+        stats = self.profile(caller)
+        stats.stream = out
+        stats.sort_stats("cumulative").print_stats()
+        self.assertIn("fib", out.getvalue())
+
+    def test_clear(self):
+        profiler = cProfile.Profile()
+        profiler.enable()
+        caller()
+        profiler.disable()
+        profiler.clear()
+        self.assertFalse(any(entry.code.co_name == "fib" for entry in profiler.getstats() if not isinstance(entry.code, str)))
+
+
+if __name__ == '__main__':
+    unittest.main()
@@ -60,3 +60,61 @@ class OperatorTest(unittest.TestCase):
         self.assertRaises(TypeError, operator.getitem)
         self.assertRaises(TypeError, operator.getitem, a, None)
         self.assertEqual(operator.getitem(a, 2), 2)
+
+    def test_itemgetter(self):
+        self.assertEqual(operator.itemgetter(2)("abcd"), "c")
+        self.assertEqual(operator.itemgetter(2, 0, 1)("abcd"), ("c", "a", "b"))
+        self.assertEqual(operator.itemgetter("k")({"k": 1}), 1)
+        self.assertRaises(TypeError, operator.itemgetter)
+        self.assertRaises(IndexError, operator.itemgetter(5), "abc")
+        self.assertRaises(KeyError, operator.itemgetter("x"), {})
+        self.assertEqual(repr(operator.itemgetter(1, "a")), "operator.itemgetter(1, 'a')")
+        f = operator.itemgetter(1, 2)
+        cls, args = f.__reduce__()
+        self.assertEqual(cls(*args)([0, 1, 2]), (1, 2))
+
+    def test_attrgetter(self):
+        class A:
+            pass
+        a = A()
+        a.x = 1
+        a.y = A()
+        a.y.z = 2
+        self.assertEqual(operator.attrgetter("x")(a), 1)
+        self.assertEqual(operator.attrgetter("y.z")(a), 2)
+        self.assertEqual(operator.attrgetter("x", "y.z")(a), (1, 2))
+        self.assertRaises(AttributeError, operator.attrgetter("w"), a)
+        self.assertRaises(AttributeError, operator.attrgetter("y..z"), a)
+        self.assertRaises(TypeError, operator.attrgetter, 1)
+        self.assertRaises(TypeError, operator.attrgetter, "x", 2)
+        self.assertEqual(repr(operator.attrgetter("x", "y.z")), "operator.attrgetter('x', 'y.z')")
+        cls, args = operator.attrgetter("y.z").__reduce__()
+        self.assertEqual(cls(*args)(a), 2)
+
+    def test_methodcaller(self):
+        self.assertEqual(operator.methodcaller("upper")("abc"), "ABC")
+        self.assertEqual(operator.methodcaller("split", ",", maxsplit=1)("a,b,c"), ["a", "b,c"])
+        self.assertRaises(TypeError, operator.methodcaller)
+        self.assertRaises(TypeError, operator.methodcaller, 1)
+        self.assertRaises(AttributeError, operator.methodcaller("nope"), "abc")
+        self.assertEqual(repr(operator.methodcaller("split", ",", maxsplit=1)), "operator.methodcaller('split', ',', maxsplit=1)")
+        f = operator.methodcaller("split", ",", maxsplit=1)
+        ctor, args = f.__reduce__()
+        self.assertEqual(ctor(*args)("a,b,c"), ["a", "b,c"])
+        ctor, args = operator.methodcaller("count", "a").__reduce__()
+        self.assertEqual(ctor(*args)("banana"), 3)
+
+    def test_sort_with_getter_key(self):
+        rows = [(i % 7, -i, str(i)) for i in range(50)]
+        self.assertEqual(sorted(rows, key=operator.itemgetter(1)), sorted(rows, key=lambda r: r[1]))
+        self.assertEqual(sorted(rows, key=operator.itemgetter(0, 2), reverse=True),
+                         sorted(rows, key=lambda r: (r[0], r[2]), reverse=True))
+        # the sort must be stable with the inlined key as well
+        self.assertEqual(sorted(rows, key=operator.itemgetter(0)), sorted(rows, key=lambda r: r[0]))
+
+        class P:
+            def __init__(self, v):
+                self.v = v
+        ps = [P(v) for v in [3, 1, 2]]
+        self.assertEqual([p.v for p in sorted(ps, key=operator.attrgetter("v"))], [1, 2, 3])
+        self.assertRaises(IndexError, sorted, [(1,), ()], key=operator.itemgetter(0))
@@ -1174,3 +1174,18 @@ def test_str_add_result_type():
     assert ('' + 'a').__class__ == str
     assert ('a' + '').__class__ == str
     assert ('a' + 'a').__class__ == str
+
+def test_str_add_in_loop():
+    s = ''
+    for i in range(5000):
+        s += str(i) + ','
+    expected = ','.join(str(i) for i in range(5000)) + ','
+    assert len(s) == len(expected)
+    assert s == expected
+    assert hash(s) == hash(expected)
+    assert s[:6] == '0,1,2,'
+    assert s.endswith('4999,')
+    t = 'x'
+    for i in range(100):
+        t = 'ab' + t + 'cd'
+    assert t == 'ab' * 100 + 'x' + 'cd' * 100
@@ -379,6 +379,20 @@ class TupleCompareTest(CompareTest):
         s = slice(2, 6)
         self.assertEqual(t1[s], (5, 7, 9, 11))
 
+    def test_large_slices(self):
+        t = tuple(str(i) for i in range(100))
+        q = t
+        seen = []
+        while q:
+            head, q = q[0], q[1:]
+            seen.append(head)
+        self.assertEqual(tuple(seen), t)
+        s = t[10:90][5:70]
+        self.assertEqual(s, tuple(str(i) for i in range(15, 80)))
+        self.assertEqual(list(s)[::-1], [str(i) for i in range(79, 14, -1)])
+        self.assertEqual(s + t[:2], s + ('0', '1'))
+        self.assertEqual(hash(s), hash(tuple(s)))
+
 
 def test_same_id():
     empty_ids = set([id(tuple()) for i in range(100)])
@@ -107,3 +107,43 @@ def test_weakref_hash():
             assert False, "could compute hash for r3 but should have failed"
 
         assert r1_hash == do_hash(r1)
+
+
+def test_weakref_callback_with_gc_disabled():
+    import gc, weakref
+    class A(): pass
+    called = []
+    gc.disable()
+    try:
+        a = A()
+        w = weakref.ref(a, called.append)
+        del a
+        i = 0
+        while w() is not None and i < MAX_WAIT_COUNT:
+            gc.collect()
+            i += 1
+    finally:
+        gc.enable()
+    i = 0
+    while not called and i < MAX_WAIT_COUNT:
+        gc.collect()
+        i += 1
+    assert called == [w]
+
+
+if sys.implementation.name == "graalpy":
+    def test_reference_handler_stats():
+        import gc, weakref
+        class A(): pass
+        stats = __graalpython__.get_reference_handler_stats()
+        assert set(stats) == {"processed", "pending", "batches", "max_batch_size", "avg_latency_ns", "max_latency_ns"}
+        called = []
+        w = weakref.ref(A(), called.append)
+        i = 0
+        while not called and i < MAX_WAIT_COUNT:
+            gc.collect()
+            i += 1
+        assert called == [w]
+        after = __graalpython__.get_reference_handler_stats()
+        assert after["processed"] > stats["processed"]
+        assert after["batches"] > stats["batches"]
@@ -40,6 +40,7 @@ import java.util.EnumSet;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 
 import org.graalvm.home.Version;
@@ -124,6 +125,7 @@ import com.oracle.truffle.api.source.Source;
 import com.oracle.truffle.api.source.Source.SourceBuilder;
 import com.oracle.truffle.api.source.SourceSection;
 import com.oracle.truffle.api.strings.TruffleString;
+import com.oracle.truffle.api.utilities.CyclicAssumption;
 
 @TruffleLanguage.Registration(id = PythonLanguage.ID, //
                 name = PythonLanguage.NAME, //
@@ -226,6 +228,24 @@ public final class PythonLanguage extends TruffleLanguage<PythonContext> {
      */
     public final Assumption noTracingOrProfilingAssumption = Assumption.create("No tracing function was set");
 
+    /**
+     * This assumption will be valid if no context started collecting line coverage at any point.
+     */
+    public final Assumption noLineCoverageAssumption = Assumption.create("No line coverage was started");
+
+    /**
+     * Invalidated each time a context starts or stops collecting line coverage. Bytecode root nodes
+     * re-arm their line coverage probes when they see a new assumption, or drop them if no context
+     * is collecting anymore. While several contexts collect, the probes are never disarmed, so
+     * that each context records every line it executes.
+     */
+    public final CyclicAssumption lineCoverageEpoch = new CyclicAssumption("line coverage epoch");
+
+    /**
+     * Number of contexts of this language that are currently collecting line coverage.
+     */
+    public final AtomicInteger lineCoverageCollectors = new AtomicInteger();
+
     @CompilationFinal private boolean singleContext = true;
 
     public boolean isSingleContext() {
@@ -337,6 +357,11 @@ public final class PythonLanguage extends TruffleLanguage<PythonContext> {
             Python3Core.writeInfo("Cannot use preinitialized context.");
             return false;
         }
+        if (!context.getOption(PythonOptions.WarmupModules).equalsUncached(newEnv.getOptions().get(PythonOptions.WarmupModules), TS_ENCODING)) {
+            // the warmup modules are already imported in the pre-initialized context
+            Python3Core.writeInfo("Cannot use preinitialized context with different warmup modules.");
+            return false;
+        }
         context.initializeHomeAndPrefixPaths(newEnv, getLanguageHome());
         Python3Core.writeInfo("Using preinitialized context.");
         context.patch(newEnv);
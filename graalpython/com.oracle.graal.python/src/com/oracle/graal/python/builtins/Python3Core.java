@@ -59,8 +59,10 @@ import org.graalvm.nativeimage.ImageInfo;
 import com.oracle.graal.python.PythonLanguage;
 import com.oracle.graal.python.builtins.modules.AbcModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.ArrayModuleBuiltins;
+import com.oracle.graal.python.builtins.modules.AsyncioModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.AtexitModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.BinasciiModuleBuiltins;
+import com.oracle.graal.python.builtins.modules.BisectModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.BuiltinConstructors;
 import com.oracle.graal.python.builtins.modules.BuiltinFunctions;
 import com.oracle.graal.python.builtins.modules.CmathModuleBuiltins;
@@ -69,6 +71,8 @@ import com.oracle.graal.python.builtins.modules.CodecsTruffleModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.CollectionsModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.ContextvarsModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.CryptModuleBuiltins;
+import com.oracle.graal.python.builtins.modules.DatetimeTruffleModuleBuiltins;
+import com.oracle.graal.python.builtins.modules.DecimalTruffleModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.ErrnoModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.FaulthandlerModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.FcntlModuleBuiltins;
@@ -77,6 +81,7 @@ import com.oracle.graal.python.builtins.modules.GcModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.GraalHPyDebugModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.GraalHPyUniversalModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.GraalPythonModuleBuiltins;
+import com.oracle.graal.python.builtins.modules.HeapqModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.ImpModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.ItertoolsModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.JArrayModuleBuiltins;
@@ -222,6 +227,11 @@ import com.oracle.graal.python.builtins.modules.zlib.ZlibCompressBuiltins;
 import com.oracle.graal.python.builtins.modules.zlib.ZlibDecompressBuiltins;
 import com.oracle.graal.python.builtins.objects.NotImplementedBuiltins;
 import com.oracle.graal.python.builtins.objects.array.ArrayBuiltins;
+import com.oracle.graal.python.builtins.objects.asyncio.FutureBuiltins;
+import com.oracle.graal.python.builtins.objects.asyncio.FutureIterBuiltins;
+import com.oracle.graal.python.builtins.objects.asyncio.TaskBuiltins;
+import com.oracle.graal.python.builtins.objects.asyncio.TaskStepMethWrapperBuiltins;
+import com.oracle.graal.python.builtins.objects.asyncio.TaskWakeupMethWrapperBuiltins;
 import com.oracle.graal.python.builtins.objects.bool.BoolBuiltins;
 import com.oracle.graal.python.builtins.objects.bytes.ByteArrayBuiltins;
 import com.oracle.graal.python.builtins.objects.bytes.BytesBuiltins;
@@ -296,6 +306,7 @@ import com.oracle.graal.python.builtins.objects.itertools.TeeDataObjectBuiltins;
 import com.oracle.graal.python.builtins.objects.itertools.ZipLongestBuiltins;
 import com.oracle.graal.python.builtins.objects.keywrapper.KeyWrapperBuiltins;
 import com.oracle.graal.python.builtins.objects.list.ListBuiltins;
+import com.oracle.graal.python.builtins.objects.lrucache.LruCacheWrapperBuiltins;
 import com.oracle.graal.python.builtins.objects.map.MapBuiltins;
 import com.oracle.graal.python.builtins.objects.mappingproxy.MappingproxyBuiltins;
 import com.oracle.graal.python.builtins.objects.memoryview.BufferBuiltins;
@@ -316,6 +327,9 @@ import com.oracle.graal.python.builtins.objects.module.PythonModule;
 import com.oracle.graal.python.builtins.objects.namespace.SimpleNamespaceBuiltins;
 import com.oracle.graal.python.builtins.objects.object.ObjectBuiltins;
 import com.oracle.graal.python.builtins.objects.object.PythonObject;
+import com.oracle.graal.python.builtins.objects.operator.AttrGetterBuiltins;
+import com.oracle.graal.python.builtins.objects.operator.ItemGetterBuiltins;
+import com.oracle.graal.python.builtins.objects.operator.MethodCallerBuiltins;
 import com.oracle.graal.python.builtins.objects.partial.PartialBuiltins;
 import com.oracle.graal.python.builtins.objects.posix.DirEntryBuiltins;
 import com.oracle.graal.python.builtins.objects.posix.ScandirIteratorBuiltins;
@@ -423,17 +437,6 @@ public abstract class Python3Core {
 
     private final PythonBuiltins[] builtins;
 
-    private static final boolean hasProfilerTool;
-    static {
-        Class<?> c = null;
-        try {
-            c = Class.forName("com.oracle.truffle.tools.profiler.CPUSampler");
-        } catch (LinkageError | ClassNotFoundException e) {
-        }
-        hasProfilerTool = c != null;
-        c = null;
-    }
-
     private static void filterBuiltins(List<PythonBuiltins> builtins) {
         PythonOS currentOs = PythonOS.getPythonOS();
         List<PythonBuiltins> toRemove = new ArrayList<>();
@@ -472,6 +475,10 @@ public abstract class Python3Core {
                         new ForeignObjectBuiltins(),
                         new KeyWrapperBuiltins(),
                         new PartialBuiltins(),
+                        new LruCacheWrapperBuiltins(),
+                        new ItemGetterBuiltins(),
+                        new AttrGetterBuiltins(),
+                        new MethodCallerBuiltins(),
                         new ListBuiltins(),
                         new DictBuiltins(),
                         new DictReprBuiltin(),
@@ -527,6 +534,8 @@ public abstract class Python3Core {
                         new TimeModuleBuiltins(),
                         new ModuleBuiltins(),
                         new MathModuleBuiltins(),
+                        new DecimalTruffleModuleBuiltins(),
+                        new DatetimeTruffleModuleBuiltins(),
                         new CmathModuleBuiltins(),
                         new MarshalModuleBuiltins(),
                         new RandomModuleBuiltins(),
@@ -614,6 +623,8 @@ public abstract class Python3Core {
                         new StringModuleBuiltins(),
                         new ItertoolsModuleBuiltins(),
                         new FunctoolsModuleBuiltins(),
+                        new HeapqModuleBuiltins(),
+                        new BisectModuleBuiltins(),
                         new ErrnoModuleBuiltins(),
                         new CodecsModuleBuiltins(),
                         new CodecsTruffleModuleBuiltins(),
@@ -709,6 +720,12 @@ public abstract class Python3Core {
                         new PwdModuleBuiltins(),
                         new ResourceModuleBuiltins(),
                         new ContextvarsModuleBuiltins(),
+                        new AsyncioModuleBuiltins(),
+                        new FutureBuiltins(),
+                        new FutureIterBuiltins(),
+                        new TaskBuiltins(),
+                        new TaskStepMethWrapperBuiltins(),
+                        new TaskWakeupMethWrapperBuiltins(),
 
                         // lzma
                         PythonOptions.WITHOUT_COMPRESSION_LIBRARIES ? null : new LZMAModuleBuiltins(),
@@ -755,11 +772,11 @@ public abstract class Python3Core {
 
                         // _hpy_universal and _hpy_debug
                         new GraalHPyUniversalModuleBuiltins(),
-                        new GraalHPyDebugModuleBuiltins()));
-        if (hasProfilerTool) {
-            builtins.add(new LsprofModuleBuiltins());
-            builtins.add(LsprofModuleBuiltins.newProfilerBuiltins());
-        }
+                        new GraalHPyDebugModuleBuiltins(),
+
+                        // _lsprof
+                        new LsprofModuleBuiltins(),
+                        LsprofModuleBuiltins.newProfilerBuiltins()));
         if (!PythonOptions.WITHOUT_COMPRESSION_LIBRARIES && (nativeAccessAllowed || ImageInfo.inImageBuildtimeCode())) {
             builtins.add(new BZ2CompressorBuiltins());
             builtins.add(new BZ2DecompressorBuiltins());
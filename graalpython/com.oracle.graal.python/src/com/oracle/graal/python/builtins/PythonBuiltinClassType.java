@@ -48,6 +48,7 @@ import static com.oracle.graal.python.nodes.BuiltinNames.J_SIMPLE_QUEUE;
 import static com.oracle.graal.python.nodes.BuiltinNames.J_TUPLE_GETTER;
 import static com.oracle.graal.python.nodes.BuiltinNames.J_TYPES;
 import static com.oracle.graal.python.nodes.BuiltinNames.J_WRAPPER_DESCRIPTOR;
+import static com.oracle.graal.python.nodes.BuiltinNames.J__ASYNCIO;
 import static com.oracle.graal.python.nodes.BuiltinNames.J__CONTEXTVARS;
 import static com.oracle.graal.python.nodes.BuiltinNames.J__CTYPES;
 import static com.oracle.graal.python.nodes.BuiltinNames.J__SOCKET;
@@ -103,6 +104,10 @@ public enum PythonBuiltinClassType implements TruffleObject {
     PSimpleNamespace("SimpleNamespace", null, "types", Flags.PUBLIC_BASE_WDICT),
     PKeyWrapper("KeyWrapper", "_functools", "functools", Flags.PUBLIC_DERIVED_WODICT),
     PPartial(J_PARTIAL, "_functools", "functools", Flags.PUBLIC_BASE_WDICT),
+    PLruCacheWrapper("_lru_cache_wrapper", "_functools", "functools", Flags.PUBLIC_DERIVED_WDICT),
+    PItemGetter("itemgetter", "_operator", "operator", Flags.PUBLIC_DERIVED_WODICT),
+    PAttrGetter("attrgetter", "_operator", "operator", Flags.PUBLIC_DERIVED_WODICT),
+    PMethodCaller("methodcaller", "_operator", "operator", Flags.PUBLIC_DERIVED_WODICT),
     PDefaultDict(J_DEFAULTDICT, "_collections", "collections", Flags.PUBLIC_BASE_WODICT),
     PDeque(J_DEQUE, "_collections", Flags.PUBLIC_BASE_WODICT),
     PTupleGetter(J_TUPLE_GETTER, "_collections", Flags.PUBLIC_BASE_WODICT),
@@ -410,6 +415,13 @@ public enum PythonBuiltinClassType implements TruffleObject {
     ContextVarsContext("Context", J__CONTEXTVARS, Flags.PUBLIC_DERIVED_WODICT),
     ContextVar("ContextVar", J__CONTEXTVARS, Flags.PUBLIC_DERIVED_WODICT),
 
+    // _asyncio
+    PFuture("Future", J__ASYNCIO, Flags.PUBLIC_BASE_WDICT),
+    PTask("Task", J__ASYNCIO, Flags.PUBLIC_BASE_WDICT),
+    PFutureIter("FutureIter", Flags.PRIVATE_DERIVED_WODICT),
+    PTaskStepMethWrapper("TaskStepMethWrapper", Flags.PRIVATE_DERIVED_WODICT),
+    PTaskWakeupMethWrapper("TaskWakeupMethWrapper", Flags.PRIVATE_DERIVED_WODICT),
+
     Capsule("PyCapsule"),
 
     // A marker for @Builtin that is not a class. Must always come last.
@@ -424,6 +436,7 @@ public enum PythonBuiltinClassType implements TruffleObject {
         static final Flags PRIVATE_BASE_WODICT = new Flags(false, true, false);
         static final Flags PUBLIC_BASE_WDICT = new Flags(true, true, true);
         static final Flags PUBLIC_BASE_WODICT = new Flags(true, true, false);
+        static final Flags PUBLIC_DERIVED_WDICT = new Flags(true, false, true);
         static final Flags PUBLIC_DERIVED_WODICT = new Flags(true, false, false);
         static final Flags PRIVATE_DERIVED_WODICT = new Flags(false, false, false);
 
@@ -724,6 +737,7 @@ public enum PythonBuiltinClassType implements TruffleObject {
         PThreadInfo.base = PTuple;
         PUnraisableHookArgs.base = PTuple;
         PDefaultDict.base = PDict;
+        PTask.base = PFuture;
 
         PArrayIterator.type = PythonClass;
         PSocket.type = PythonClass;
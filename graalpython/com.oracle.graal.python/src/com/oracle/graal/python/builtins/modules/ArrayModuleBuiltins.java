@@ -70,6 +70,7 @@ import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonClinicBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonVarargsBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentClinicProvider;
+import com.oracle.graal.python.nodes.interop.GetHostPrimitiveArrayNode;
 import com.oracle.graal.python.nodes.object.IsBuiltinClassProfile;
 import com.oracle.graal.python.nodes.util.SplitArgsNode;
 import com.oracle.graal.python.runtime.exception.PException;
@@ -266,12 +267,29 @@ public final class ArrayModuleBuiltins extends PythonBuiltins {
 
             @Specialization(guards = {"!isBytes(initializer)", "!isString(initializer)", "!isPSequence(initializer)"})
             PArray arrayIteratorInitializer(VirtualFrame frame, Object cls, TruffleString typeCode, Object initializer,
+                            @Cached GetHostPrimitiveArrayNode getHostArrayNode,
                             @Cached PyObjectGetIter getIter,
                             @Cached ArrayNodes.PutValueNode putValueNode,
                             @Cached GetNextNode nextNode,
                             @Cached IsBuiltinClassProfile errorProfile,
                             @Cached TruffleString.CodePointLengthNode lengthNode,
                             @Cached TruffleString.CodePointAtIndexNode atIndexNode) {
+                Object hostArray = getHostArrayNode.execute(initializer);
+                if (hostArray != null) {
+                    BufferFormat format = getFormatChecked(typeCode, lengthNode, atIndexNode);
+                    if (GetHostPrimitiveArrayNode.getMatchingFormat(hostArray) == format) {
+                        // the host array has exactly our item representation, copy it in bulk
+                        try {
+                            PArray array = getFactory().createArray(cls, typeCode, format, GetHostPrimitiveArrayNode.getLength(hostArray));
+                            GetHostPrimitiveArrayNode.copyToBuffer(hostArray, array.getBuffer());
+                            return array;
+                        } catch (OverflowException e) {
+                            CompilerDirectives.transferToInterpreterAndInvalidate();
+                            throw raise(MemoryError);
+                        }
+                    }
+                }
+
                 Object iter = getIter.execute(frame, initializer);
 
                 BufferFormat format = getFormatChecked(typeCode, lengthNode, atIndexNode);
@@ -0,0 +1,457 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules;
+
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.AttributeError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.DeprecationWarning;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.RuntimeError;
+import static com.oracle.graal.python.nodes.BuiltinNames.J__ASYNCIO;
+import static com.oracle.graal.python.nodes.BuiltinNames.T__ASYNCIO;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___GETATTR__;
+import static com.oracle.graal.python.util.PythonUtils.TS_ENCODING;
+import static com.oracle.graal.python.util.PythonUtils.tsLiteral;
+
+import java.util.List;
+
+import com.oracle.graal.python.annotations.ArgumentClinic;
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.Python3Core;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.modules.WarningsModuleBuiltins.WarnNode;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.asyncio.PFuture;
+import com.oracle.graal.python.builtins.objects.asyncio.PTask;
+import com.oracle.graal.python.builtins.objects.dict.PDict;
+import com.oracle.graal.python.builtins.objects.function.PKeyword;
+import com.oracle.graal.python.builtins.objects.module.PythonModule;
+import com.oracle.graal.python.lib.PyDictDelItem;
+import com.oracle.graal.python.lib.PyDictGetItem;
+import com.oracle.graal.python.lib.PyDictSetItem;
+import com.oracle.graal.python.lib.PyObjectCallMethodObjArgs;
+import com.oracle.graal.python.lib.PyObjectGetAttr;
+import com.oracle.graal.python.lib.PyObjectReprAsTruffleStringNode;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PNodeWithContext;
+import com.oracle.graal.python.nodes.call.CallNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryClinicBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonVarargsBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentClinicProvider;
+import com.oracle.graal.python.nodes.statement.AbstractImportNode;
+import com.oracle.graal.python.runtime.PythonContext;
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.strings.TruffleString;
+
+/**
+ * Implementation of CPython's {@code _asyncio} accelerator module. The {@code Future} and
+ * {@code Task} types live in {@link com.oracle.graal.python.builtins.objects.asyncio}. The helpers
+ * they need from the pure Python parts of {@code asyncio} (exception types, repr helpers, the event
+ * loop policy) are imported lazily on first use, because this module is imported while
+ * {@code asyncio} itself is still being initialized.
+ */
+@CoreFunctions(defineModule = J__ASYNCIO)
+public final class AsyncioModuleBuiltins extends PythonBuiltins {
+    private static final TruffleString T_ASYNCIO_EXCEPTIONS = tsLiteral("asyncio.exceptions");
+    private static final TruffleString T_ASYNCIO_EVENTS = tsLiteral("asyncio.events");
+    private static final TruffleString T_ASYNCIO_BASE_FUTURES = tsLiteral("asyncio.base_futures");
+    private static final TruffleString T_ASYNCIO_BASE_TASKS = tsLiteral("asyncio.base_tasks");
+    private static final TruffleString T_ASYNCIO_COROUTINES = tsLiteral("asyncio.coroutines");
+    private static final TruffleString T_TRACEBACK = tsLiteral("traceback");
+    private static final TruffleString T_WEAKREF = tsLiteral("weakref");
+    private static final TruffleString T_CANCELLED_ERROR = tsLiteral("CancelledError");
+    private static final TruffleString T_INVALID_STATE_ERROR = tsLiteral("InvalidStateError");
+    private static final TruffleString T_GET_EVENT_LOOP_POLICY = tsLiteral("get_event_loop_policy");
+    private static final TruffleString T_FUTURE_REPR_INFO = tsLiteral("_future_repr_info");
+    private static final TruffleString T_TASK_REPR_INFO = tsLiteral("_task_repr_info");
+    private static final TruffleString T_TASK_GET_STACK = tsLiteral("_task_get_stack");
+    private static final TruffleString T_TASK_PRINT_STACK = tsLiteral("_task_print_stack");
+    private static final TruffleString T_ISCOROUTINE = tsLiteral("iscoroutine");
+    private static final TruffleString T_EXTRACT_STACK = tsLiteral("extract_stack");
+    private static final TruffleString T_WEAKSET = tsLiteral("WeakSet");
+    private static final TruffleString T_GET_EVENT_LOOP = tsLiteral("get_event_loop");
+    private static final TruffleString T_ADD = tsLiteral("add");
+    private static final TruffleString T_DISCARD = tsLiteral("discard");
+    private static final TruffleString T_ALL_TASKS = tsLiteral("_all_tasks");
+    private static final TruffleString T_CURRENT_TASKS = tsLiteral("_current_tasks");
+
+    private Object cancelledErrorType;
+    private Object invalidStateErrorType;
+    private Object getEventLoopPolicy;
+    private Object futureReprInfo;
+    private Object taskReprInfo;
+    private Object taskGetStack;
+    private Object taskPrintStack;
+    private Object isCoroutine;
+    private Object extractStack;
+    /** The {@code weakref.WeakSet} of all tasks, created on first access. */
+    private Object allTasks;
+    /** Maps each event loop to the task it is currently running. */
+    private PDict currentTasks;
+    private long taskNameCounter;
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return AsyncioModuleBuiltinsFactory.getFactories();
+    }
+
+    @Override
+    public void initialize(Python3Core core) {
+        super.initialize(core);
+        currentTasks = core.factory().createDict();
+        addBuiltinConstant(T_CURRENT_TASKS, currentTasks);
+    }
+
+    public static AsyncioModuleBuiltins getModuleState(PythonContext context) {
+        return (AsyncioModuleBuiltins) context.lookupBuiltinModule(T__ASYNCIO).getBuiltins();
+    }
+
+    private void ensureAsyncioImported() {
+        if (cancelledErrorType == null) {
+            CompilerDirectives.transferToInterpreter();
+            importAsyncio();
+        }
+    }
+
+    @TruffleBoundary
+    private void importAsyncio() {
+        invalidStateErrorType = importFrom(T_ASYNCIO_EXCEPTIONS, T_INVALID_STATE_ERROR);
+        getEventLoopPolicy = importFrom(T_ASYNCIO_EVENTS, T_GET_EVENT_LOOP_POLICY);
+        futureReprInfo = importFrom(T_ASYNCIO_BASE_FUTURES, T_FUTURE_REPR_INFO);
+        taskReprInfo = importFrom(T_ASYNCIO_BASE_TASKS, T_TASK_REPR_INFO);
+        taskGetStack = importFrom(T_ASYNCIO_BASE_TASKS, T_TASK_GET_STACK);
+        taskPrintStack = importFrom(T_ASYNCIO_BASE_TASKS, T_TASK_PRINT_STACK);
+        isCoroutine = importFrom(T_ASYNCIO_COROUTINES, T_ISCOROUTINE);
+        extractStack = importFrom(T_TRACEBACK, T_EXTRACT_STACK);
+        // set last, it marks the imports as done
+        cancelledErrorType = importFrom(T_ASYNCIO_EXCEPTIONS, T_CANCELLED_ERROR);
+    }
+
+    private static Object importFrom(TruffleString module, TruffleString name) {
+        Object mod = AbstractImportNode.importModule(module, new TruffleString[]{name});
+        return PyObjectGetAttr.getUncached().execute(null, mod, name);
+    }
+
+    public Object getCancelledErrorType() {
+        ensureAsyncioImported();
+        return cancelledErrorType;
+    }
+
+    public Object getInvalidStateErrorType() {
+        ensureAsyncioImported();
+        return invalidStateErrorType;
+    }
+
+    public Object getGetEventLoopPolicy() {
+        ensureAsyncioImported();
+        return getEventLoopPolicy;
+    }
+
+    public Object getFutureReprInfo() {
+        ensureAsyncioImported();
+        return futureReprInfo;
+    }
+
+    public Object getTaskReprInfo() {
+        ensureAsyncioImported();
+        return taskReprInfo;
+    }
+
+    public Object getTaskGetStack() {
+        ensureAsyncioImported();
+        return taskGetStack;
+    }
+
+    public Object getTaskPrintStack() {
+        ensureAsyncioImported();
+        return taskPrintStack;
+    }
+
+    public Object getIsCoroutine() {
+        ensureAsyncioImported();
+        return isCoroutine;
+    }
+
+    public Object getExtractStack() {
+        ensureAsyncioImported();
+        return extractStack;
+    }
+
+    public PDict getCurrentTasks() {
+        return currentTasks;
+    }
+
+    public long nextTaskNameCounter() {
+        return ++taskNameCounter;
+    }
+
+    private Object getAllTasks(PythonModule module) {
+        if (allTasks == null) {
+            CompilerDirectives.transferToInterpreter();
+            createAllTasks(module);
+        }
+        return allTasks;
+    }
+
+    @TruffleBoundary
+    private void createAllTasks(PythonModule module) {
+        allTasks = CallNode.getUncached().execute(importFrom(T_WEAKREF, T_WEAKSET));
+        module.setAttribute(T_ALL_TASKS, allTasks);
+    }
+
+    @Builtin(name = J___GETATTR__, minNumOfPositionalArgs = 2, declaresExplicitSelf = true)
+    @GenerateNodeFactory
+    abstract static class GetAttrNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object getattr(PythonModule self, Object name,
+                        @Cached TruffleString.EqualNode equalNode) {
+            if (name instanceof TruffleString && equalNode.execute((TruffleString) name, T_ALL_TASKS, TS_ENCODING)) {
+                return ((AsyncioModuleBuiltins) self.getBuiltins()).getAllTasks(self);
+            }
+            throw raise(AttributeError, ErrorMessages.MODULE_S_HAS_NO_ATTR_S, T__ASYNCIO, name);
+        }
+    }
+
+    @Builtin(name = "Future", minNumOfPositionalArgs = 1, constructsClass = PythonBuiltinClassType.PFuture, takesVarArgs = true, takesVarKeywordArgs = true)
+    @GenerateNodeFactory
+    abstract static class FutureNode extends PythonVarargsBuiltinNode {
+
+        @Override
+        public Object varArgExecute(VirtualFrame frame, Object self, Object[] arguments, PKeyword[] keywords) throws VarargsBuiltinDirectInvocationNotSupported {
+            if (arguments.length >= 1) {
+                return doGeneric(arguments[0], null, null);
+            }
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            throw VarargsBuiltinDirectInvocationNotSupported.INSTANCE;
+        }
+
+        @Specialization
+        @SuppressWarnings("unused")
+        PFuture doGeneric(Object cls, Object[] args, PKeyword[] kwargs) {
+            return factory().createFuture(cls);
+        }
+    }
+
+    @Builtin(name = "Task", minNumOfPositionalArgs = 1, constructsClass = PythonBuiltinClassType.PTask, takesVarArgs = true, takesVarKeywordArgs = true)
+    @GenerateNodeFactory
+    abstract static class TaskNode extends PythonVarargsBuiltinNode {
+
+        @Override
+        public Object varArgExecute(VirtualFrame frame, Object self, Object[] arguments, PKeyword[] keywords) throws VarargsBuiltinDirectInvocationNotSupported {
+            if (arguments.length >= 1) {
+                return doGeneric(arguments[0], null, null);
+            }
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            throw VarargsBuiltinDirectInvocationNotSupported.INSTANCE;
+        }
+
+        @Specialization
+        @SuppressWarnings("unused")
+        PTask doGeneric(Object cls, Object[] args, PKeyword[] kwargs) {
+            return factory().createTask(cls);
+        }
+    }
+
+    /**
+     * Returns the running event loop or falls back to the event loop policy, like
+     * {@code asyncio.events._get_event_loop}.
+     */
+    public abstract static class GetEventLoopNode extends PNodeWithContext {
+        public abstract Object execute(VirtualFrame frame, int stacklevel);
+
+        @Specialization
+        Object getLoop(VirtualFrame frame, int stacklevel,
+                        @Cached WarnNode warnNode,
+                        @Cached CallNode callNode,
+                        @Cached PyObjectCallMethodObjArgs callMethod) {
+            PythonContext context = getContext();
+            Object loop = context.getThreadState(getLanguage()).getRunningEventLoop();
+            if (loop != null) {
+                return loop;
+            }
+            warnNode.warnEx(frame, DeprecationWarning, ErrorMessages.NO_CURRENT_EVENT_LOOP, stacklevel);
+            Object policy = callNode.execute(frame, getModuleState(context).getGetEventLoopPolicy());
+            return callMethod.execute(frame, policy, T_GET_EVENT_LOOP);
+        }
+    }
+
+    @Builtin(name = "get_running_loop", doc = "Return the running event loop.  Raise a RuntimeError if there is none.\n\nThis function is thread-specific.")
+    @GenerateNodeFactory
+    abstract static class GetRunningLoopNode extends PythonBuiltinNode {
+        @Specialization
+        Object get() {
+            Object loop = getContext().getThreadState(getLanguage()).getRunningEventLoop();
+            if (loop == null) {
+                throw raise(RuntimeError, ErrorMessages.NO_RUNNING_EVENT_LOOP);
+            }
+            return loop;
+        }
+    }
+
+    @Builtin(name = "_get_running_loop", doc = "Return the running event loop or None.\n\nThis is a low-level function intended to be used by event loops.\nThis function is thread-specific.")
+    @GenerateNodeFactory
+    abstract static class InternalGetRunningLoopNode extends PythonBuiltinNode {
+        @Specialization
+        Object get() {
+            Object loop = getContext().getThreadState(getLanguage()).getRunningEventLoop();
+            return loop != null ? loop : PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "_set_running_loop", minNumOfPositionalArgs = 1, parameterNames = {"loop"}, doc = "Set the running event loop.\n\nThis is a low-level function intended to be used by event loops.\nThis function is thread-specific.")
+    @GenerateNodeFactory
+    abstract static class SetRunningLoopNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object set(Object loop) {
+            getContext().getThreadState(getLanguage()).setRunningEventLoop(loop == PNone.NONE ? null : loop);
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "get_event_loop", doc = "Return an asyncio event loop.\n\nWhen called from a coroutine or a callback (e.g. scheduled with call_soon\nor similar API), this function will always return the running event loop.\n\nIf there is no running event loop set, the function will return\nthe result of `get_event_loop_policy().get_event_loop()` call.")
+    @GenerateNodeFactory
+    abstract static class GetEventLoopBuiltinNode extends PythonBuiltinNode {
+        @Specialization
+        static Object get(VirtualFrame frame,
+                        @Cached GetEventLoopNode getEventLoopNode) {
+            return getEventLoopNode.execute(frame, 1);
+        }
+    }
+
+    @Builtin(name = "_get_event_loop", parameterNames = {"stacklevel"})
+    @ArgumentClinic(name = "stacklevel", conversion = ArgumentClinic.ClinicConversion.Int, defaultValue = "3")
+    @GenerateNodeFactory
+    abstract static class InternalGetEventLoopNode extends PythonUnaryClinicBuiltinNode {
+        @Specialization
+        static Object get(VirtualFrame frame, int stacklevel,
+                        @Cached GetEventLoopNode getEventLoopNode) {
+            return getEventLoopNode.execute(frame, stacklevel - 1);
+        }
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return AsyncioModuleBuiltinsClinicProviders.InternalGetEventLoopNodeClinicProviderGen.INSTANCE;
+        }
+    }
+
+    @Builtin(name = "_register_task", minNumOfPositionalArgs = 1, parameterNames = {"task"}, doc = "Register a new task in asyncio as executed by loop.\n\nReturns None.")
+    @GenerateNodeFactory
+    public abstract static class RegisterTaskNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object register(VirtualFrame frame, Object task,
+                        @Cached PyObjectCallMethodObjArgs callMethod) {
+            PythonModule module = getContext().lookupBuiltinModule(T__ASYNCIO);
+            callMethod.execute(frame, ((AsyncioModuleBuiltins) module.getBuiltins()).getAllTasks(module), T_ADD, task);
+            return PNone.NONE;
+        }
+
+        public static RegisterTaskNode create() {
+            return AsyncioModuleBuiltinsFactory.RegisterTaskNodeFactory.create();
+        }
+    }
+
+    @Builtin(name = "_unregister_task", minNumOfPositionalArgs = 1, parameterNames = {"task"}, doc = "Unregister a task.\n\nReturns None.")
+    @GenerateNodeFactory
+    abstract static class UnregisterTaskNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object unregister(VirtualFrame frame, Object task,
+                        @Cached PyObjectCallMethodObjArgs callMethod) {
+            PythonModule module = getContext().lookupBuiltinModule(T__ASYNCIO);
+            callMethod.execute(frame, ((AsyncioModuleBuiltins) module.getBuiltins()).getAllTasks(module), T_DISCARD, task);
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "_enter_task", minNumOfPositionalArgs = 2, parameterNames = {"loop", "task"}, doc = "Enter into task execution or resume suspended task.\n\nTask belongs to loop.\n\nReturns None.")
+    @GenerateNodeFactory
+    public abstract static class EnterTaskNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object enter(VirtualFrame frame, Object loop, Object task,
+                        @Cached PyDictGetItem getItem,
+                        @Cached PyDictSetItem setItem,
+                        @Cached PyObjectReprAsTruffleStringNode reprNode) {
+            PDict currentTasks = getModuleState(getContext()).getCurrentTasks();
+            Object current = getItem.execute(frame, currentTasks, loop);
+            if (current != null) {
+                throw raise(RuntimeError, ErrorMessages.CANNOT_ENTER_INTO_TASK_S_WHILE_ANOTHER_TASK_S, reprNode.execute(frame, task), reprNode.execute(frame, current));
+            }
+            setItem.execute(frame, currentTasks, loop, task);
+            return PNone.NONE;
+        }
+
+        public static EnterTaskNode create() {
+            return AsyncioModuleBuiltinsFactory.EnterTaskNodeFactory.create();
+        }
+    }
+
+    @Builtin(name = "_leave_task", minNumOfPositionalArgs = 2, parameterNames = {"loop", "task"}, doc = "Leave task execution or suspend a task.\n\nTask belongs to loop.\n\nReturns None.")
+    @GenerateNodeFactory
+    public abstract static class LeaveTaskNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object leave(VirtualFrame frame, Object loop, Object task,
+                        @Cached PyDictGetItem getItem,
+                        @Cached PyDictDelItem delItem,
+                        @Cached PyObjectReprAsTruffleStringNode reprNode) {
+            PDict currentTasks = getModuleState(getContext()).getCurrentTasks();
+            Object current = getItem.execute(frame, currentTasks, loop);
+            if (current != task) {
+                throw raise(RuntimeError, ErrorMessages.LEAVING_TASK_S_DOES_NOT_MATCH_CURRENT_TASK_S, reprNode.execute(frame, task),
+                                reprNode.execute(frame, current != null ? current : PNone.NONE));
+            }
+            delItem.execute(frame, currentTasks, loop);
+            return PNone.NONE;
+        }
+
+        public static LeaveTaskNode create() {
+            return AsyncioModuleBuiltinsFactory.LeaveTaskNodeFactory.create();
+        }
+    }
+}
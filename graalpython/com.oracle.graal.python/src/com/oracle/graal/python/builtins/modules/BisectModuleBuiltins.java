@@ -0,0 +1,316 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules;
+
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.ValueError;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.T_INSERT;
+
+import java.util.List;
+
+import com.oracle.graal.python.annotations.ArgumentClinic;
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodes;
+import com.oracle.graal.python.builtins.objects.floats.PFloat;
+import com.oracle.graal.python.builtins.objects.list.PList;
+import com.oracle.graal.python.lib.PyFloatCheckExactNode;
+import com.oracle.graal.python.lib.PyListCheckExactNode;
+import com.oracle.graal.python.lib.PyNumberAsSizeNode;
+import com.oracle.graal.python.lib.PyObjectCallMethodObjArgs;
+import com.oracle.graal.python.lib.PyObjectGetItem;
+import com.oracle.graal.python.lib.PyObjectRichCompareBool;
+import com.oracle.graal.python.lib.PyObjectSizeNode;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PGuards;
+import com.oracle.graal.python.nodes.PNodeWithRaise;
+import com.oracle.graal.python.nodes.call.CallNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonClinicBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentClinicProvider;
+import com.oracle.graal.python.nodes.truffle.PythonTypes;
+import com.oracle.graal.python.runtime.sequence.storage.DoubleSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.IntSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.LongSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.dsl.TypeSystemReference;
+import com.oracle.truffle.api.frame.VirtualFrame;
+
+/**
+ * Implementation of CPython's {@code _bisect} module. Exact lists with int, long or double storage
+ * are searched directly on the primitive arrays when no key function is given.
+ */
+@CoreFunctions(defineModule = "_bisect")
+public class BisectModuleBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return BisectModuleBuiltinsFactory.getFactories();
+    }
+
+    /**
+     * Equivalent of {@code internal_bisect_left} and {@code internal_bisect_right}. For
+     * {@code right}, returns the index after the rightmost item not greater than {@code x},
+     * otherwise the index of the leftmost item not less than {@code x}.
+     */
+    @TypeSystemReference(PythonTypes.class)
+    abstract static class BisectNode extends PNodeWithRaise {
+
+        abstract int execute(VirtualFrame frame, Object a, Object x, int lo, int hi, Object key, boolean right);
+
+        @Specialization(guards = {"isIntStorage(a)", "cannotBeOverriddenForImmutableType(a)", "fitsStorage(a, hi)"})
+        static int doInt(PList a, long x, int lo, int hi, @SuppressWarnings("unused") PNone key, boolean right) {
+            int[] arr = ((IntSequenceStorage) a.getSequenceStorage()).getInternalIntArray();
+            int l = lo;
+            int h = hi;
+            while (l < h) {
+                int mid = (l + h) >>> 1;
+                if (right ? x < arr[mid] : !(arr[mid] < x)) {
+                    h = mid;
+                } else {
+                    l = mid + 1;
+                }
+            }
+            return l;
+        }
+
+        @Specialization(guards = {"isLongStorage(a)", "cannotBeOverriddenForImmutableType(a)", "fitsStorage(a, hi)"})
+        static int doLong(PList a, long x, int lo, int hi, @SuppressWarnings("unused") PNone key, boolean right) {
+            long[] arr = ((LongSequenceStorage) a.getSequenceStorage()).getInternalLongArray();
+            int l = lo;
+            int h = hi;
+            while (l < h) {
+                int mid = (l + h) >>> 1;
+                if (right ? x < arr[mid] : !(arr[mid] < x)) {
+                    h = mid;
+                } else {
+                    l = mid + 1;
+                }
+            }
+            return l;
+        }
+
+        @Specialization(guards = {"isDoubleStorage(a)", "cannotBeOverriddenForImmutableType(a)", "fitsStorage(a, hi)"})
+        static int doDouble(PList a, double x, int lo, int hi, @SuppressWarnings("unused") PNone key, boolean right) {
+            return bisectDouble(((DoubleSequenceStorage) a.getSequenceStorage()).getInternalDoubleArray(), x, lo, hi, right);
+        }
+
+        /*
+         * Only exact floats may skip the comparison; a subclass could override '__lt__'.
+         */
+        @Specialization(guards = {"isDoubleStorage(a)", "cannotBeOverriddenForImmutableType(a)", "fitsStorage(a, hi)", "checkExactNode.execute(x)"}, limit = "1")
+        static int doPFloat(PList a, PFloat x, int lo, int hi, @SuppressWarnings("unused") PNone key, boolean right,
+                        @SuppressWarnings("unused") @Cached PyFloatCheckExactNode checkExactNode) {
+            return bisectDouble(((DoubleSequenceStorage) a.getSequenceStorage()).getInternalDoubleArray(), x.getValue(), lo, hi, right);
+        }
+
+        private static int bisectDouble(double[] arr, double x, int lo, int hi, boolean right) {
+            int l = lo;
+            int h = hi;
+            while (l < h) {
+                int mid = (l + h) >>> 1;
+                if (right ? x < arr[mid] : !(arr[mid] < x)) {
+                    h = mid;
+                } else {
+                    l = mid + 1;
+                }
+            }
+            return l;
+        }
+
+        @Specialization
+        static int doGeneric(VirtualFrame frame, Object a, Object x, int lo, int hi, Object key, boolean right,
+                        @Cached PyObjectGetItem getItemNode,
+                        @Cached CallNode callKeyNode,
+                        @Cached PyObjectRichCompareBool.LtNode ltNode) {
+            int l = lo;
+            int h = hi;
+            while (l < h) {
+                int mid = (l + h) >>> 1;
+                Object item = getItemNode.execute(frame, a, mid);
+                if (!PGuards.isPNone(key)) {
+                    item = callKeyNode.execute(frame, key, item);
+                }
+                if (right ? ltNode.execute(frame, x, item) : !ltNode.execute(frame, item, x)) {
+                    h = mid;
+                } else {
+                    l = mid + 1;
+                }
+            }
+            return l;
+        }
+
+        static boolean fitsStorage(PList a, int hi) {
+            return hi <= a.getSequenceStorage().length();
+        }
+    }
+
+    abstract static class BisectBuiltinNode extends PythonClinicBuiltinNode {
+
+        @Child private BisectNode bisectNode = BisectModuleBuiltinsFactory.BisectNodeGen.create();
+        @Child private PyObjectSizeNode sizeNode;
+        @Child private PyNumberAsSizeNode asSizeNode;
+
+        int bisect(VirtualFrame frame, Object a, Object x, int lo, Object hi, Object key, boolean right) {
+            if (lo < 0) {
+                throw raise(ValueError, ErrorMessages.LO_MUST_BE_NON_NEGATIVE);
+            }
+            int hiValue = -1;
+            if (!PGuards.isPNone(hi)) {
+                if (asSizeNode == null) {
+                    CompilerDirectives.transferToInterpreterAndInvalidate();
+                    asSizeNode = insert(PyNumberAsSizeNode.create());
+                }
+                hiValue = asSizeNode.executeExact(frame, hi);
+            }
+            if (hiValue == -1) {
+                if (sizeNode == null) {
+                    CompilerDirectives.transferToInterpreterAndInvalidate();
+                    sizeNode = insert(PyObjectSizeNode.create());
+                }
+                hiValue = sizeNode.execute(frame, a);
+            }
+            return bisectNode.execute(frame, a, x, lo, hiValue, key, right);
+        }
+    }
+
+    abstract static class InsortBuiltinNode extends BisectBuiltinNode {
+
+        @Child private CallNode callKeyNode;
+
+        Object insort(VirtualFrame frame, Object a, Object x, int lo, Object hi, Object key, boolean right,
+                        PyListCheckExactNode checkExactNode, SequenceStorageNodes.InsertItemNode insertItemNode, PyObjectCallMethodObjArgs callInsertNode) {
+            Object keyX = x;
+            if (!PGuards.isPNone(key)) {
+                if (callKeyNode == null) {
+                    CompilerDirectives.transferToInterpreterAndInvalidate();
+                    callKeyNode = insert(CallNode.create());
+                }
+                keyX = callKeyNode.execute(frame, key, x);
+            }
+            int index = bisect(frame, a, keyX, lo, hi, key, right);
+            if (checkExactNode.execute(a)) {
+                PList list = (PList) a;
+                SequenceStorage storage = list.getSequenceStorage();
+                list.setSequenceStorage(insertItemNode.execute(storage, Math.min(index, storage.length()), x));
+            } else {
+                callInsertNode.execute(frame, a, T_INSERT, index, x);
+            }
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "bisect_right", minNumOfPositionalArgs = 2, parameterNames = {"a", "x", "lo", "hi"}, keywordOnlyNames = {"key"})
+    @ArgumentClinic(name = "lo", conversion = ArgumentClinic.ClinicConversion.Index, defaultValue = "0")
+    @GenerateNodeFactory
+    abstract static class BisectRightNode extends BisectBuiltinNode {
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return BisectModuleBuiltinsClinicProviders.BisectRightNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization
+        Object doIt(VirtualFrame frame, Object a, Object x, int lo, Object hi, Object key) {
+            return bisect(frame, a, x, lo, hi, key, true);
+        }
+    }
+
+    @Builtin(name = "bisect_left", minNumOfPositionalArgs = 2, parameterNames = {"a", "x", "lo", "hi"}, keywordOnlyNames = {"key"})
+    @ArgumentClinic(name = "lo", conversion = ArgumentClinic.ClinicConversion.Index, defaultValue = "0")
+    @GenerateNodeFactory
+    abstract static class BisectLeftNode extends BisectBuiltinNode {
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return BisectModuleBuiltinsClinicProviders.BisectLeftNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization
+        Object doIt(VirtualFrame frame, Object a, Object x, int lo, Object hi, Object key) {
+            return bisect(frame, a, x, lo, hi, key, false);
+        }
+    }
+
+    @Builtin(name = "insort_right", minNumOfPositionalArgs = 2, parameterNames = {"a", "x", "lo", "hi"}, keywordOnlyNames = {"key"})
+    @ArgumentClinic(name = "lo", conversion = ArgumentClinic.ClinicConversion.Index, defaultValue = "0")
+    @GenerateNodeFactory
+    abstract static class InsortRightNode extends InsortBuiltinNode {
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return BisectModuleBuiltinsClinicProviders.InsortRightNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization
+        Object doIt(VirtualFrame frame, Object a, Object x, int lo, Object hi, Object key,
+                        @Cached PyListCheckExactNode checkExactNode,
+                        @Cached SequenceStorageNodes.InsertItemNode insertItemNode,
+                        @Cached PyObjectCallMethodObjArgs callInsertNode) {
+            return insort(frame, a, x, lo, hi, key, true, checkExactNode, insertItemNode, callInsertNode);
+        }
+    }
+
+    @Builtin(name = "insort_left", minNumOfPositionalArgs = 2, parameterNames = {"a", "x", "lo", "hi"}, keywordOnlyNames = {"key"})
+    @ArgumentClinic(name = "lo", conversion = ArgumentClinic.ClinicConversion.Index, defaultValue = "0")
+    @GenerateNodeFactory
+    abstract static class InsortLeftNode extends InsortBuiltinNode {
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return BisectModuleBuiltinsClinicProviders.InsortLeftNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization
+        Object doIt(VirtualFrame frame, Object a, Object x, int lo, Object hi, Object key,
+                        @Cached PyListCheckExactNode checkExactNode,
+                        @Cached SequenceStorageNodes.InsertItemNode insertItemNode,
+                        @Cached PyObjectCallMethodObjArgs callInsertNode) {
+            return insort(frame, a, x, lo, hi, key, false, checkExactNode, insertItemNode, callInsertNode);
+        }
+    }
+}
@@ -0,0 +1,322 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules;
+
+import static com.oracle.graal.python.util.PythonUtils.toTruffleStringUncached;
+
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.truffle.PythonArithmeticTypes;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.dsl.TypeSystemReference;
+import com.oracle.truffle.api.strings.TruffleString;
+
+/**
+ * Parsing, formatting and normalization helpers used by the pure Python {@code datetime} module.
+ * Every helper only handles the canonical, ASCII-only forms (the ones produced by
+ * {@code isoformat()}) and plain integer arguments, and returns {@code None} for anything else so
+ * that {@code datetime.py} can apply its own, more lenient rules and produce its own errors.
+ */
+@CoreFunctions(defineModule = "_datetime_truffle")
+public class DatetimeTruffleModuleBuiltins extends PythonBuiltins {
+
+    private static final int US_PER_SECOND = 1000000;
+    private static final int SECONDS_PER_DAY = 24 * 3600;
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return DatetimeTruffleModuleBuiltinsFactory.getFactories();
+    }
+
+    // parse_isoformat_date(dtstr) -> [year, month, day] or None
+    @Builtin(name = "parse_isoformat_date", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ParseIsoformatDateNode extends PythonUnaryBuiltinNode {
+
+        @Specialization
+        Object parse(TruffleString dtstr,
+                        @Cached TruffleString.ToJavaStringNode toJavaStringNode) {
+            return parseDate(factory(), toJavaStringNode.execute(dtstr));
+        }
+
+        @Fallback
+        static Object fallback(@SuppressWarnings("unused") Object dtstr) {
+            return PNone.NONE;
+        }
+
+        @TruffleBoundary
+        private static Object parseDate(PythonObjectFactory factory, String s) {
+            if (s.length() != 10 || s.charAt(4) != '-' || s.charAt(7) != '-') {
+                return PNone.NONE;
+            }
+            int year = parseDigits(s, 0, 4);
+            int month = parseDigits(s, 5, 2);
+            int day = parseDigits(s, 8, 2);
+            if (year < 0 || month < 0 || day < 0) {
+                return PNone.NONE;
+            }
+            return factory.createList(new Object[]{year, month, day});
+        }
+    }
+
+    // parse_isoformat_time(tstr) -> [hour, minute, second, microsecond, utcoffset_us] or None
+    @Builtin(name = "parse_isoformat_time", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ParseIsoformatTimeNode extends PythonUnaryBuiltinNode {
+
+        @Specialization
+        Object parse(TruffleString tstr,
+                        @Cached TruffleString.ToJavaStringNode toJavaStringNode) {
+            return parseTime(factory(), toJavaStringNode.execute(tstr));
+        }
+
+        @Fallback
+        static Object fallback(@SuppressWarnings("unused") Object tstr) {
+            return PNone.NONE;
+        }
+
+        @TruffleBoundary
+        private static Object parseTime(PythonObjectFactory factory, String s) {
+            // same split as datetime._parse_isoformat_time: the first '-', otherwise the first '+'
+            int tzPos = s.indexOf('-');
+            if (tzPos < 0) {
+                tzPos = s.indexOf('+');
+            }
+            int timeEnd = tzPos < 0 ? s.length() : tzPos;
+            int[] comps = new int[4];
+            if (!parseTimeComponents(s, 0, timeEnd, comps)) {
+                return PNone.NONE;
+            }
+            Object offset = PNone.NONE;
+            if (tzPos >= 0) {
+                int tzLength = s.length() - tzPos - 1;
+                if (tzLength != 5 && tzLength != 8 && tzLength != 15) {
+                    return PNone.NONE;
+                }
+                int[] tzComps = new int[4];
+                if (!parseTimeComponents(s, tzPos + 1, s.length(), tzComps)) {
+                    return PNone.NONE;
+                }
+                long offsetUs = ((tzComps[0] * 60L + tzComps[1]) * 60L + tzComps[2]) * US_PER_SECOND + tzComps[3];
+                offset = s.charAt(tzPos) == '-' ? -offsetUs : offsetUs;
+            }
+            return factory.createList(new Object[]{comps[0], comps[1], comps[2], comps[3], offset});
+        }
+
+        /**
+         * Parses {@code HH[:MM[:SS[.fff[fff]]]]} from {@code s[start:end]}.
+         */
+        private static boolean parseTimeComponents(String s, int start, int end, int[] comps) {
+            int pos = start;
+            for (int comp = 0; comp < 3; comp++) {
+                if (end - pos < 2) {
+                    return false;
+                }
+                comps[comp] = parseDigits(s, pos, 2);
+                if (comps[comp] < 0) {
+                    return false;
+                }
+                pos += 2;
+                if (pos == end || comp == 2) {
+                    break;
+                }
+                if (s.charAt(pos) != ':') {
+                    return false;
+                }
+                pos++;
+            }
+            if (pos < end) {
+                if (s.charAt(pos) != '.') {
+                    return false;
+                }
+                pos++;
+                int fractionLength = end - pos;
+                if (fractionLength != 3 && fractionLength != 6) {
+                    return false;
+                }
+                int fraction = parseDigits(s, pos, fractionLength);
+                if (fraction < 0) {
+                    return false;
+                }
+                comps[3] = fractionLength == 3 ? fraction * 1000 : fraction;
+            }
+            return true;
+        }
+    }
+
+    // format_time(hh, mm, ss, us, timespec) -> str or None
+    @Builtin(name = "format_time", minNumOfPositionalArgs = 5)
+    @TypeSystemReference(PythonArithmeticTypes.class)
+    @GenerateNodeFactory
+    abstract static class FormatTimeNode extends PythonBuiltinNode {
+
+        @Specialization(guards = {"isField(hh)", "isField(mm)", "isField(ss)", "isMicrosecond(us)"})
+        static Object format(int hh, int mm, int ss, int us, TruffleString timespec,
+                        @Cached TruffleString.ToJavaStringNode toJavaStringNode) {
+            return formatTime(hh, mm, ss, us, toJavaStringNode.execute(timespec));
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        static Object fallback(Object hh, Object mm, Object ss, Object us, Object timespec) {
+            return PNone.NONE;
+        }
+
+        static boolean isField(int value) {
+            return value >= 0 && value < 100;
+        }
+
+        static boolean isMicrosecond(int value) {
+            return value >= 0 && value < US_PER_SECOND;
+        }
+
+        @TruffleBoundary
+        private static Object formatTime(int hh, int mm, int ss, int us, String timespec) {
+            String spec = timespec;
+            if ("auto".equals(spec)) {
+                spec = us != 0 ? "microseconds" : "seconds";
+            }
+            StringBuilder sb = new StringBuilder(15);
+            switch (spec) {
+                case "hours":
+                    appendPadded(sb, hh, 2);
+                    break;
+                case "minutes":
+                    appendPadded(sb, hh, 2).append(':');
+                    appendPadded(sb, mm, 2);
+                    break;
+                case "seconds":
+                    appendHhMmSs(sb, hh, mm, ss);
+                    break;
+                case "milliseconds":
+                    appendHhMmSs(sb, hh, mm, ss).append('.');
+                    appendPadded(sb, us / 1000, 3);
+                    break;
+                case "microseconds":
+                    appendHhMmSs(sb, hh, mm, ss).append('.');
+                    appendPadded(sb, us, 6);
+                    break;
+                default:
+                    // let datetime._format_time raise the ValueError
+                    return PNone.NONE;
+            }
+            return toTruffleStringUncached(sb.toString());
+        }
+
+        private static StringBuilder appendHhMmSs(StringBuilder sb, int hh, int mm, int ss) {
+            appendPadded(sb, hh, 2).append(':');
+            appendPadded(sb, mm, 2).append(':');
+            return appendPadded(sb, ss, 2);
+        }
+
+        private static StringBuilder appendPadded(StringBuilder sb, int value, int width) {
+            int divisor = 1;
+            for (int i = 1; i < width; i++) {
+                divisor *= 10;
+            }
+            for (; divisor > 0; divisor /= 10) {
+                sb.append((char) ('0' + (value / divisor) % 10));
+            }
+            return sb;
+        }
+    }
+
+    // normalize_timedelta(days, seconds, microseconds, milliseconds, minutes, hours, weeks)
+    // -> (d, s, us) or None
+    @Builtin(name = "normalize_timedelta", minNumOfPositionalArgs = 7)
+    @TypeSystemReference(PythonArithmeticTypes.class)
+    @GenerateNodeFactory
+    abstract static class NormalizeTimedeltaNode extends PythonBuiltinNode {
+
+        @Specialization
+        Object normalize(long days, long seconds, long microseconds, long milliseconds, long minutes, long hours, long weeks) {
+            long d;
+            long s;
+            long us;
+            try {
+                d = Math.addExact(days, Math.multiplyExact(weeks, 7));
+                s = Math.addExact(seconds, Math.addExact(Math.multiplyExact(minutes, 60), Math.multiplyExact(hours, 3600)));
+                us = Math.addExact(microseconds, Math.multiplyExact(milliseconds, 1000));
+                s = Math.addExact(s, Math.floorDiv(us, US_PER_SECOND));
+                d = Math.addExact(d, Math.floorDiv(s, SECONDS_PER_DAY));
+            } catch (ArithmeticException e) {
+                return PNone.NONE;
+            }
+            us = Math.floorMod(us, US_PER_SECOND);
+            s = Math.floorMod(s, SECONDS_PER_DAY);
+            return factory().createTuple(new Object[]{d, (int) s, (int) us});
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        static Object fallback(Object days, Object seconds, Object microseconds, Object milliseconds, Object minutes, Object hours, Object weeks) {
+            return PNone.NONE;
+        }
+    }
+
+    /**
+     * Parses exactly {@code length} ASCII digits, returns -1 if any other character is found.
+     */
+    private static int parseDigits(String s, int start, int length) {
+        int value = 0;
+        for (int i = start; i < start + length; i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+}
@@ -0,0 +1,273 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules;
+
+import static com.oracle.graal.python.util.PythonUtils.toTruffleStringUncached;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
+import com.oracle.graal.python.nodes.truffle.PythonArithmeticTypes;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.dsl.TypeSystemReference;
+import com.oracle.truffle.api.strings.TruffleString;
+
+/**
+ * Arithmetic kernels used by {@code _pydecimal} for the common case of finite, non-zero operands
+ * whose result stays well inside the context's exponent limits. The kernels compute the exact
+ * result (using plain {@code long} arithmetic when the coefficients are small enough and
+ * {@link BigDecimal} otherwise) and round it to the context precision exactly like
+ * {@code Decimal._fix} does. Whenever the result would need any of the more involved rules
+ * (zero results, subnormals, overflow, clamping, {@code ROUND_05UP}), {@code None} is returned
+ * and {@code _pydecimal} takes its regular path.
+ */
+@CoreFunctions(defineModule = "_decimal_truffle")
+public class DecimalTruffleModuleBuiltins extends PythonBuiltins {
+
+    static final int FLAG_INEXACT = 1;
+    static final int FLAG_ROUNDED = 2;
+
+    /**
+     * Indexed by the rounding code passed from {@code _pydecimal}, {@code ROUND_05UP} has no
+     * counterpart and is never passed in.
+     */
+    private static final RoundingMode[] ROUNDING_MODES = {RoundingMode.DOWN, RoundingMode.HALF_UP, RoundingMode.HALF_EVEN, RoundingMode.CEILING, RoundingMode.FLOOR, RoundingMode.UP,
+                    RoundingMode.HALF_DOWN};
+
+    /** Keeps exponents (and their sum) within the {@code int} scale of {@link BigDecimal}. */
+    private static final long MAX_EXPONENT = 1L << 29;
+
+    /** Larger exponent differences are left to {@code _normalize} in {@code _pydecimal}. */
+    private static final long MAX_ALIGNMENT = 1L << 12;
+
+    private static final int MAX_LONG_DIGITS = 18;
+
+    private static final long[] POWERS_OF_TEN = new long[MAX_LONG_DIGITS + 1];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    public DecimalTruffleModuleBuiltins() {
+        addBuiltinConstant("INEXACT", FLAG_INEXACT);
+        addBuiltinConstant("ROUNDED", FLAG_ROUNDED);
+    }
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return DecimalTruffleModuleBuiltinsFactory.getFactories();
+    }
+
+    // add(sign1, coeff1, exp1, sign2, coeff2, exp2, prec, rounding, Emin, Emax, clamp)
+    @Builtin(name = "add", minNumOfPositionalArgs = 11)
+    @TypeSystemReference(PythonArithmeticTypes.class)
+    @GenerateNodeFactory
+    abstract static class AddNode extends PythonBuiltinNode {
+
+        @Specialization
+        Object add(int sign1, TruffleString coeff1, long exp1, int sign2, TruffleString coeff2, long exp2, long prec, int rounding, long emin, long emax, int clamp,
+                        @Cached TruffleString.ToJavaStringNode toJavaStringNode) {
+            return compute(factory(), false, sign1, toJavaStringNode.execute(coeff1), exp1, sign2, toJavaStringNode.execute(coeff2), exp2, prec, rounding, emin, emax, clamp);
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        static Object fallback(Object sign1, Object coeff1, Object exp1, Object sign2, Object coeff2, Object exp2, Object prec, Object rounding, Object emin, Object emax, Object clamp) {
+            return PNone.NONE;
+        }
+    }
+
+    // mul(sign1, coeff1, exp1, sign2, coeff2, exp2, prec, rounding, Emin, Emax, clamp)
+    @Builtin(name = "mul", minNumOfPositionalArgs = 11)
+    @TypeSystemReference(PythonArithmeticTypes.class)
+    @GenerateNodeFactory
+    abstract static class MulNode extends PythonBuiltinNode {
+
+        @Specialization
+        Object mul(int sign1, TruffleString coeff1, long exp1, int sign2, TruffleString coeff2, long exp2, long prec, int rounding, long emin, long emax, int clamp,
+                        @Cached TruffleString.ToJavaStringNode toJavaStringNode) {
+            return compute(factory(), true, sign1, toJavaStringNode.execute(coeff1), exp1, sign2, toJavaStringNode.execute(coeff2), exp2, prec, rounding, emin, emax, clamp);
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        static Object fallback(Object sign1, Object coeff1, Object exp1, Object sign2, Object coeff2, Object exp2, Object prec, Object rounding, Object emin, Object emax, Object clamp) {
+            return PNone.NONE;
+        }
+    }
+
+    @TruffleBoundary
+    static Object compute(PythonObjectFactory factory, boolean multiply, int sign1, String coeff1, long exp1, int sign2, String coeff2, long exp2, long prec, int rounding, long emin,
+                    long emax, int clamp) {
+        if (rounding < 0 || rounding >= ROUNDING_MODES.length || prec <= 0 || prec > Integer.MAX_VALUE || Math.abs(exp1) > MAX_EXPONENT || Math.abs(exp2) > MAX_EXPONENT ||
+                        isZero(coeff1) || isZero(coeff2)) {
+            return PNone.NONE;
+        }
+        if (!multiply && Math.abs(exp1 - exp2) > MAX_ALIGNMENT) {
+            return PNone.NONE;
+        }
+        if (coeff1.length() <= MAX_LONG_DIGITS && coeff2.length() <= MAX_LONG_DIGITS) {
+            long v1 = signed(sign1, Long.parseLong(coeff1));
+            long v2 = signed(sign2, Long.parseLong(coeff2));
+            try {
+                long value;
+                long exp;
+                if (multiply) {
+                    value = Math.multiplyExact(v1, v2);
+                    exp = exp1 + exp2;
+                } else if (exp1 >= exp2) {
+                    value = Math.addExact(scaleExact(v1, exp1 - exp2), v2);
+                    exp = exp2;
+                } else {
+                    value = Math.addExact(v1, scaleExact(v2, exp2 - exp1));
+                    exp = exp1;
+                }
+                if (value == 0 || value == Long.MIN_VALUE) {
+                    return PNone.NONE;
+                }
+                long coefficient = Math.abs(value);
+                int digits = digitCount(coefficient);
+                if (digits <= prec) {
+                    if (!inBounds(exp, digits, prec, emin, emax, clamp)) {
+                        return PNone.NONE;
+                    }
+                    return createResult(factory, value < 0 ? 1 : 0, Long.toString(coefficient), exp, 0);
+                }
+                return round(factory, BigDecimal.valueOf(value, (int) -exp), (int) prec, rounding, emin, emax, clamp);
+            } catch (ArithmeticException e) {
+                // fall through to the arbitrary precision path
+            }
+        }
+        BigDecimal a = toBigDecimal(sign1, coeff1, exp1);
+        BigDecimal b = toBigDecimal(sign2, coeff2, exp2);
+        BigDecimal exact = multiply ? a.multiply(b) : a.add(b);
+        if (exact.signum() == 0) {
+            return PNone.NONE;
+        }
+        return round(factory, exact, (int) prec, rounding, emin, emax, clamp);
+    }
+
+    private static Object round(PythonObjectFactory factory, BigDecimal exact, int prec, int rounding, long emin, long emax, int clamp) {
+        int digits = exact.precision();
+        long exp = -(long) exact.scale();
+        // subnormal results are rounded to Etiny rather than to the precision
+        if (exp + digits - 1 < emin) {
+            return PNone.NONE;
+        }
+        BigDecimal result = exact;
+        int flags = 0;
+        if (digits > prec) {
+            result = exact.round(new MathContext(prec, ROUNDING_MODES[rounding]));
+            flags = FLAG_ROUNDED;
+            if (result.compareTo(exact) != 0) {
+                flags |= FLAG_INEXACT;
+            }
+            digits = result.precision();
+            exp = -(long) result.scale();
+        }
+        if (!inBounds(exp, digits, prec, emin, emax, clamp)) {
+            return PNone.NONE;
+        }
+        return createResult(factory, result.signum() < 0 ? 1 : 0, result.unscaledValue().abs().toString(), exp, flags);
+    }
+
+    /**
+     * Checks that {@code Decimal._fix} would neither flag the value as subnormal or overflowing nor
+     * fold down its exponent.
+     */
+    private static boolean inBounds(long exp, int digits, long prec, long emin, long emax, int clamp) {
+        long adjusted = exp + digits - 1;
+        if (adjusted < emin || adjusted > emax) {
+            return false;
+        }
+        return clamp == 0 || exp <= emax - prec + 1;
+    }
+
+    private static Object createResult(PythonObjectFactory factory, int sign, String coefficient, long exp, int flags) {
+        return factory.createTuple(new Object[]{sign, toTruffleStringUncached(coefficient), exp, flags});
+    }
+
+    private static BigDecimal toBigDecimal(int sign, String coefficient, long exp) {
+        BigInteger unscaled = new BigInteger(coefficient);
+        return new BigDecimal(sign == 0 ? unscaled : unscaled.negate(), (int) -exp);
+    }
+
+    private static long scaleExact(long value, long shift) {
+        if (shift > MAX_LONG_DIGITS) {
+            throw new ArithmeticException();
+        }
+        return Math.multiplyExact(value, POWERS_OF_TEN[(int) shift]);
+    }
+
+    private static long signed(int sign, long coefficient) {
+        return sign == 0 ? coefficient : -coefficient;
+    }
+
+    private static boolean isZero(String coefficient) {
+        return coefficient.length() == 1 && coefficient.charAt(0) == '0';
+    }
+
+    private static int digitCount(long value) {
+        int digits = 1;
+        while (digits <= MAX_LONG_DIGITS && value >= POWERS_OF_TEN[digits]) {
+            digits++;
+        }
+        return digits;
+    }
+}
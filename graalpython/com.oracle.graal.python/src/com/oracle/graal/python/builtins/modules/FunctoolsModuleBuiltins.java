@@ -42,6 +42,7 @@ package com.oracle.graal.python.builtins.modules;
 
 import static com.oracle.graal.python.builtins.objects.partial.PartialBuiltins.getNewPartialArgs;
 import static com.oracle.graal.python.nodes.BuiltinNames.J_PARTIAL;
+import static com.oracle.graal.python.nodes.ErrorMessages.MAXSIZE_SHOULD_BE_INTEGER_OR_NONE;
 import static com.oracle.graal.python.nodes.ErrorMessages.REDUCE_EMPTY_SEQ;
 import static com.oracle.graal.python.nodes.ErrorMessages.S_ARG_MUST_BE_CALLABLE;
 import static com.oracle.graal.python.nodes.ErrorMessages.S_ARG_N_MUST_SUPPORT_ITERATION;
@@ -61,10 +62,14 @@ import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes.Hashi
 import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes.HashingStorageLen;
 import com.oracle.graal.python.builtins.objects.dict.PDict;
 import com.oracle.graal.python.builtins.objects.function.PKeyword;
+import com.oracle.graal.python.builtins.objects.lrucache.PLruCacheWrapper;
 import com.oracle.graal.python.builtins.objects.partial.PPartial;
 import com.oracle.graal.python.lib.GetNextNode;
 import com.oracle.graal.python.lib.PyCallableCheckNode;
+import com.oracle.graal.python.lib.PyLongCheckNode;
+import com.oracle.graal.python.lib.PyNumberAsSizeNode;
 import com.oracle.graal.python.lib.PyObjectGetIter;
+import com.oracle.graal.python.lib.PyObjectIsTrueNode;
 import com.oracle.graal.python.nodes.call.CallNode;
 import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
 import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
@@ -263,4 +268,30 @@ public class FunctoolsModuleBuiltins extends PythonBuiltins {
             throw raise(PythonBuiltinClassType.TypeError, TYPE_S_TAKES_AT_LEAST_ONE_ARGUMENT, "partial");
         }
     }
+
+    // functools._lru_cache_wrapper(user_function, maxsize, typed, cache_info_type)
+    @Builtin(name = "_lru_cache_wrapper", minNumOfPositionalArgs = 5, parameterNames = {"cls", "user_function", "maxsize", "typed", "cache_info_type"}, constructsClass = PythonBuiltinClassType.PLruCacheWrapper)
+    @GenerateNodeFactory
+    public abstract static class LruCacheWrapperNode extends PythonBuiltinNode {
+        @Specialization
+        Object create(VirtualFrame frame, Object cls, Object userFunction, Object maxsizeObject, Object typedObject, Object cacheInfoType,
+                        @Cached PyCallableCheckNode callableCheckNode,
+                        @Cached PyLongCheckNode longCheckNode,
+                        @Cached PyNumberAsSizeNode asSizeNode,
+                        @Cached PyObjectIsTrueNode isTrueNode) {
+            if (!callableCheckNode.execute(userFunction)) {
+                throw raise(PythonBuiltinClassType.TypeError, S_ARG_MUST_BE_CALLABLE, "the first");
+            }
+            int maxsize;
+            if (maxsizeObject == PNone.NONE) {
+                maxsize = PLruCacheWrapper.UNBOUNDED;
+            } else if (longCheckNode.execute(maxsizeObject)) {
+                maxsize = Math.max(asSizeNode.executeLossy(frame, maxsizeObject), 0);
+            } else {
+                throw raise(PythonBuiltinClassType.TypeError, MAXSIZE_SHOULD_BE_INTEGER_OR_NONE);
+            }
+            boolean typed = isTrueNode.execute(frame, typedObject);
+            return factory().createLruCacheWrapper(cls, userFunction, maxsizeObject, maxsize, typed, cacheInfoType);
+        }
+    }
 }
@@ -25,28 +25,37 @@
  */
 package com.oracle.graal.python.builtins.modules;
 
-import com.oracle.graal.python.builtins.Builtin;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.ValueError;
+import static com.oracle.graal.python.util.PythonUtils.tsLiteral;
+
 import java.lang.management.GarbageCollectorMXBean;
 import java.lang.management.ManagementFactory;
 import java.util.List;
 
+import com.oracle.graal.python.annotations.ArgumentClinic;
+import com.oracle.graal.python.builtins.Builtin;
 import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.Python3Core;
 import com.oracle.graal.python.builtins.PythonBuiltins;
 import com.oracle.graal.python.builtins.objects.PNone;
 import com.oracle.graal.python.builtins.objects.cext.PythonNativeClass;
 import com.oracle.graal.python.builtins.objects.cext.PythonNativeObject;
+import com.oracle.graal.python.builtins.objects.function.PKeyword;
 import com.oracle.graal.python.builtins.objects.list.PList;
 import com.oracle.graal.python.builtins.objects.tuple.PTuple;
+import com.oracle.graal.python.nodes.ErrorMessages;
 import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryClinicBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentClinicProvider;
+import com.oracle.graal.python.runtime.GcMonitor;
 import com.oracle.graal.python.runtime.GilNode;
 import com.oracle.graal.python.runtime.PythonContext;
-import com.oracle.graal.python.builtins.Python3Core;
-import com.oracle.graal.python.util.PythonUtils;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Fallback;
 import com.oracle.truffle.api.dsl.GenerateNodeFactory;
 import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.strings.TruffleString;
 
 @CoreFunctions(defineModule = "gc")
 public final class GcModuleBuiltins extends PythonBuiltins {
@@ -56,34 +65,86 @@ public final class GcModuleBuiltins extends PythonBuiltins {
         return GcModuleBuiltinsFactory.getFactories();
     }
 
+    private static final TruffleString T_GC = tsLiteral("gc");
+    private static final TruffleString T_CALLBACKS = tsLiteral("callbacks");
+    private static final TruffleString T_COLLECTIONS = tsLiteral("collections");
+    private static final TruffleString T_COLLECTED = tsLiteral("collected");
+    private static final TruffleString T_UNCOLLECTABLE = tsLiteral("uncollectable");
+
     @Override
     public void initialize(Python3Core core) {
         addBuiltinConstant("DEBUG_LEAK", 0);
         super.initialize(core);
     }
 
-    @Builtin(name = "collect", minNumOfPositionalArgs = 0, maxNumOfPositionalArgs = 1)
+    @Override
+    public void postInitialize(Python3Core core) {
+        super.postInitialize(core);
+        PList callbacks = core.factory().createList();
+        core.lookupBuiltinModule(T_GC).setAttribute(T_CALLBACKS, callbacks);
+        core.getContext().getGcMonitor().start(callbacks);
+    }
+
+    @Builtin(name = "collect", parameterNames = {"generation"}, doc = "collect($module, /, generation=2)\n--\n\n" +
+                    "Run the garbage collector.\n\n" +
+                    "Generations 0 and 1 only process the pending weakref callbacks and finalizers.\n" +
+                    "Generation 2 runs a full collection of the JVM heap first, unless the time spent in\n" +
+                    "such collections exceeds the limit set with the GcCollectMaxOverhead option.")
+    @ArgumentClinic(name = "generation", conversion = ArgumentClinic.ClinicConversion.Int, defaultValue = "2")
     @GenerateNodeFactory
-    abstract static class GcCollectNode extends PythonBuiltinNode {
+    abstract static class GcCollectNode extends PythonUnaryClinicBuiltinNode {
         @Specialization
         @TruffleBoundary
-        int collect(@SuppressWarnings("unused") Object level,
+        int collect(int generation,
                         @Cached GilNode gil) {
-            gil.release(true);
-            try {
-                PythonUtils.forceFullGC();
+            if (generation < 0 || generation > GcMonitor.OLDEST_GENERATION) {
+                throw raise(ValueError, ErrorMessages.INVALID_GENERATION);
+            }
+            PythonContext context = getContext();
+            GcMonitor monitor = context.getGcMonitor();
+            monitor.invokeCallbacks(true, generation);
+            if (generation == GcMonitor.OLDEST_GENERATION && monitor.mayCollectFully()) {
+                gil.release(true);
                 try {
-                    Thread.sleep(15);
-                } catch (InterruptedException e) {
-                    // doesn't matter, just trying to give the GC more time
+                    monitor.collectFully();
+                } finally {
+                    gil.acquire();
                 }
-            } finally {
-                gil.acquire();
+            } else {
+                monitor.countCollection(generation);
             }
-            // collect some weak references now
+            // run the weakref callbacks and finalizers that are ready now
+            context.pollAsyncActions();
             PythonContext.triggerAsyncActions(this);
+            monitor.invokeCallbacks(false, generation);
             return 0;
         }
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return GcModuleBuiltinsClinicProviders.GcCollectNodeClinicProviderGen.INSTANCE;
+        }
+    }
+
+    @Builtin(name = "get_stats", doc = "get_stats($module, /)\n--\n\n" +
+                    "Return a list of dictionaries containing per-generation statistics.\n\n" +
+                    "The collections include both the collections of the JVM and the ones run by gc.collect().")
+    @GenerateNodeFactory
+    abstract static class GcGetStatsNode extends PythonBuiltinNode {
+        @Specialization
+        @TruffleBoundary
+        PList getStats() {
+            GcMonitor monitor = getContext().getGcMonitor();
+            Object[] stats = new Object[GcMonitor.GENERATIONS];
+            for (int i = 0; i < stats.length; i++) {
+                stats[i] = factory().createDict(new PKeyword[]{
+                                new PKeyword(T_COLLECTIONS, monitor.getCollections(i)),
+                                new PKeyword(T_COLLECTED, 0),
+                                new PKeyword(T_UNCOLLECTABLE, 0)
+                });
+            }
+            return factory().createList(stats);
+        }
     }
 
     @Builtin(name = "isenabled", minNumOfPositionalArgs = 0)
@@ -66,7 +66,10 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.PrintWriter;
 import java.nio.charset.StandardCharsets;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.logging.Level;
 
 import org.graalvm.nativeimage.ImageInfo;
@@ -88,6 +91,7 @@ import com.oracle.graal.python.builtins.objects.common.EconomicMapStorage;
 import com.oracle.graal.python.builtins.objects.common.EmptyStorage;
 import com.oracle.graal.python.builtins.objects.common.HashingStorage;
 import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes.HashingStorageLen;
+import com.oracle.graal.python.builtins.objects.common.PHashingCollection;
 import com.oracle.graal.python.builtins.objects.dict.PDict;
 import com.oracle.graal.python.builtins.objects.exception.OSErrorEnum;
 import com.oracle.graal.python.builtins.objects.exception.OSErrorEnum.ErrorAndMessagePair;
@@ -117,12 +121,14 @@ import com.oracle.graal.python.nodes.object.GetClassNode;
 import com.oracle.graal.python.nodes.statement.AbstractImportNode;
 import com.oracle.graal.python.nodes.truffle.PythonArithmeticTypes;
 import com.oracle.graal.python.nodes.util.CastToTruffleStringNode;
+import com.oracle.graal.python.runtime.AsyncHandler;
 import com.oracle.graal.python.runtime.PosixSupportLibrary;
 import com.oracle.graal.python.runtime.PythonContext;
 import com.oracle.graal.python.runtime.PythonOptions;
 import com.oracle.graal.python.runtime.exception.PException;
 import com.oracle.graal.python.runtime.exception.PythonExitException;
 import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.graal.python.runtime.sequence.PSequence;
 import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
 import com.oracle.graal.python.util.PythonUtils;
 import com.oracle.truffle.api.CallTarget;
@@ -229,6 +235,7 @@ public class GraalPythonModuleBuiltins extends PythonBuiltins {
             mod.setAttribute(tsLiteral("dump_truffle_ast"), PNone.NO_VALUE);
             mod.setAttribute(tsLiteral("tdebug"), PNone.NO_VALUE);
             mod.setAttribute(tsLiteral("set_storage_strategy"), PNone.NO_VALUE);
+            mod.setAttribute(tsLiteral("get_storage_strategy"), PNone.NO_VALUE);
             mod.setAttribute(tsLiteral("dump_heap"), PNone.NO_VALUE);
         }
     }
@@ -691,6 +698,24 @@ public class GraalPythonModuleBuiltins extends PythonBuiltins {
         }
     }
 
+    // Internal builtin used for testing: returns the name of the storage class of a sequence, set
+    // or map
+    @Builtin(name = "get_storage_strategy", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class GetStorageStrategyNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        @TruffleBoundary
+        static TruffleString doSequence(PSequence sequence) {
+            return toTruffleStringUncached(sequence.getSequenceStorage().getClass().getSimpleName());
+        }
+
+        @Specialization
+        @TruffleBoundary
+        static TruffleString doHashingCollection(PHashingCollection collection) {
+            return toTruffleStringUncached(collection.getDictStorage().getClass().getSimpleName());
+        }
+    }
+
     @Builtin(name = J_EXTEND, minNumOfPositionalArgs = 1, doc = "Extends Java class and return HostAdapterCLass")
     @GenerateNodeFactory
     public abstract static class JavaExtendNode extends PythonUnaryBuiltinNode {
@@ -760,6 +785,77 @@ public class GraalPythonModuleBuiltins extends PythonBuiltins {
         }
     }
 
+    @Builtin(name = "start_line_coverage", doc = "Start recording which lines of Python code are executed, dropping previously recorded lines.\n\n" +
+                    "Each line is reported by the interpreter only the first time it runs, afterwards its\n" +
+                    "check is removed from the code, so compiled code keeps running at full speed. While other\n" +
+                    "contexts sharing the engine collect line coverage too, the checks stay in place and are slower.")
+    @GenerateNodeFactory
+    abstract static class StartLineCoverageNode extends PythonBuiltinNode {
+        @Specialization
+        Object start() {
+            getContext().startLineCoverage();
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "stop_line_coverage", doc = "Stop recording executed lines. The lines recorded so far remain available.")
+    @GenerateNodeFactory
+    abstract static class StopLineCoverageNode extends PythonBuiltinNode {
+        @Specialization
+        Object stop() {
+            getContext().stopLineCoverage();
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "get_line_coverage", doc = "Return a dict that maps file names to the sets of line numbers executed since line coverage was started.")
+    @GenerateNodeFactory
+    abstract static class GetLineCoverageNode extends PythonBuiltinNode {
+        @Specialization
+        @TruffleBoundary
+        Object get() {
+            Map<PBytecodeRootNode, BitSet> coverage = getContext().getLineCoverage();
+            LinkedHashMap<TruffleString, BitSet> linesByFile = new LinkedHashMap<>();
+            if (coverage != null) {
+                for (Map.Entry<PBytecodeRootNode, BitSet> entry : coverage.entrySet()) {
+                    TruffleString filename = PCode.extractFileName(entry.getKey());
+                    linesByFile.computeIfAbsent(filename, k -> new BitSet()).or(entry.getValue());
+                }
+            }
+            LinkedHashMap<Object, Object> result = new LinkedHashMap<>();
+            for (Map.Entry<TruffleString, BitSet> entry : linesByFile.entrySet()) {
+                BitSet lines = entry.getValue();
+                LinkedHashMap<Object, Object> lineSet = new LinkedHashMap<>();
+                for (int line = lines.nextSetBit(0); line >= 0; line = lines.nextSetBit(line + 1)) {
+                    lineSet.put(line, PNone.NONE);
+                }
+                result.put(entry.getKey(), factory().createSet(EconomicMapStorage.createGeneric(lineSet)));
+            }
+            return factory().createDictFromMapGeneric(result);
+        }
+    }
+
+    @Builtin(name = "get_reference_handler_stats", doc = "Return a dict with metrics of the processing of weakref callbacks, finalizers and native references:\n\n" +
+                    "processed: references whose callbacks ran, pending: references dequeued whose callbacks did not run yet,\n" +
+                    "batches: number of batches, max_batch_size: largest number of references dequeued at once,\n" +
+                    "avg_latency_ns/max_latency_ns: time from dequeuing a batch to running its callbacks.")
+    @GenerateNodeFactory
+    abstract static class GetReferenceHandlerStatsNode extends PythonBuiltinNode {
+        @Specialization
+        @TruffleBoundary
+        Object get() {
+            AsyncHandler.ReferenceStatistics stats = getContext().getAsyncHandler().getReferenceStatistics();
+            LinkedHashMap<String, Object> result = new LinkedHashMap<>();
+            result.put("processed", stats.getProcessed());
+            result.put("pending", stats.getPending());
+            result.put("batches", stats.getBatches());
+            result.put("max_batch_size", stats.getMaxBatchSize());
+            result.put("avg_latency_ns", stats.getAverageLatencyNanos());
+            result.put("max_latency_ns", stats.getMaxLatencyNanos());
+            return factory().createDictFromMap(result);
+        }
+    }
+
     @Builtin(name = "super", minNumOfPositionalArgs = 1, doc = "Returns HostAdapter instance of the object or None")
     @GenerateNodeFactory
     public abstract static class JavaSuperNode extends PythonUnaryBuiltinNode {
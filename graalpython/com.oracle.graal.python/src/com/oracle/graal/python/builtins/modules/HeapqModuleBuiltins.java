@@ -0,0 +1,491 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules;
+
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.IndexError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.RuntimeError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.TypeError;
+
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodes;
+import com.oracle.graal.python.builtins.objects.list.PList;
+import com.oracle.graal.python.lib.PyObjectRichCompareBool;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PNodeWithRaise;
+import com.oracle.graal.python.nodes.builtins.ListNodes;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.runtime.sequence.storage.DoubleSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.IntSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.LongSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+
+/**
+ * Implementation of CPython's {@code _heapq} module. Heaps backed by int, long or double storages
+ * are sifted directly on the primitive arrays; comparing primitives cannot run user code, so the
+ * mutation checks are only needed on the generic path.
+ */
+@CoreFunctions(defineModule = "_heapq")
+public class HeapqModuleBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return HeapqModuleBuiltinsFactory.getFactories();
+    }
+
+    /**
+     * Follow the path to the root, moving parents down until finding a place where the item at
+     * {@code pos} fits. Equivalent of {@code siftdown} and {@code siftdown_max} in
+     * {@code _heapqmodule.c}.
+     */
+    abstract static class SiftDownNode extends PNodeWithRaise {
+
+        abstract void execute(VirtualFrame frame, PList heap, int startpos, int pos, boolean max);
+
+        @Specialization(guards = "isIntStorage(heap)")
+        static void doInt(PList heap, int startpos, int pos, boolean max) {
+            int[] arr = ((IntSequenceStorage) heap.getSequenceStorage()).getInternalIntArray();
+            int newitem = arr[pos];
+            int p = pos;
+            while (p > startpos) {
+                int parentpos = (p - 1) >> 1;
+                int parent = arr[parentpos];
+                if (!(max ? parent < newitem : newitem < parent)) {
+                    break;
+                }
+                arr[p] = parent;
+                p = parentpos;
+            }
+            arr[p] = newitem;
+        }
+
+        @Specialization(guards = "isLongStorage(heap)")
+        static void doLong(PList heap, int startpos, int pos, boolean max) {
+            long[] arr = ((LongSequenceStorage) heap.getSequenceStorage()).getInternalLongArray();
+            long newitem = arr[pos];
+            int p = pos;
+            while (p > startpos) {
+                int parentpos = (p - 1) >> 1;
+                long parent = arr[parentpos];
+                if (!(max ? parent < newitem : newitem < parent)) {
+                    break;
+                }
+                arr[p] = parent;
+                p = parentpos;
+            }
+            arr[p] = newitem;
+        }
+
+        @Specialization(guards = "isDoubleStorage(heap)")
+        static void doDouble(PList heap, int startpos, int pos, boolean max) {
+            double[] arr = ((DoubleSequenceStorage) heap.getSequenceStorage()).getInternalDoubleArray();
+            double newitem = arr[pos];
+            int p = pos;
+            while (p > startpos) {
+                int parentpos = (p - 1) >> 1;
+                double parent = arr[parentpos];
+                if (!(max ? parent < newitem : newitem < parent)) {
+                    break;
+                }
+                arr[p] = parent;
+                p = parentpos;
+            }
+            arr[p] = newitem;
+        }
+
+        @Specialization(guards = {"!isIntStorage(heap)", "!isLongStorage(heap)", "!isDoubleStorage(heap)"})
+        void doGeneric(VirtualFrame frame, PList heap, int startpos, int pos, boolean max,
+                        @Cached PyObjectRichCompareBool.LtNode ltNode,
+                        @Cached SequenceStorageNodes.GetItemScalarNode getItemNode,
+                        @Cached SequenceStorageNodes.SetItemScalarNode setItemNode) {
+            int size = heap.getSequenceStorage().length();
+            int p = pos;
+            while (p > startpos) {
+                int parentpos = (p - 1) >> 1;
+                SequenceStorage storage = heap.getSequenceStorage();
+                Object newitem = getItemNode.execute(storage, p);
+                Object parent = getItemNode.execute(storage, parentpos);
+                boolean lt = max ? ltNode.execute(frame, parent, newitem) : ltNode.execute(frame, newitem, parent);
+                storage = checkSize(this, heap, size);
+                if (!lt) {
+                    break;
+                }
+                swap(storage, parentpos, p, getItemNode, setItemNode);
+                p = parentpos;
+            }
+        }
+    }
+
+    /**
+     * Bubble the smaller (or larger, for max-heaps) child up until hitting a leaf, then sift the
+     * item originally at {@code pos} down from there. Equivalent of {@code siftup} and
+     * {@code siftup_max} in {@code _heapqmodule.c}.
+     */
+    abstract static class SiftUpNode extends PNodeWithRaise {
+
+        abstract void execute(VirtualFrame frame, PList heap, int pos, boolean max);
+
+        @Specialization(guards = "isIntStorage(heap)")
+        static void doInt(PList heap, int pos, boolean max) {
+            IntSequenceStorage storage = (IntSequenceStorage) heap.getSequenceStorage();
+            int[] arr = storage.getInternalIntArray();
+            int endpos = storage.length();
+            int newitem = arr[pos];
+            int p = pos;
+            int limit = endpos >> 1;
+            while (p < limit) {
+                int childpos = 2 * p + 1;
+                if (childpos + 1 < endpos && !(max ? arr[childpos + 1] < arr[childpos] : arr[childpos] < arr[childpos + 1])) {
+                    childpos++;
+                }
+                arr[p] = arr[childpos];
+                p = childpos;
+            }
+            arr[p] = newitem;
+            SiftDownNode.doInt(heap, pos, p, max);
+        }
+
+        @Specialization(guards = "isLongStorage(heap)")
+        static void doLong(PList heap, int pos, boolean max) {
+            LongSequenceStorage storage = (LongSequenceStorage) heap.getSequenceStorage();
+            long[] arr = storage.getInternalLongArray();
+            int endpos = storage.length();
+            long newitem = arr[pos];
+            int p = pos;
+            int limit = endpos >> 1;
+            while (p < limit) {
+                int childpos = 2 * p + 1;
+                if (childpos + 1 < endpos && !(max ? arr[childpos + 1] < arr[childpos] : arr[childpos] < arr[childpos + 1])) {
+                    childpos++;
+                }
+                arr[p] = arr[childpos];
+                p = childpos;
+            }
+            arr[p] = newitem;
+            SiftDownNode.doLong(heap, pos, p, max);
+        }
+
+        @Specialization(guards = "isDoubleStorage(heap)")
+        static void doDouble(PList heap, int pos, boolean max) {
+            DoubleSequenceStorage storage = (DoubleSequenceStorage) heap.getSequenceStorage();
+            double[] arr = storage.getInternalDoubleArray();
+            int endpos = storage.length();
+            double newitem = arr[pos];
+            int p = pos;
+            int limit = endpos >> 1;
+            while (p < limit) {
+                int childpos = 2 * p + 1;
+                if (childpos + 1 < endpos && !(max ? arr[childpos + 1] < arr[childpos] : arr[childpos] < arr[childpos + 1])) {
+                    childpos++;
+                }
+                arr[p] = arr[childpos];
+                p = childpos;
+            }
+            arr[p] = newitem;
+            SiftDownNode.doDouble(heap, pos, p, max);
+        }
+
+        @Specialization(guards = {"!isIntStorage(heap)", "!isLongStorage(heap)", "!isDoubleStorage(heap)"})
+        void doGeneric(VirtualFrame frame, PList heap, int pos, boolean max,
+                        @Cached PyObjectRichCompareBool.LtNode ltNode,
+                        @Cached SequenceStorageNodes.GetItemScalarNode getItemNode,
+                        @Cached SequenceStorageNodes.SetItemScalarNode setItemNode,
+                        @Cached SiftDownNode siftDownNode) {
+            int endpos = heap.getSequenceStorage().length();
+            int p = pos;
+            int limit = endpos >> 1;
+            while (p < limit) {
+                int childpos = 2 * p + 1;
+                if (childpos + 1 < endpos) {
+                    SequenceStorage storage = heap.getSequenceStorage();
+                    Object left = getItemNode.execute(storage, childpos);
+                    Object right = getItemNode.execute(storage, childpos + 1);
+                    boolean lt = max ? ltNode.execute(frame, right, left) : ltNode.execute(frame, left, right);
+                    if (!lt) {
+                        childpos++;
+                    }
+                    checkSize(this, heap, endpos);
+                }
+                swap(heap.getSequenceStorage(), p, childpos, getItemNode, setItemNode);
+                p = childpos;
+            }
+            siftDownNode.execute(frame, heap, pos, p, max);
+        }
+    }
+
+    static SequenceStorage checkSize(PNodeWithRaise node, PList heap, int expectedSize) {
+        SequenceStorage storage = heap.getSequenceStorage();
+        if (storage.length() != expectedSize) {
+            throw node.raise(RuntimeError, ErrorMessages.CHANGED_SIZE_DURING_ITERATION, "list");
+        }
+        return storage;
+    }
+
+    static void swap(SequenceStorage storage, int i, int j, SequenceStorageNodes.GetItemScalarNode getItemNode, SequenceStorageNodes.SetItemScalarNode setItemNode) {
+        Object a = getItemNode.execute(storage, i);
+        Object b = getItemNode.execute(storage, j);
+        setItemNode.execute(storage, i, b);
+        setItemNode.execute(storage, j, a);
+    }
+
+    abstract static class HeapPopNode extends PNodeWithRaise {
+
+        abstract Object execute(VirtualFrame frame, PList heap, boolean max);
+
+        @Specialization
+        Object pop(VirtualFrame frame, PList heap, boolean max,
+                        @Cached SequenceStorageNodes.GetItemScalarNode getItemNode,
+                        @Cached SequenceStorageNodes.SetItemScalarNode setItemNode,
+                        @Cached SiftUpNode siftUpNode) {
+            SequenceStorage storage = heap.getSequenceStorage();
+            int n = storage.length();
+            if (n == 0) {
+                throw raise(IndexError, ErrorMessages.INDEX_OUT_OF_RANGE);
+            }
+            Object lastelt = getItemNode.execute(storage, n - 1);
+            storage.setNewLength(n - 1);
+            if (n == 1) {
+                return lastelt;
+            }
+            Object returnitem = getItemNode.execute(storage, 0);
+            setItemNode.execute(storage, 0, lastelt);
+            siftUpNode.execute(frame, heap, 0, max);
+            return returnitem;
+        }
+    }
+
+    abstract static class HeapReplaceNode extends PNodeWithRaise {
+
+        abstract Object execute(VirtualFrame frame, PList heap, Object item, boolean max);
+
+        @Specialization
+        Object replace(VirtualFrame frame, PList heap, Object item, boolean max,
+                        @Cached SequenceStorageNodes.GetItemScalarNode getItemNode,
+                        @Cached("createForList()") SequenceStorageNodes.SetItemNode setItemNode,
+                        @Cached SiftUpNode siftUpNode) {
+            SequenceStorage storage = heap.getSequenceStorage();
+            if (storage.length() == 0) {
+                throw raise(IndexError, ErrorMessages.INDEX_OUT_OF_RANGE);
+            }
+            Object returnitem = getItemNode.execute(storage, 0);
+            heap.setSequenceStorage(setItemNode.execute(storage, 0, item));
+            siftUpNode.execute(frame, heap, 0, max);
+            return returnitem;
+        }
+    }
+
+    abstract static class HeapifyNode extends PNodeWithRaise {
+
+        abstract void execute(VirtualFrame frame, PList heap, boolean max);
+
+        @Specialization
+        static void heapify(VirtualFrame frame, PList heap, boolean max,
+                        @Cached SiftUpNode siftUpNode) {
+            int n = heap.getSequenceStorage().length();
+            for (int i = n / 2 - 1; i >= 0; i--) {
+                siftUpNode.execute(frame, heap, i, max);
+            }
+        }
+    }
+
+    @Builtin(name = "heappush", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class HeapPushBuiltinNode extends PythonBinaryBuiltinNode {
+
+        @Specialization
+        static Object push(VirtualFrame frame, PList heap, Object item,
+                        @Cached ListNodes.AppendNode appendNode,
+                        @Cached SiftDownNode siftDownNode) {
+            appendNode.execute(heap, item);
+            siftDownNode.execute(frame, heap, 0, heap.getSequenceStorage().length() - 1, false);
+            return PNone.NONE;
+        }
+
+        @Fallback
+        Object error(@SuppressWarnings("unused") Object heap, @SuppressWarnings("unused") Object item) {
+            throw raise(TypeError, ErrorMessages.HEAP_ARGUMENT_MUST_BE_A_LIST);
+        }
+    }
+
+    @Builtin(name = "heappop", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class HeapPopBuiltinNode extends PythonUnaryBuiltinNode {
+
+        @Specialization
+        static Object pop(VirtualFrame frame, PList heap,
+                        @Cached HeapPopNode popNode) {
+            return popNode.execute(frame, heap, false);
+        }
+
+        @Fallback
+        Object error(@SuppressWarnings("unused") Object heap) {
+            throw raise(TypeError, ErrorMessages.HEAP_ARGUMENT_MUST_BE_A_LIST);
+        }
+    }
+
+    @Builtin(name = "_heappop_max", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class HeapPopMaxBuiltinNode extends PythonUnaryBuiltinNode {
+
+        @Specialization
+        static Object pop(VirtualFrame frame, PList heap,
+                        @Cached HeapPopNode popNode) {
+            return popNode.execute(frame, heap, true);
+        }
+
+        @Fallback
+        Object error(@SuppressWarnings("unused") Object heap) {
+            throw raise(TypeError, ErrorMessages.HEAP_ARGUMENT_MUST_BE_A_LIST);
+        }
+    }
+
+    @Builtin(name = "heapreplace", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class HeapReplaceBuiltinNode extends PythonBinaryBuiltinNode {
+
+        @Specialization
+        static Object replace(VirtualFrame frame, PList heap, Object item,
+                        @Cached HeapReplaceNode replaceNode) {
+            return replaceNode.execute(frame, heap, item, false);
+        }
+
+        @Fallback
+        Object error(@SuppressWarnings("unused") Object heap, @SuppressWarnings("unused") Object item) {
+            throw raise(TypeError, ErrorMessages.HEAP_ARGUMENT_MUST_BE_A_LIST);
+        }
+    }
+
+    @Builtin(name = "_heapreplace_max", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class HeapReplaceMaxBuiltinNode extends PythonBinaryBuiltinNode {
+
+        @Specialization
+        static Object replace(VirtualFrame frame, PList heap, Object item,
+                        @Cached HeapReplaceNode replaceNode) {
+            return replaceNode.execute(frame, heap, item, true);
+        }
+
+        @Fallback
+        Object error(@SuppressWarnings("unused") Object heap, @SuppressWarnings("unused") Object item) {
+            throw raise(TypeError, ErrorMessages.HEAP_ARGUMENT_MUST_BE_A_LIST);
+        }
+    }
+
+    @Builtin(name = "heappushpop", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class HeapPushPopBuiltinNode extends PythonBinaryBuiltinNode {
+
+        @Specialization
+        Object pushpop(VirtualFrame frame, PList heap, Object item,
+                        @Cached PyObjectRichCompareBool.LtNode ltNode,
+                        @Cached SequenceStorageNodes.GetItemScalarNode getItemNode,
+                        @Cached("createForList()") SequenceStorageNodes.SetItemNode setItemNode,
+                        @Cached SiftUpNode siftUpNode) {
+            SequenceStorage storage = heap.getSequenceStorage();
+            if (storage.length() == 0) {
+                return item;
+            }
+            Object top = getItemNode.execute(storage, 0);
+            if (!ltNode.execute(frame, top, item)) {
+                return item;
+            }
+            storage = heap.getSequenceStorage();
+            if (storage.length() == 0) {
+                throw raise(IndexError, ErrorMessages.INDEX_OUT_OF_RANGE);
+            }
+            Object returnitem = getItemNode.execute(storage, 0);
+            heap.setSequenceStorage(setItemNode.execute(storage, 0, item));
+            siftUpNode.execute(frame, heap, 0, false);
+            return returnitem;
+        }
+
+        @Fallback
+        Object error(@SuppressWarnings("unused") Object heap, @SuppressWarnings("unused") Object item) {
+            throw raise(TypeError, ErrorMessages.HEAP_ARGUMENT_MUST_BE_A_LIST);
+        }
+    }
+
+    @Builtin(name = "heapify", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class HeapifyBuiltinNode extends PythonUnaryBuiltinNode {
+
+        @Specialization
+        static Object heapify(VirtualFrame frame, PList heap,
+                        @Cached HeapifyNode heapifyNode) {
+            heapifyNode.execute(frame, heap, false);
+            return PNone.NONE;
+        }
+
+        @Fallback
+        Object error(@SuppressWarnings("unused") Object heap) {
+            throw raise(TypeError, ErrorMessages.HEAP_ARGUMENT_MUST_BE_A_LIST);
+        }
+    }
+
+    @Builtin(name = "_heapify_max", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class HeapifyMaxBuiltinNode extends PythonUnaryBuiltinNode {
+
+        @Specialization
+        static Object heapify(VirtualFrame frame, PList heap,
+                        @Cached HeapifyNode heapifyNode) {
+            heapifyNode.execute(frame, heap, true);
+            return PNone.NONE;
+        }
+
+        @Fallback
+        Object error(@SuppressWarnings("unused") Object heap) {
+            throw raise(TypeError, ErrorMessages.HEAP_ARGUMENT_MUST_BE_A_LIST);
+        }
+    }
+}
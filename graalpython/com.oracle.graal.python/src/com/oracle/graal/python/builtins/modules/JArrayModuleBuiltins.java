@@ -61,6 +61,7 @@ import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonBinaryClinicBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentClinicProvider;
+import com.oracle.graal.python.nodes.interop.GetHostPrimitiveArrayNode;
 import com.oracle.graal.python.nodes.util.CastToJavaStringNode;
 import com.oracle.graal.python.runtime.sequence.PSequence;
 import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
@@ -191,10 +192,15 @@ public class JArrayModuleBuiltins extends PythonBuiltins {
                         @CachedLibrary(limit = "5") InteropLibrary lib,
                         @Cached SequenceNodes.GetSequenceStorageNode getSequenceStorageNode,
                         @Cached SequenceStorageNodes.GetItemScalarNode getItemScalarNode,
-                        @Cached ZerosNode zerosNode) {
+                        @Cached ZerosNode zerosNode,
+                        @Cached GetHostPrimitiveArrayNode getHostArrayNode) {
             SequenceStorage storage = getSequenceStorageNode.execute(sequence);
             int length = storage.length();
             Object array = zerosNode.execute(length, type);
+            Object hostArray = getHostArrayNode.execute(array);
+            if (hostArray != null && GetHostPrimitiveArrayNode.copyFromStorage(storage, hostArray)) {
+                return array;
+            }
             for (int i = 0; i < length; i++) {
                 Object value = getItemScalarNode.execute(storage, i);
                 try {
@@ -214,9 +220,10 @@ public class JArrayModuleBuiltins extends PythonBuiltins {
                         @CachedLibrary(limit = "5") InteropLibrary lib,
                         @Cached SequenceNodes.GetSequenceStorageNode getSequenceStorageNode,
                         @Cached SequenceStorageNodes.GetItemScalarNode getItemScalarNode,
-                        @Cached ZerosNode zerosNode) {
+                        @Cached ZerosNode zerosNode,
+                        @Cached GetHostPrimitiveArrayNode getHostArrayNode) {
             PList list = constructListNode.execute(frame, sequence);
-            return fromSequence(list, type, lib, getSequenceStorageNode, getItemScalarNode, zerosNode);
+            return fromSequence(list, type, lib, getSequenceStorageNode, getItemScalarNode, zerosNode, getHostArrayNode);
         }
     }
 }
@@ -40,14 +40,15 @@
  */
 package com.oracle.graal.python.builtins.modules;
 
+import static com.oracle.graal.python.nodes.SpecialAttributeNames.T___NAME__;
 import static com.oracle.graal.python.nodes.SpecialMethodNames.J___INIT__;
 import static com.oracle.graal.python.util.PythonUtils.toTruffleStringUncached;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.Map;
 
 import com.oracle.graal.python.builtins.Builtin;
 import com.oracle.graal.python.builtins.CoreFunctions;
@@ -55,29 +56,35 @@ import com.oracle.graal.python.builtins.Python3Core;
 import com.oracle.graal.python.builtins.PythonBuiltinClassType;
 import com.oracle.graal.python.builtins.PythonBuiltins;
 import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.function.PBuiltinFunction;
 import com.oracle.graal.python.builtins.objects.function.PKeyword;
 import com.oracle.graal.python.builtins.objects.list.PList;
+import com.oracle.graal.python.builtins.objects.method.PBuiltinMethod;
+import com.oracle.graal.python.builtins.objects.module.PythonModule;
 import com.oracle.graal.python.builtins.objects.object.PythonBuiltinObject;
-import com.oracle.graal.python.builtins.objects.tuple.PTuple;
 import com.oracle.graal.python.builtins.objects.tuple.StructSequence;
-import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.builtins.objects.type.TypeNodes.GetNameNode;
+import com.oracle.graal.python.lib.PyFloatAsDoubleNode;
+import com.oracle.graal.python.lib.PyObjectIsTrueNode;
+import com.oracle.graal.python.nodes.attributes.ReadAttributeFromObjectNode;
+import com.oracle.graal.python.nodes.bytecode.PBytecodeRootNode;
+import com.oracle.graal.python.nodes.call.CallNode;
 import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
 import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
+import com.oracle.graal.python.nodes.util.CastToJavaLongLossyNode;
+import com.oracle.graal.python.runtime.PythonContext;
+import com.oracle.graal.python.runtime.PythonContext.ProfileEvent;
+import com.oracle.graal.python.runtime.PythonContext.PythonThreadState;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
-import com.oracle.truffle.api.InstrumentInfo;
-import com.oracle.truffle.api.TruffleContext;
-import com.oracle.truffle.api.TruffleLanguage.Env;
+import com.oracle.truffle.api.RootCallTarget;
+import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.GenerateNodeFactory;
 import com.oracle.truffle.api.dsl.NodeFactory;
 import com.oracle.truffle.api.dsl.Specialization;
-import com.oracle.truffle.api.instrumentation.SourceSectionFilter;
+import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.object.Shape;
-import com.oracle.truffle.api.source.SourceSection;
-import com.oracle.truffle.tools.profiler.CPUSampler;
-import com.oracle.truffle.tools.profiler.CPUSampler.Payload;
-import com.oracle.truffle.tools.profiler.CPUSamplerData;
-import com.oracle.truffle.tools.profiler.ProfilerNode;
-import com.oracle.truffle.tools.profiler.impl.CPUSamplerInstrument;
+import com.oracle.truffle.api.strings.TruffleString;
 
 @CoreFunctions(defineModule = "_lsprof")
 public class LsprofModuleBuiltins extends PythonBuiltins {
@@ -133,35 +140,282 @@ public class LsprofModuleBuiltins extends PythonBuiltins {
     @GenerateNodeFactory
     abstract static class LsprofNew extends PythonBuiltinNode {
         @Specialization
-        @TruffleBoundary
         Profiler doit(Object cls, @SuppressWarnings("unused") Object[] args, @SuppressWarnings("unused") PKeyword[] kwargs) {
-            Env env = getContext().getEnv();
-            Map<String, InstrumentInfo> instruments = env.getInstruments();
-            InstrumentInfo instrumentInfo = instruments.get(CPUSamplerInstrument.ID);
-            if (instrumentInfo != null) {
-                CPUSampler sampler = env.lookup(instrumentInfo, CPUSampler.class);
-                if (sampler != null) {
-                    return factory().trace(new Profiler(cls, factory().getShape(cls), sampler));
-                }
-            }
-            throw raise(PythonBuiltinClassType.NotImplementedError, ErrorMessages.COVERAGE_TRACKER_NOT_AVAILABLE);
+            return factory().trace(new Profiler(cls, factory().getShape(cls)));
         }
     }
 }
 
-class Profiler extends PythonBuiltinObject {
-    boolean subcalls;
-    boolean builtins;
+/**
+ * A deterministic profiler like CPython's {@code _lsprof}. It is installed as the thread's profile
+ * function and receives the call and return events directly from the interpreter. The statistics
+ * are kept in primitive arrays indexed by a dense id assigned to every called function and to every
+ * caller/callee pair.
+ */
+class Profiler extends PythonBuiltinObject implements PythonContext.ProfileHook {
+    private static final int INITIAL_CAPACITY = 16;
+
+    boolean subcalls = true;
+    boolean builtins = true;
+    /* The unit of integer results of the external timer, or 0 if it returns seconds as float. */
     double timeunit;
     Object externalTimer;
-    double time;
-    final CPUSampler sampler;
 
-    public Profiler(Object cls, Shape instanceShape, CPUSampler sampler) {
+    /* Python functions are keyed by their root node, builtins by their function object. */
+    private final IdentityHashMap<Object, Integer> entryIds = new IdentityHashMap<>();
+    /* Per entry id, the root node of a Python function or the label of a builtin. */
+    private Object[] entryCodes = new Object[INITIAL_CAPACITY];
+    final CallStats entries = new CallStats();
+
+    /* Caller/callee pairs are keyed by {@code (long) caller << 32 | callee}. */
+    private final HashMap<Long, Integer> pairIds = new HashMap<>();
+    private int[] pairCallers = new int[INITIAL_CAPACITY];
+    private int[] pairCallees = new int[INITIAL_CAPACITY];
+    final CallStats pairs = new CallStats();
+
+    /* The stack of calls that have not returned yet. */
+    private int[] stackEntries = new int[INITIAL_CAPACITY];
+    private int[] stackPairs = new int[INITIAL_CAPACITY];
+    private long[] stackStartTimes = new long[INITIAL_CAPACITY];
+    private long[] stackSubcallTimes = new long[INITIAL_CAPACITY];
+    private int stackDepth;
+
+    Profiler(Object cls, Shape instanceShape) {
         super(cls, instanceShape);
-        this.sampler = sampler;
-        this.sampler.setFilter(SourceSectionFilter.newBuilder().includeInternal(true).build());
-        this.sampler.setPeriod(1);
+    }
+
+    @Override
+    public void profileEvent(ProfileEvent event, Object callee) {
+        switch (event) {
+            case CALL:
+                enter(callee);
+                break;
+            case RETURN:
+                exit();
+                break;
+            case C_CALL:
+                if (builtins) {
+                    enter(callee);
+                }
+                break;
+            case C_RETURN:
+            case C_EXCEPTION:
+                if (builtins) {
+                    exit();
+                }
+                break;
+        }
+    }
+
+    private void enter(Object callee) {
+        int entry = getEntryId(callee);
+        int pair = -1;
+        if (subcalls && stackDepth > 0) {
+            pair = getPairId(stackEntries[stackDepth - 1], entry);
+            pairs.enter(pair);
+        }
+        entries.enter(entry);
+        if (stackDepth == stackEntries.length) {
+            int newLength = stackDepth * 2;
+            stackEntries = Arrays.copyOf(stackEntries, newLength);
+            stackPairs = Arrays.copyOf(stackPairs, newLength);
+            stackStartTimes = Arrays.copyOf(stackStartTimes, newLength);
+            stackSubcallTimes = Arrays.copyOf(stackSubcallTimes, newLength);
+        }
+        stackEntries[stackDepth] = entry;
+        stackPairs[stackDepth] = pair;
+        stackSubcallTimes[stackDepth] = 0;
+        stackStartTimes[stackDepth++] = now();
+    }
+
+    private void exit() {
+        if (stackDepth == 0) {
+            // returning from a call that started before the profiler was enabled
+            return;
+        }
+        long totalTime = now() - stackStartTimes[--stackDepth];
+        long inlineTime = totalTime - stackSubcallTimes[stackDepth];
+        entries.exit(stackEntries[stackDepth], totalTime, inlineTime);
+        int pair = stackPairs[stackDepth];
+        if (pair >= 0) {
+            pairs.exit(pair, totalTime, inlineTime);
+        }
+        if (stackDepth > 0) {
+            stackSubcallTimes[stackDepth - 1] += totalTime;
+        }
+    }
+
+    /**
+     * Accounts the calls that are still active when the profiler is disabled as if they returned
+     * now.
+     */
+    void flushUnmatched() {
+        while (stackDepth > 0) {
+            exit();
+        }
+    }
+
+    void clear() {
+        entryIds.clear();
+        entryCodes = new Object[INITIAL_CAPACITY];
+        entries.clear();
+        pairIds.clear();
+        pairs.clear();
+        stackDepth = 0;
+    }
+
+    private long now() {
+        if (externalTimer == null) {
+            return System.nanoTime();
+        }
+        Object result = CallNode.getUncached().execute(externalTimer);
+        if (timeunit > 0.0) {
+            return CastToJavaLongLossyNode.getUncached().execute(result);
+        }
+        return (long) (PyFloatAsDoubleNode.getUncached().execute(null, result) * 1e9);
+    }
+
+    /**
+     * The factor converting the recorded times to seconds.
+     */
+    double getTimeFactor() {
+        return externalTimer != null && timeunit > 0.0 ? timeunit : 1e-9;
+    }
+
+    private int getEntryId(Object callee) {
+        Object key = callee instanceof PBuiltinMethod ? ((PBuiltinMethod) callee).getFunction() : callee;
+        Integer id = entryIds.get(key);
+        if (id != null) {
+            return id;
+        }
+        int entry = entries.add();
+        if (entry == entryCodes.length) {
+            entryCodes = Arrays.copyOf(entryCodes, entry * 2);
+        }
+        entryCodes[entry] = callee instanceof PBytecodeRootNode ? callee : getBuiltinLabel(callee);
+        entryIds.put(key, entry);
+        return entry;
+    }
+
+    private int getPairId(int caller, int callee) {
+        Long key = ((long) caller << 32) | callee;
+        Integer id = pairIds.get(key);
+        if (id != null) {
+            return id;
+        }
+        int pair = pairs.add();
+        if (pair == pairCallers.length) {
+            pairCallers = Arrays.copyOf(pairCallers, pair * 2);
+            pairCallees = Arrays.copyOf(pairCallees, pair * 2);
+        }
+        pairCallers[pair] = caller;
+        pairCallees[pair] = callee;
+        pairIds.put(key, pair);
+        return pair;
+    }
+
+    int getPairCaller(int pair) {
+        return pairCallers[pair];
+    }
+
+    int getPairCallee(int pair) {
+        return pairCallees[pair];
+    }
+
+    /**
+     * Returns the {@code code} field of the stats for the entry, a code object for Python functions
+     * or the label of a builtin. The code objects are created once per {@code codes} array, because
+     * {@code cProfile} matches the callers and callees by the identity of their code.
+     */
+    Object getEntryCode(int entry, Object[] codes, PythonObjectFactory factory) {
+        if (codes[entry] == null) {
+            Object code = entryCodes[entry];
+            if (code instanceof PBytecodeRootNode) {
+                codes[entry] = factory.createCode((RootCallTarget) ((PBytecodeRootNode) code).getCallTarget());
+            } else {
+                codes[entry] = code;
+            }
+        }
+        return codes[entry];
+    }
+
+    private static TruffleString getBuiltinLabel(Object callee) {
+        PBuiltinFunction function;
+        Object self = null;
+        if (callee instanceof PBuiltinMethod) {
+            function = ((PBuiltinMethod) callee).getFunction();
+            self = ((PBuiltinMethod) callee).getSelf();
+        } else {
+            function = (PBuiltinFunction) callee;
+        }
+        String name = function.getName().toJavaStringUncached();
+        if (self instanceof PythonModule) {
+            Object moduleName = ReadAttributeFromObjectNode.getUncached().execute(self, T___NAME__);
+            if (moduleName instanceof TruffleString) {
+                return toTruffleStringUncached("<built-in method " + ((TruffleString) moduleName).toJavaStringUncached() + "." + name + ">");
+            }
+        }
+        if (function.getEnclosingType() != null) {
+            TruffleString typeName = GetNameNode.getUncached().execute(function.getEnclosingType());
+            return toTruffleStringUncached("<method '" + name + "' of '" + typeName.toJavaStringUncached() + "' objects>");
+        }
+        return toTruffleStringUncached("<built-in method " + name + ">");
+    }
+
+    /**
+     * Call statistics in parallel primitive arrays indexed by the entry or pair id.
+     */
+    static final class CallStats {
+        private int size;
+        long[] callCount;
+        long[] recursiveCallCount;
+        long[] totalTime;
+        long[] inlineTime;
+        private int[] recursionLevel;
+
+        CallStats() {
+            clear();
+        }
+
+        void clear() {
+            size = 0;
+            callCount = new long[INITIAL_CAPACITY];
+            recursiveCallCount = new long[INITIAL_CAPACITY];
+            totalTime = new long[INITIAL_CAPACITY];
+            inlineTime = new long[INITIAL_CAPACITY];
+            recursionLevel = new int[INITIAL_CAPACITY];
+        }
+
+        int size() {
+            return size;
+        }
+
+        int add() {
+            if (size == callCount.length) {
+                int newLength = size * 2;
+                callCount = Arrays.copyOf(callCount, newLength);
+                recursiveCallCount = Arrays.copyOf(recursiveCallCount, newLength);
+                totalTime = Arrays.copyOf(totalTime, newLength);
+                inlineTime = Arrays.copyOf(inlineTime, newLength);
+                recursionLevel = Arrays.copyOf(recursionLevel, newLength);
+            }
+            return size++;
+        }
+
+        void enter(int id) {
+            recursionLevel[id]++;
+        }
+
+        void exit(int id, long total, long inline) {
+            // the total time of recursive calls is already included in the outermost call
+            if (--recursionLevel[id] == 0) {
+                totalTime[id] += total;
+            } else {
+                recursiveCallCount[id]++;
+            }
+            inlineTime[id] += inline;
+            callCount[id]++;
+        }
     }
 }
 
@@ -176,21 +430,13 @@ class ProfilerBuiltins extends PythonBuiltins {
     @GenerateNodeFactory
     abstract static class Init extends PythonBuiltinNode {
         @Specialization
-        PNone doit(Profiler self, Object timer, double timeunit, long subcalls, long builtins) {
-            self.subcalls = subcalls > 0;
-            self.builtins = builtins > 0;
-            self.timeunit = timeunit;
-            self.externalTimer = timer;
-            return PNone.NONE;
-        }
-
-        @Specialization
-        @SuppressWarnings("unused")
-        PNone doit(Profiler self, Object timer, PNone timeunit, PNone subcalls, PNone builtins) {
-            self.subcalls = true;
-            self.builtins = true;
-            self.timeunit = -1;
-            self.externalTimer = timer;
+        PNone doit(VirtualFrame frame, Profiler self, Object timer, Object timeunit, Object subcalls, Object builtins,
+                        @Cached PyFloatAsDoubleNode asDoubleNode,
+                        @Cached PyObjectIsTrueNode isTrueNode) {
+            self.externalTimer = timer instanceof PNone ? null : timer;
+            self.timeunit = timeunit instanceof PNone ? 0.0 : asDoubleNode.execute(frame, timeunit);
+            self.subcalls = subcalls instanceof PNone || isTrueNode.execute(frame, subcalls);
+            self.builtins = builtins instanceof PNone || isTrueNode.execute(frame, builtins);
             return PNone.NONE;
         }
     }
@@ -199,30 +445,17 @@ class ProfilerBuiltins extends PythonBuiltins {
     @GenerateNodeFactory
     abstract static class Enable extends PythonBuiltinNode {
         @Specialization
-        @TruffleBoundary
-        PNone doit(Profiler self, long subcalls, long builtins) {
-            self.subcalls = subcalls > 0;
-            self.builtins = builtins > 0;
-            // TODO: deal with any arguments
-            self.time = System.currentTimeMillis();
-            self.sampler.setCollecting(true);
+        PNone doit(VirtualFrame frame, Profiler self, Object subcalls, Object builtins,
+                        @Cached PyObjectIsTrueNode isTrueNode) {
+            if (!(subcalls instanceof PNone)) {
+                self.subcalls = isTrueNode.execute(frame, subcalls);
+            }
+            if (!(builtins instanceof PNone)) {
+                self.builtins = isTrueNode.execute(frame, builtins);
+            }
+            getContext().getThreadState(getLanguage()).setProfileFun(self, getLanguage());
             return PNone.NONE;
         }
-
-        @Specialization
-        PNone doit(Profiler self, long subcalls, @SuppressWarnings("unused") PNone builtins) {
-            return doit(self, subcalls, self.builtins ? 1 : 0);
-        }
-
-        @Specialization
-        PNone doit(Profiler self, @SuppressWarnings("unused") PNone subcalls, long builtins) {
-            return doit(self, self.subcalls ? 1 : 0, builtins);
-        }
-
-        @Specialization
-        PNone doit(Profiler self, @SuppressWarnings("unused") PNone subcalls, @SuppressWarnings("unused") PNone builtins) {
-            return doit(self, self.subcalls ? 1 : 0, self.builtins ? 1 : 0);
-        }
     }
 
     @Builtin(name = "disable", minNumOfPositionalArgs = 1)
@@ -231,8 +464,11 @@ class ProfilerBuiltins extends PythonBuiltins {
         @Specialization
         @TruffleBoundary
         PNone doit(Profiler self) {
-            self.sampler.setCollecting(false);
-            self.time = (System.currentTimeMillis() - self.time) / 1000D;
+            PythonThreadState threadState = getContext().getThreadState(getLanguage());
+            if (threadState.getProfileFun() == self) {
+                threadState.setProfileFun(null, getLanguage());
+            }
+            self.flushUnmatched();
             return PNone.NONE;
         }
     }
@@ -243,7 +479,7 @@ class ProfilerBuiltins extends PythonBuiltins {
         @Specialization
         @TruffleBoundary
         PNone doit(Profiler self) {
-            self.sampler.clearData();
+            self.clear();
             return PNone.NONE;
         }
     }
@@ -275,59 +511,43 @@ class ProfilerBuiltins extends PythonBuiltins {
         @Specialization
         @TruffleBoundary
         PList doit(Profiler self) {
-            double avgSampleSeconds = self.sampler.getPeriod() / 1000D;
-            List<PTuple> entries = new ArrayList<>();
-            Map<TruffleContext, CPUSamplerData> data = self.sampler.getData();
-            for (TruffleContext context : data.keySet()) {
-                Map<Thread, Collection<ProfilerNode<Payload>>> threads = data.get(context).getThreadData();
-                for (Thread thread : threads.keySet()) {
-                    for (ProfilerNode<Payload> node : threads.get(thread)) {
-                        countNode(entries, node, avgSampleSeconds);
-                    }
+            PythonObjectFactory factory = factory();
+            double factor = self.getTimeFactor();
+            Profiler.CallStats entries = self.entries;
+            Profiler.CallStats pairs = self.pairs;
+            Object[] codes = new Object[entries.size()];
+
+            List<List<Object>> callsByCaller = new ArrayList<>(entries.size());
+            for (int i = 0; i < entries.size(); i++) {
+                callsByCaller.add(null);
+            }
+            for (int pair = 0; pair < pairs.size(); pair++) {
+                int caller = self.getPairCaller(pair);
+                if (callsByCaller.get(caller) == null) {
+                    callsByCaller.set(caller, new ArrayList<>());
                 }
+                Object code = self.getEntryCode(self.getPairCallee(pair), codes, factory);
+                callsByCaller.get(caller).add(factory.createStructSeq(LsprofModuleBuiltins.PROFILER_SUBENTRY_DESC, getStats(pairs, pair, code, factor)));
             }
 
-            self.sampler.close();
-            return factory().createList(entries.toArray());
-        }
-
-        private void countNode(List<PTuple> entries, ProfilerNode<Payload> node, double avgSampleTime) {
-            Collection<ProfilerNode<Payload>> children = node.getChildren();
-            Object[] profilerEntry = getProfilerEntry(node, avgSampleTime);
-            Object[] calls = new Object[children.size()];
-            int callIdx = 0;
-            for (ProfilerNode<Payload> childNode : children) {
-                countNode(entries, childNode, avgSampleTime);
-                calls[callIdx++] = factory().createStructSeq(LsprofModuleBuiltins.PROFILER_SUBENTRY_DESC, getProfilerEntry(childNode, avgSampleTime));
+            Object[] result = new Object[entries.size()];
+            for (int entry = 0; entry < entries.size(); entry++) {
+                Object[] stats = Arrays.copyOf(getStats(entries, entry, self.getEntryCode(entry, codes, factory), factor), 6);
+                List<Object> calls = callsByCaller.get(entry);
+                stats[5] = calls == null ? PNone.NONE : factory.createList(calls.toArray());
+                result[entry] = factory.createStructSeq(LsprofModuleBuiltins.PROFILER_ENTRY_DESC, stats);
             }
-            assert callIdx == calls.length;
-            profilerEntry = Arrays.copyOf(profilerEntry, 6);
-            profilerEntry[profilerEntry.length - 1] = factory().createList(calls);
-            entries.add(factory().createStructSeq(LsprofModuleBuiltins.PROFILER_ENTRY_DESC, profilerEntry));
+            return factory.createList(result);
         }
 
-        private static Object[] getProfilerEntry(ProfilerNode<Payload> node, double avgSampleTime) {
-            SourceSection sec = node.getSourceSection();
-            String rootName;
-            if (sec == null) {
-                rootName = node.getRootName();
-            } else {
-                rootName = sec.getSource().getName() + ":" + sec.getStartLine() + "(" + node.getRootName() + ")";
-            }
-            if (rootName == null) {
-                rootName = "<unknown root>";
-            }
-            int otherHitCount = node.getPayload().getHitCount();
-            int selfHitCount = node.getPayload().getSelfHitCount();
-            long hitCount = (long) otherHitCount + selfHitCount;
-            Object[] profilerEntry = new Object[]{
-                            toTruffleStringUncached(rootName),
-                            hitCount,
-                            0,
-                            otherHitCount * avgSampleTime,
-                            selfHitCount * avgSampleTime
+        private static Object[] getStats(Profiler.CallStats stats, int id, Object code, double factor) {
+            return new Object[]{
+                            code,
+                            stats.callCount[id],
+                            stats.recursiveCallCount[id],
+                            stats.totalTime[id] * factor,
+                            stats.inlineTime[id] * factor
             };
-            return profilerEntry;
         }
     }
 }
@@ -47,20 +47,28 @@ import java.util.List;
 
 import com.oracle.graal.python.builtins.Builtin;
 import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
 import com.oracle.graal.python.builtins.PythonBuiltins;
 import com.oracle.graal.python.builtins.objects.buffer.PythonBufferAccessLibrary;
 import com.oracle.graal.python.builtins.objects.buffer.PythonBufferAcquireLibrary;
+import com.oracle.graal.python.builtins.objects.function.PKeyword;
+import com.oracle.graal.python.builtins.objects.operator.PAttrGetter;
+import com.oracle.graal.python.builtins.objects.operator.PItemGetter;
+import com.oracle.graal.python.builtins.objects.operator.PMethodCaller;
 import com.oracle.graal.python.lib.PyNumberIndexNode;
 import com.oracle.graal.python.lib.PyObjectGetItem;
 import com.oracle.graal.python.lib.PyObjectIsTrueNode;
 import com.oracle.graal.python.nodes.ErrorMessages;
 import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
 import com.oracle.graal.python.nodes.truffle.PythonArithmeticTypes;
 import com.oracle.graal.python.nodes.util.CannotCastException;
 import com.oracle.graal.python.nodes.util.CastToJavaStringNode;
+import com.oracle.graal.python.nodes.util.CastToTruffleStringNode;
 import com.oracle.graal.python.runtime.ExecutionContext.IndirectCallContext;
+import com.oracle.graal.python.util.PythonUtils;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.GenerateNodeFactory;
@@ -69,6 +77,7 @@ import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.dsl.TypeSystemReference;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.strings.TruffleString;
 
 @CoreFunctions(defineModule = OperatorModuleBuiltins.MODULE_NAME)
 public class OperatorModuleBuiltins extends PythonBuiltins {
@@ -174,4 +183,78 @@ public class OperatorModuleBuiltins extends PythonBuiltins {
             return index.execute(frame, value);
         }
     }
+
+    @Builtin(name = "itemgetter", minNumOfPositionalArgs = 2, takesVarArgs = true, constructsClass = PythonBuiltinClassType.PItemGetter, doc = "itemgetter(item, ...) --> itemgetter object\n\n" +
+                    "Return a callable object that fetches the given item(s) from its operand.\n" +
+                    "After f = itemgetter(2), the call f(r) returns r[2].\n" +
+                    "After g = itemgetter(2, 5, 3), the call g(r) returns (r[2], r[5], r[3])")
+    @GenerateNodeFactory
+    abstract static class ItemGetterNode extends PythonBuiltinNode {
+        @Specialization
+        PItemGetter construct(Object cls, Object item, Object[] items) {
+            Object[] allItems = new Object[items.length + 1];
+            allItems[0] = item;
+            PythonUtils.arraycopy(items, 0, allItems, 1, items.length);
+            return factory().createItemGetter(cls, allItems);
+        }
+    }
+
+    @Builtin(name = "attrgetter", minNumOfPositionalArgs = 2, takesVarArgs = true, constructsClass = PythonBuiltinClassType.PAttrGetter, doc = "attrgetter(attr, ...) --> attrgetter object\n\n" +
+                    "Return a callable object that fetches the given attribute(s) from its operand.\n" +
+                    "After f = attrgetter('name'), the call f(r) returns r.name.\n" +
+                    "After g = attrgetter('name', 'date'), the call g(r) returns (r.name, r.date).\n" +
+                    "After h = attrgetter('name.first', 'name.last'), the call h(r) returns\n" +
+                    "(r.name.first, r.name.last).")
+    @GenerateNodeFactory
+    abstract static class AttrGetterNode extends PythonBuiltinNode {
+        @Specialization
+        PAttrGetter construct(Object cls, Object attr, Object[] attrs,
+                        @Cached CastToTruffleStringNode castToString) {
+            Object[] allAttrs = new Object[attrs.length + 1];
+            allAttrs[0] = attr;
+            PythonUtils.arraycopy(attrs, 0, allAttrs, 1, attrs.length);
+            TruffleString[][] paths = new TruffleString[allAttrs.length][];
+            for (int i = 0; i < allAttrs.length; i++) {
+                try {
+                    paths[i] = splitDottedName(castToString.execute(allAttrs[i]));
+                } catch (CannotCastException e) {
+                    throw raise(TypeError, ErrorMessages.ATTR_NAME_MUST_BE_A_STRING);
+                }
+            }
+            return factory().createAttrGetter(cls, allAttrs, paths);
+        }
+
+        @TruffleBoundary
+        private static TruffleString[] splitDottedName(TruffleString name) {
+            String[] parts = name.toJavaStringUncached().split("\\.", -1);
+            TruffleString[] result = new TruffleString[parts.length];
+            for (int i = 0; i < parts.length; i++) {
+                result[i] = PythonUtils.toTruffleStringUncached(parts[i]);
+            }
+            return result;
+        }
+    }
+
+    @Builtin(name = "methodcaller", minNumOfPositionalArgs = 1, takesVarArgs = true, takesVarKeywordArgs = true, constructsClass = PythonBuiltinClassType.PMethodCaller, doc = "methodcaller(name, ...) --> methodcaller object\n\n" +
+                    "Return a callable object that calls the given method on its operand.\n" +
+                    "After f = methodcaller('name'), the call f(r) returns r.name().\n" +
+                    "After g = methodcaller('name', 'date', foo=1), the call g(r) returns\n" +
+                    "r.name('date', foo=1).")
+    @GenerateNodeFactory
+    abstract static class MethodCallerNode extends PythonBuiltinNode {
+        @Specialization
+        PMethodCaller construct(Object cls, Object[] args, PKeyword[] kwargs,
+                        @Cached CastToTruffleStringNode castToString) {
+            if (args.length == 0) {
+                throw raise(TypeError, ErrorMessages.METHODCALLER_NEEDS_AT_LEAST_ONE_ARG);
+            }
+            TruffleString name;
+            try {
+                name = castToString.execute(args[0]);
+            } catch (CannotCastException e) {
+                throw raise(TypeError, ErrorMessages.METHOD_NAME_MUST_BE_A_STRING);
+            }
+            return factory().createMethodCaller(cls, name, PythonUtils.arrayCopyOfRange(args, 1, args.length), kwargs);
+        }
+    }
 }
@@ -685,6 +685,16 @@ public class PosixModuleBuiltins extends PythonBuiltins {
         public PBytes read(int fd, int length,
                         PosixSupportLibrary posixLib,
                         BranchProfile errorProfile, GilNode gil) throws PosixException {
+            Buffer result = readBuffer(fd, length, posixLib, errorProfile, gil);
+            return factory().createBytes(result.data, 0, (int) result.length);
+        }
+
+        /**
+         * Like {@link #read}, but returns the raw result for callers that copy it elsewhere anyway.
+         */
+        public Buffer readBuffer(int fd, int length,
+                        PosixSupportLibrary posixLib,
+                        BranchProfile errorProfile, GilNode gil) throws PosixException {
             gil.release(true);
             try {
                 while (true) {
@@ -695,7 +705,7 @@ public class PosixModuleBuiltins extends PythonBuiltins {
                             // removed once we support large arrays
                             throw CompilerDirectives.shouldNotReachHere("Posix read() returned more bytes than requested");
                         }
-                        return factory().createBytes(result.data, 0, (int) result.length);
+                        return result;
                     } catch (PosixException e) {
                         errorProfile.enter();
                         if (e.getErrorCode() == OSErrorEnum.EINTR.getNumber()) {
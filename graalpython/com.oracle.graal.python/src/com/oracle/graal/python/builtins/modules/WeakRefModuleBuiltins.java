@@ -44,9 +44,7 @@ import static com.oracle.graal.python.nodes.BuiltinNames.J__WEAKREF;
 import static com.oracle.graal.python.nodes.BuiltinNames.T__WEAKREF;
 import static com.oracle.graal.python.nodes.StringLiterals.T_REF;
 
-import java.lang.ref.Reference;
 import java.lang.ref.ReferenceQueue;
-import java.util.ArrayList;
 import java.util.List;
 
 import com.oracle.graal.python.builtins.Builtin;
@@ -77,7 +75,6 @@ import com.oracle.graal.python.nodes.object.GetClassNode;
 import com.oracle.graal.python.nodes.object.IsBuiltinClassProfile;
 import com.oracle.graal.python.runtime.AsyncHandler;
 import com.oracle.graal.python.runtime.PythonContext;
-import com.oracle.graal.python.runtime.PythonOptions;
 import com.oracle.graal.python.runtime.exception.PException;
 import com.oracle.graal.python.runtime.exception.PythonErrorType;
 import com.oracle.truffle.api.CompilerDirectives;
@@ -91,7 +88,6 @@ import com.oracle.truffle.api.object.HiddenKey;
 @CoreFunctions(defineModule = J__WEAKREF, isEager = true)
 public class WeakRefModuleBuiltins extends PythonBuiltins {
     private static final HiddenKey weakRefQueueKey = new HiddenKey("weakRefQueue");
-    private final ReferenceQueue<Object> weakRefQueue = new ReferenceQueue<>();
 
     @Override
     protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
@@ -136,36 +132,25 @@ public class WeakRefModuleBuiltins extends PythonBuiltins {
     public void postInitialize(Python3Core core) {
         super.postInitialize(core);
         PythonModule weakrefModule = core.lookupBuiltinModule(T__WEAKREF);
+        final PythonContext ctx = core.getContext();
+        ReferenceQueue<Object> weakRefQueue = ctx.getAsyncHandler().getReferenceQueue();
         weakrefModule.setAttribute(weakRefQueueKey, weakRefQueue);
         PythonBuiltinClass refType = core.lookupType(PythonBuiltinClassType.PReferenceType);
         weakrefModule.setAttribute(T_REF, refType);
         refType.setAttribute(weakRefQueueKey, weakRefQueue);
-        final PythonContext ctx = core.getContext();
-        core.getContext().registerAsyncAction(() -> {
-            if (!ctx.isGcEnabled()) {
-                return null;
+        ctx.registerReferenceHandler(PReferenceType.WeakRefStorage.class, references -> {
+            PReferenceType.WeakRefStorage[] refs = new PReferenceType.WeakRefStorage[references.size()];
+            for (int i = 0; i < refs.length; i++) {
+                refs[i] = (PReferenceType.WeakRefStorage) references.get(i);
             }
-            Reference<? extends Object> reference = null;
-            if (PythonOptions.AUTOMATIC_ASYNC_ACTIONS) {
-                try {
-                    reference = weakRefQueue.remove();
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                }
-            } else {
-                reference = weakRefQueue.poll();
-            }
-            ArrayList<PReferenceType.WeakRefStorage> refs = new ArrayList<>();
-            do {
-                if (reference instanceof PReferenceType.WeakRefStorage) {
-                    refs.add((PReferenceType.WeakRefStorage) reference);
+            WeakrefCallbackAction callbacks = new WeakrefCallbackAction(refs);
+            return context -> {
+                if (context.isGcEnabled()) {
+                    callbacks.execute(context);
+                } else {
+                    context.getAsyncHandler().deferUntilGcEnabled(callbacks);
                 }
-                reference = weakRefQueue.poll();
-            } while (reference != null);
-            if (!refs.isEmpty()) {
-                return new WeakrefCallbackAction(refs.toArray(new PReferenceType.WeakRefStorage[0]));
-            }
-            return null;
+            };
         });
     }
 
@@ -61,6 +61,14 @@ public final class CSVDialect extends PythonBuiltinObject {
     int escapeCharCodePoint; /* code point representation for handling utf-32 escape chars */
     int quoteCharCodePoint; /* code point representation for handling utf-32 quote chars */
 
+    /*
+     * Code points that force quoting or escaping when writing: the delimiter, quote and escape
+     * characters and all characters of the line terminator. ASCII code points are looked up in a
+     * table, the rare others in a small array.
+     */
+    private final boolean[] asciiSpecialChars = new boolean[128];
+    private final int[] nonAsciiSpecialChars;
+
     public CSVDialect(Object cls, Shape instanceShape, TruffleString delimiter, int delimiterCodePoint, boolean doubleQuote, TruffleString escapeChar, int escapeCharCodePoint,
                     TruffleString lineTerminator, TruffleString quoteChar, int quoteCharCodePoint, QuoteStyle quoting, boolean skipInitialSpace, boolean strict) {
         super(cls, instanceShape);
@@ -80,5 +88,39 @@ public final class CSVDialect extends PythonBuiltinObject {
         this.delimiterCodePoint = delimiterCodePoint;
         this.escapeCharCodePoint = escapeCharCodePoint;
         this.quoteCharCodePoint = quoteCharCodePoint;
+
+        int[] specialChars = new int[3 + lineTerminator.codePointLengthUncached(TS_ENCODING)];
+        specialChars[0] = delimiterCodePoint;
+        specialChars[1] = escapeCharCodePoint;
+        specialChars[2] = quoteCharCodePoint;
+        for (int i = 3; i < specialChars.length; i++) {
+            specialChars[i] = lineTerminator.codePointAtIndexUncached(i - 3, TS_ENCODING);
+        }
+        int nonAscii = 0;
+        for (int codePoint : specialChars) {
+            if (codePoint >= 128) {
+                nonAscii++;
+            } else if (codePoint >= 0) {
+                asciiSpecialChars[codePoint] = true;
+            }
+        }
+        this.nonAsciiSpecialChars = new int[nonAscii];
+        for (int codePoint : specialChars) {
+            if (codePoint >= 128) {
+                nonAsciiSpecialChars[--nonAscii] = codePoint;
+            }
+        }
+    }
+
+    boolean isSpecialChar(int codePoint) {
+        if (codePoint < 128) {
+            return asciiSpecialChars[codePoint];
+        }
+        for (int i = 0; i < nonAsciiSpecialChars.length; i++) {
+            if (nonAsciiSpecialChars[i] == codePoint) {
+                return true;
+            }
+        }
+        return false;
     }
 }
@@ -40,6 +40,7 @@
  */
 package com.oracle.graal.python.builtins.modules.csv;
 
+import static com.oracle.graal.python.builtins.modules.csv.CSVModuleBuiltins.NOT_SET_CODEPOINT;
 import static com.oracle.graal.python.builtins.modules.csv.CSVModuleBuiltins.T__CSV;
 import static com.oracle.graal.python.builtins.modules.csv.CSVReader.ReaderState.AFTER_ESCAPED_CRNL;
 import static com.oracle.graal.python.builtins.modules.csv.CSVReader.ReaderState.EAT_CRNL;
@@ -57,6 +58,7 @@ import static com.oracle.graal.python.util.PythonUtils.TS_ENCODING;
 
 import java.util.List;
 
+import com.oracle.graal.python.annotations.ArgumentClinic;
 import com.oracle.graal.python.builtins.Builtin;
 import com.oracle.graal.python.builtins.CoreFunctions;
 import com.oracle.graal.python.builtins.PythonBuiltinClassType;
@@ -66,20 +68,30 @@ import com.oracle.graal.python.builtins.objects.list.PList;
 import com.oracle.graal.python.lib.GetNextNode;
 import com.oracle.graal.python.lib.PyNumberFloatNode;
 import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PRaiseNode;
 import com.oracle.graal.python.nodes.builtins.ListNodes.AppendNode;
 import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryClinicBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentClinicProvider;
 import com.oracle.graal.python.nodes.object.GetClassNode;
 import com.oracle.graal.python.nodes.object.IsBuiltinClassProfile;
 import com.oracle.graal.python.nodes.util.CannotCastException;
 import com.oracle.graal.python.nodes.util.CastToTruffleStringNode;
 import com.oracle.graal.python.runtime.exception.PException;
+import com.oracle.graal.python.runtime.sequence.storage.DoubleSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.ObjectSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
+import com.oracle.graal.python.util.ArrayBuilder;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NeverDefault;
 import com.oracle.truffle.api.dsl.NodeFactory;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.exception.AbstractTruffleException;
 import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.api.strings.TruffleString;
 import com.oracle.truffle.api.strings.TruffleStringBuilder;
 import com.oracle.truffle.api.strings.TruffleStringIterator;
@@ -113,6 +125,8 @@ public final class CSVReaderBuiltins extends PythonBuiltins {
         @Specialization
         Object nextPos(VirtualFrame frame, CSVReader self,
                         @Cached TruffleString.ByteIndexOfCodePointNode byteIndexOfCodePointNode,
+                        @Cached TruffleString.CodePointAtByteIndexNode codePointAtByteIndexNode,
+                        @Cached TruffleString.SubstringByteIndexNode substringNode,
                         @Cached TruffleString.CreateCodePointIteratorNode createCodePointIteratorNode,
                         @Cached TruffleStringIterator.NextNode nextNode,
                         @Cached TruffleStringBuilder.AppendCodePointNode appendCodePointNode,
@@ -166,6 +180,9 @@ public final class CSVReaderBuiltins extends PythonBuiltins {
                 }
 
                 self.lineNum++;
+                if (self.state == START_RECORD && splitSimpleLine(self, fields, line, byteIndexOfCodePointNode, codePointAtByteIndexNode, substringNode, pyNumberFloatNode, appendNode)) {
+                    return fields;
+                }
                 TruffleStringIterator tsi = createCodePointIteratorNode.execute(line, TS_ENCODING);
                 while (tsi.hasNext()) {
                     final int codepoint = nextNode.execute(tsi);
@@ -177,6 +194,62 @@ public final class CSVReaderBuiltins extends PythonBuiltins {
             return fields;
         }
 
+        /**
+         * Fast path for a line that forms a complete record without any quoting or escaping. The
+         * fields are located with an index-of search for the delimiter and extracted as lazy
+         * substrings of the line, so their contents are not copied. Returns {@code false} without
+         * modifying {@code fields} if the line needs the full state machine.
+         */
+        private boolean splitSimpleLine(CSVReader self, PList fields, TruffleString line, TruffleString.ByteIndexOfCodePointNode byteIndexOfCodePointNode,
+                        TruffleString.CodePointAtByteIndexNode codePointAtByteIndexNode, TruffleString.SubstringByteIndexNode substringNode, PyNumberFloatNode pyNumberFloatNode,
+                        AppendNode appendNode) {
+            CSVDialect dialect = self.dialect;
+            if (dialect.skipInitialSpace) {
+                return false;
+            }
+            int end = line.byteLength(TS_ENCODING);
+            // strip a single trailing line terminator, any other line break needs the state machine
+            if (end >= 4 && codePointAtByteIndexNode.execute(line, end - 4, TS_ENCODING) == NEWLINE_CODEPOINT) {
+                end -= 4;
+            }
+            if (end >= 4 && codePointAtByteIndexNode.execute(line, end - 4, TS_ENCODING) == CARRIAGE_RETURN_CODEPOINT) {
+                end -= 4;
+            }
+            if (end == 0) {
+                /* empty line - return [] */
+                return true;
+            }
+            if (byteIndexOfCodePointNode.execute(line, NEWLINE_CODEPOINT, 0, end, TS_ENCODING) >= 0 ||
+                            byteIndexOfCodePointNode.execute(line, CARRIAGE_RETURN_CODEPOINT, 0, end, TS_ENCODING) >= 0) {
+                return false;
+            }
+            if (dialect.quoting != QUOTE_NONE && dialect.quoteCharCodePoint != NOT_SET_CODEPOINT &&
+                            byteIndexOfCodePointNode.execute(line, dialect.quoteCharCodePoint, 0, end, TS_ENCODING) >= 0) {
+                return false;
+            }
+            if (dialect.escapeCharCodePoint != NOT_SET_CODEPOINT && byteIndexOfCodePointNode.execute(line, dialect.escapeCharCodePoint, 0, end, TS_ENCODING) >= 0) {
+                return false;
+            }
+            int start = 0;
+            while (true) {
+                int delimiter = byteIndexOfCodePointNode.execute(line, dialect.delimiterCodePoint, start, end, TS_ENCODING);
+                int fieldEnd = delimiter < 0 ? end : delimiter;
+                if ((fieldEnd - start) / 4 > self.fieldLimit) {
+                    throw raise(PythonBuiltinClassType.CSVError, ErrorMessages.LARGER_THAN_FIELD_SIZE_LIMIT, self.fieldLimit);
+                }
+                TruffleString field = substringNode.execute(line, start, fieldEnd - start, TS_ENCODING, true);
+                if (dialect.quoting == QUOTE_NONNUMERIC && fieldEnd > start) {
+                    appendNode.execute(fields, pyNumberFloatNode.execute(field));
+                } else {
+                    appendNode.execute(fields, field);
+                }
+                if (delimiter < 0) {
+                    return true;
+                }
+                start = delimiter + 4;
+            }
+        }
+
         @SuppressWarnings("fallthrough")
         private void parseProcessCodePoint(CSVReader self, PList fields, int codePoint, TruffleStringBuilder.AppendCodePointNode appendCodePointNode, TruffleStringBuilder.ToStringNode toStringNode,
                         PyNumberFloatNode pyNumberFloatNode, AppendNode appendNode) {
@@ -351,6 +424,130 @@ public final class CSVReaderBuiltins extends PythonBuiltins {
         }
     }
 
+    @Builtin(name = "read_rows", parameterNames = {"$self", "n"}, minNumOfPositionalArgs = 2, doc = READ_ROWS_DOC)
+    @ArgumentClinic(name = "n", conversion = ArgumentClinic.ClinicConversion.Int)
+    @GenerateNodeFactory
+    public abstract static class ReadRowsNode extends PythonBinaryClinicBuiltinNode {
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return CSVReaderBuiltinsClinicProviders.ReadRowsNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization
+        PList readRows(VirtualFrame frame, CSVReader self, int n,
+                        @Cached ReadBatchNode readBatchNode) {
+            return factory().createList(readBatchNode.execute(frame, self, n, false));
+        }
+    }
+
+    @Builtin(name = "read_columns", parameterNames = {"$self", "n"}, minNumOfPositionalArgs = 2, doc = READ_COLUMNS_DOC)
+    @ArgumentClinic(name = "n", conversion = ArgumentClinic.ClinicConversion.Int)
+    @GenerateNodeFactory
+    public abstract static class ReadColumnsNode extends PythonBinaryClinicBuiltinNode {
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return CSVReaderBuiltinsClinicProviders.ReadColumnsNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization
+        PList readColumns(VirtualFrame frame, CSVReader self, int n,
+                        @Cached ReadBatchNode readBatchNode) {
+            Object[] rows = readBatchNode.execute(frame, self, n, true);
+            if (rows.length == 0) {
+                return factory().createList();
+            }
+            int width = ((PList) rows[0]).getSequenceStorage().length();
+            Object[] columns = new Object[width];
+            for (int col = 0; col < width; col++) {
+                columns[col] = factory().createList(transposeColumn(rows, col));
+            }
+            return factory().createList(columns);
+        }
+
+        /**
+         * Collects one column of the batch. Columns that consist only of floats, as produced for
+         * unquoted fields with {@code QUOTE_NONNUMERIC}, are stored unboxed.
+         */
+        @TruffleBoundary
+        private static SequenceStorage transposeColumn(Object[] rows, int col) {
+            Object[] values = new Object[rows.length];
+            boolean allDoubles = true;
+            for (int i = 0; i < rows.length; i++) {
+                values[i] = ((PList) rows[i]).getSequenceStorage().getItemNormalized(col);
+                allDoubles &= values[i] instanceof Double;
+            }
+            if (allDoubles) {
+                double[] doubles = new double[values.length];
+                for (int i = 0; i < values.length; i++) {
+                    doubles[i] = (double) values[i];
+                }
+                return new DoubleSequenceStorage(doubles);
+            }
+            return new ObjectSequenceStorage(values);
+        }
+    }
+
+    /**
+     * Reads up to {@code n} records using the same parsing as {@code __next__}. If
+     * {@code uniform} is set, blank records are skipped and do not count towards {@code n}, and
+     * all other records must have the same number of fields.
+     */
+    abstract static class ReadBatchNode extends Node {
+
+        abstract Object[] execute(VirtualFrame frame, CSVReader self, int n, boolean uniform);
+
+        @Specialization
+        static Object[] read(VirtualFrame frame, CSVReader self, int n, boolean uniform,
+                        @Cached("createNext()") NextReaderNode nextNode,
+                        @Cached IsBuiltinClassProfile isBuiltinClassProfile,
+                        @Cached PRaiseNode raiseNode) {
+            if (n < 0) {
+                throw raiseNode.raise(PythonBuiltinClassType.ValueError, ErrorMessages.MUST_BE_NON_NEGATIVE, "n");
+            }
+            ArrayBuilder<Object> rows = new ArrayBuilder<>(Math.min(n, 64));
+            int width = -1;
+            while (rows.size() < n) {
+                Object row;
+                try {
+                    row = nextNode.execute(frame, self);
+                } catch (PException e) {
+                    e.expectStopIteration(isBuiltinClassProfile);
+                    break;
+                }
+                if (uniform) {
+                    int rowWidth = ((PList) row).getSequenceStorage().length();
+                    if (rowWidth == 0) {
+                        continue;
+                    } else if (width < 0) {
+                        width = rowWidth;
+                    } else if (rowWidth != width) {
+                        throw raiseNode.raise(PythonBuiltinClassType.CSVError, ErrorMessages.LINE_D_HAS_D_FIELDS_EXPECTED_D, self.lineNum, rowWidth, width);
+                    }
+                }
+                rows.add(row);
+            }
+            return rows.toArray(new Object[0]);
+        }
+
+        @NeverDefault
+        static NextReaderNode createNext() {
+            return CSVReaderBuiltinsFactory.NextReaderNodeFactory.create();
+        }
+    }
+
+    private static final String READ_ROWS_DOC = "read_rows(n)\n" +
+                    "\n" +
+                    "Read up to n records and return them as a list of lists of fields.\n" +
+                    "Fewer records are returned once the input is exhausted.";
+
+    private static final String READ_COLUMNS_DOC = "read_columns(n)\n" +
+                    "\n" +
+                    "Read up to n records and return them as a list of columns.\n" +
+                    "Blank records are skipped. All other records in the batch must have\n" +
+                    "the same number of fields.";
+
     @Builtin(name = "dialect", minNumOfPositionalArgs = 1, isGetter = true)
     @GenerateNodeFactory
     abstract static class GetDialectNode extends PythonUnaryBuiltinNode {
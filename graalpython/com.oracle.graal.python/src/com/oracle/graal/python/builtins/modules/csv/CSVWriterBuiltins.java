@@ -56,6 +56,7 @@ import com.oracle.graal.python.lib.PyNumberCheckNode;
 import com.oracle.graal.python.lib.PyObjectGetIter;
 import com.oracle.graal.python.lib.PyObjectStrAsTruffleStringNode;
 import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PNodeWithRaise;
 import com.oracle.graal.python.nodes.call.special.CallUnaryMethodNode;
 import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
@@ -85,16 +86,31 @@ public final class CSVWriterBuiltins extends PythonBuiltins {
     public abstract static class WriteRowNode extends PythonBinaryBuiltinNode {
         @Specialization
         Object doIt(VirtualFrame frame, CSVWriter self, Object seq,
+                        @Cached JoinRowNode joinRowNode,
+                        @Cached CallUnaryMethodNode callNode,
+                        @Cached TruffleStringBuilder.ToStringNode toStringNode) {
+            TruffleStringBuilder sb = TruffleStringBuilder.create(TS_ENCODING);
+            joinRowNode.execute(frame, self.dialect, seq, sb);
+            return callNode.executeObject(frame, self.write, toStringNode.execute(sb));
+        }
+    }
+
+    /**
+     * Appends one record, including the line terminator, to the given builder.
+     */
+    abstract static class JoinRowNode extends PNodeWithRaise {
+
+        abstract void execute(VirtualFrame frame, CSVDialect dialect, Object seq, TruffleStringBuilder sb);
+
+        @Specialization
+        void doIt(VirtualFrame frame, CSVDialect dialect, Object seq, TruffleStringBuilder sb,
                         @Cached PyObjectGetIter getIter,
                         @Cached GetClassNode getClass,
                         @Cached IsBuiltinClassProfile errorProfile,
-                        @Cached CallUnaryMethodNode callNode,
                         @Cached TruffleString.CreateCodePointIteratorNode createCodePointIteratorNode,
                         @Cached TruffleStringIterator.NextNode nextNode,
-                        @Cached TruffleString.ByteIndexOfCodePointNode byteIndexOfCodePointNode,
                         @Cached TruffleStringBuilder.AppendCodePointNode appendCodePointNode,
                         @Cached TruffleStringBuilder.AppendStringNode appendStringNode,
-                        @Cached TruffleStringBuilder.ToStringNode toStringNode,
                         @Cached PyObjectStrAsTruffleStringNode objectStrAsTruffleStringNode,
                         @Cached PyNumberCheckNode pyNumberCheckNode,
                         @Cached GetNextNode getNextNode,
@@ -108,9 +124,8 @@ public final class CSVWriterBuiltins extends PythonBuiltins {
                 throw raise(PythonBuiltinClassType.CSVError, ErrorMessages.EXPECTED_ITERABLE_NOT_S, getClass.execute(seq));
             }
 
-            // Join all fields of passed in sequence in internal buffer.
-            TruffleStringBuilder sb = TruffleStringBuilder.create(TS_ENCODING);
-            CSVDialect dialect = self.dialect;
+            // Join all fields of passed in sequence in the buffer.
+            int recordStart = sb.byteLength();
             boolean first = true;
             while (true) {
                 try {
@@ -121,26 +136,24 @@ public final class CSVWriterBuiltins extends PythonBuiltins {
                     } else {
                         first = false;
                     }
-                    joinField(sb, dialect, field, createCodePointIteratorNode, nextNode, byteIndexOfCodePointNode, appendCodePointNode, appendStringNode, objectStrAsTruffleStringNode,
-                                    pyNumberCheckNode);
+                    joinField(sb, dialect, field, createCodePointIteratorNode, nextNode, appendCodePointNode, appendStringNode, objectStrAsTruffleStringNode, pyNumberCheckNode);
                 } catch (PException e) {
                     e.expectStopIteration(isBuiltinClassProfile);
                     break;
                 }
             }
-            if (!first && sb.isEmpty()) {
+            if (!first && sb.byteLength() == recordStart) {
                 if (dialect.quoting == QUOTE_NONE) {
                     throw raise(PythonBuiltinClassType.CSVError, ErrorMessages.EMPTY_FIELD_RECORD_MUST_BE_QUOTED);
                 }
-                joinAppend(sb, dialect, null, true, createCodePointIteratorNode, nextNode, byteIndexOfCodePointNode, appendCodePointNode, appendStringNode);
+                joinAppend(sb, dialect, null, true, createCodePointIteratorNode, nextNode, appendCodePointNode, appendStringNode);
             }
             appendStringNode.execute(sb, dialect.lineTerminator);
-            return callNode.executeObject(frame, self.write, toStringNode.execute(sb));
         }
 
         private void joinField(TruffleStringBuilder sb, CSVDialect dialect, Object field, TruffleString.CreateCodePointIteratorNode createCodePointIteratorNode,
-                        TruffleStringIterator.NextNode nextNode, TruffleString.ByteIndexOfCodePointNode byteIndexOfCodePointNode, TruffleStringBuilder.AppendCodePointNode appendCodePointNode,
-                        TruffleStringBuilder.AppendStringNode appendStringNode, PyObjectStrAsTruffleStringNode objectStrAsTruffleStringNode, PyNumberCheckNode pyNumberCheckNode) {
+                        TruffleStringIterator.NextNode nextNode, TruffleStringBuilder.AppendCodePointNode appendCodePointNode, TruffleStringBuilder.AppendStringNode appendStringNode,
+                        PyObjectStrAsTruffleStringNode objectStrAsTruffleStringNode, PyNumberCheckNode pyNumberCheckNode) {
             boolean quoted;
 
             switch (dialect.quoting) {
@@ -156,22 +169,33 @@ public final class CSVWriterBuiltins extends PythonBuiltins {
             }
 
             if (field == PNone.NONE) {
-                joinAppend(sb, dialect, null, quoted, createCodePointIteratorNode, nextNode, byteIndexOfCodePointNode, appendCodePointNode, appendStringNode);
+                joinAppend(sb, dialect, null, quoted, createCodePointIteratorNode, nextNode, appendCodePointNode, appendStringNode);
             } else {
                 TruffleString str = objectStrAsTruffleStringNode.execute(field);
-                joinAppend(sb, dialect, str, quoted, createCodePointIteratorNode, nextNode, byteIndexOfCodePointNode, appendCodePointNode, appendStringNode);
+                joinAppend(sb, dialect, str, quoted, createCodePointIteratorNode, nextNode, appendCodePointNode, appendStringNode);
             }
         }
 
         private void joinAppend(TruffleStringBuilder sb, CSVDialect dialect, TruffleString field, boolean quoted, TruffleString.CreateCodePointIteratorNode createCodePointIteratorNode,
-                        TruffleStringIterator.NextNode nextNode, TruffleString.ByteIndexOfCodePointNode byteIndexOfCodePointNode, TruffleStringBuilder.AppendCodePointNode appendCodePointNode,
-                        TruffleStringBuilder.AppendStringNode appendStringNode) {
+                        TruffleStringIterator.NextNode nextNode, TruffleStringBuilder.AppendCodePointNode appendCodePointNode, TruffleStringBuilder.AppendStringNode appendStringNode) {
             /*
-             * If we don't already know that the field must be quoted due to dialect settings, check
-             * if the field contains characters due to which it must be quoted.
+             * Fields without any special characters are copied as a whole. Otherwise we check if
+             * the field must be quoted, unless we already know that due to dialect settings.
              */
+            if (field == null || !containsSpecialChar(dialect, field, createCodePointIteratorNode, nextNode)) {
+                if (quoted) {
+                    appendStringNode.execute(sb, dialect.quoteChar);
+                }
+                if (field != null) {
+                    appendStringNode.execute(sb, field);
+                }
+                if (quoted) {
+                    appendStringNode.execute(sb, dialect.quoteChar);
+                }
+                return;
+            }
             if (!quoted) {
-                quoted = needsQuotes(dialect, field, createCodePointIteratorNode, nextNode, byteIndexOfCodePointNode);
+                quoted = needsQuotes(dialect, field, createCodePointIteratorNode, nextNode);
             }
 
             /* Handle preceding quote */
@@ -180,56 +204,60 @@ public final class CSVWriterBuiltins extends PythonBuiltins {
             }
 
             /* Copy field data and add escape chars as needed */
-            /* If field is null just pass over */
-            if (field != null) {
-                TruffleStringIterator tsi = createCodePointIteratorNode.execute(field, TS_ENCODING);
-                while (tsi.hasNext()) {
+            TruffleStringIterator tsi = createCodePointIteratorNode.execute(field, TS_ENCODING);
+            while (tsi.hasNext()) {
 
-                    boolean wantEscape = false;
+                boolean wantEscape = false;
 
-                    final int c = nextNode.execute(tsi);
+                final int c = nextNode.execute(tsi);
 
-                    if (needsEscape(dialect, c, byteIndexOfCodePointNode)) {
-                        if (dialect.quoting == QUOTE_NONE) {
-                            wantEscape = true;
-                        } else {
-                            if (c == dialect.quoteCharCodePoint) {
-                                if (dialect.doubleQuote) {
-                                    appendStringNode.execute(sb, dialect.quoteChar);
-                                } else {
-                                    wantEscape = true;
-                                }
-                            } else if (c == dialect.escapeCharCodePoint) {
+                if (dialect.isSpecialChar(c)) {
+                    if (dialect.quoting == QUOTE_NONE) {
+                        wantEscape = true;
+                    } else {
+                        if (c == dialect.quoteCharCodePoint) {
+                            if (dialect.doubleQuote) {
+                                appendStringNode.execute(sb, dialect.quoteChar);
+                            } else {
                                 wantEscape = true;
                             }
-                            if (!wantEscape) {
-                                quoted = true;
-                            }
+                        } else if (c == dialect.escapeCharCodePoint) {
+                            wantEscape = true;
                         }
-                        if (wantEscape) {
-                            if (dialect.escapeCharCodePoint == NOT_SET_CODEPOINT) {
-                                throw raise(PythonBuiltinClassType.CSVError, ErrorMessages.ESCAPE_WITHOUT_ESCAPECHAR);
-                            }
-                            appendStringNode.execute(sb, dialect.escapeChar);
+                        if (!wantEscape) {
+                            quoted = true;
+                        }
+                    }
+                    if (wantEscape) {
+                        if (dialect.escapeCharCodePoint == NOT_SET_CODEPOINT) {
+                            throw raise(PythonBuiltinClassType.CSVError, ErrorMessages.ESCAPE_WITHOUT_ESCAPECHAR);
                         }
+                        appendStringNode.execute(sb, dialect.escapeChar);
                     }
-                    appendCodePointNode.execute(sb, c, 1, true);
                 }
+                appendCodePointNode.execute(sb, c, 1, true);
             }
             if (quoted) {
                 appendStringNode.execute(sb, dialect.quoteChar);
             }
         }
 
-        private static boolean needsQuotes(CSVDialect dialect, TruffleString field, TruffleString.CreateCodePointIteratorNode createCodePointIteratorNode, TruffleStringIterator.NextNode nextNode,
-                        TruffleString.ByteIndexOfCodePointNode byteIndexOfCodePointNode) {
-            if (field == null) {
-                return false;
+        private static boolean containsSpecialChar(CSVDialect dialect, TruffleString field, TruffleString.CreateCodePointIteratorNode createCodePointIteratorNode,
+                        TruffleStringIterator.NextNode nextNode) {
+            TruffleStringIterator tsi = createCodePointIteratorNode.execute(field, TS_ENCODING);
+            while (tsi.hasNext()) {
+                if (dialect.isSpecialChar(nextNode.execute(tsi))) {
+                    return true;
+                }
             }
+            return false;
+        }
+
+        private static boolean needsQuotes(CSVDialect dialect, TruffleString field, TruffleString.CreateCodePointIteratorNode createCodePointIteratorNode, TruffleStringIterator.NextNode nextNode) {
             TruffleStringIterator tsi = createCodePointIteratorNode.execute(field, TS_ENCODING);
             while (tsi.hasNext()) {
                 final int c = nextNode.execute(tsi);
-                if (needsEscape(dialect, c, byteIndexOfCodePointNode)) {
+                if (dialect.isSpecialChar(c)) {
                     if (!(dialect.quoting == QUOTE_NONE ||
                                     c == dialect.quoteCharCodePoint && !dialect.doubleQuote ||
                                     c == dialect.escapeCharCodePoint)) {
@@ -239,34 +267,50 @@ public final class CSVWriterBuiltins extends PythonBuiltins {
             }
             return false;
         }
-
-        private static boolean needsEscape(CSVDialect dialect, int codePoint, TruffleString.ByteIndexOfCodePointNode byteIndexOfCodePointNode) {
-            return codePoint == dialect.delimiterCodePoint || codePoint == dialect.escapeCharCodePoint || codePoint == dialect.quoteCharCodePoint ||
-                            byteIndexOfCodePointNode.execute(dialect.lineTerminator, codePoint, 0, dialect.lineTerminator.byteLength(TS_ENCODING), TS_ENCODING) >= 0;
-        }
     }
 
     @Builtin(name = "writerows", parameterNames = {"$self", "seqseq"}, minNumOfPositionalArgs = 2, doc = WRITEROWS_DOC)
     @GenerateNodeFactory
     public abstract static class WriteRowsNode extends PythonBinaryBuiltinNode {
+
+        /* Formatted records are passed to write() in chunks of about this many code points. */
+        private static final int CHUNK_SIZE = 8192;
+
         @Specialization
         Object doIt(VirtualFrame frame, CSVWriter self, Object seq,
                         @Cached PyObjectGetIter getIter,
                         @Cached GetNextNode getNext,
                         @Cached IsBuiltinClassProfile isBuiltinClassProfile,
-                        @Cached WriteRowNode writeRow) {
+                        @Cached JoinRowNode joinRowNode,
+                        @Cached CallUnaryMethodNode callNode,
+                        @Cached TruffleStringBuilder.ToStringNode toStringNode,
+                        @Cached TruffleString.SubstringByteIndexNode substringNode) {
             Object iter, row;
 
             iter = getIter.execute(frame, seq);
 
+            assert TS_ENCODING == TruffleString.Encoding.UTF_32;
+            TruffleStringBuilder sb = TruffleStringBuilder.create(TS_ENCODING);
+            int completeRecordsLength = 0;
             while (true) {
                 try {
                     row = getNext.execute(frame, iter);
-                    writeRow.execute(frame, self, row);
+                    joinRowNode.execute(frame, self.dialect, row, sb);
                 } catch (PException e) {
+                    // records that were completed before the error or the end are still written
+                    if (completeRecordsLength > 0) {
+                        TruffleString pending = substringNode.execute(toStringNode.execute(sb), 0, completeRecordsLength, TS_ENCODING, true);
+                        callNode.executeObject(frame, self.write, pending);
+                    }
                     e.expectStopIteration(isBuiltinClassProfile);
                     break;
                 }
+                completeRecordsLength = sb.byteLength();
+                if (completeRecordsLength / 4 >= CHUNK_SIZE) {
+                    callNode.executeObject(frame, self.write, toStringNode.execute(sb));
+                    sb = TruffleStringBuilder.create(TS_ENCODING);
+                    completeRecordsLength = 0;
+                }
             }
             return PNone.NONE;
         }
@@ -123,7 +123,7 @@ import com.oracle.graal.python.builtins.modules.WarningsModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.io.IONodes.IOMode;
 import com.oracle.graal.python.builtins.objects.PNone;
 import com.oracle.graal.python.builtins.objects.buffer.PythonBufferAccessLibrary;
-import com.oracle.graal.python.builtins.objects.bytes.BytesNodes;
+import com.oracle.graal.python.builtins.objects.buffer.PythonBufferAcquireLibrary;
 import com.oracle.graal.python.builtins.objects.bytes.PBytes;
 import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodes;
 import com.oracle.graal.python.builtins.objects.exception.OSErrorEnum;
@@ -151,6 +151,7 @@ import com.oracle.graal.python.nodes.util.CastToTruffleStringNode;
 import com.oracle.graal.python.runtime.AsyncHandler;
 import com.oracle.graal.python.runtime.GilNode;
 import com.oracle.graal.python.runtime.PosixSupportLibrary;
+import com.oracle.graal.python.runtime.PosixSupportLibrary.Buffer;
 import com.oracle.graal.python.runtime.PosixSupportLibrary.PosixException;
 import com.oracle.graal.python.runtime.PythonContext;
 import com.oracle.graal.python.runtime.PythonContext.PythonThreadState;
@@ -672,9 +673,10 @@ public final class FileIOBuiltins extends PythonBuiltins {
                     return 0;
                 }
                 try {
-                    PBytes data = posixRead.read(self.getFD(), size, posixLib, readErrorProfile, gil);
-                    int n = bufferLib.getBufferLength(data);
-                    bufferLib.readIntoBuffer(data, 0, buffer, 0, n, bufferLib);
+                    // copy the result of the POSIX read directly into the target buffer
+                    Buffer data = posixRead.readBuffer(self.getFD(), size, posixLib, readErrorProfile, gil);
+                    int n = (int) data.length;
+                    bufferLib.writeFromByteArray(buffer, 0, data.data, 0, n);
                     return n;
                 } catch (PosixException e) {
                     if (e.getErrorCode() == EAGAIN.getNumber()) {
@@ -709,21 +711,27 @@ public final class FileIOBuiltins extends PythonBuiltins {
     @GenerateNodeFactory
     public abstract static class WriteNode extends PythonBinaryBuiltinNode {
 
-        @Specialization(guards = {"!self.isClosed()", "self.isWritable()", "!self.isUTF8Write()"})
+        @Specialization(guards = {"!self.isClosed()", "self.isWritable()", "!self.isUTF8Write()"}, limit = "3")
         Object write(VirtualFrame frame, PFileIO self, Object data,
+                        @CachedLibrary("data") PythonBufferAcquireLibrary acquireLib,
+                        @CachedLibrary(limit = "2") PythonBufferAccessLibrary bufferLib,
                         @Shared("p") @Cached PosixModuleBuiltins.WriteNode posixWrite,
-                        @Cached BytesNodes.ToBytesNode toBytes,
                         @CachedLibrary("getPosixSupport()") PosixSupportLibrary posixLib,
                         @Shared("e") @Cached BranchProfile errorProfile,
                         @Shared("g") @Cached GilNode gil) {
+            Object buffer = acquireLib.acquireReadonly(data, frame, this);
             try {
-                return posixWrite.write(self.getFD(), toBytes.execute(frame, data), toBytes.execute(frame, data).length, posixLib, errorProfile, gil);
+                // bytes, bytearray and array pass their storage to the POSIX layer without a copy
+                byte[] bytes = bufferLib.getInternalOrCopiedByteArray(buffer);
+                return posixWrite.write(self.getFD(), bytes, bufferLib.getBufferLength(buffer), posixLib, errorProfile, gil);
             } catch (PosixException e) {
                 if (e.getErrorCode() == EAGAIN.getNumber()) {
                     return PNone.NONE;
                 }
                 errorProfile.enter();
                 throw raiseOSErrorFromPosixException(frame, e);
+            } finally {
+                bufferLib.release(buffer, frame, this);
             }
         }
 
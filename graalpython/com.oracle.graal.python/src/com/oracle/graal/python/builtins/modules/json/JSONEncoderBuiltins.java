@@ -10,6 +10,7 @@ import static com.oracle.graal.python.builtins.PythonBuiltinClassType.PList;
 import static com.oracle.graal.python.builtins.PythonBuiltinClassType.PTuple;
 import static com.oracle.graal.python.builtins.PythonBuiltinClassType.TypeError;
 import static com.oracle.graal.python.builtins.PythonBuiltinClassType.ValueError;
+import static com.oracle.graal.python.builtins.modules.io.IONodes.T_WRITE;
 import static com.oracle.graal.python.nodes.PGuards.isDouble;
 import static com.oracle.graal.python.nodes.PGuards.isInteger;
 import static com.oracle.graal.python.nodes.PGuards.isPFloat;
@@ -55,6 +56,8 @@ import com.oracle.graal.python.builtins.objects.str.StringNodes;
 import com.oracle.graal.python.builtins.objects.tuple.PTuple;
 import com.oracle.graal.python.builtins.objects.type.SpecialMethodSlot;
 import com.oracle.graal.python.lib.GetNextNode;
+import com.oracle.graal.python.lib.PyCallableCheckNode;
+import com.oracle.graal.python.lib.PyObjectLookupAttr;
 import com.oracle.graal.python.nodes.ErrorMessages;
 import com.oracle.graal.python.nodes.PRaiseNode;
 import com.oracle.graal.python.nodes.SpecialMethodNames;
@@ -62,6 +65,7 @@ import com.oracle.graal.python.nodes.builtins.ListNodes.ConstructListNode;
 import com.oracle.graal.python.nodes.call.special.CallUnaryMethodNode;
 import com.oracle.graal.python.nodes.call.special.LookupAndCallUnaryNode;
 import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonQuaternaryClinicBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonTernaryClinicBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentClinicProvider;
 import com.oracle.graal.python.nodes.object.IsBuiltinClassProfile;
@@ -76,6 +80,7 @@ import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.GenerateNodeFactory;
 import com.oracle.truffle.api.dsl.NodeFactory;
 import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.strings.TruffleString;
 import com.oracle.truffle.api.strings.TruffleStringBuilder;
 import com.oracle.truffle.api.strings.TruffleStringIterator;
@@ -95,6 +100,22 @@ public class JSONEncoderBuiltins extends PythonBuiltins {
         return JSONEncoderBuiltinsFactory.getFactories();
     }
 
+    /**
+     * The output of a single encoding run. If {@code write} is set, the encoded text is passed to
+     * it in chunks of roughly {@code flushThreshold} bytes of builder content, otherwise everything
+     * is collected in one builder.
+     */
+    static final class EncoderOutput {
+        final Object write;
+        final int flushThreshold;
+        TruffleStringBuilder builder = TruffleStringBuilder.create(TS_ENCODING);
+
+        EncoderOutput(Object write, int flushThreshold) {
+            this.write = write;
+            this.flushThreshold = flushThreshold;
+        }
+    }
+
     @Builtin(name = J___CALL__, minNumOfPositionalArgs = 1, parameterNames = {"$self", "obj", "_current_indent_level"})
     @ArgumentClinic(name = "_current_indent_level", conversion = ArgumentClinic.ClinicConversion.Int, defaultValue = "0", useDefaultForNone = true)
     @GenerateNodeFactory
@@ -121,6 +142,8 @@ public class JSONEncoderBuiltins extends PythonBuiltins {
         @Child private TruffleStringBuilder.AppendCodePointNode appendCodePointNode = TruffleStringBuilder.AppendCodePointNode.create();
         @Child private TruffleStringBuilder.AppendStringNode appendStringNode = TruffleStringBuilder.AppendStringNode.create();
         @Child private TruffleStringBuilder.AppendLongNumberNode appendLongNumberNode = TruffleStringBuilder.AppendLongNumberNode.create();
+        @Child private TruffleStringBuilder.ToStringNode toStringNode = TruffleStringBuilder.ToStringNode.create();
+        @Child private CallUnaryMethodNode callWrite = CallUnaryMethodNode.create();
 
         @Child private PythonObjectFactory factory = PythonObjectFactory.create();
 
@@ -131,11 +154,29 @@ public class JSONEncoderBuiltins extends PythonBuiltins {
 
         @Specialization
         @TruffleBoundary
-        protected PTuple call(PJSONEncoder self, Object obj, @SuppressWarnings("unused") int indent,
-                        @Cached TruffleStringBuilder.ToStringNode toStringNode) {
-            TruffleStringBuilder builder = TruffleStringBuilder.create(TS_ENCODING);
-            appendListObj(self, builder, obj);
-            return factory.createTuple(new Object[]{toStringNode.execute(builder)});
+        protected PTuple call(PJSONEncoder self, Object obj, @SuppressWarnings("unused") int indent) {
+            EncoderOutput out = new EncoderOutput(null, 0);
+            appendListObj(self, out, obj);
+            return factory.createTuple(new Object[]{toStringNode.execute(out.builder)});
+        }
+
+        private void flushIfNeeded(EncoderOutput out) {
+            if (out.write != null && out.builder.byteLength() >= out.flushThreshold) {
+                flush(out);
+            }
+        }
+
+        /**
+         * Passes everything encoded so far to the {@code write} callable of the output and starts
+         * a new chunk.
+         */
+        void flush(EncoderOutput out) {
+            assert out.write != null;
+            if (!out.builder.isEmpty()) {
+                TruffleString chunk = toStringNode.execute(out.builder);
+                out.builder = TruffleStringBuilder.create(TS_ENCODING);
+                callWrite.executeObject(out.write, chunk);
+            }
         }
 
         private void appendConst(TruffleStringBuilder builder, Object obj) {
@@ -224,17 +265,17 @@ public class JSONEncoderBuiltins extends PythonBuiltins {
             return true;
         }
 
-        private void appendListObj(PJSONEncoder encoder, TruffleStringBuilder builder, Object obj) {
-            if (appendSimpleObj(encoder, builder, obj)) {
+        void appendListObj(PJSONEncoder encoder, EncoderOutput out, Object obj) {
+            if (appendSimpleObj(encoder, out.builder, obj)) {
                 // done
             } else if (obj instanceof PList || obj instanceof PTuple) {
-                appendList(encoder, builder, (PSequence) obj);
+                appendList(encoder, out, (PSequence) obj);
             } else if (obj instanceof PDict) {
-                appendDict(encoder, builder, (PDict) obj);
+                appendDict(encoder, out, (PDict) obj);
             } else {
                 startRecursion(encoder, obj);
                 Object newObj = callDefaultFn.executeObject(encoder.defaultFn, obj);
-                appendListObj(encoder, builder, newObj);
+                appendListObj(encoder, out, newObj);
                 endRecursion(encoder, obj);
             }
         }
@@ -253,14 +294,14 @@ public class JSONEncoderBuiltins extends PythonBuiltins {
             }
         }
 
-        private void appendDict(PJSONEncoder encoder, TruffleStringBuilder builder, PDict dict) {
+        private void appendDict(PJSONEncoder encoder, EncoderOutput out, PDict dict) {
             HashingStorage storage = dict.getDictStorage();
 
             if (HashingStorageLen.executeUncached(storage) == 0) {
-                appendStringNode.execute(builder, T_EMPTY_BRACES);
+                appendStringNode.execute(out.builder, T_EMPTY_BRACES);
             } else {
                 startRecursion(encoder, dict);
-                appendStringNode.execute(builder, T_LBRACE);
+                appendStringNode.execute(out.builder, T_LBRACE);
 
                 if (!encoder.sortKeys && isClassProfile.profileObject(dict, PDict)) {
                     HashingStorageIterator it = HashingStorageGetIterator.executeUncached(storage);
@@ -268,7 +309,7 @@ public class JSONEncoderBuiltins extends PythonBuiltins {
                     while (HashingStorageIteratorNext.executeUncached(storage, it)) {
                         Object key = HashingStorageIteratorKey.executeUncached(storage, it);
                         Object value = HashingStorageIteratorValue.executeUncached(storage, it);
-                        first = appendDictEntry(encoder, builder, first, key, value);
+                        first = appendDictEntry(encoder, out, first, key, value);
                     }
                 } else {
                     PList items = constructList.execute(null, callGetItems.executeObject(null, dict));
@@ -291,21 +332,21 @@ public class JSONEncoderBuiltins extends PythonBuiltins {
                         SequenceStorage sequenceStorage = ((PTuple) item).getSequenceStorage();
                         Object key = sequenceStorage.getItemNormalized(0);
                         Object value = sequenceStorage.getItemNormalized(1);
-                        first = appendDictEntry(encoder, builder, first, key, value);
+                        first = appendDictEntry(encoder, out, first, key, value);
                     }
                 }
 
-                appendStringNode.execute(builder, T_RBRACE);
+                appendStringNode.execute(out.builder, T_RBRACE);
                 endRecursion(encoder, dict);
             }
         }
 
-        private boolean appendDictEntry(PJSONEncoder encoder, TruffleStringBuilder builder, boolean first, Object key, Object value) {
+        private boolean appendDictEntry(PJSONEncoder encoder, EncoderOutput out, boolean first, Object key, Object value) {
             if (!first) {
-                appendStringNode.execute(builder, encoder.itemSeparator);
+                appendStringNode.execute(out.builder, encoder.itemSeparator);
             }
             if (isString(key)) {
-                appendSimpleObj(encoder, builder, key);
+                appendSimpleObj(encoder, out.builder, key);
             } else {
                 if (!isSimpleObj(key)) {
                     if (encoder.skipKeys) {
@@ -313,30 +354,32 @@ public class JSONEncoderBuiltins extends PythonBuiltins {
                     }
                     throw raise(TypeError, ErrorMessages.KEYS_MUST_BE_STR_INT___NOT_P, key);
                 }
-                appendStringNode.execute(builder, T_DOUBLE_QUOTE);
-                appendSimpleObj(encoder, builder, key);
-                appendStringNode.execute(builder, T_DOUBLE_QUOTE);
+                appendStringNode.execute(out.builder, T_DOUBLE_QUOTE);
+                appendSimpleObj(encoder, out.builder, key);
+                appendStringNode.execute(out.builder, T_DOUBLE_QUOTE);
             }
-            appendStringNode.execute(builder, encoder.keySeparator);
-            appendListObj(encoder, builder, value);
+            appendStringNode.execute(out.builder, encoder.keySeparator);
+            appendListObj(encoder, out, value);
+            flushIfNeeded(out);
             return false;
         }
 
-        private void appendList(PJSONEncoder encoder, TruffleStringBuilder builder, PSequence list) {
+        private void appendList(PJSONEncoder encoder, EncoderOutput out, PSequence list) {
             SequenceStorage storage = list.getSequenceStorage();
 
             if (storage.length() == 0) {
-                appendStringNode.execute(builder, T_EMPTY_BRACKETS);
+                appendStringNode.execute(out.builder, T_EMPTY_BRACKETS);
             } else {
                 startRecursion(encoder, list);
-                appendStringNode.execute(builder, T_LBRACKET);
+                appendStringNode.execute(out.builder, T_LBRACKET);
 
                 if (isClassProfile.profileObject(list, PTuple) || isClassProfile.profileObject(list, PList)) {
                     for (int i = 0; i < storage.length(); i++) {
                         if (i > 0) {
-                            appendStringNode.execute(builder, encoder.itemSeparator);
+                            appendStringNode.execute(out.builder, encoder.itemSeparator);
                         }
-                        appendListObj(encoder, builder, storage.getItemNormalized(i));
+                        appendListObj(encoder, out, storage.getItemNormalized(i));
+                        flushIfNeeded(out);
                     }
                 } else {
                     Object iter = callGetListIter.executeObject(null, list);
@@ -350,16 +393,56 @@ public class JSONEncoderBuiltins extends PythonBuiltins {
                             break;
                         }
                         if (!first) {
-                            appendStringNode.execute(builder, encoder.itemSeparator);
+                            appendStringNode.execute(out.builder, encoder.itemSeparator);
                         }
                         first = false;
-                        appendListObj(encoder, builder, item);
+                        appendListObj(encoder, out, item);
+                        flushIfNeeded(out);
                     }
                 }
 
-                appendStringNode.execute(builder, T_RBRACKET);
+                appendStringNode.execute(out.builder, T_RBRACKET);
                 endRecursion(encoder, list);
             }
         }
     }
+
+    @Builtin(name = "dump", minNumOfPositionalArgs = 3, parameterNames = {"$self", "obj", "fp", "chunk_size"}, doc = "dump(obj, fp, chunk_size=65536)\n" +
+                    "--\n\n" +
+                    "Encode obj and pass the result to fp.write() in chunks of about chunk_size characters.")
+    @ArgumentClinic(name = "chunk_size", conversion = ArgumentClinic.ClinicConversion.Int, defaultValue = "DEFAULT_CHUNK_SIZE", useDefaultForNone = true)
+    @GenerateNodeFactory
+    public abstract static class DumpNode extends PythonQuaternaryClinicBuiltinNode {
+
+        static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+
+        @Child private CallEncoderNode encodeNode = JSONEncoderBuiltinsFactory.CallEncoderNodeFactory.create();
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return JSONEncoderBuiltinsClinicProviders.DumpNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization
+        PNone dump(VirtualFrame frame, PJSONEncoder self, Object obj, Object fp, int chunkSize,
+                        @Cached PyObjectLookupAttr lookupAttr,
+                        @Cached PyCallableCheckNode checkCallable) {
+            Object write = lookupAttr.execute(frame, fp, T_WRITE);
+            if (write == PNone.NO_VALUE || !checkCallable.execute(write)) {
+                throw raise(TypeError, ErrorMessages.S_MUST_HAVE_WRITE_METHOD, "argument 2");
+            }
+            if (chunkSize <= 0) {
+                throw raise(ValueError, ErrorMessages.S_MUST_BE_GREATER_THAN_ZERO, "chunk_size");
+            }
+            // the builder content is UTF-32, so a character takes four bytes
+            encode(self, obj, new EncoderOutput(write, chunkSize > Integer.MAX_VALUE / 4 ? Integer.MAX_VALUE : chunkSize * 4));
+            return PNone.NONE;
+        }
+
+        @TruffleBoundary
+        private void encode(PJSONEncoder self, Object obj, EncoderOutput out) {
+            encodeNode.appendListObj(self, out, obj);
+            encodeNode.flush(out);
+        }
+    }
 }
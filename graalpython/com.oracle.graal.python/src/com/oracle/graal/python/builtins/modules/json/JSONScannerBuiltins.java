@@ -37,10 +37,15 @@ import com.oracle.graal.python.nodes.call.special.CallUnaryMethodNode;
 import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonTernaryClinicBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentClinicProvider;
+import com.oracle.graal.python.nodes.object.IsBuiltinClassProfile;
 import com.oracle.graal.python.nodes.statement.AbstractImportNode;
 import com.oracle.graal.python.runtime.PythonContext;
 import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.graal.python.runtime.sequence.storage.DoubleSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.IntSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.LongSequenceStorage;
 import com.oracle.graal.python.runtime.sequence.storage.ObjectSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
 import com.oracle.truffle.api.CompilerAsserts;
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
@@ -81,6 +86,11 @@ public class JSONScannerBuiltins extends PythonBuiltins {
         @Child private CallUnaryMethodNode callObjectPairsHook = CallUnaryMethodNode.create();
         @Child private PythonObjectFactory factory = PythonObjectFactory.create();
 
+        /* 999999999 always fits into an int, 18 digits always fit into a long */
+        private static final int MAX_INT_DIGITS = 9;
+        private static final int MAX_LONG_DIGITS = 18;
+        private static final int OBJECT_LOOKAHEAD_LIMIT = 512;
+
         @CompilationFinal private Shape tupleInstanceShape;
         @CompilationFinal private Shape listInstanceShape;
         @CompilationFinal private Shape dictInstanceShape;
@@ -124,17 +134,19 @@ public class JSONScannerBuiltins extends PythonBuiltins {
             int idx = start;
             int length = string.length();
 
+            /* skip whitespace after { */
+            idx = skipWhitespace(string, idx, length);
+
+            /* pre-size the storage if the whole object fits into the lookahead window */
+            int expectedSize = estimateObjectSize(string, idx, length);
             ObjectSequenceStorage listStorage = null;
             EconomicMapStorage mapStorage = null;
             if (hasPairsHook) {
-                listStorage = new ObjectSequenceStorage(4);
+                listStorage = new ObjectSequenceStorage(Math.max(expectedSize, 4));
             } else {
-                mapStorage = EconomicMapStorage.create();
+                mapStorage = expectedSize > 0 ? EconomicMapStorage.create(expectedSize) : EconomicMapStorage.create();
             }
 
-            /* skip whitespace after { */
-            idx = skipWhitespace(string, idx, length);
-
             /* only loop if the object is non-empty */
             if (idx >= length || string.charAt(idx) != '}') {
                 while (true) {
@@ -208,11 +220,24 @@ public class JSONScannerBuiltins extends PythonBuiltins {
              * Returns a new PyList
              */
             int idx = start;
-            ObjectSequenceStorage storage = new ObjectSequenceStorage(4);
             int length = string.length();
 
             idx = skipWhitespace(string, idx, length);
 
+            /*
+             * Homogeneous numeric arrays are parsed directly into a primitive storage. This only
+             * applies if the default int/float constructors are used to convert the numbers.
+             */
+            if (idx < length && string.charAt(idx) != ']' && IsBuiltinClassProfile.profileClassSlowPath(scanner.parseInt, PythonBuiltinClassType.PInt) &&
+                            IsBuiltinClassProfile.profileClassSlowPath(scanner.parseFloat, PythonBuiltinClassType.PFloat)) {
+                SequenceStorage numericStorage = parseNumericArray(string, idx, length, nextIdx);
+                if (numericStorage != null) {
+                    return factory.createList(PythonBuiltinClassType.PList, listInstanceShape, numericStorage);
+                }
+            }
+
+            ObjectSequenceStorage storage = new ObjectSequenceStorage(4);
+
             /* only loop if the array is non-empty */
             if (idx >= length || string.charAt(idx) != ']') {
                 while (true) {
@@ -246,6 +271,124 @@ public class JSONScannerBuiltins extends PythonBuiltins {
             return factory.createList(PythonBuiltinClassType.PList, listInstanceShape, storage);
         }
 
+        /**
+         * Looks ahead over an array that is about to be parsed and, if it consists only of plain
+         * JSON numbers of a single kind, parses it into an {@link IntSequenceStorage},
+         * {@link LongSequenceStorage} or {@link DoubleSequenceStorage} of the exact size. Returns
+         * {@code null} if the array has to be parsed generically (mixed types, nested values,
+         * special constants, big integers or malformed input, which is then reported by the
+         * generic path).
+         */
+        private static SequenceStorage parseNumericArray(String string, int start, int length, IntRef nextIdx) {
+            int count = 0;
+            boolean hasInts = false;
+            boolean hasFloats = false;
+            int maxIntDigits = 0;
+            int idx = start;
+            while (true) {
+                int intEnd = matchIntegerPart(string, idx, length);
+                if (intEnd < 0) {
+                    return null;
+                }
+                int end = matchFractionAndExponent(string, intEnd, length);
+                if (end == intEnd) {
+                    hasInts = true;
+                    maxIntDigits = Math.max(maxIntDigits, string.charAt(idx) == '-' ? end - idx - 1 : end - idx);
+                } else {
+                    hasFloats = true;
+                }
+                count++;
+                idx = skipWhitespace(string, end, length);
+                if (idx >= length) {
+                    return null;
+                }
+                char c = string.charAt(idx);
+                if (c == ']') {
+                    break;
+                } else if (c != ',') {
+                    return null;
+                }
+                idx = skipWhitespace(string, idx + 1, length);
+            }
+            if (hasInts == hasFloats || maxIntDigits > MAX_LONG_DIGITS) {
+                return null;
+            }
+            nextIdx.value = idx + 1;
+
+            idx = start;
+            if (hasFloats) {
+                double[] values = new double[count];
+                for (int i = 0; i < count; i++) {
+                    int end = matchFractionAndExponent(string, matchIntegerPart(string, idx, length), length);
+                    values[i] = FloatUtils.parseValidString(string.substring(idx, end));
+                    idx = skipWhitespace(string, skipWhitespace(string, end, length) + 1, length);
+                }
+                return new DoubleSequenceStorage(values);
+            } else if (maxIntDigits <= MAX_INT_DIGITS) {
+                int[] values = new int[count];
+                for (int i = 0; i < count; i++) {
+                    int end = matchIntegerPart(string, idx, length);
+                    values[i] = (int) parseDecimalDigits(string, idx, end);
+                    idx = skipWhitespace(string, skipWhitespace(string, end, length) + 1, length);
+                }
+                return new IntSequenceStorage(values);
+            } else {
+                long[] values = new long[count];
+                for (int i = 0; i < count; i++) {
+                    int end = matchIntegerPart(string, idx, length);
+                    values[i] = parseDecimalDigits(string, idx, end);
+                    idx = skipWhitespace(string, skipWhitespace(string, end, length) + 1, length);
+                }
+                return new LongSequenceStorage(values);
+            }
+        }
+
+        /**
+         * Counts the members of an object whose body starts at {@code start} if its closing brace
+         * is within {@link #OBJECT_LOOKAHEAD_LIMIT} characters. Returns {@code 0} if the size could
+         * not be determined.
+         */
+        private static int estimateObjectSize(String string, int start, int length) {
+            int limit = Math.min(length, start + OBJECT_LOOKAHEAD_LIMIT);
+            int depth = 0;
+            int count = 1;
+            int idx = start;
+            if (idx < limit && string.charAt(idx) == '}') {
+                return 0;
+            }
+            while (idx < limit) {
+                char c = string.charAt(idx++);
+                switch (c) {
+                    case '"':
+                        while (idx < limit && (c = string.charAt(idx++)) != '"') {
+                            if (c == '\\') {
+                                idx++;
+                            }
+                        }
+                        break;
+                    case '{':
+                    case '[':
+                        depth++;
+                        break;
+                    case ']':
+                        depth--;
+                        break;
+                    case '}':
+                        if (depth == 0) {
+                            return count;
+                        }
+                        depth--;
+                        break;
+                    case ',':
+                        if (depth == 0) {
+                            count++;
+                        }
+                        break;
+                }
+            }
+            return 0;
+        }
+
         private static int skipWhitespace(String string, int start, int length) {
             int idx = start;
             while (idx < length && JSONModuleBuiltins.isWhitespace(string.charAt(idx))) {
@@ -267,6 +410,70 @@ public class JSONScannerBuiltins extends PythonBuiltins {
             return callParseConstant.executeObject(scanner.parseConstant, toTruffleStringUncached(constant));
         }
 
+        /**
+         * Matches the sign and integer digits of a JSON number the same way as
+         * {@link #matchNumberUnicode} does. Returns the index after the last digit or {@code -1} if
+         * there is no number at {@code start}.
+         */
+        private static int matchIntegerPart(String string, int start, int length) {
+            int idx = start;
+            if (idx < length && string.charAt(idx) == '-') {
+                idx++;
+            }
+            if (idx >= length) {
+                return -1;
+            }
+            char c = string.charAt(idx);
+            if (c >= '1' && c <= '9') {
+                idx++;
+                while (idx < length && string.charAt(idx) >= '0' && string.charAt(idx) <= '9') {
+                    idx++;
+                }
+            } else if (c == '0') {
+                idx++;
+            } else {
+                return -1;
+            }
+            return idx;
+        }
+
+        /**
+         * Matches the optional fraction and exponent of a JSON number the same way as
+         * {@link #matchNumberUnicode} does. Returns {@code start} if the number is an integer.
+         */
+        private static int matchFractionAndExponent(String string, int start, int length) {
+            int idx = start;
+            if (idx < (length - 1) && string.charAt(idx) == '.' && string.charAt(idx + 1) >= '0' && string.charAt(idx + 1) <= '9') {
+                idx += 2;
+                while (idx < length && string.charAt(idx) >= '0' && string.charAt(idx) <= '9') {
+                    idx++;
+                }
+            }
+            if (idx < (length - 1) && (string.charAt(idx) == 'e' || string.charAt(idx) == 'E')) {
+                int eStart = idx;
+                idx++;
+                if (idx < (length - 1) && (string.charAt(idx) == '-' || string.charAt(idx) == '+')) {
+                    idx++;
+                }
+                while (idx < length && string.charAt(idx) >= '0' && string.charAt(idx) <= '9') {
+                    idx++;
+                }
+                if (!(string.charAt(idx - 1) >= '0' && string.charAt(idx - 1) <= '9')) {
+                    idx = eStart;
+                }
+            }
+            return idx;
+        }
+
+        private static long parseDecimalDigits(String string, int start, int end) {
+            boolean negative = string.charAt(start) == '-';
+            long value = 0;
+            for (int i = negative ? start + 1 : start; i < end; i++) {
+                value = value * 10 + (string.charAt(i) - '0');
+            }
+            return negative ? -value : value;
+        }
+
         @TruffleBoundary
         private Object matchNumberUnicode(PJSONScanner scanner, String string, int start, IntRef nextIdx) {
             /*
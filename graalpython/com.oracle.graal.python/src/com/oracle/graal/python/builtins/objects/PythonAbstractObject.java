@@ -60,6 +60,7 @@ import static com.oracle.graal.python.util.PythonUtils.TS_ENCODING;
 import static com.oracle.graal.python.util.PythonUtils.toTruffleStringUncached;
 import static com.oracle.graal.python.util.PythonUtils.tsLiteral;
 
+import java.nio.ByteOrder;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.ZoneId;
@@ -68,6 +69,7 @@ import java.util.HashSet;
 
 import com.oracle.graal.python.PythonLanguage;
 import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.objects.buffer.PythonBufferAccessLibrary;
 import com.oracle.graal.python.builtins.objects.bytes.PBytes;
 import com.oracle.graal.python.builtins.objects.cext.capi.CApiGuards;
 import com.oracle.graal.python.builtins.objects.cext.capi.DynamicObjectNativeWrapper;
@@ -146,6 +148,7 @@ import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.interop.ArityException;
 import com.oracle.truffle.api.interop.InteropLibrary;
 import com.oracle.truffle.api.interop.InvalidArrayIndexException;
+import com.oracle.truffle.api.interop.InvalidBufferOffsetException;
 import com.oracle.truffle.api.interop.StopIterationException;
 import com.oracle.truffle.api.interop.TruffleObject;
 import com.oracle.truffle.api.interop.UnknownIdentifierException;
@@ -1678,4 +1681,189 @@ public abstract class PythonAbstractObject extends DynamicObject implements Truf
             throw StopIterationException.create();
         }
     }
+
+    /*
+     * Interop buffer messages. Objects that implement the Python buffer protocol on their own
+     * (bytes, bytearray, array, memoryview, mmap) opt in by overriding hasBufferElements. All
+     * accesses go directly to the underlying storage using the PythonBufferAccessLibrary.
+     */
+
+    @ExportMessage
+    @SuppressWarnings("static-method")
+    public boolean hasBufferElements() {
+        return false;
+    }
+
+    @ExportMessage
+    public boolean isBufferWritable(
+                    @CachedLibrary("this") InteropLibrary interopLib,
+                    @Shared("bufferLib") @CachedLibrary(limit = "3") PythonBufferAccessLibrary bufferLib) throws UnsupportedMessageException {
+        if (!interopLib.hasBufferElements(this)) {
+            throw UnsupportedMessageException.create();
+        }
+        return !bufferLib.isReadonly(this);
+    }
+
+    @ExportMessage
+    public long getBufferSize(
+                    @CachedLibrary("this") InteropLibrary interopLib,
+                    @Shared("bufferLib") @CachedLibrary(limit = "3") PythonBufferAccessLibrary bufferLib) throws UnsupportedMessageException {
+        if (!interopLib.hasBufferElements(this)) {
+            throw UnsupportedMessageException.create();
+        }
+        return bufferLib.getBufferLength(this);
+    }
+
+    @ExportMessage
+    public byte readBufferByte(long byteOffset,
+                    @CachedLibrary("this") InteropLibrary interopLib,
+                    @Shared("bufferLib") @CachedLibrary(limit = "3") PythonBufferAccessLibrary bufferLib,
+                    @Exclusive @Cached GilNode gil) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        boolean mustRelease = gil.acquire();
+        try {
+            return bufferLib.readByte(this, checkBufferAccess(interopLib, bufferLib, byteOffset, Byte.BYTES, false));
+        } finally {
+            gil.release(mustRelease);
+        }
+    }
+
+    @ExportMessage
+    public void writeBufferByte(long byteOffset, byte value,
+                    @CachedLibrary("this") InteropLibrary interopLib,
+                    @Shared("bufferLib") @CachedLibrary(limit = "3") PythonBufferAccessLibrary bufferLib,
+                    @Exclusive @Cached GilNode gil) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        boolean mustRelease = gil.acquire();
+        try {
+            bufferLib.writeByte(this, checkBufferAccess(interopLib, bufferLib, byteOffset, Byte.BYTES, true), value);
+        } finally {
+            gil.release(mustRelease);
+        }
+    }
+
+    @ExportMessage
+    public short readBufferShort(ByteOrder order, long byteOffset,
+                    @CachedLibrary("this") InteropLibrary interopLib,
+                    @Shared("bufferLib") @CachedLibrary(limit = "3") PythonBufferAccessLibrary bufferLib,
+                    @Exclusive @Cached GilNode gil) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        boolean mustRelease = gil.acquire();
+        try {
+            short value = bufferLib.readShort(this, checkBufferAccess(interopLib, bufferLib, byteOffset, Short.BYTES, false));
+            return order == ByteOrder.nativeOrder() ? value : Short.reverseBytes(value);
+        } finally {
+            gil.release(mustRelease);
+        }
+    }
+
+    @ExportMessage
+    public void writeBufferShort(ByteOrder order, long byteOffset, short value,
+                    @CachedLibrary("this") InteropLibrary interopLib,
+                    @Shared("bufferLib") @CachedLibrary(limit = "3") PythonBufferAccessLibrary bufferLib,
+                    @Exclusive @Cached GilNode gil) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        boolean mustRelease = gil.acquire();
+        try {
+            int offset = checkBufferAccess(interopLib, bufferLib, byteOffset, Short.BYTES, true);
+            bufferLib.writeShort(this, offset, order == ByteOrder.nativeOrder() ? value : Short.reverseBytes(value));
+        } finally {
+            gil.release(mustRelease);
+        }
+    }
+
+    @ExportMessage
+    public int readBufferInt(ByteOrder order, long byteOffset,
+                    @CachedLibrary("this") InteropLibrary interopLib,
+                    @Shared("bufferLib") @CachedLibrary(limit = "3") PythonBufferAccessLibrary bufferLib,
+                    @Exclusive @Cached GilNode gil) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        boolean mustRelease = gil.acquire();
+        try {
+            int value = bufferLib.readInt(this, checkBufferAccess(interopLib, bufferLib, byteOffset, Integer.BYTES, false));
+            return order == ByteOrder.nativeOrder() ? value : Integer.reverseBytes(value);
+        } finally {
+            gil.release(mustRelease);
+        }
+    }
+
+    @ExportMessage
+    public void writeBufferInt(ByteOrder order, long byteOffset, int value,
+                    @CachedLibrary("this") InteropLibrary interopLib,
+                    @Shared("bufferLib") @CachedLibrary(limit = "3") PythonBufferAccessLibrary bufferLib,
+                    @Exclusive @Cached GilNode gil) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        boolean mustRelease = gil.acquire();
+        try {
+            int offset = checkBufferAccess(interopLib, bufferLib, byteOffset, Integer.BYTES, true);
+            bufferLib.writeInt(this, offset, order == ByteOrder.nativeOrder() ? value : Integer.reverseBytes(value));
+        } finally {
+            gil.release(mustRelease);
+        }
+    }
+
+    @ExportMessage
+    public long readBufferLong(ByteOrder order, long byteOffset,
+                    @CachedLibrary("this") InteropLibrary interopLib,
+                    @Shared("bufferLib") @CachedLibrary(limit = "3") PythonBufferAccessLibrary bufferLib,
+                    @Exclusive @Cached GilNode gil) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        boolean mustRelease = gil.acquire();
+        try {
+            long value = bufferLib.readLong(this, checkBufferAccess(interopLib, bufferLib, byteOffset, Long.BYTES, false));
+            return order == ByteOrder.nativeOrder() ? value : Long.reverseBytes(value);
+        } finally {
+            gil.release(mustRelease);
+        }
+    }
+
+    @ExportMessage
+    public void writeBufferLong(ByteOrder order, long byteOffset, long value,
+                    @CachedLibrary("this") InteropLibrary interopLib,
+                    @Shared("bufferLib") @CachedLibrary(limit = "3") PythonBufferAccessLibrary bufferLib,
+                    @Exclusive @Cached GilNode gil) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        boolean mustRelease = gil.acquire();
+        try {
+            int offset = checkBufferAccess(interopLib, bufferLib, byteOffset, Long.BYTES, true);
+            bufferLib.writeLong(this, offset, order == ByteOrder.nativeOrder() ? value : Long.reverseBytes(value));
+        } finally {
+            gil.release(mustRelease);
+        }
+    }
+
+    @ExportMessage
+    public float readBufferFloat(ByteOrder order, long byteOffset,
+                    @CachedLibrary("this") InteropLibrary interopLib,
+                    @Shared("bufferLib") @CachedLibrary(limit = "3") PythonBufferAccessLibrary bufferLib,
+                    @Exclusive @Cached GilNode gil) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        return Float.intBitsToFloat(readBufferInt(order, byteOffset, interopLib, bufferLib, gil));
+    }
+
+    @ExportMessage
+    public void writeBufferFloat(ByteOrder order, long byteOffset, float value,
+                    @CachedLibrary("this") InteropLibrary interopLib,
+                    @Shared("bufferLib") @CachedLibrary(limit = "3") PythonBufferAccessLibrary bufferLib,
+                    @Exclusive @Cached GilNode gil) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        writeBufferInt(order, byteOffset, Float.floatToRawIntBits(value), interopLib, bufferLib, gil);
+    }
+
+    @ExportMessage
+    public double readBufferDouble(ByteOrder order, long byteOffset,
+                    @CachedLibrary("this") InteropLibrary interopLib,
+                    @Shared("bufferLib") @CachedLibrary(limit = "3") PythonBufferAccessLibrary bufferLib,
+                    @Exclusive @Cached GilNode gil) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        return Double.longBitsToDouble(readBufferLong(order, byteOffset, interopLib, bufferLib, gil));
+    }
+
+    @ExportMessage
+    public void writeBufferDouble(ByteOrder order, long byteOffset, double value,
+                    @CachedLibrary("this") InteropLibrary interopLib,
+                    @Shared("bufferLib") @CachedLibrary(limit = "3") PythonBufferAccessLibrary bufferLib,
+                    @Exclusive @Cached GilNode gil) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        writeBufferLong(order, byteOffset, Double.doubleToRawLongBits(value), interopLib, bufferLib, gil);
+    }
+
+    private int checkBufferAccess(InteropLibrary interopLib, PythonBufferAccessLibrary bufferLib, long byteOffset, int length, boolean write)
+                    throws UnsupportedMessageException, InvalidBufferOffsetException {
+        if (!interopLib.hasBufferElements(this) || (write && bufferLib.isReadonly(this))) {
+            throw UnsupportedMessageException.create();
+        }
+        if (byteOffset < 0 || byteOffset > bufferLib.getBufferLength(this) - length) {
+            throw InvalidBufferOffsetException.create(byteOffset, length);
+        }
+        return (int) byteOffset;
+    }
 }
@@ -42,6 +42,7 @@ import com.oracle.graal.python.util.BufferFormat;
 import com.oracle.graal.python.util.OverflowException;
 import com.oracle.graal.python.util.PythonUtils;
 import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.interop.InteropLibrary;
 import com.oracle.truffle.api.library.ExportLibrary;
 import com.oracle.truffle.api.library.ExportMessage;
 import com.oracle.truffle.api.library.ExportMessage.Ignore;
@@ -49,6 +50,7 @@ import com.oracle.truffle.api.object.Shape;
 import com.oracle.truffle.api.strings.TruffleString;
 
 // TODO interop library
+@ExportLibrary(InteropLibrary.class)
 @ExportLibrary(PythonBufferAcquireLibrary.class)
 @ExportLibrary(PythonBufferAccessLibrary.class)
 public final class PArray extends PythonBuiltinObject {
@@ -134,10 +136,18 @@ public final class PArray extends PythonBuiltinObject {
         return ((newLength >> 4) + (length < 8 ? 3 : 7) + newLength) * itemsize;
     }
 
+    /**
+     * Like CPython, the buffer is only reallocated if it is too small or if the array shrinks by
+     * at least 16 items, so that repeated appends run in amortized constant time.
+     */
+    private static boolean shrinksSignificantly(int oldLength, int newLength) {
+        return oldLength - 16 >= newLength;
+    }
+
     public void resizeStorage(int newLength) throws OverflowException {
         assert newLength >= 0;
         int itemsize = format.bytesize;
-        if (buffer.length / itemsize < newLength || length + 16 >= newLength) {
+        if (buffer.length / itemsize < newLength || shrinksSignificantly(length, newLength)) {
             byte[] newBuffer = new byte[computeNewSize(newLength, itemsize)];
             PythonUtils.arraycopy(buffer, 0, newBuffer, 0, Math.min(buffer.length, newBuffer.length));
             buffer = newBuffer;
@@ -171,7 +181,7 @@ public final class PArray extends PythonBuiltinObject {
         int newLength = length - count;
         assert newLength >= 0;
         int itemsize = format.bytesize;
-        if (length + 16 >= newLength) {
+        if (shrinksSignificantly(length, newLength)) {
             byte[] newBuffer = new byte[computeNewSizeNoOverflowCheck(newLength, itemsize)];
             PythonUtils.arraycopy(buffer, 0, newBuffer, 0, at * itemsize);
             PythonUtils.arraycopy(buffer, (at + count) * itemsize, newBuffer, at * itemsize, (length - at - count) * itemsize);
@@ -276,6 +286,12 @@ public final class PArray extends PythonBuiltinObject {
         return false;
     }
 
+    @ExportMessage
+    @SuppressWarnings("unused")
+    public static boolean hasBufferElements(PArray self) {
+        return true;
+    }
+
     @ExportMessage
     int getItemSize() {
         return format.bytesize;
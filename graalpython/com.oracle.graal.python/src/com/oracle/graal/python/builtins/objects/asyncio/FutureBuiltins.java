@@ -0,0 +1,442 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.asyncio;
+
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.RuntimeError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.ValueError;
+import static com.oracle.graal.python.builtins.modules.AsyncioModuleBuiltins.getModuleState;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___AWAIT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___CLASS_GETITEM__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___INIT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___ITER__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___REPR__;
+import static com.oracle.graal.python.nodes.StringLiterals.T_SPACE;
+import static com.oracle.graal.python.util.PythonUtils.tsLiteral;
+
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.asyncio.FutureNodes.AddDoneCallbackNode;
+import com.oracle.graal.python.builtins.objects.asyncio.FutureNodes.FutureCancelNode;
+import com.oracle.graal.python.builtins.objects.asyncio.FutureNodes.FutureInitNode;
+import com.oracle.graal.python.builtins.objects.asyncio.FutureNodes.FutureResultNode;
+import com.oracle.graal.python.builtins.objects.asyncio.FutureNodes.FutureSetExceptionNode;
+import com.oracle.graal.python.builtins.objects.asyncio.FutureNodes.FutureSetResultNode;
+import com.oracle.graal.python.builtins.objects.asyncio.FutureNodes.MakeCancelledErrorNode;
+import com.oracle.graal.python.builtins.objects.asyncio.FutureNodes.RaiseInvalidStateErrorNode;
+import com.oracle.graal.python.builtins.objects.str.StringUtils;
+import com.oracle.graal.python.builtins.objects.type.TypeNodes;
+import com.oracle.graal.python.lib.PyObjectCallMethodObjArgs;
+import com.oracle.graal.python.lib.PyObjectIsTrueNode;
+import com.oracle.graal.python.lib.PyObjectRichCompareBool;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.call.CallNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.object.GetClassNode;
+import com.oracle.graal.python.nodes.util.CastToTruffleStringNode;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.strings.TruffleString;
+
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PFuture)
+public final class FutureBuiltins extends PythonBuiltins {
+    private static final TruffleString T_JOIN = tsLiteral("join");
+    private static final TruffleString T__REPR_INFO = tsLiteral("_repr_info");
+    private static final TruffleString T_REPR_OPEN = tsLiteral("<");
+    private static final TruffleString T_REPR_CLOSE = tsLiteral(">");
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return FutureBuiltinsFactory.getFactories();
+    }
+
+    @Builtin(name = J___INIT__, minNumOfPositionalArgs = 1, parameterNames = {"$self"}, keywordOnlyNames = {"loop"})
+    @GenerateNodeFactory
+    abstract static class InitNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object init(VirtualFrame frame, PFuture self, Object loop,
+                        @Cached FutureInitNode initNode) {
+            initNode.execute(frame, self, loop);
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "result", minNumOfPositionalArgs = 1, doc = "Return the result this future represents.\n\n" +
+                    "If the future has been cancelled, raises CancelledError.  If the\n" +
+                    "future's result isn't yet available, raises InvalidStateError.  If\n" +
+                    "the future is done and has an exception set, this exception is raised.")
+    @GenerateNodeFactory
+    abstract static class ResultNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object result(VirtualFrame frame, PFuture self,
+                        @Cached FutureResultNode resultNode) {
+            return resultNode.execute(frame, self);
+        }
+    }
+
+    @Builtin(name = "exception", minNumOfPositionalArgs = 1, doc = "Return the exception that was set on this future.\n\n" +
+                    "The exception (or None if no exception was set) is returned only if\n" +
+                    "the future is done.  If the future has been cancelled, raises\n" +
+                    "CancelledError.  If the future isn't done yet, raises\n" +
+                    "InvalidStateError.")
+    @GenerateNodeFactory
+    abstract static class ExceptionNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object exception(VirtualFrame frame, PFuture self,
+                        @Cached MakeCancelledErrorNode makeCancelledErrorNode,
+                        @Cached RaiseInvalidStateErrorNode raiseInvalidStateErrorNode) {
+            if (self.isCancelled()) {
+                throw getRaiseNode().raiseExceptionObject(makeCancelledErrorNode.execute(frame, self));
+            }
+            if (!self.isDone()) {
+                throw raiseInvalidStateErrorNode.execute(frame, ErrorMessages.EXCEPTION_IS_NOT_SET);
+            }
+            self.setLogTraceback(false);
+            Object exception = self.getException();
+            return exception != null ? exception : PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "set_result", minNumOfPositionalArgs = 2, parameterNames = {"$self", "result"}, doc = "Mark the future done and set its result.\n\n" +
+                    "If the future is already done when this method is called, raises\n" +
+                    "InvalidStateError.")
+    @GenerateNodeFactory
+    abstract static class SetResultNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object setResult(VirtualFrame frame, PFuture self, Object result,
+                        @Cached FutureSetResultNode setResultNode) {
+            setResultNode.execute(frame, self, result);
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "set_exception", minNumOfPositionalArgs = 2, parameterNames = {"$self", "exception"}, doc = "Mark the future done and set an exception.\n\n" +
+                    "If the future is already done when this method is called, raises\n" +
+                    "InvalidStateError.")
+    @GenerateNodeFactory
+    abstract static class SetExceptionNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object setException(VirtualFrame frame, PFuture self, Object exception,
+                        @Cached FutureSetExceptionNode setExceptionNode) {
+            setExceptionNode.execute(frame, self, exception);
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "add_done_callback", minNumOfPositionalArgs = 2, parameterNames = {"$self", "fn"}, keywordOnlyNames = {"context"}, doc = "Add a callback to be run when the future becomes done.\n\n" +
+                    "The callback is called with a single argument - the future object. If\n" +
+                    "the future is already done when this is called, the callback is\n" +
+                    "scheduled with call_soon.")
+    @GenerateNodeFactory
+    abstract static class AddDoneCallbackBuiltinNode extends PythonTernaryBuiltinNode {
+        @Specialization
+        Object add(VirtualFrame frame, PFuture self, Object fn, Object context,
+                        @Cached AddDoneCallbackNode addDoneCallbackNode) {
+            if (!self.isInitialized()) {
+                throw raise(RuntimeError, ErrorMessages.FUTURE_OBJECT_IS_NOT_INITIALIZED);
+            }
+            addDoneCallbackNode.execute(frame, self, fn, context instanceof PNone ? null : context);
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "remove_done_callback", minNumOfPositionalArgs = 2, parameterNames = {"$self", "fn"}, doc = "Remove all instances of a callback from the \"call when done\" list.\n\n" +
+                    "Returns the number of callbacks removed.")
+    @GenerateNodeFactory
+    abstract static class RemoveDoneCallbackNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static int remove(VirtualFrame frame, PFuture self, Object fn,
+                        @Cached PyObjectRichCompareBool.EqNode eqNode) {
+            int count = self.getCallbacksCount();
+            if (count == 0) {
+                return 0;
+            }
+            Object[] callbacks = new Object[count];
+            for (int i = 0; i < count; i++) {
+                callbacks[i] = self.getCallback(i);
+            }
+            // the comparisons may run arbitrary code, so they are done on a snapshot
+            boolean[] keep = new boolean[count];
+            int removed = 0;
+            for (int i = 0; i < count; i++) {
+                keep[i] = !eqNode.execute(frame, callbacks[i], fn);
+                if (!keep[i]) {
+                    removed++;
+                }
+            }
+            if (removed > 0) {
+                self.retainCallbacks(keep);
+            }
+            return removed;
+        }
+    }
+
+    @Builtin(name = "cancel", minNumOfPositionalArgs = 1, parameterNames = {"$self", "msg"}, doc = "Cancel the future and schedule callbacks.\n\n" +
+                    "If the future is already done or cancelled, return False.  Otherwise,\n" +
+                    "change the future's state to cancelled, schedule the callbacks and\n" +
+                    "return True.")
+    @GenerateNodeFactory
+    abstract static class CancelNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        boolean cancel(VirtualFrame frame, PFuture self, Object msg,
+                        @Cached FutureCancelNode cancelNode) {
+            if (!self.isInitialized()) {
+                throw raise(RuntimeError, ErrorMessages.FUTURE_OBJECT_IS_NOT_INITIALIZED);
+            }
+            return cancelNode.execute(frame, self, msg == PNone.NO_VALUE ? PNone.NONE : msg);
+        }
+    }
+
+    @Builtin(name = "cancelled", minNumOfPositionalArgs = 1, doc = "Return True if the future was cancelled.")
+    @GenerateNodeFactory
+    abstract static class CancelledNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static boolean cancelled(PFuture self) {
+            return self.isCancelled();
+        }
+    }
+
+    @Builtin(name = "done", minNumOfPositionalArgs = 1, doc = "Return True if the future is done.\n\n" +
+                    "Done means either that a result / exception are available, or that the\n" +
+                    "future was cancelled.")
+    @GenerateNodeFactory
+    abstract static class DoneNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static boolean done(PFuture self) {
+            return self.isDone();
+        }
+    }
+
+    @Builtin(name = "get_loop", minNumOfPositionalArgs = 1, doc = "Return the event loop the Future is bound to.")
+    @GenerateNodeFactory
+    abstract static class GetLoopNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object getLoop(PFuture self) {
+            if (!self.isInitialized()) {
+                throw raise(RuntimeError, ErrorMessages.FUTURE_OBJECT_IS_NOT_INITIALIZED);
+            }
+            return self.getLoop();
+        }
+    }
+
+    @Builtin(name = "_make_cancelled_error", minNumOfPositionalArgs = 1, doc = "Create the CancelledError to raise if the Future is cancelled.\n\n" +
+                    "This should only be called once when handling a cancellation since\n" +
+                    "it erases the context exception value.")
+    @GenerateNodeFactory
+    abstract static class MakeCancelledErrorBuiltinNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object make(VirtualFrame frame, PFuture self,
+                        @Cached MakeCancelledErrorNode makeCancelledErrorNode) {
+            return makeCancelledErrorNode.execute(frame, self);
+        }
+    }
+
+    @Builtin(name = J___AWAIT__, minNumOfPositionalArgs = 1)
+    @Builtin(name = J___ITER__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class AwaitNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object await(PFuture self) {
+            if (!self.isInitialized()) {
+                throw raise(RuntimeError, ErrorMessages.FUTURE_OBJECT_IS_NOT_INITIALIZED);
+            }
+            return factory().createFutureIter(self);
+        }
+    }
+
+    @Builtin(name = "_repr_info", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ReprInfoNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object reprInfo(VirtualFrame frame, PFuture self,
+                        @Cached CallNode callNode) {
+            return callNode.execute(frame, getModuleState(getContext()).getFutureReprInfo(), self);
+        }
+    }
+
+    @Builtin(name = J___REPR__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ReprNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static TruffleString repr(VirtualFrame frame, PFuture self,
+                        @Cached PyObjectCallMethodObjArgs callMethod,
+                        @Cached CastToTruffleStringNode castToStringNode,
+                        @Cached GetClassNode getClassNode,
+                        @Cached TypeNodes.GetNameNode getNameNode) {
+            Object info = callMethod.execute(frame, self, T__REPR_INFO);
+            TruffleString joined = castToStringNode.execute(callMethod.execute(frame, T_SPACE, T_JOIN, info));
+            TruffleString name = getNameNode.execute(getClassNode.execute(self));
+            return StringUtils.cat(T_REPR_OPEN, name, T_SPACE, joined, T_REPR_CLOSE);
+        }
+    }
+
+    @Builtin(name = J___CLASS_GETITEM__, minNumOfPositionalArgs = 2, isClassmethod = true)
+    @GenerateNodeFactory
+    abstract static class ClassGetItemNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object classGetItem(Object cls, Object key) {
+            return factory().createGenericAlias(cls, key);
+        }
+    }
+
+    @Builtin(name = "_state", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class StateNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object state(PFuture self) {
+            return self.isInitialized() ? self.getState().getTsName() : PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "_loop", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class LoopNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object loop(PFuture self) {
+            return self.isInitialized() ? self.getLoop() : PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "_callbacks", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class CallbacksNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object callbacks(PFuture self) {
+            int count = self.getCallbacksCount();
+            if (count == 0) {
+                return PNone.NONE;
+            }
+            Object[] callbacks = new Object[count];
+            for (int i = 0; i < count; i++) {
+                callbacks[i] = factory().createTuple(new Object[]{self.getCallback(i), self.getCallbackContext(i)});
+            }
+            return factory().createList(callbacks);
+        }
+    }
+
+    @Builtin(name = "_result", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class ResultAttrNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object result(PFuture self) {
+            return self.getResult();
+        }
+    }
+
+    @Builtin(name = "_exception", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class ExceptionAttrNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object exception(PFuture self) {
+            Object exception = self.getException();
+            return exception != null ? exception : PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "_source_traceback", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class SourceTracebackNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object sourceTraceback(PFuture self) {
+            return self.getSourceTraceback();
+        }
+    }
+
+    @Builtin(name = "_log_traceback", minNumOfPositionalArgs = 1, maxNumOfPositionalArgs = 2, isGetter = true, isSetter = true)
+    @GenerateNodeFactory
+    abstract static class LogTracebackNode extends PythonBinaryBuiltinNode {
+        @Specialization(guards = "isNoValue(value)")
+        static Object get(PFuture self, @SuppressWarnings("unused") PNone value) {
+            return self.isLogTraceback();
+        }
+
+        @Specialization(guards = "!isNoValue(value)")
+        Object set(VirtualFrame frame, PFuture self, Object value,
+                        @Cached PyObjectIsTrueNode isTrueNode) {
+            if (isTrueNode.execute(frame, value)) {
+                throw raise(ValueError, ErrorMessages.LOG_TRACEBACK_CAN_ONLY_BE_SET_TO_FALSE);
+            }
+            self.setLogTraceback(false);
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "_asyncio_future_blocking", minNumOfPositionalArgs = 1, maxNumOfPositionalArgs = 2, isGetter = true, isSetter = true)
+    @GenerateNodeFactory
+    abstract static class BlockingNode extends PythonBinaryBuiltinNode {
+        @Specialization(guards = "isNoValue(value)")
+        static Object get(PFuture self, @SuppressWarnings("unused") PNone value) {
+            return self.isBlocking();
+        }
+
+        @Specialization(guards = "!isNoValue(value)")
+        static Object set(VirtualFrame frame, PFuture self, Object value,
+                        @Cached PyObjectIsTrueNode isTrueNode) {
+            self.setBlocking(isTrueNode.execute(frame, value));
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "_cancel_message", minNumOfPositionalArgs = 1, maxNumOfPositionalArgs = 2, isGetter = true, isSetter = true)
+    @GenerateNodeFactory
+    abstract static class CancelMessageNode extends PythonBinaryBuiltinNode {
+        @Specialization(guards = "isNoValue(value)")
+        static Object get(PFuture self, @SuppressWarnings("unused") PNone value) {
+            return self.getCancelMessage();
+        }
+
+        @Specialization(guards = "!isNoValue(value)")
+        static Object set(PFuture self, Object value) {
+            self.setCancelMessage(value);
+            return PNone.NONE;
+        }
+    }
+}
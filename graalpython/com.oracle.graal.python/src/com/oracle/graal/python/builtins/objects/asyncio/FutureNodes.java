@@ -0,0 +1,356 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.asyncio;
+
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.RuntimeError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.StopIteration;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.TypeError;
+import static com.oracle.graal.python.builtins.modules.AsyncioModuleBuiltins.getModuleState;
+import static com.oracle.graal.python.util.PythonUtils.toTruffleStringUncached;
+import static com.oracle.graal.python.util.PythonUtils.tsLiteral;
+
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.modules.AsyncioModuleBuiltins.GetEventLoopNode;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.asyncio.PFuture.State;
+import com.oracle.graal.python.builtins.objects.exception.PBaseException;
+import com.oracle.graal.python.builtins.objects.function.PKeyword;
+import com.oracle.graal.python.builtins.objects.type.TypeNodes;
+import com.oracle.graal.python.lib.PyObjectCallMethodObjArgs;
+import com.oracle.graal.python.lib.PyObjectGetAttr;
+import com.oracle.graal.python.lib.PyObjectIsTrueNode;
+import com.oracle.graal.python.lib.PyObjectLookupAttr;
+import com.oracle.graal.python.lib.PyObjectReprAsTruffleStringNode;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PGuards;
+import com.oracle.graal.python.nodes.PNodeWithContext;
+import com.oracle.graal.python.nodes.PNodeWithRaise;
+import com.oracle.graal.python.nodes.call.CallNode;
+import com.oracle.graal.python.nodes.object.GetClassNode;
+import com.oracle.graal.python.nodes.object.IsBuiltinClassProfile;
+import com.oracle.graal.python.runtime.exception.PException;
+import com.oracle.graal.python.runtime.formatting.ErrorMessageFormatter;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.strings.TruffleString;
+
+/**
+ * The state transitions of {@link PFuture}, shared by the {@code Future} and {@code Task} builtins.
+ * They correspond to the private helpers of {@code asyncio.futures.Future} and are used directly by
+ * {@code Task.__step}, so that a task waiting on a future does not go through method lookups.
+ */
+public abstract class FutureNodes {
+    static final TruffleString T_CALL_SOON = tsLiteral("call_soon");
+    static final TruffleString T_CONTEXT = tsLiteral("context");
+    static final TruffleString T_GET_DEBUG = tsLiteral("get_debug");
+    static final TruffleString T_GET_LOOP = tsLiteral("get_loop");
+    static final TruffleString T__LOOP = tsLiteral("_loop");
+
+    private static final ErrorMessageFormatter FORMATTER = new ErrorMessageFormatter();
+
+    @TruffleBoundary
+    static TruffleString formatMessage(TruffleString format, Object... args) {
+        return toTruffleStringUncached(FORMATTER.format(format, args));
+    }
+
+    /**
+     * Whether the object is exactly an {@code _asyncio.Future} or {@code _asyncio.Task}. Subclasses
+     * may override the methods, so they have to be called through the normal attribute lookup.
+     */
+    public abstract static class IsExactFutureNode extends Node {
+        public abstract boolean execute(Object object);
+
+        @Specialization
+        static boolean isExact(Object object,
+                        @Cached GetClassNode getClassNode,
+                        @Cached IsBuiltinClassProfile isFutureProfile,
+                        @Cached IsBuiltinClassProfile isTaskProfile) {
+            if (!(object instanceof PFuture)) {
+                return false;
+            }
+            Object cls = getClassNode.execute(object);
+            return isFutureProfile.profileClass(cls, PythonBuiltinClassType.PFuture) || isTaskProfile.profileClass(cls, PythonBuiltinClassType.PTask);
+        }
+    }
+
+    /**
+     * Calls {@code loop.call_soon(callback, arg, context=context)}. The argument and the context are
+     * omitted when they are {@code null}.
+     */
+    public abstract static class CallSoonNode extends Node {
+        public abstract void execute(VirtualFrame frame, Object loop, Object callback, Object arg, Object context);
+
+        @Specialization
+        static void callSoon(VirtualFrame frame, Object loop, Object callback, Object arg, Object context,
+                        @Cached PyObjectGetAttr getAttr,
+                        @Cached CallNode callNode) {
+            Object callSoon = getAttr.execute(frame, loop, T_CALL_SOON);
+            Object[] args = arg == null ? new Object[]{callback} : new Object[]{callback, arg};
+            PKeyword[] keywords = context == null ? PKeyword.EMPTY_KEYWORDS : new PKeyword[]{new PKeyword(T_CONTEXT, context)};
+            callNode.execute(frame, callSoon, args, keywords);
+        }
+    }
+
+    /**
+     * Hands all done callbacks of the future over to its event loop and clears them.
+     */
+    public abstract static class ScheduleCallbacksNode extends Node {
+        public abstract void execute(VirtualFrame frame, PFuture future);
+
+        @Specialization
+        static void schedule(VirtualFrame frame, PFuture future,
+                        @Cached CallSoonNode callSoonNode) {
+            int count = future.getCallbacksCount();
+            if (count == 0) {
+                return;
+            }
+            Object loop = future.getLoop();
+            Object[] callbacks = future.takeCallbacks();
+            for (int i = 0; i < count; i++) {
+                callSoonNode.execute(frame, loop, callbacks[2 * i], future, callbacks[2 * i + 1]);
+            }
+        }
+    }
+
+    public abstract static class FutureInitNode extends PNodeWithContext {
+        public abstract void execute(VirtualFrame frame, PFuture future, Object loop);
+
+        @Specialization
+        void init(VirtualFrame frame, PFuture future, Object loopArg,
+                        @Cached GetEventLoopNode getEventLoopNode,
+                        @Cached PyObjectCallMethodObjArgs callMethod,
+                        @Cached PyObjectIsTrueNode isTrueNode,
+                        @Cached CallNode callNode) {
+            Object loop = loopArg;
+            if (PGuards.isPNone(loop)) {
+                loop = getEventLoopNode.execute(frame, 1);
+            }
+            future.init(loop);
+            if (isTrueNode.execute(frame, callMethod.execute(frame, loop, T_GET_DEBUG))) {
+                future.setSourceTraceback(callNode.execute(frame, getModuleState(getContext()).getExtractStack()));
+            }
+        }
+    }
+
+    public abstract static class RaiseInvalidStateErrorNode extends PNodeWithRaise {
+        public abstract PException execute(VirtualFrame frame, TruffleString message);
+
+        @Specialization
+        PException raiseError(VirtualFrame frame, TruffleString message,
+                        @Cached CallNode callNode) {
+            Object exception = callNode.execute(frame, getModuleState(getContext()).getInvalidStateErrorType(), message);
+            throw getRaiseNode().raiseExceptionObject((PBaseException) exception);
+        }
+    }
+
+    /**
+     * Raises {@code InvalidStateError} unless the future is still pending.
+     */
+    abstract static class CheckPendingNode extends PNodeWithRaise {
+        abstract void execute(VirtualFrame frame, PFuture future);
+
+        @Specialization
+        void check(VirtualFrame frame, PFuture future,
+                        @Cached PyObjectReprAsTruffleStringNode reprNode,
+                        @Cached RaiseInvalidStateErrorNode raiseInvalidStateErrorNode) {
+            if (!future.isInitialized()) {
+                throw raise(RuntimeError, ErrorMessages.FUTURE_OBJECT_IS_NOT_INITIALIZED);
+            }
+            if (!future.isPending()) {
+                TruffleString message = formatMessage(ErrorMessages.INVALID_STATE_S_S, future.getState().getTsName(), reprNode.execute(frame, future));
+                throw raiseInvalidStateErrorNode.execute(frame, message);
+            }
+        }
+    }
+
+    /**
+     * Creates the {@code CancelledError} to raise for a cancelled future, equivalent of
+     * {@code Future._make_cancelled_error}.
+     */
+    public abstract static class MakeCancelledErrorNode extends PNodeWithContext {
+        public abstract PBaseException execute(VirtualFrame frame, PFuture future);
+
+        @Specialization
+        PBaseException make(VirtualFrame frame, PFuture future,
+                        @Cached CallNode callNode) {
+            Object type = getModuleState(getContext()).getCancelledErrorType();
+            Object message = future.getCancelMessage();
+            PBaseException exception = (PBaseException) (message == PNone.NONE ? callNode.execute(frame, type) : callNode.execute(frame, type, message));
+            Object cancelledExc = future.getCancelledExc();
+            exception.setContext(cancelledExc instanceof PBaseException ? (PBaseException) cancelledExc : null);
+            future.setCancelledExc(PNone.NONE);
+            return exception;
+        }
+    }
+
+    public abstract static class FutureResultNode extends PNodeWithRaise {
+        public abstract Object execute(VirtualFrame frame, PFuture future);
+
+        @Specialization
+        Object result(VirtualFrame frame, PFuture future,
+                        @Cached MakeCancelledErrorNode makeCancelledErrorNode,
+                        @Cached RaiseInvalidStateErrorNode raiseInvalidStateErrorNode) {
+            if (future.isCancelled()) {
+                throw getRaiseNode().raiseExceptionObject(makeCancelledErrorNode.execute(frame, future));
+            }
+            if (!future.isDone()) {
+                throw raiseInvalidStateErrorNode.execute(frame, ErrorMessages.RESULT_IS_NOT_READY);
+            }
+            future.setLogTraceback(false);
+            PBaseException exception = future.getException();
+            if (exception != null) {
+                // like 'raise exc.with_traceback(tb)', drop the frames added by earlier raises
+                exception.setTraceback(future.getExceptionTraceback());
+                throw getRaiseNode().raiseExceptionObject(exception);
+            }
+            return future.getResult();
+        }
+    }
+
+    public abstract static class FutureSetResultNode extends Node {
+        public abstract void execute(VirtualFrame frame, PFuture future, Object result);
+
+        @Specialization
+        static void set(VirtualFrame frame, PFuture future, Object result,
+                        @Cached CheckPendingNode checkPendingNode,
+                        @Cached ScheduleCallbacksNode scheduleCallbacksNode) {
+            checkPendingNode.execute(frame, future);
+            future.setResult(result);
+            future.setState(State.FINISHED);
+            scheduleCallbacksNode.execute(frame, future);
+        }
+    }
+
+    public abstract static class FutureSetExceptionNode extends PNodeWithRaise {
+        public abstract void execute(VirtualFrame frame, PFuture future, Object exception);
+
+        @Specialization
+        void set(VirtualFrame frame, PFuture future, Object exception,
+                        @Cached CheckPendingNode checkPendingNode,
+                        @Cached TypeNodes.IsTypeNode isTypeNode,
+                        @Cached CallNode callNode,
+                        @Cached IsBuiltinClassProfile isStopIterationProfile,
+                        @Cached ScheduleCallbacksNode scheduleCallbacksNode) {
+            checkPendingNode.execute(frame, future);
+            Object value = exception;
+            if (isTypeNode.execute(value)) {
+                value = callNode.execute(frame, value);
+            }
+            if (!(value instanceof PBaseException)) {
+                throw raise(TypeError, ErrorMessages.INVALID_EXCEPTION_OBJECT);
+            }
+            if (isStopIterationProfile.profileObject(value, StopIteration)) {
+                throw raise(TypeError, ErrorMessages.STOP_ITERATION_CANNOT_BE_RAISED_INTO_FUTURE);
+            }
+            PBaseException pythonException = (PBaseException) value;
+            future.setException(pythonException, pythonException.getTraceback());
+            future.setState(State.FINISHED);
+            scheduleCallbacksNode.execute(frame, future);
+            future.setLogTraceback(true);
+        }
+    }
+
+    public abstract static class FutureCancelNode extends Node {
+        public abstract boolean execute(VirtualFrame frame, PFuture future, Object message);
+
+        @Specialization
+        static boolean cancel(VirtualFrame frame, PFuture future, Object message,
+                        @Cached ScheduleCallbacksNode scheduleCallbacksNode) {
+            future.setLogTraceback(false);
+            if (!future.isPending()) {
+                return false;
+            }
+            future.setState(State.CANCELLED);
+            future.setCancelMessage(message);
+            scheduleCallbacksNode.execute(frame, future);
+            return true;
+        }
+    }
+
+    /**
+     * Registers a done callback. A {@code null} context means the current context is copied.
+     */
+    public abstract static class AddDoneCallbackNode extends PNodeWithContext {
+        public abstract void execute(VirtualFrame frame, PFuture future, Object callback, Object context);
+
+        @Specialization
+        void add(VirtualFrame frame, PFuture future, Object callback, Object context,
+                        @Cached CallSoonNode callSoonNode,
+                        @Cached PythonObjectFactory factory) {
+            if (!future.isPending()) {
+                callSoonNode.execute(frame, future.getLoop(), callback, future, context);
+            } else {
+                Object ctx = context;
+                if (ctx == null) {
+                    ctx = factory.copyContextVarsContext(getContext().getThreadState(getLanguage()).getContextVarsContext());
+                }
+                future.addCallback(callback, ctx);
+            }
+        }
+    }
+
+    /**
+     * Gets the event loop of any future-like object, equivalent of {@code asyncio.futures._get_loop}.
+     */
+    public abstract static class GetFutureLoopNode extends Node {
+        public abstract Object execute(VirtualFrame frame, Object future);
+
+        @Specialization
+        static Object getLoop(VirtualFrame frame, Object future,
+                        @Cached IsExactFutureNode isExactFutureNode,
+                        @Cached PyObjectLookupAttr lookupAttr,
+                        @Cached PyObjectGetAttr getAttr,
+                        @Cached CallNode callNode) {
+            if (isExactFutureNode.execute(future)) {
+                return ((PFuture) future).getLoop();
+            }
+            Object getLoop = lookupAttr.execute(frame, future, T_GET_LOOP);
+            if (getLoop != PNone.NO_VALUE) {
+                return callNode.execute(frame, getLoop);
+            }
+            return getAttr.execute(frame, future, T__LOOP);
+        }
+    }
+}
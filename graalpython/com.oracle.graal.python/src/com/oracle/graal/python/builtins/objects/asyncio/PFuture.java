@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.asyncio;
+
+import static com.oracle.graal.python.util.PythonUtils.tsLiteral;
+
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.exception.PBaseException;
+import com.oracle.graal.python.builtins.objects.object.PythonBuiltinObject;
+import com.oracle.graal.python.builtins.objects.traceback.LazyTraceback;
+import com.oracle.graal.python.util.PythonUtils;
+import com.oracle.truffle.api.object.Shape;
+import com.oracle.truffle.api.strings.TruffleString;
+
+/**
+ * The object behind {@code _asyncio.Future}. The done callbacks are kept in a flat array of
+ * {@code (callback, context)} pairs instead of a list of tuples, so adding a callback does not
+ * allocate anything once the array has grown large enough.
+ */
+public class PFuture extends PythonBuiltinObject {
+    public enum State {
+        PENDING("PENDING"),
+        CANCELLED("CANCELLED"),
+        FINISHED("FINISHED");
+
+        private final TruffleString tsName;
+
+        State(String name) {
+            this.tsName = tsLiteral(name);
+        }
+
+        public TruffleString getTsName() {
+            return tsName;
+        }
+    }
+
+    /** The event loop, {@code null} until {@code __init__} was called. */
+    private Object loop;
+    private State state = State.PENDING;
+    private Object result = PNone.NONE;
+    /** The exception set by {@code set_exception}, {@code null} if there is none. */
+    private PBaseException exception;
+    private LazyTraceback exceptionTraceback;
+    private Object[] callbacks;
+    private int callbacksCount;
+    private Object sourceTraceback = PNone.NONE;
+    private Object cancelMessage = PNone.NONE;
+    private Object cancelledExc = PNone.NONE;
+    private boolean blocking;
+    private boolean logTraceback;
+
+    public PFuture(Object cls, Shape instanceShape) {
+        super(cls, instanceShape);
+    }
+
+    /**
+     * Resets the future to a fresh pending state bound to the given loop, like
+     * {@code Future.__init__}.
+     */
+    public void init(Object newLoop) {
+        this.loop = newLoop;
+        this.state = State.PENDING;
+        this.result = PNone.NONE;
+        this.exception = null;
+        this.exceptionTraceback = null;
+        this.callbacks = null;
+        this.callbacksCount = 0;
+        this.sourceTraceback = PNone.NONE;
+        this.cancelMessage = PNone.NONE;
+        this.cancelledExc = PNone.NONE;
+        this.blocking = false;
+        this.logTraceback = false;
+    }
+
+    public boolean isInitialized() {
+        return loop != null;
+    }
+
+    public Object getLoop() {
+        return loop;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public void setState(State state) {
+        this.state = state;
+    }
+
+    public boolean isPending() {
+        return state == State.PENDING;
+    }
+
+    public boolean isCancelled() {
+        return state == State.CANCELLED;
+    }
+
+    public boolean isDone() {
+        return state != State.PENDING;
+    }
+
+    public Object getResult() {
+        return result;
+    }
+
+    public void setResult(Object result) {
+        this.result = result;
+    }
+
+    public PBaseException getException() {
+        return exception;
+    }
+
+    public LazyTraceback getExceptionTraceback() {
+        return exceptionTraceback;
+    }
+
+    public void setException(PBaseException exception, LazyTraceback exceptionTraceback) {
+        this.exception = exception;
+        this.exceptionTraceback = exceptionTraceback;
+    }
+
+    public Object getSourceTraceback() {
+        return sourceTraceback;
+    }
+
+    public void setSourceTraceback(Object sourceTraceback) {
+        this.sourceTraceback = sourceTraceback;
+    }
+
+    public Object getCancelMessage() {
+        return cancelMessage;
+    }
+
+    public void setCancelMessage(Object cancelMessage) {
+        this.cancelMessage = cancelMessage;
+    }
+
+    public Object getCancelledExc() {
+        return cancelledExc;
+    }
+
+    public void setCancelledExc(Object cancelledExc) {
+        this.cancelledExc = cancelledExc;
+    }
+
+    public boolean isBlocking() {
+        return blocking;
+    }
+
+    public void setBlocking(boolean blocking) {
+        this.blocking = blocking;
+    }
+
+    public boolean isLogTraceback() {
+        return logTraceback;
+    }
+
+    public void setLogTraceback(boolean logTraceback) {
+        this.logTraceback = logTraceback;
+    }
+
+    public int getCallbacksCount() {
+        return callbacksCount;
+    }
+
+    public Object getCallback(int i) {
+        assert i < callbacksCount;
+        return callbacks[2 * i];
+    }
+
+    public Object getCallbackContext(int i) {
+        assert i < callbacksCount;
+        return callbacks[2 * i + 1];
+    }
+
+    public void addCallback(Object callback, Object context) {
+        int idx = 2 * callbacksCount;
+        if (callbacks == null) {
+            callbacks = new Object[2];
+        } else if (idx == callbacks.length) {
+            callbacks = PythonUtils.arrayCopyOf(callbacks, idx * 2);
+        }
+        callbacks[idx] = callback;
+        callbacks[idx + 1] = context;
+        callbacksCount++;
+    }
+
+    /**
+     * Keeps only the callbacks for which {@code keep} is {@code true}, preserving their order.
+     * Callbacks beyond the end of {@code keep} were added in the meantime and are kept as well.
+     */
+    public void retainCallbacks(boolean[] keep) {
+        int j = 0;
+        for (int i = 0; i < callbacksCount; i++) {
+            if (i >= keep.length || keep[i]) {
+                callbacks[2 * j] = callbacks[2 * i];
+                callbacks[2 * j + 1] = callbacks[2 * i + 1];
+                j++;
+            }
+        }
+        for (int i = 2 * j; i < 2 * callbacksCount; i++) {
+            callbacks[i] = null;
+        }
+        callbacksCount = j;
+    }
+
+    /**
+     * Detaches the pending callbacks from this future and returns them as a flat array of
+     * {@code (callback, context)} pairs. Only the first {@code 2 * getCallbacksCount()} elements
+     * (as seen before this call) are valid.
+     */
+    public Object[] takeCallbacks() {
+        Object[] taken = callbacks;
+        callbacks = null;
+        callbacksCount = 0;
+        return taken;
+    }
+}
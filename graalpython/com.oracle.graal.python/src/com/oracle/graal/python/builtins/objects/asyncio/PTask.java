@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.asyncio;
+
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.truffle.api.object.Shape;
+
+/**
+ * The object behind {@code _asyncio.Task}. The callables that the task schedules on its event loop
+ * to resume itself are created once and reused for every step, only steps that throw an exception
+ * into the coroutine need a fresh {@link PTaskStepMethWrapper}.
+ */
+public final class PTask extends PFuture {
+    private Object coro;
+    private Object context;
+    private Object name;
+    private boolean mustCancel;
+    /** The future the task is currently waiting for, {@code null} if there is none. */
+    private Object futWaiter;
+    private boolean logDestroyPending = true;
+    private PTaskStepMethWrapper stepWrapper;
+    private PTaskWakeupMethWrapper wakeupWrapper;
+
+    public PTask(Object cls, Shape instanceShape) {
+        super(cls, instanceShape);
+    }
+
+    public void initTask(Object newCoro, Object newContext, Object newName) {
+        this.coro = newCoro;
+        this.context = newContext;
+        this.name = newName;
+        this.mustCancel = false;
+        this.futWaiter = null;
+        this.logDestroyPending = true;
+    }
+
+    public Object getCoro() {
+        return coro != null ? coro : PNone.NONE;
+    }
+
+    public Object getContext() {
+        return context;
+    }
+
+    public Object getName() {
+        return name;
+    }
+
+    public void setName(Object name) {
+        this.name = name;
+    }
+
+    public boolean isMustCancel() {
+        return mustCancel;
+    }
+
+    public void setMustCancel(boolean mustCancel) {
+        this.mustCancel = mustCancel;
+    }
+
+    public Object getFutWaiter() {
+        return futWaiter;
+    }
+
+    public void setFutWaiter(Object futWaiter) {
+        this.futWaiter = futWaiter;
+    }
+
+    public boolean isLogDestroyPending() {
+        return logDestroyPending;
+    }
+
+    public void setLogDestroyPending(boolean logDestroyPending) {
+        this.logDestroyPending = logDestroyPending;
+    }
+
+    /** Returns the callable that runs the next step of this task without an exception. */
+    public PTaskStepMethWrapper getStepWrapper(PythonObjectFactory factory) {
+        if (stepWrapper == null) {
+            stepWrapper = factory.createTaskStepMethWrapper(this, null);
+        }
+        return stepWrapper;
+    }
+
+    /** Returns the done callback that wakes this task up when an awaited future completes. */
+    public PTaskWakeupMethWrapper getWakeupWrapper(PythonObjectFactory factory) {
+        if (wakeupWrapper == null) {
+            wakeupWrapper = factory.createTaskWakeupMethWrapper(this);
+        }
+        return wakeupWrapper;
+    }
+}
@@ -0,0 +1,504 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.asyncio;
+
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.KeyboardInterrupt;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.RuntimeError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.StopIteration;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.SystemExit;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.TypeError;
+import static com.oracle.graal.python.builtins.modules.AsyncioModuleBuiltins.getModuleState;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___CLASS_GETITEM__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___INIT__;
+import static com.oracle.graal.python.util.PythonUtils.TS_ENCODING;
+import static com.oracle.graal.python.util.PythonUtils.tsLiteral;
+
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.modules.AsyncioModuleBuiltins.EnterTaskNode;
+import com.oracle.graal.python.builtins.modules.AsyncioModuleBuiltins.LeaveTaskNode;
+import com.oracle.graal.python.builtins.modules.AsyncioModuleBuiltins.RegisterTaskNode;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.asyncio.FutureNodes.AddDoneCallbackNode;
+import com.oracle.graal.python.builtins.objects.asyncio.FutureNodes.CallSoonNode;
+import com.oracle.graal.python.builtins.objects.asyncio.FutureNodes.FutureCancelNode;
+import com.oracle.graal.python.builtins.objects.asyncio.FutureNodes.FutureInitNode;
+import com.oracle.graal.python.builtins.objects.asyncio.FutureNodes.FutureSetExceptionNode;
+import com.oracle.graal.python.builtins.objects.asyncio.FutureNodes.FutureSetResultNode;
+import com.oracle.graal.python.builtins.objects.asyncio.FutureNodes.GetFutureLoopNode;
+import com.oracle.graal.python.builtins.objects.asyncio.FutureNodes.IsExactFutureNode;
+import com.oracle.graal.python.builtins.objects.asyncio.FutureNodes.MakeCancelledErrorNode;
+import com.oracle.graal.python.builtins.objects.asyncio.FutureNodes.RaiseInvalidStateErrorNode;
+import com.oracle.graal.python.builtins.objects.exception.PBaseException;
+import com.oracle.graal.python.builtins.objects.exception.StopIterationBuiltins;
+import com.oracle.graal.python.builtins.objects.function.PKeyword;
+import com.oracle.graal.python.builtins.objects.generator.GeneratorBuiltins;
+import com.oracle.graal.python.builtins.objects.generator.PGenerator;
+import com.oracle.graal.python.builtins.objects.str.StringUtils;
+import com.oracle.graal.python.lib.PyObjectCallMethodObjArgs;
+import com.oracle.graal.python.lib.PyObjectGetAttr;
+import com.oracle.graal.python.lib.PyObjectIsTrueNode;
+import com.oracle.graal.python.lib.PyObjectLookupAttr;
+import com.oracle.graal.python.lib.PyObjectReprAsTruffleStringNode;
+import com.oracle.graal.python.lib.PyObjectSetAttr;
+import com.oracle.graal.python.lib.PyObjectStrAsObjectNode;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PNodeWithContext;
+import com.oracle.graal.python.nodes.PNodeWithRaise;
+import com.oracle.graal.python.nodes.call.CallNode;
+import com.oracle.graal.python.nodes.classes.IsSubtypeNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonQuaternaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.object.GetClassNode;
+import com.oracle.graal.python.runtime.exception.PException;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.strings.TruffleString;
+
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PTask)
+public final class TaskBuiltins extends PythonBuiltins {
+    private static final TruffleString T_TASK_NAME_PREFIX = tsLiteral("Task-");
+    private static final TruffleString T_SEND = tsLiteral("send");
+    private static final TruffleString T_THROW = tsLiteral("throw");
+    private static final TruffleString T_CANCEL = tsLiteral("cancel");
+    private static final TruffleString T_MSG = tsLiteral("msg");
+    private static final TruffleString T_ADD_DONE_CALLBACK = tsLiteral("add_done_callback");
+    private static final TruffleString T_ASYNCIO_FUTURE_BLOCKING = tsLiteral("_asyncio_future_blocking");
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return TaskBuiltinsFactory.getFactories();
+    }
+
+    @Builtin(name = J___INIT__, minNumOfPositionalArgs = 2, parameterNames = {"$self", "coro"}, keywordOnlyNames = {"loop", "name"})
+    @GenerateNodeFactory
+    abstract static class InitNode extends PythonQuaternaryBuiltinNode {
+        @Specialization
+        Object init(VirtualFrame frame, PTask self, Object coro, Object loop, Object name,
+                        @Cached FutureInitNode futureInitNode,
+                        @Cached CallNode callNode,
+                        @Cached PyObjectIsTrueNode isTrueNode,
+                        @Cached PyObjectReprAsTruffleStringNode reprNode,
+                        @Cached PyObjectStrAsObjectNode strNode,
+                        @Cached TruffleString.FromLongNode fromLongNode,
+                        @Cached CallSoonNode callSoonNode,
+                        @Cached RegisterTaskNode registerTaskNode) {
+            futureInitNode.execute(frame, self, loop);
+            // generators are accepted by asyncio.iscoroutine, so they need not be asked for
+            if (!(coro instanceof PGenerator) && !isTrueNode.execute(frame, callNode.execute(frame, getModuleState(getContext()).getIsCoroutine(), coro))) {
+                self.setLogDestroyPending(false);
+                throw raise(TypeError, ErrorMessages.A_COROUTINE_WAS_EXPECTED_GOT_S, reprNode.execute(frame, coro));
+            }
+            Object taskName;
+            if (name instanceof PNone) {
+                long counter = getModuleState(getContext()).nextTaskNameCounter();
+                taskName = StringUtils.cat(T_TASK_NAME_PREFIX, fromLongNode.execute(counter, TS_ENCODING, false));
+            } else {
+                taskName = strNode.execute(frame, name);
+            }
+            Object context = factory().copyContextVarsContext(getContext().getThreadState(getLanguage()).getContextVarsContext());
+            self.initTask(coro, context, taskName);
+            callSoonNode.execute(frame, self.getLoop(), self.getStepWrapper(factory()), null, context);
+            registerTaskNode.execute(frame, self);
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "_repr_info", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ReprInfoNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object reprInfo(VirtualFrame frame, PTask self,
+                        @Cached CallNode callNode) {
+            return callNode.execute(frame, getModuleState(getContext()).getTaskReprInfo(), self);
+        }
+    }
+
+    @Builtin(name = "get_coro", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class GetCoroNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object getCoro(PTask self) {
+            return self.getCoro();
+        }
+    }
+
+    @Builtin(name = "get_name", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class GetNameNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object getName(PTask self) {
+            Object name = self.getName();
+            return name != null ? name : PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "set_name", minNumOfPositionalArgs = 2, parameterNames = {"$self", "value"})
+    @GenerateNodeFactory
+    abstract static class SetNameNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object setName(VirtualFrame frame, PTask self, Object value,
+                        @Cached PyObjectStrAsObjectNode strNode) {
+            self.setName(strNode.execute(frame, value));
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "set_result", minNumOfPositionalArgs = 2, parameterNames = {"$self", "result"})
+    @GenerateNodeFactory
+    abstract static class SetResultNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object setResult(@SuppressWarnings("unused") PTask self, @SuppressWarnings("unused") Object result) {
+            throw raise(RuntimeError, ErrorMessages.TASK_DOES_NOT_SUPPORT_SET_RESULT);
+        }
+    }
+
+    @Builtin(name = "set_exception", minNumOfPositionalArgs = 2, parameterNames = {"$self", "exception"})
+    @GenerateNodeFactory
+    abstract static class SetExceptionNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object setException(@SuppressWarnings("unused") PTask self, @SuppressWarnings("unused") Object exception) {
+            throw raise(RuntimeError, ErrorMessages.TASK_DOES_NOT_SUPPORT_SET_EXCEPTION);
+        }
+    }
+
+    @Builtin(name = "cancel", minNumOfPositionalArgs = 1, parameterNames = {"$self", "msg"}, doc = "Request that this task cancel itself.\n\n" +
+                    "This arranges for a CancelledError to be thrown into the\n" +
+                    "wrapped coroutine on the next cycle through the event loop.\n" +
+                    "The coroutine then has a chance to clean up or even deny\n" +
+                    "the request using try/except/finally.")
+    @GenerateNodeFactory
+    abstract static class CancelNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static boolean cancel(VirtualFrame frame, PTask self, Object msgArg,
+                        @Cached CancelWaiterNode cancelWaiterNode) {
+            Object msg = msgArg == PNone.NO_VALUE ? PNone.NONE : msgArg;
+            self.setLogTraceback(false);
+            if (self.isDone()) {
+                return false;
+            }
+            Object waiter = self.getFutWaiter();
+            if (waiter != null && cancelWaiterNode.execute(frame, waiter, msg)) {
+                // the waiter is kept, it may be a task that ignores the cancellation
+                return true;
+            }
+            // the next step is already scheduled, it will throw CancelledError into the coroutine
+            self.setMustCancel(true);
+            self.setCancelMessage(msg);
+            return true;
+        }
+    }
+
+    @Builtin(name = "get_stack", minNumOfPositionalArgs = 1, parameterNames = {"$self"}, keywordOnlyNames = {"limit"})
+    @GenerateNodeFactory
+    abstract static class GetStackNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object getStack(VirtualFrame frame, PTask self, Object limit,
+                        @Cached CallNode callNode) {
+            return callNode.execute(frame, getModuleState(getContext()).getTaskGetStack(), self, limit == PNone.NO_VALUE ? PNone.NONE : limit);
+        }
+    }
+
+    @Builtin(name = "print_stack", minNumOfPositionalArgs = 1, parameterNames = {"$self"}, keywordOnlyNames = {"limit", "file"})
+    @GenerateNodeFactory
+    abstract static class PrintStackNode extends PythonTernaryBuiltinNode {
+        @Specialization
+        Object printStack(VirtualFrame frame, PTask self, Object limit, Object file,
+                        @Cached CallNode callNode) {
+            return callNode.execute(frame, getModuleState(getContext()).getTaskPrintStack(), self, limit == PNone.NO_VALUE ? PNone.NONE : limit,
+                            file == PNone.NO_VALUE ? PNone.NONE : file);
+        }
+    }
+
+    @Builtin(name = J___CLASS_GETITEM__, minNumOfPositionalArgs = 2, isClassmethod = true)
+    @GenerateNodeFactory
+    abstract static class ClassGetItemNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object classGetItem(Object cls, Object key) {
+            return factory().createGenericAlias(cls, key);
+        }
+    }
+
+    @Builtin(name = "_must_cancel", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class MustCancelNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static boolean mustCancel(PTask self) {
+            return self.isMustCancel();
+        }
+    }
+
+    @Builtin(name = "_coro", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class CoroNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object coro(PTask self) {
+            return self.getCoro();
+        }
+    }
+
+    @Builtin(name = "_fut_waiter", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class FutWaiterNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object futWaiter(PTask self) {
+            Object waiter = self.getFutWaiter();
+            return waiter != null ? waiter : PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "_log_destroy_pending", minNumOfPositionalArgs = 1, maxNumOfPositionalArgs = 2, isGetter = true, isSetter = true)
+    @GenerateNodeFactory
+    abstract static class LogDestroyPendingNode extends PythonBinaryBuiltinNode {
+        @Specialization(guards = "isNoValue(value)")
+        static Object get(PTask self, @SuppressWarnings("unused") PNone value) {
+            return self.isLogDestroyPending();
+        }
+
+        @Specialization(guards = "!isNoValue(value)")
+        static Object set(VirtualFrame frame, PTask self, Object value,
+                        @Cached PyObjectIsTrueNode isTrueNode) {
+            self.setLogDestroyPending(isTrueNode.execute(frame, value));
+            return PNone.NONE;
+        }
+    }
+
+    /**
+     * Cancels the future a task waits for. Only exact {@code _asyncio.Future} objects are cancelled
+     * directly, everything else (including tasks, which may in turn wait for other futures) gets
+     * its {@code cancel} method called.
+     */
+    abstract static class CancelWaiterNode extends Node {
+        abstract boolean execute(VirtualFrame frame, Object future, Object msg);
+
+        @Specialization
+        static boolean cancel(VirtualFrame frame, Object future, Object msg,
+                        @Cached IsExactFutureNode isExactFutureNode,
+                        @Cached FutureCancelNode futureCancelNode,
+                        @Cached PyObjectGetAttr getAttr,
+                        @Cached CallNode callNode,
+                        @Cached PyObjectIsTrueNode isTrueNode) {
+            if (isExactFutureNode.execute(future) && !(future instanceof PTask)) {
+                return futureCancelNode.execute(frame, (PFuture) future, msg);
+            }
+            Object cancel = getAttr.execute(frame, future, T_CANCEL);
+            return isTrueNode.execute(frame, callNode.execute(frame, cancel, new Object[0], new PKeyword[]{new PKeyword(T_MSG, msg)}));
+        }
+    }
+
+    /**
+     * Runs one step of the task's coroutine, equivalent of {@code Task.__step}. The exception to
+     * throw into the coroutine is {@code null} when the coroutine should just be resumed.
+     */
+    abstract static class TaskStepNode extends PNodeWithRaise {
+        abstract void execute(VirtualFrame frame, PTask task, Object exception);
+
+        @Specialization
+        void step(VirtualFrame frame, PTask task, Object exception,
+                        @Cached PyObjectReprAsTruffleStringNode reprNode,
+                        @Cached RaiseInvalidStateErrorNode raiseInvalidStateErrorNode,
+                        @Cached GetClassNode getClassNode,
+                        @Cached IsSubtypeNode isSubtypeNode,
+                        @Cached MakeCancelledErrorNode makeCancelledErrorNode,
+                        @Cached EnterTaskNode enterTaskNode,
+                        @Cached LeaveTaskNode leaveTaskNode,
+                        @Cached TaskStepImplNode stepImplNode) {
+            if (task.isDone()) {
+                TruffleString message = FutureNodes.formatMessage(ErrorMessages.STEP_ALREADY_DONE_S_S, reprNode.execute(frame, task),
+                                reprNode.execute(frame, exception != null ? exception : PNone.NONE));
+                throw raiseInvalidStateErrorNode.execute(frame, message);
+            }
+            Object exc = exception;
+            if (task.isMustCancel()) {
+                if (exc == null || !isSubtypeNode.execute(frame, getClassNode.execute(exc), getModuleState(getContext()).getCancelledErrorType())) {
+                    exc = makeCancelledErrorNode.execute(frame, task);
+                }
+                task.setMustCancel(false);
+            }
+            task.setFutWaiter(null);
+            Object loop = task.getLoop();
+            enterTaskNode.execute(frame, loop, task);
+            try {
+                stepImplNode.execute(frame, task, exc);
+            } finally {
+                leaveTaskNode.execute(frame, loop, task);
+            }
+        }
+    }
+
+    abstract static class TaskStepImplNode extends PNodeWithContext {
+        abstract void execute(VirtualFrame frame, PTask task, Object exception);
+
+        @Specialization
+        void step(VirtualFrame frame, PTask task, Object exception,
+                        @Cached GeneratorBuiltins.SendNode sendNode,
+                        @Cached GeneratorBuiltins.ThrowNode throwNode,
+                        @Cached PyObjectCallMethodObjArgs callMethod,
+                        @Cached GetClassNode getClassNode,
+                        @Cached IsSubtypeNode isSubtypeNode,
+                        @Cached StopIterationBuiltins.StopIterationValueNode getValueNode,
+                        @Cached FutureSetResultNode setResultNode,
+                        @Cached FutureSetExceptionNode setExceptionNode,
+                        @Cached FutureCancelNode cancelNode,
+                        @Cached TaskYieldNode yieldNode) {
+            Object coro = task.getCoro();
+            Object result;
+            try {
+                if (coro instanceof PGenerator) {
+                    if (exception == null) {
+                        result = sendNode.execute(frame, coro, PNone.NONE);
+                    } else {
+                        result = throwNode.execute(frame, coro, exception, PNone.NO_VALUE, PNone.NO_VALUE);
+                    }
+                } else {
+                    if (exception == null) {
+                        result = callMethod.execute(frame, coro, T_SEND, PNone.NONE);
+                    } else {
+                        result = callMethod.execute(frame, coro, T_THROW, exception);
+                    }
+                }
+            } catch (PException e) {
+                PBaseException pythonException = e.getEscapedException();
+                Object cls = getClassNode.execute(pythonException);
+                if (isSubtypeNode.execute(frame, cls, StopIteration)) {
+                    if (task.isMustCancel()) {
+                        // the task got cancelled right before the coroutine stopped
+                        task.setMustCancel(false);
+                        cancelNode.execute(frame, task, task.getCancelMessage());
+                    } else {
+                        setResultNode.execute(frame, task, getValueNode.execute(pythonException));
+                    }
+                } else if (isSubtypeNode.execute(frame, cls, getModuleState(getContext()).getCancelledErrorType())) {
+                    // keep the original exception so that it can be chained later
+                    task.setCancelledExc(pythonException);
+                    cancelNode.execute(frame, task, PNone.NONE);
+                } else {
+                    setExceptionNode.execute(frame, task, pythonException);
+                    if (isSubtypeNode.execute(frame, cls, KeyboardInterrupt) || isSubtypeNode.execute(frame, cls, SystemExit)) {
+                        throw e;
+                    }
+                }
+                return;
+            }
+            yieldNode.execute(frame, task, result);
+        }
+    }
+
+    /**
+     * Handles the object yielded by the coroutine: a blocking future makes the task wait for it, a
+     * bare {@code yield} reschedules the task and anything else is thrown back into the coroutine
+     * as a {@code RuntimeError} on the next step.
+     */
+    abstract static class TaskYieldNode extends PNodeWithContext {
+        abstract void execute(VirtualFrame frame, PTask task, Object result);
+
+        @Specialization
+        void handle(VirtualFrame frame, PTask task, Object result,
+                        @Cached IsExactFutureNode isExactFutureNode,
+                        @Cached PyObjectLookupAttr lookupAttr,
+                        @Cached PyObjectSetAttr setAttr,
+                        @Cached PyObjectIsTrueNode isTrueNode,
+                        @Cached GetFutureLoopNode getFutureLoopNode,
+                        @Cached AddDoneCallbackNode addDoneCallbackNode,
+                        @Cached PyObjectGetAttr getAttr,
+                        @Cached CallNode callNode,
+                        @Cached CancelWaiterNode cancelWaiterNode,
+                        @Cached PyObjectReprAsTruffleStringNode reprNode,
+                        @Cached CallSoonNode callSoonNode,
+                        @Cached PythonObjectFactory factory) {
+            Object loop = task.getLoop();
+            Object context = task.getContext();
+            boolean exactFuture = isExactFutureNode.execute(result);
+            Object blocking = exactFuture ? ((PFuture) result).isBlocking() : lookupAttr.execute(frame, result, T_ASYNCIO_FUTURE_BLOCKING);
+            PBaseException error;
+            if (blocking != PNone.NO_VALUE && blocking != PNone.NONE) {
+                // the yielded future must come from Future.__iter__
+                if (getFutureLoopNode.execute(frame, result) != loop) {
+                    error = factory.createBaseException(RuntimeError, ErrorMessages.TASK_S_GOT_FUTURE_S_ATTACHED_TO_DIFFERENT_LOOP,
+                                    new Object[]{reprNode.execute(frame, task), reprNode.execute(frame, result)});
+                } else if (!isTrueNode.execute(frame, blocking)) {
+                    error = factory.createBaseException(RuntimeError, ErrorMessages.YIELD_INSTEAD_OF_YIELD_FROM_IN_TASK_S_S,
+                                    new Object[]{reprNode.execute(frame, task), reprNode.execute(frame, result)});
+                } else if (result == task) {
+                    error = factory.createBaseException(RuntimeError, ErrorMessages.TASK_CANNOT_AWAIT_ON_ITSELF_S, new Object[]{reprNode.execute(frame, task)});
+                } else {
+                    PTaskWakeupMethWrapper wakeup = task.getWakeupWrapper(factory);
+                    if (exactFuture) {
+                        PFuture future = (PFuture) result;
+                        future.setBlocking(false);
+                        addDoneCallbackNode.execute(frame, future, wakeup, context);
+                    } else {
+                        setAttr.execute(frame, result, T_ASYNCIO_FUTURE_BLOCKING, false);
+                        Object addDoneCallback = getAttr.execute(frame, result, T_ADD_DONE_CALLBACK);
+                        callNode.execute(frame, addDoneCallback, new Object[]{wakeup}, new PKeyword[]{new PKeyword(FutureNodes.T_CONTEXT, context)});
+                    }
+                    task.setFutWaiter(result);
+                    if (task.isMustCancel() && cancelWaiterNode.execute(frame, result, task.getCancelMessage())) {
+                        task.setMustCancel(false);
+                    }
+                    return;
+                }
+            } else if (result == PNone.NONE) {
+                // a bare yield gives up control for one iteration of the event loop
+                callSoonNode.execute(frame, loop, task.getStepWrapper(factory), null, context);
+                return;
+            } else if (result instanceof PGenerator) {
+                error = factory.createBaseException(RuntimeError, ErrorMessages.YIELD_INSTEAD_OF_YIELD_FROM_FOR_GENERATOR_S_S,
+                                new Object[]{reprNode.execute(frame, task), reprNode.execute(frame, result)});
+            } else {
+                error = factory.createBaseException(RuntimeError, ErrorMessages.TASK_GOT_BAD_YIELD_S, new Object[]{reprNode.execute(frame, result)});
+            }
+            callSoonNode.execute(frame, loop, factory.createTaskStepMethWrapper(task, error), null, context);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.asyncio;
+
+import static com.oracle.graal.python.nodes.SpecialAttributeNames.J___SELF__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___CALL__;
+import static com.oracle.graal.python.util.PythonUtils.tsLiteral;
+
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.asyncio.FutureNodes.FutureResultNode;
+import com.oracle.graal.python.builtins.objects.asyncio.FutureNodes.IsExactFutureNode;
+import com.oracle.graal.python.builtins.objects.asyncio.TaskBuiltins.TaskStepNode;
+import com.oracle.graal.python.lib.PyObjectCallMethodObjArgs;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.runtime.exception.PException;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.strings.TruffleString;
+
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PTaskWakeupMethWrapper)
+public final class TaskWakeupMethWrapperBuiltins extends PythonBuiltins {
+    private static final TruffleString T_RESULT = tsLiteral("result");
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return TaskWakeupMethWrapperBuiltinsFactory.getFactories();
+    }
+
+    @Builtin(name = J___CALL__, minNumOfPositionalArgs = 2, parameterNames = {"$self", "future"})
+    @GenerateNodeFactory
+    abstract static class CallNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object call(VirtualFrame frame, PTaskWakeupMethWrapper self, Object future,
+                        @Cached IsExactFutureNode isExactFutureNode,
+                        @Cached FutureResultNode resultNode,
+                        @Cached PyObjectCallMethodObjArgs callMethod,
+                        @Cached TaskStepNode stepNode) {
+            Object exception = null;
+            try {
+                if (isExactFutureNode.execute(future)) {
+                    resultNode.execute(frame, (PFuture) future);
+                } else {
+                    callMethod.execute(frame, future, T_RESULT);
+                }
+            } catch (PException e) {
+                // this may also be a cancellation
+                exception = e.getEscapedException();
+            }
+            // the result itself is not passed on, Future.__await__ does not need it
+            stepNode.execute(frame, self.getTask(), exception);
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = J___SELF__, minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class SelfNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object self(PTaskWakeupMethWrapper self) {
+            return self.getTask();
+        }
+    }
+}
@@ -88,6 +88,7 @@ import com.oracle.graal.python.nodes.PNodeWithRaise;
 import com.oracle.graal.python.nodes.PNodeWithRaiseAndIndirectCall;
 import com.oracle.graal.python.nodes.SpecialMethodNames;
 import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentCastNode;
+import com.oracle.graal.python.nodes.interop.GetHostPrimitiveArrayNode;
 import com.oracle.graal.python.nodes.object.IsBuiltinClassProfile;
 import com.oracle.graal.python.nodes.util.CastToByteNode;
 import com.oracle.graal.python.nodes.util.CastToJavaByteNode;
@@ -802,11 +803,19 @@ public abstract class BytesNodes {
 
         @Specialization
         public static byte[] bytearray(VirtualFrame frame, Object iterable,
+                        @Cached GetHostPrimitiveArrayNode getHostArrayNode,
                         @Cached IteratorNodes.GetLength lenghtHintNode,
                         @Cached GetNextNode getNextNode,
                         @Cached IsBuiltinClassProfile stopIterationProfile,
                         @Cached CastToByteNode castToByteNode,
                         @Cached PyObjectGetIter getIter) {
+            Object hostArray = getHostArrayNode.execute(iterable);
+            if (hostArray != null) {
+                byte[] bytes = GetHostPrimitiveArrayNode.toByteArray(hostArray);
+                if (bytes != null) {
+                    return bytes;
+                }
+            }
             Object it = getIter.execute(frame, iterable);
             int len = lenghtHintNode.execute(frame, iterable);
             byte[] arr = new byte[len < 16 && len > 0 ? len : 16];
@@ -208,7 +208,7 @@ public final class CApiContext extends CExtContext {
 
     public CApiContext(PythonContext context, Object hpyLibrary) {
         super(context, hpyLibrary, CAPIConversionNodeSupplier.INSTANCE);
-        nativeObjectsQueue = new ReferenceQueue<>();
+        nativeObjectsQueue = context.getAsyncHandler().getReferenceQueue();
         nativeObjectWrapperList = new ReferenceStack<>();
 
         // avoid 0 to be used as ID
@@ -226,32 +226,12 @@ public final class CApiContext extends CExtContext {
             primitiveNativeWrapperCache[i] = nativeWrapper;
         }
 
-        context.registerAsyncAction(() -> {
-            Reference<?> reference = null;
-            if (PythonOptions.AUTOMATIC_ASYNC_ACTIONS) {
-                try {
-                    reference = nativeObjectsQueue.remove();
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                }
-            } else {
-                reference = nativeObjectsQueue.poll();
-            }
-
-            ArrayList<NativeObjectReference> refs = new ArrayList<>();
-            do {
-                if (reference instanceof NativeObjectReference) {
-                    refs.add((NativeObjectReference) reference);
-                }
-                // consume all
-                reference = nativeObjectsQueue.poll();
-            } while (reference != null);
-
-            if (!refs.isEmpty()) {
-                return new CApiReferenceCleanerAction(refs.toArray(new NativeObjectReference[0]));
+        context.registerReferenceHandler(NativeObjectReference.class, references -> {
+            NativeObjectReference[] refs = new NativeObjectReference[references.size()];
+            for (int i = 0; i < refs.length; i++) {
+                refs[i] = (NativeObjectReference) references.get(i);
             }
-
-            return null;
+            return new CApiReferenceCleanerAction(refs);
         });
     }
 
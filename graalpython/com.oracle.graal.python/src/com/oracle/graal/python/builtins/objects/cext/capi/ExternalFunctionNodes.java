@@ -599,6 +599,7 @@ public abstract class ExternalFunctionNodes {
             // If any code requested the caught exception (i.e. used 'sys.exc_info()'), we store
             // it to the context since we cannot propagate it through the native frames.
             Object state = IndirectCallContext.enter(frame, threadState, this);
+            threadState.enterNativeCall();
 
             try {
                 return fromNative(asPythonObjectNode.execute(checkResultNode.execute(ctx, name, lib.execute(callable, cArguments))));
@@ -622,6 +623,10 @@ public abstract class ExternalFunctionNodes {
                  */
                 PArguments.setException(frame, threadState.getCaughtException());
                 IndirectCallContext.exit(frame, threadState, state);
+
+                if (threadState.exitNativeCall()) {
+                    PySequenceArrayWrapper.releaseScopedNativeStorages(threadState);
+                }
             }
         }
 
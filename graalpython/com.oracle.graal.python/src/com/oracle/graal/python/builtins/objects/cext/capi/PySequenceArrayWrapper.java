@@ -45,6 +45,10 @@ import com.oracle.truffle.api.dsl.NeverDefault;
 import static com.oracle.graal.python.builtins.objects.cext.capi.NativeCAPISymbol.FUN_GET_BYTE_ARRAY_TYPE_ID;
 import static com.oracle.graal.python.builtins.objects.cext.capi.NativeCAPISymbol.FUN_GET_PTR_ARRAY_TYPE_ID;
 import static com.oracle.graal.python.builtins.objects.cext.capi.NativeCAPISymbol.FUN_NATIVE_HANDLE_FOR_ARRAY;
+import static com.oracle.graal.python.builtins.objects.cext.capi.NativeCAPISymbol.FUN_PY_TRUFFLE_ARRAY_FREE;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
 
 import com.oracle.graal.python.builtins.objects.PythonAbstractObject;
 import com.oracle.graal.python.builtins.objects.PythonAbstractObject.PInteropSubscriptAssignNode;
@@ -56,6 +60,7 @@ import com.oracle.graal.python.builtins.objects.cext.capi.CExtNodes.ToJavaSteali
 import com.oracle.graal.python.builtins.objects.cext.capi.CExtNodes.ToSulongNode;
 import com.oracle.graal.python.builtins.objects.common.SequenceNodes;
 import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodes;
+import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodes.GetInternalObjectArrayNode;
 import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodes.ListGeneralizationNode;
 import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodes.NoGeneralizationNode;
 import com.oracle.graal.python.builtins.objects.list.PList;
@@ -69,11 +74,15 @@ import com.oracle.graal.python.nodes.attributes.LookupInheritedAttributeNode;
 import com.oracle.graal.python.nodes.call.CallNode;
 import com.oracle.graal.python.nodes.truffle.PythonTypes;
 import com.oracle.graal.python.runtime.GilNode;
+import com.oracle.graal.python.runtime.PythonContext.GetThreadStateNode;
+import com.oracle.graal.python.runtime.PythonContext.PythonThreadState;
 import com.oracle.graal.python.runtime.PythonOptions;
 import com.oracle.graal.python.runtime.sequence.PSequence;
 import com.oracle.graal.python.runtime.sequence.storage.EmptySequenceStorage;
 import com.oracle.graal.python.runtime.sequence.storage.NativeSequenceStorage;
 import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage.ListStorageType;
+import com.oracle.graal.python.runtime.sequence.storage.SequenceStorageFactory;
 import com.oracle.graal.python.util.PythonUtils;
 import com.oracle.truffle.api.CompilerAsserts;
 import com.oracle.truffle.api.CompilerDirectives;
@@ -398,18 +407,45 @@ public final class PySequenceArrayWrapper extends PythonNativeWrapper {
                         @Cached SequenceNodes.GetSequenceStorageNode getStorage,
                         @Cached SequenceNodes.SetSequenceStorageNode setStorage,
                         @CachedLibrary(limit = "3") PythonNativeWrapperLibrary lib,
-                        @Exclusive @Cached ToNativeStorageNode toNativeStorageNode) {
+                        @Exclusive @Cached ToNativeStorageNode toNativeStorageNode,
+                        @Cached GetThreadStateNode getThreadStateNode,
+                        @Cached ConditionProfile scopedProfile) {
             PSequence sequence = (PSequence) lib.getDelegate(object);
-            NativeSequenceStorage nativeStorage = toNativeStorageNode.execute(getStorage.execute(sequence), sequence instanceof PBytesLike);
+            SequenceStorage storage = getStorage.execute(sequence);
+            NativeSequenceStorage nativeStorage = toNativeStorageNode.execute(storage, sequence instanceof PBytesLike);
             if (nativeStorage == null) {
                 CompilerDirectives.transferToInterpreter();
                 throw new IllegalStateException("could not allocate native storage");
             }
             // switch to native storage
             setStorage.execute(sequence, nativeStorage);
+            /*
+             * A list that was managed before only needs the native array while the C extension
+             * calls that asked for 'ob_item' run. Every such call pins the storage so that it can
+             * be moved back once no running call uses the array anymore.
+             */
+            if (scopedProfile.profile(sequence instanceof PList && (storage != nativeStorage || nativeStorage.isScoped()))) {
+                trackScopedNativeStorage(getThreadStateNode.execute(), (PList) sequence, nativeStorage, storage != nativeStorage);
+            }
             return nativeStorage.getPtr();
         }
 
+        @TruffleBoundary
+        private static void trackScopedNativeStorage(PythonThreadState threadState, PList list, NativeSequenceStorage nativeStorage, boolean converted) {
+            if (!threadState.isInNativeCall()) {
+                // the array escapes outside of a C extension call, so the list stays native
+                nativeStorage.makePermanent();
+                return;
+            }
+            if (converted) {
+                if (nativeStorage.getElementType() != ListStorageType.Generic) {
+                    return;
+                }
+                nativeStorage.markScoped();
+            }
+            threadState.pinScopedNativeStorage(list, nativeStorage);
+        }
+
         @Specialization(guards = "!isPSequence(lib.getDelegate(object))")
         static Object doGeneric(PySequenceArrayWrapper object,
                         @SuppressWarnings("unused") @CachedLibrary(limit = "3") PythonNativeWrapperLibrary lib,
@@ -423,6 +459,33 @@ public final class PySequenceArrayWrapper extends PythonNativeWrapper {
         }
     }
 
+    /**
+     * Unpins the scoped native storages used by the C extension calls of this thread after the
+     * outermost one returned. Storages that no running call (of any thread) uses anymore are moved
+     * back to managed storage: any writes done by native code through {@code ob_item} are read back,
+     * the list gets the most specific managed storage for its items again and the native array is
+     * freed. Like in CPython, native code must not keep the {@code ob_item} pointer of a borrowed
+     * list beyond the call.
+     *
+     * Note that this costs a conversion to native memory and back for every outermost C call that
+     * uses the items array of such a list. Lists that escape outside of a C call stay native.
+     */
+    @TruffleBoundary
+    public static void releaseScopedNativeStorages(PythonThreadState threadState) {
+        IdentityHashMap<NativeSequenceStorage, PList> storages = threadState.takeScopedNativeStorages();
+        GetInternalObjectArrayNode getItemsNode = GetInternalObjectArrayNode.getUncached();
+        for (Map.Entry<NativeSequenceStorage, PList> entry : storages.entrySet()) {
+            NativeSequenceStorage nativeStorage = entry.getKey();
+            PList list = entry.getValue();
+            // the list may have switched to another storage in the meantime
+            if (nativeStorage.unpin() && list.getSequenceStorage() == nativeStorage) {
+                Object[] items = getItemsNode.execute(nativeStorage);
+                list.setSequenceStorage(SequenceStorageFactory.createStorage(items));
+                PCallCapiFunction.getUncached().call(FUN_PY_TRUFFLE_ARRAY_FREE, nativeStorage.getPtr());
+            }
+        }
+    }
+
     @GenerateUncached
     abstract static class ToNativeStorageNode extends Node {
 
@@ -3289,46 +3289,25 @@ public final class GraalHPyContext extends CExtContext implements TruffleObject
 
     @TruffleBoundary
     private ReferenceQueue<Object> createReferenceQueue() {
-        final ReferenceQueue<Object> referenceQueue = new ReferenceQueue<>();
-
         // lazily register the runnable that concurrently collects the queued references
         Env env = getContext().getEnv();
         if (env.isCreateThreadAllowed()) {
+            final ReferenceQueue<Object> referenceQueue = new ReferenceQueue<>();
             Thread thread = env.createThread(new GraalHPyReferenceCleanerRunnable(referenceQueue), null, getContext().getThreadGroup());
             // Make the cleaner thread a daemon; it should not prevent JVM shutdown.
             thread.setDaemon(true);
             thread.start();
             hpyReferenceCleanerThread = thread;
-        } else {
-            getContext().registerAsyncAction(() -> {
-                Reference<?> reference = null;
-                if (PythonOptions.AUTOMATIC_ASYNC_ACTIONS) {
-                    try {
-                        reference = referenceQueue.remove();
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                    }
-                } else {
-                    referenceQueue.poll();
-                }
-
-                ArrayList<GraalHPyHandleReference> refs = new ArrayList<>();
-                do {
-                    if (reference instanceof GraalHPyHandleReference) {
-                        refs.add((GraalHPyHandleReference) reference);
-                    }
-                    // consume all
-                    reference = referenceQueue.poll();
-                } while (reference != null);
-
-                if (!refs.isEmpty()) {
-                    return new GraalHPyHandleReferenceCleanerAction(refs.toArray(new GraalHPyHandleReference[0]));
-                }
-
-                return null;
-            });
+            return referenceQueue;
         }
-        return referenceQueue;
+        getContext().registerReferenceHandler(GraalHPyHandleReference.class, references -> {
+            GraalHPyHandleReference[] refs = new GraalHPyHandleReference[references.size()];
+            for (int i = 0; i < refs.length; i++) {
+                refs[i] = (GraalHPyHandleReference) references.get(i);
+            }
+            return new GraalHPyHandleReferenceCleanerAction(refs);
+        });
+        return getContext().getAsyncHandler().getReferenceQueue();
     }
 
     @TruffleBoundary
@@ -303,7 +303,7 @@ public final class PCode extends PythonBuiltinObject {
                 }
                 if (op == OpCodes.LOAD_BYTE) {
                     bytecodeConstants.add(Byte.toUnsignedInt(co.code[bci + 1]));
-                } else if (op == OpCodes.LOAD_NONE) {
+                } else if (op == OpCodes.LOAD_NONE || op == OpCodes.RETURN_NONE) {
                     bytecodeConstants.add(PNone.NONE);
                 } else if (op == OpCodes.LOAD_TRUE) {
                     bytecodeConstants.add(true);
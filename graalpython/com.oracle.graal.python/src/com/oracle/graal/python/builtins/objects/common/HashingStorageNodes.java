@@ -105,6 +105,7 @@ public class HashingStorageNodes {
     }
 
     @GenerateUncached
+    @ImportStatic(PGuards.class)
     public abstract static class HashingStorageGetItemWithHash extends Node {
         public abstract Object execute(Frame frame, HashingStorage self, Object key, long keyHash);
 
@@ -137,9 +138,27 @@ public class HashingStorageNodes {
                         @Cached LocalsStorage.GetItemNode getNode) {
             return getNode.execute(frame, self, key, keyHash);
         }
+
+        @Specialization
+        static Object longKeysInt(LongKeyStorage self, int key, @SuppressWarnings("unused") long keyHash) {
+            return self.get(key);
+        }
+
+        @Specialization
+        static Object longKeysLong(LongKeyStorage self, long key, @SuppressWarnings("unused") long keyHash) {
+            return self.get(key);
+        }
+
+        @Specialization(guards = "!isInteger(key)")
+        static Object longKeysGeneric(Frame frame, LongKeyStorage self, Object key, long keyHash,
+                        @Cached PyObjectRichCompareBool.EqNode eqNode) {
+            int index = self.findEntryWithHash(frame, key, keyHash, eqNode);
+            return index < 0 ? null : self.getValue(index);
+        }
     }
 
     @GenerateUncached
+    @ImportStatic(PGuards.class)
     public abstract static class HashingStorageGetItem extends Node {
         public static boolean hasKeyUncached(HashingStorage storage, Object key) {
             return HashingStorageGetItemNodeGen.getUncached().execute(null, storage, key) != null;
@@ -203,6 +222,24 @@ public class HashingStorageNodes {
                         @Cached LocalsStorage.GetItemNode getNode) {
             return getNode.execute(frame, self, key, -1);
         }
+
+        @Specialization
+        static Object longKeysInt(LongKeyStorage self, int key) {
+            return self.get(key);
+        }
+
+        @Specialization
+        static Object longKeysLong(LongKeyStorage self, long key) {
+            return self.get(key);
+        }
+
+        @Specialization(guards = "!isInteger(key)")
+        static Object longKeysGeneric(Frame frame, LongKeyStorage self, Object key,
+                        @Shared("hash") @Cached PyObjectHashNode hashNode,
+                        @Cached PyObjectRichCompareBool.EqNode eqNode) {
+            int index = self.findEntryWithHash(frame, key, hashNode.execute(frame, key), eqNode);
+            return index < 0 ? null : self.getValue(index);
+        }
     }
 
     abstract static class SpecializedSetStringKey extends Node {
@@ -259,6 +296,21 @@ public class HashingStorageNodes {
             s.addAllTo(result, specializedPutNode);
             return result;
         }
+
+        @Specialization
+        static EconomicMapStorage doLongKeys(LongKeyStorage s,
+                        @Cached ObjectHashMap.PutNode putNode) {
+            EconomicMapStorage result = EconomicMapStorage.create(s.length());
+            ObjectHashMap resultMap = result.map;
+            for (int i = 0; i < s.usedEntries; i++) {
+                Object value = s.getValue(i);
+                if (value != null) {
+                    // int keys have no side-effecting __eq__, the map does not need to be flagged
+                    putNode.put(null, resultMap, s.getKey(i), s.getKeyHash(i), value);
+                }
+            }
+            return result;
+        }
     }
 
     @GenerateUncached
@@ -285,6 +337,16 @@ public class HashingStorageNodes {
         }
 
         @Specialization
+        static HashingStorage emptyIntKey(@SuppressWarnings("unused") EmptyStorage self, int key, @SuppressWarnings("unused") long keyHash, Object value) {
+            return longKeysInt(new LongKeyStorage(), key, keyHash, value);
+        }
+
+        @Specialization
+        static HashingStorage emptyLongKey(@SuppressWarnings("unused") EmptyStorage self, long key, @SuppressWarnings("unused") long keyHash, Object value) {
+            return longKeysLong(new LongKeyStorage(), key, keyHash, value);
+        }
+
+        @Specialization(guards = "!isInteger(key)")
         static HashingStorage empty(Frame frame, @SuppressWarnings("unused") EmptyStorage self, Object key, long keyHash, Object value,
                         @Shared("isBuiltin") @Cached IsBuiltinClassProfile profile,
                         @Exclusive @Cached ObjectHashMap.PutNode putNode) {
@@ -355,6 +417,26 @@ public class HashingStorageNodes {
             self.addAllTo(result, specializedPutNode);
             return economicMap(frame, result, key, keyHash, value, profile, putNode);
         }
+
+        @Specialization
+        static HashingStorage longKeysInt(LongKeyStorage self, int key, @SuppressWarnings("unused") long keyHash, Object value) {
+            self.put(key, value);
+            return self;
+        }
+
+        @Specialization
+        static HashingStorage longKeysLong(LongKeyStorage self, long key, @SuppressWarnings("unused") long keyHash, Object value) {
+            self.put(key, value);
+            return self;
+        }
+
+        @Specialization(guards = "!isInteger(key)")
+        static HashingStorage longKeysGeneralize(Frame frame, LongKeyStorage self, Object key, long keyHash, Object value,
+                        @Shared("isBuiltin") @Cached IsBuiltinClassProfile profile,
+                        @Shared("economicPut") @Cached ObjectHashMap.PutNode putNode) {
+            EconomicMapStorage result = HashingStorageToEconomicMap.doLongKeys(self, putNode);
+            return economicMap(frame, result, key, keyHash, value, profile, putNode);
+        }
     }
 
     /**
@@ -398,6 +480,16 @@ public class HashingStorageNodes {
         }
 
         @Specialization
+        static HashingStorage emptyIntKey(@SuppressWarnings("unused") EmptyStorage self, int key, Object value) {
+            return longKeysInt(new LongKeyStorage(), key, value);
+        }
+
+        @Specialization
+        static HashingStorage emptyLongKey(@SuppressWarnings("unused") EmptyStorage self, long key, Object value) {
+            return longKeysLong(new LongKeyStorage(), key, value);
+        }
+
+        @Specialization(guards = "!isInteger(key)")
         static HashingStorage empty(Frame frame, @SuppressWarnings("unused") EmptyStorage self, Object key, Object value,
                         @Shared("isBuiltin") @Cached IsBuiltinClassProfile profile,
                         @Shared("hash") @Cached PyObjectHashNode hashNode,
@@ -471,6 +563,27 @@ public class HashingStorageNodes {
             self.addAllTo(result, specializedPutNode);
             return economicMap(frame, result, key, value, profile, hashNode, putNode);
         }
+
+        @Specialization
+        static HashingStorage longKeysInt(LongKeyStorage self, int key, Object value) {
+            self.put(key, value);
+            return self;
+        }
+
+        @Specialization
+        static HashingStorage longKeysLong(LongKeyStorage self, long key, Object value) {
+            self.put(key, value);
+            return self;
+        }
+
+        @Specialization(guards = "!isInteger(key)")
+        static HashingStorage longKeysGeneralize(Frame frame, LongKeyStorage self, Object key, Object value,
+                        @Shared("isBuiltin") @Cached IsBuiltinClassProfile profile,
+                        @Shared("hash") @Cached PyObjectHashNode hashNode,
+                        @Shared("economicPut") @Cached ObjectHashMap.PutNode putNode) {
+            EconomicMapStorage result = HashingStorageToEconomicMap.doLongKeys(self, putNode);
+            return economicMap(frame, result, key, value, profile, hashNode, putNode);
+        }
     }
 
     @GenerateUncached
@@ -583,6 +696,30 @@ public class HashingStorageNodes {
             toUpdate.setDictStorage(newStorage);
             return economicMap(frame, newStorage, key, isPop, toUpdate, hashNode, removeNode);
         }
+
+        @Specialization
+        static Object longKeysInt(LongKeyStorage self, int key, boolean isPop, @SuppressWarnings("unused") PHashingCollection toUpdate) {
+            Object result = self.remove(key);
+            return isPop ? result : null;
+        }
+
+        @Specialization
+        static Object longKeysLong(LongKeyStorage self, long key, boolean isPop, @SuppressWarnings("unused") PHashingCollection toUpdate) {
+            Object result = self.remove(key);
+            return isPop ? result : null;
+        }
+
+        @Specialization(guards = "!isInteger(key)")
+        static Object longKeysGeneric(Frame frame, LongKeyStorage self, Object key, boolean isPop, @SuppressWarnings("unused") PHashingCollection toUpdate,
+                        @Shared("hash") @Cached PyObjectHashNode hashNode,
+                        @Cached PyObjectRichCompareBool.EqNode eqNode) {
+            int index = self.findEntryWithHash(frame, key, hashNode.execute(frame, key), eqNode);
+            if (index < 0) {
+                return null;
+            }
+            Object result = self.removeEntry(index);
+            return isPop ? result : null;
+        }
     }
 
     @GenerateUncached
@@ -625,6 +762,11 @@ public class HashingStorageNodes {
                         @Cached LocalsStorage.LengthNode lengthNode) {
             return lengthNode.execute(self);
         }
+
+        @Specialization
+        static int longKeys(LongKeyStorage self) {
+            return self.length();
+        }
     }
 
     @GenerateUncached
@@ -688,6 +830,11 @@ public class HashingStorageNodes {
         static HashingStorage locals(LocalsStorage self) {
             return self.copy();
         }
+
+        @Specialization
+        static HashingStorage longKeys(LongKeyStorage self) {
+            return self.copy();
+        }
     }
 
     @ValueType
@@ -779,6 +926,11 @@ public class HashingStorageNodes {
             }
             return new HashingStorageIterator();
         }
+
+        @Specialization
+        static HashingStorageIterator longKeys(@SuppressWarnings("unused") LongKeyStorage self) {
+            return new HashingStorageIterator();
+        }
     }
 
     @GenerateUncached
@@ -830,6 +982,13 @@ public class HashingStorageNodes {
             it.index = self.len;
             return it;
         }
+
+        @Specialization
+        static HashingStorageIterator longKeys(LongKeyStorage self) {
+            HashingStorageIterator it = new HashingStorageIterator(true);
+            it.index = self.usedEntries;
+            return it;
+        }
     }
 
     @GenerateUncached
@@ -963,6 +1122,36 @@ public class HashingStorageNodes {
             }
             return false;
         }
+
+        @Specialization(guards = "!it.isReverse")
+        static boolean longKeys(LongKeyStorage self, HashingStorageIterator it) {
+            it.index++;
+            while (it.index < self.usedEntries) {
+                Object val = self.getValue(it.index);
+                if (val != null) {
+                    it.currentValue = val;
+                    return true;
+                }
+                it.index++;
+            }
+            assert (it.currentValue = null) == null;
+            return false;
+        }
+
+        @Specialization(guards = "it.isReverse")
+        static boolean longKeysReverse(LongKeyStorage self, HashingStorageIterator it) {
+            it.index--;
+            while (it.index >= 0) {
+                Object val = self.getValue(it.index);
+                if (val != null) {
+                    it.currentValue = val;
+                    return true;
+                }
+                it.index--;
+            }
+            assert (it.currentValue = null) == null;
+            return false;
+        }
     }
 
     @GenerateUncached
@@ -1004,6 +1193,11 @@ public class HashingStorageNodes {
         static Object locals(LocalsStorage self, HashingStorageIterator it) {
             return LocalsStorage.getValue(self.frame, it.index);
         }
+
+        @Specialization
+        static Object longKeys(@SuppressWarnings("unused") LongKeyStorage self, HashingStorageIterator it) {
+            return it.currentValue;
+        }
     }
 
     @GenerateUncached
@@ -1045,6 +1239,11 @@ public class HashingStorageNodes {
         static TruffleString locals(LocalsStorage self, HashingStorageIterator it) {
             return (TruffleString) self.frame.getFrameDescriptor().getSlotName(it.index);
         }
+
+        @Specialization
+        static Object longKeys(LongKeyStorage self, HashingStorageIterator it) {
+            return self.getKey(it.index);
+        }
     }
 
     @GenerateUncached
@@ -1080,6 +1279,11 @@ public class HashingStorageNodes {
                         @Shared("hash") @Cached TruffleString.HashCodeNode hashNode) {
             return PyObjectHashNode.hash((TruffleString) self.frame.getFrameDescriptor().getSlotName(it.index), hashNode);
         }
+
+        @Specialization
+        static long longKeys(LongKeyStorage self, HashingStorageIterator it) {
+            return self.getKeyHash(it.index);
+        }
     }
 
     @GenerateUncached
@@ -0,0 +1,294 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.common;
+
+import com.oracle.graal.python.builtins.modules.SysModuleBuiltins;
+import com.oracle.graal.python.builtins.objects.ints.PInt;
+import com.oracle.graal.python.lib.PyObjectHashNode;
+import com.oracle.graal.python.lib.PyObjectRichCompareBool;
+import com.oracle.graal.python.util.PythonUtils;
+import com.oracle.truffle.api.CompilerAsserts;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.frame.Frame;
+
+/**
+ * Storage for dicts and sets whose keys are all Python {@code int} objects representable as a Java
+ * {@code long}. Keys are stored unboxed, so lookups with {@code int} keys need neither the generic
+ * {@code __hash__} nor the {@code __eq__} protocol.
+ * <p>
+ * Entries are kept in insertion order in {@link #keys} and {@link #values}. Removing an entry only
+ * clears its value, so that iterators over the storage stay valid. The {@link #indices} table maps
+ * keys to entry positions (plus one, zero marks a free slot) using open addressing with linear
+ * probing. It is kept at most half full, so probing always terminates.
+ * <p>
+ * The storage is generalized to {@link EconomicMapStorage} by {@link HashingStorageNodes} on the
+ * first insertion of a key that is not a Java {@code int} or {@code long}. Lookups with other keys
+ * (e.g. {@code True} or {@code 1.0}) are still answered, using their Python hash and equality.
+ */
+public final class LongKeyStorage extends HashingStorage {
+    private static final int INITIAL_CAPACITY = 8;
+    private static final int MAX_CAPACITY = 1 << 29;
+
+    long[] keys;
+    Object[] values;
+    int[] indices;
+    /** Number of used slots in {@link #keys} and {@link #values}, including removed entries. */
+    int usedEntries;
+    private int size;
+    /**
+     * Whether some key does not hash to itself in Python, i.e. its magnitude is not smaller than
+     * {@link SysModuleBuiltins#HASH_MODULUS}. Lookups by hash must then scan such keys.
+     */
+    private boolean hasLargeKeys;
+
+    public LongKeyStorage() {
+        this(INITIAL_CAPACITY);
+    }
+
+    public LongKeyStorage(int initialCapacity) {
+        int capacity = Math.max(INITIAL_CAPACITY, initialCapacity);
+        keys = new long[capacity];
+        values = new Object[capacity];
+        indices = new int[indexSizeFor(capacity)];
+    }
+
+    private LongKeyStorage(LongKeyStorage original) {
+        keys = PythonUtils.arrayCopyOf(original.keys, original.keys.length);
+        values = PythonUtils.arrayCopyOf(original.values, original.values.length);
+        indices = PythonUtils.arrayCopyOf(original.indices, original.indices.length);
+        usedEntries = original.usedEntries;
+        size = original.size;
+        hasLargeKeys = original.hasLargeKeys;
+    }
+
+    private static int indexSizeFor(int capacity) {
+        return Integer.highestOneBit(capacity - 1) << 2;
+    }
+
+    private static int slot(long key, int mask) {
+        // Fibonacci hashing spreads consecutive keys, which are the common case, over the table
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+    }
+
+    static boolean hashesToItself(long key) {
+        return key > -SysModuleBuiltins.HASH_MODULUS && key < SysModuleBuiltins.HASH_MODULUS;
+    }
+
+    public int length() {
+        return size;
+    }
+
+    /**
+     * Returns the position of the live entry for the key, or {@code -1}.
+     */
+    int findEntry(long key) {
+        int mask = indices.length - 1;
+        int slot = slot(key, mask);
+        while (true) {
+            int index = indices[slot];
+            if (index == 0) {
+                return -1;
+            }
+            if (keys[index - 1] == key && values[index - 1] != null) {
+                return index - 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * Returns the position of the live entry whose key is equal to the given key of an arbitrary
+     * type with the given Python hash, or {@code -1}. Python guarantees that equal objects have
+     * equal hashes, so only keys with that hash need to be compared.
+     */
+    int findEntryWithHash(Frame frame, Object key, long keyHash, PyObjectRichCompareBool.EqNode eqNode) {
+        int index = findEqualEntry(frame, findEntry(keyHash), key, eqNode);
+        if (index < 0 && keyHash == -2) {
+            // hash(-1) == -2
+            index = findEqualEntry(frame, findEntry(-1), key, eqNode);
+        }
+        if (index < 0 && hasLargeKeys) {
+            for (int i = 0; i < usedEntries; i++) {
+                if (values[i] != null && !hashesToItself(keys[i]) && PyObjectHashNode.hash(keys[i]) == keyHash) {
+                    index = findEqualEntry(frame, i, key, eqNode);
+                    if (index >= 0) {
+                        break;
+                    }
+                }
+            }
+        }
+        return index;
+    }
+
+    private int findEqualEntry(Frame frame, int index, Object key, PyObjectRichCompareBool.EqNode eqNode) {
+        if (index < 0) {
+            return -1;
+        }
+        long candidate = keys[index];
+        if (eqNode.execute(frame, getKey(index), key)) {
+            // __eq__ may have run arbitrary code that modified this storage
+            return findEntry(candidate);
+        }
+        return -1;
+    }
+
+    Object get(long key) {
+        int index = findEntry(key);
+        return index < 0 ? null : values[index];
+    }
+
+    void put(long key, Object value) {
+        assert value != null;
+        int index = findEntry(key);
+        if (index >= 0) {
+            values[index] = value;
+            return;
+        }
+        if (usedEntries == keys.length) {
+            grow();
+        }
+        int entry = usedEntries++;
+        keys[entry] = key;
+        values[entry] = value;
+        size++;
+        if (!hashesToItself(key)) {
+            hasLargeKeys = true;
+        }
+        insertIndex(key, entry);
+    }
+
+    /**
+     * Removes the entry for the key and returns its value, or {@code null} if there was none.
+     */
+    Object remove(long key) {
+        int index = findEntry(key);
+        return index < 0 ? null : removeEntry(index);
+    }
+
+    Object removeEntry(int index) {
+        Object result = values[index];
+        values[index] = null;
+        size--;
+        return result;
+    }
+
+    private void insertIndex(long key, int entry) {
+        int mask = indices.length - 1;
+        int slot = slot(key, mask);
+        while (indices[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        indices[slot] = entry + 1;
+    }
+
+    /**
+     * Compacts the entries if at least half of them were removed, otherwise doubles the capacity.
+     * Either way the index table is rebuilt, which also drops the slots of removed entries.
+     */
+    @TruffleBoundary
+    private void grow() {
+        int newCapacity = size < usedEntries / 2 ? keys.length : keys.length * 2;
+        if (newCapacity > MAX_CAPACITY) {
+            throw new OutOfMemoryError();
+        }
+        long[] newKeys = new long[newCapacity];
+        Object[] newValues = new Object[newCapacity];
+        int j = 0;
+        for (int i = 0; i < usedEntries; i++) {
+            if (values[i] != null) {
+                newKeys[j] = keys[i];
+                newValues[j] = values[i];
+                j++;
+            }
+        }
+        assert j == size;
+        keys = newKeys;
+        values = newValues;
+        indices = new int[indexSizeFor(newCapacity)];
+        usedEntries = j;
+        for (int i = 0; i < j; i++) {
+            insertIndex(keys[i], i);
+        }
+    }
+
+    public LongKeyStorage copy() {
+        return new LongKeyStorage(this);
+    }
+
+    /**
+     * Returns the key at the given position boxed the same way as other Python {@code int} values.
+     */
+    Object getKey(int index) {
+        long key = keys[index];
+        if (PInt.isIntRange(key)) {
+            return (int) key;
+        }
+        return key;
+    }
+
+    long getKeyHash(int index) {
+        return PyObjectHashNode.hash(keys[index]);
+    }
+
+    Object getValue(int index) {
+        return values[index];
+    }
+
+    @Override
+    public String toString() {
+        CompilerAsserts.neverPartOfCompilation();
+        StringBuilder builder = new StringBuilder();
+        builder.append("longKeys(size=").append(size).append(", {");
+        String sep = "";
+        for (int i = 0, printed = 0; i < usedEntries; i++) {
+            if (values[i] != null) {
+                if (++printed >= 100) {
+                    builder.append("...");
+                    break;
+                }
+                builder.append(sep).append("(").append(keys[i]).append(",").append(values[i]).append(")");
+                sep = ",";
+            }
+        }
+        builder.append("})");
+        return builder.toString();
+    }
+}
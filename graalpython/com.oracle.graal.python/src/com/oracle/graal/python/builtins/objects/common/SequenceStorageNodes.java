@@ -3535,14 +3535,8 @@ public abstract class SequenceStorageNodes {
         public abstract Object[] execute(SequenceStorage s);
 
         @Specialization
-        static Object[] doObjectSequenceStorage(ObjectSequenceStorage s,
-                        @Cached ConditionProfile profile) {
-            Object[] objects = GetInternalObjectArrayNode.doObjectSequenceStorage(s);
-            int storageLength = s.length();
-            if (profile.profile(storageLength != objects.length)) {
-                return exactCopy(objects, storageLength);
-            }
-            return objects;
+        static Object[] doObjectSequenceStorage(ObjectSequenceStorage s) {
+            return s.getItemsForReading();
         }
 
         @Specialization(guards = "!isObjectSequenceStorage(s)")
@@ -3551,10 +3545,6 @@ public abstract class SequenceStorageNodes {
             return getInternalObjectArrayNode.execute(s);
         }
 
-        private static Object[] exactCopy(Object[] barr, int len) {
-            return PythonUtils.arrayCopyOf(barr, len);
-        }
-
         static boolean isObjectSequenceStorage(SequenceStorage s) {
             return s instanceof ObjectSequenceStorage;
         }
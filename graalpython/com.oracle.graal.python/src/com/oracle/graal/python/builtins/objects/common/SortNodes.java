@@ -49,6 +49,10 @@ import com.oracle.graal.python.PythonLanguage;
 import com.oracle.graal.python.builtins.objects.PNone;
 import com.oracle.graal.python.builtins.objects.function.PArguments;
 import com.oracle.graal.python.builtins.objects.function.Signature;
+import com.oracle.graal.python.builtins.objects.operator.AttrGetterBuiltins.AttrGetterCallNode;
+import com.oracle.graal.python.builtins.objects.operator.ItemGetterBuiltins.ItemGetterCallNode;
+import com.oracle.graal.python.builtins.objects.operator.PAttrGetter;
+import com.oracle.graal.python.builtins.objects.operator.PItemGetter;
 import com.oracle.graal.python.builtins.objects.str.StringUtils;
 import com.oracle.graal.python.lib.PyObjectIsTrueNode;
 import com.oracle.graal.python.nodes.PNodeWithContext;
@@ -155,6 +159,33 @@ public abstract class SortNodes {
         }
     }
 
+    /**
+     * Computes the sort key of one element. Key functions created by {@code operator.itemgetter}
+     * and {@code operator.attrgetter} are evaluated inline instead of going through a call, so
+     * that e.g. {@code sorted(rows, key=itemgetter(2))} only performs the item lookups.
+     */
+    abstract static class GetSortKeyNode extends PNodeWithContext {
+        abstract Object execute(VirtualFrame frame, Object keyfunc, Object value);
+
+        @Specialization
+        static Object doItemGetter(VirtualFrame frame, PItemGetter keyfunc, Object value,
+                        @Cached ItemGetterCallNode itemGetterCallNode) {
+            return itemGetterCallNode.execute(frame, keyfunc, value);
+        }
+
+        @Specialization
+        static Object doAttrGetter(VirtualFrame frame, PAttrGetter keyfunc, Object value,
+                        @Cached AttrGetterCallNode attrGetterCallNode) {
+            return attrGetterCallNode.execute(frame, keyfunc, value);
+        }
+
+        @Fallback
+        static Object doGeneric(VirtualFrame frame, Object keyfunc, Object value,
+                        @Cached CallNode callNode) {
+            return callNode.execute(frame, keyfunc, value);
+        }
+    }
+
     public abstract static class SortSequenceStorageNode extends PNodeWithContext {
 
         @CompilationFinal private RootCallTarget comparatorCallTarget;
@@ -265,15 +296,15 @@ public abstract class SortNodes {
 
         @Specialization(guards = "!isPNone(keyfunc)")
         void sort(VirtualFrame frame, ObjectSequenceStorage storage, Object keyfunc, boolean reverse,
-                        @Cached CallNode callNode,
+                        @Cached GetSortKeyNode getSortKeyNode,
                         @Cached CallContext callContext) {
-            sortWithKey(frame, storage.getInternalArray(), storage.length(), keyfunc, reverse, callNode, callContext);
+            sortWithKey(frame, storage.getInternalArray(), storage.length(), keyfunc, reverse, getSortKeyNode, callContext);
         }
 
         @Fallback
         void sort(VirtualFrame frame, SequenceStorage storage, Object keyfunc, boolean reverse,
                         @Cached CallContext callContext,
-                        @Cached CallNode callNode,
+                        @Cached GetSortKeyNode getSortKeyNode,
                         @Cached SequenceStorageNodes.GetItemScalarNode getItemScalarNode,
                         @Cached SequenceStorageNodes.SetItemScalarNode setItemScalarNode) {
             int len = storage.length();
@@ -284,7 +315,7 @@ public abstract class SortNodes {
             if (keyfunc instanceof PNone) {
                 sortWithoutKey(frame, array, len, reverse, callContext);
             } else {
-                sortWithKey(frame, array, len, keyfunc, reverse, callNode, callContext);
+                sortWithKey(frame, array, len, keyfunc, reverse, getSortKeyNode, callContext);
             }
             for (int i = 0; i < len; i++) {
                 setItemScalarNode.execute(storage, i, array[i]);
@@ -363,7 +394,7 @@ public abstract class SortNodes {
             }
         }
 
-        private void sortWithKey(VirtualFrame frame, Object[] array, int len, Object keyfunc, boolean reverse, CallNode callNode, CallContext callContext) {
+        private void sortWithKey(VirtualFrame frame, Object[] array, int len, Object keyfunc, boolean reverse, GetSortKeyNode getSortKeyNode, CallContext callContext) {
             if (len <= 1) {
                 return;
             }
@@ -379,13 +410,13 @@ public abstract class SortNodes {
              * Look at the first key and determine which comparator we could use to compare if the
              * keys turn all to be the same primitive type
              */
-            Object key = callNode.execute(frame, keyfunc, array[0]);
+            Object key = getSortKeyNode.execute(frame, keyfunc, array[0]);
             pairArray[reverse ? len - 1 : 0] = new SortingPair(key, array[0]);
             Class<?> keyClass = keyClassProfile.profile(key.getClass());
             KeySortComparator keySortComparator = KeySortComparator.forClass(keyClass);
 
             for (int i = 1; i < len; i++) {
-                key = callNode.execute(frame, keyfunc, array[i]);
+                key = getSortKeyNode.execute(frame, keyfunc, array[i]);
                 /* Check if the keys are all of the same type */
                 if (keySortComparator != null && key.getClass() != keySortComparator.clazz) {
                     keySortComparator = null;
@@ -104,6 +104,7 @@ import com.oracle.graal.python.nodes.function.builtins.PythonClinicBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonTernaryBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentClinicProvider;
+import com.oracle.graal.python.nodes.interop.GetHostPrimitiveArrayNode;
 import com.oracle.graal.python.nodes.object.GetClassNode;
 import com.oracle.graal.python.nodes.truffle.PythonArithmeticTypes;
 import com.oracle.graal.python.nodes.util.CastToTruffleStringNode;
@@ -246,10 +247,16 @@ public class ListBuiltins extends PythonBuiltins {
 
         @Specialization(guards = {"!isNoValue(iterable)", "!isString(iterable)"})
         static PNone listIterable(VirtualFrame frame, PList list, Object iterable,
+                        @Cached GetHostPrimitiveArrayNode getHostArrayNode,
                         @Cached IteratorNodes.GetLength lenNode,
                         @Cached PyObjectGetIter getIter,
                         @Cached CreateStorageFromIteratorNode storageNode) {
             clearStorage(list);
+            Object hostArray = getHostArrayNode.execute(iterable);
+            if (hostArray != null) {
+                list.setSequenceStorage(GetHostPrimitiveArrayNode.toSequenceStorage(hostArray));
+                return PNone.NONE;
+            }
             int len = lenNode.execute(frame, iterable);
             Object iterObj = getIter.execute(frame, iterable);
             list.setSequenceStorage(storageNode.execute(frame, iterObj, len));
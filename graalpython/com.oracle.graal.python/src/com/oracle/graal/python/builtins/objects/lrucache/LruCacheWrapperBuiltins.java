@@ -0,0 +1,274 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.lrucache;
+
+import static com.oracle.graal.python.nodes.SpecialAttributeNames.T___QUALNAME__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___CALL__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___COPY__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___DEEPCOPY__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___GET__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___REDUCE__;
+
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.common.ObjectHashMap;
+import com.oracle.graal.python.builtins.objects.function.PKeyword;
+import com.oracle.graal.python.builtins.objects.lrucache.PLruCacheWrapper.LruEntry;
+import com.oracle.graal.python.lib.PyLongCheckExactNode;
+import com.oracle.graal.python.lib.PyObjectGetAttr;
+import com.oracle.graal.python.lib.PyObjectHashNode;
+import com.oracle.graal.python.lib.PyUnicodeCheckExactNode;
+import com.oracle.graal.python.nodes.PNodeWithContext;
+import com.oracle.graal.python.nodes.call.CallNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonVarargsBuiltinNode;
+import com.oracle.graal.python.nodes.object.GetClassNode;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Cached.Shared;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.profiles.ConditionProfile;
+
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PLruCacheWrapper)
+public final class LruCacheWrapperBuiltins extends PythonBuiltins {
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return LruCacheWrapperBuiltinsFactory.getFactories();
+    }
+
+    /**
+     * Builds the cache key like {@code functools._make_key}: a single {@code int} or {@code str}
+     * argument is used as is, everything else is flattened into a tuple. Unlike the Python version,
+     * no {@code _HashedSeq} wrapper is needed because the hash is computed once by the caller and
+     * passed to the map explicitly.
+     */
+    abstract static class MakeKeyNode extends PNodeWithContext {
+        abstract Object execute(VirtualFrame frame, PLruCacheWrapper self, Object[] args, PKeyword[] keywords);
+
+        @Specialization
+        static Object makeKey(PLruCacheWrapper self, Object[] args, PKeyword[] keywords,
+                        @Cached ConditionProfile singleArgProfile,
+                        @Cached PyLongCheckExactNode longCheckExactNode,
+                        @Cached PyUnicodeCheckExactNode unicodeCheckExactNode,
+                        @Cached GetClassNode getClassNode,
+                        @Cached PythonObjectFactory factory) {
+            boolean typed = self.isTyped();
+            if (singleArgProfile.profile(args.length == 1 && keywords.length == 0 && !typed)) {
+                Object arg = args[0];
+                if (longCheckExactNode.execute(arg) || unicodeCheckExactNode.execute(arg)) {
+                    return arg;
+                }
+            }
+            int size = args.length;
+            if (keywords.length > 0) {
+                size += 1 + 2 * keywords.length;
+            }
+            if (typed) {
+                size += args.length + keywords.length;
+            }
+            Object[] key = new Object[size];
+            int i = 0;
+            for (Object arg : args) {
+                key[i++] = arg;
+            }
+            if (keywords.length > 0) {
+                key[i++] = self.getKwdMark();
+                for (PKeyword kw : keywords) {
+                    key[i++] = kw.getName();
+                    key[i++] = kw.getValue();
+                }
+            }
+            if (typed) {
+                for (Object arg : args) {
+                    key[i++] = getClassNode.execute(arg);
+                }
+                for (PKeyword kw : keywords) {
+                    key[i++] = getClassNode.execute(kw.getValue());
+                }
+            }
+            assert i == size;
+            return factory.createTuple(key);
+        }
+    }
+
+    @Builtin(name = J___CALL__, minNumOfPositionalArgs = 1, takesVarArgs = true, takesVarKeywordArgs = true)
+    @GenerateNodeFactory
+    abstract static class LruCacheWrapperCallNode extends PythonVarargsBuiltinNode {
+        @Specialization(guards = "self.isUncached()")
+        static Object callUncached(VirtualFrame frame, PLruCacheWrapper self, Object[] args, PKeyword[] keywords,
+                        @Shared("callNode") @Cached CallNode callNode) {
+            self.incrementMisses();
+            return callNode.execute(frame, self.getFunction(), args, keywords);
+        }
+
+        @Specialization(guards = "self.isUnbounded()")
+        static Object callUnbounded(VirtualFrame frame, PLruCacheWrapper self, Object[] args, PKeyword[] keywords,
+                        @Shared("makeKey") @Cached MakeKeyNode makeKeyNode,
+                        @Shared("hashNode") @Cached PyObjectHashNode hashNode,
+                        @Shared("getNode") @Cached ObjectHashMap.GetNode getNode,
+                        @Shared("putNode") @Cached ObjectHashMap.PutNode putNode,
+                        @Shared("hitProfile") @Cached ConditionProfile hitProfile,
+                        @Shared("callNode") @Cached CallNode callNode) {
+            Object key = makeKeyNode.execute(frame, self, args, keywords);
+            long hash = hashNode.execute(frame, key);
+            Object result = getNode.get(frame, self.getCache(), key, hash);
+            if (hitProfile.profile(result != null)) {
+                self.incrementHits();
+                return result;
+            }
+            self.incrementMisses();
+            result = callNode.execute(frame, self.getFunction(), args, keywords);
+            putNode.put(frame, self.getCache(), key, hash, result);
+            return result;
+        }
+
+        @Specialization(guards = "self.isBounded()")
+        static Object callBounded(VirtualFrame frame, PLruCacheWrapper self, Object[] args, PKeyword[] keywords,
+                        @Shared("makeKey") @Cached MakeKeyNode makeKeyNode,
+                        @Shared("hashNode") @Cached PyObjectHashNode hashNode,
+                        @Shared("getNode") @Cached ObjectHashMap.GetNode getNode,
+                        @Shared("putNode") @Cached ObjectHashMap.PutNode putNode,
+                        @Cached ObjectHashMap.RemoveNode removeNode,
+                        @Shared("hitProfile") @Cached ConditionProfile hitProfile,
+                        @Cached ConditionProfile fullProfile,
+                        @Shared("callNode") @Cached CallNode callNode) {
+            Object key = makeKeyNode.execute(frame, self, args, keywords);
+            long hash = hashNode.execute(frame, key);
+            ObjectHashMap cache = self.getCache();
+            LruEntry entry = (LruEntry) getNode.get(frame, cache, key, hash);
+            if (hitProfile.profile(entry != null)) {
+                self.moveToMostRecent(entry);
+                self.incrementHits();
+                return entry.getResult();
+            }
+            self.incrementMisses();
+            Object result = callNode.execute(frame, self.getFunction(), args, keywords);
+            if (getNode.get(frame, cache, key, hash) != null) {
+                // the same key was added by a recursive call or another thread in the meantime
+                return result;
+            }
+            if (fullProfile.profile(cache.size() >= self.getMaxsize())) {
+                LruEntry oldest = self.popLeastRecentlyUsed();
+                if (oldest != null) {
+                    removeNode.remove(frame, cache, oldest.getKey(), oldest.getHash());
+                }
+            }
+            entry = new LruEntry(key, hash, result);
+            putNode.put(frame, cache, key, hash, entry);
+            self.linkAsMostRecent(entry);
+            return result;
+        }
+    }
+
+    @Builtin(name = "cache_info", minNumOfPositionalArgs = 1, doc = "Report cache statistics")
+    @GenerateNodeFactory
+    abstract static class CacheInfoNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object cacheInfo(VirtualFrame frame, PLruCacheWrapper self,
+                        @Cached CallNode callNode) {
+            return callNode.execute(frame, self.getCacheInfoType(), self.getHits(), self.getMisses(), self.getMaxsizeObject(), self.getCache().size());
+        }
+    }
+
+    @Builtin(name = "cache_clear", minNumOfPositionalArgs = 1, doc = "Clear the cache and cache statistics")
+    @GenerateNodeFactory
+    abstract static class CacheClearNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object cacheClear(PLruCacheWrapper self) {
+            self.clear();
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = J___GET__, minNumOfPositionalArgs = 2, maxNumOfPositionalArgs = 3)
+    @GenerateNodeFactory
+    @SuppressWarnings("unused")
+    abstract static class LruCacheWrapperGetNode extends PythonTernaryBuiltinNode {
+        @Specialization(guards = "!isPNone(instance)")
+        Object doMethod(PLruCacheWrapper self, Object instance, Object owner) {
+            return factory().createMethod(instance, self);
+        }
+
+        @Specialization
+        static Object doNone(PLruCacheWrapper self, PNone instance, Object owner) {
+            return self;
+        }
+    }
+
+    @Builtin(name = J___REDUCE__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class LruCacheWrapperReduceNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object reduce(VirtualFrame frame, PLruCacheWrapper self,
+                        @Cached PyObjectGetAttr getAttr) {
+            return getAttr.execute(frame, self, T___QUALNAME__);
+        }
+    }
+
+    @Builtin(name = J___COPY__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class LruCacheWrapperCopyNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object copy(PLruCacheWrapper self) {
+            return self;
+        }
+    }
+
+    @Builtin(name = J___DEEPCOPY__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class LruCacheWrapperDeepCopyNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object deepcopy(PLruCacheWrapper self, @SuppressWarnings("unused") Object memo) {
+            return self;
+        }
+    }
+}
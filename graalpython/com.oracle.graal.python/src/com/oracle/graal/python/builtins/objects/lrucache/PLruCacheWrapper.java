@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.lrucache;
+
+import com.oracle.graal.python.builtins.objects.common.ObjectHashMap;
+import com.oracle.graal.python.builtins.objects.object.PythonBuiltinObject;
+import com.oracle.truffle.api.object.Shape;
+
+/**
+ * The object behind {@code functools.lru_cache}. The cache maps keys to {@link LruEntry} objects
+ * which are additionally linked into a circular list, ordered from the least to the most recently
+ * used entry. All mutations happen while holding the GIL, so no additional locking is needed.
+ */
+public final class PLruCacheWrapper extends PythonBuiltinObject {
+    /** The {@link #getMaxsize() maxsize} of a cache that is not size limited. */
+    public static final int UNBOUNDED = -1;
+
+    public static final class LruEntry {
+        private LruEntry prev;
+        private LruEntry next;
+        private final Object key;
+        private final long hash;
+        private final Object result;
+
+        public LruEntry(Object key, long hash, Object result) {
+            this.key = key;
+            this.hash = hash;
+            this.result = result;
+        }
+
+        public Object getKey() {
+            return key;
+        }
+
+        public long getHash() {
+            return hash;
+        }
+
+        public Object getResult() {
+            return result;
+        }
+    }
+
+    private final Object function;
+    private final Object maxsizeObject;
+    private final int maxsize;
+    private final boolean typed;
+    private final Object cacheInfoType;
+    /** Separates positional from keyword arguments in cache keys. */
+    private final Object kwdMark;
+    private final ObjectHashMap cache = new ObjectHashMap();
+    private final LruEntry root = new LruEntry(null, 0, null);
+    private long hits;
+    private long misses;
+
+    public PLruCacheWrapper(Object cls, Shape instanceShape, Object function, Object maxsizeObject, int maxsize, boolean typed, Object cacheInfoType, Object kwdMark) {
+        super(cls, instanceShape);
+        this.function = function;
+        this.maxsizeObject = maxsizeObject;
+        this.maxsize = maxsize;
+        this.typed = typed;
+        this.cacheInfoType = cacheInfoType;
+        this.kwdMark = kwdMark;
+        root.prev = root;
+        root.next = root;
+    }
+
+    public Object getFunction() {
+        return function;
+    }
+
+    public Object getMaxsizeObject() {
+        return maxsizeObject;
+    }
+
+    public int getMaxsize() {
+        return maxsize;
+    }
+
+    /** {@code maxsize=0}: every call is a miss and nothing is stored. */
+    public boolean isUncached() {
+        return maxsize == 0;
+    }
+
+    public boolean isUnbounded() {
+        return maxsize == UNBOUNDED;
+    }
+
+    public boolean isBounded() {
+        return maxsize > 0;
+    }
+
+    public boolean isTyped() {
+        return typed;
+    }
+
+    public Object getCacheInfoType() {
+        return cacheInfoType;
+    }
+
+    public Object getKwdMark() {
+        return kwdMark;
+    }
+
+    public ObjectHashMap getCache() {
+        return cache;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public void incrementHits() {
+        hits++;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public void incrementMisses() {
+        misses++;
+    }
+
+    /**
+     * Links the entry as the most recently used one. The caller is responsible for also putting it
+     * into the {@link #getCache() cache}.
+     */
+    public void linkAsMostRecent(LruEntry entry) {
+        LruEntry last = root.prev;
+        last.next = entry;
+        entry.prev = last;
+        entry.next = root;
+        root.prev = entry;
+    }
+
+    public void moveToMostRecent(LruEntry entry) {
+        unlink(entry);
+        linkAsMostRecent(entry);
+    }
+
+    /**
+     * Unlinks and returns the least recently used entry, or {@code null} if there is none. The
+     * caller is responsible for also removing it from the {@link #getCache() cache}.
+     */
+    public LruEntry popLeastRecentlyUsed() {
+        LruEntry oldest = root.next;
+        if (oldest == root) {
+            return null;
+        }
+        unlink(oldest);
+        return oldest;
+    }
+
+    public void clear() {
+        cache.clear();
+        root.prev = root;
+        root.next = root;
+        hits = 0;
+        misses = 0;
+    }
+
+    private static void unlink(LruEntry entry) {
+        entry.prev.next = entry.next;
+        entry.next.prev = entry.prev;
+    }
+}
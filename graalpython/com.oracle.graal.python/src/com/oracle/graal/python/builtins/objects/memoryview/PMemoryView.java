@@ -57,6 +57,7 @@ import com.oracle.graal.python.runtime.PythonContext;
 import com.oracle.graal.python.util.BufferFormat;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Cached.Shared;
+import com.oracle.truffle.api.interop.InteropLibrary;
 import com.oracle.truffle.api.library.CachedLibrary;
 import com.oracle.truffle.api.library.ExportLibrary;
 import com.oracle.truffle.api.library.ExportMessage;
@@ -65,6 +66,7 @@ import com.oracle.truffle.api.object.Shape;
 import com.oracle.truffle.api.strings.TruffleString;
 
 // TODO interop library
+@ExportLibrary(InteropLibrary.class)
 @ExportLibrary(PythonBufferAcquireLibrary.class)
 @ExportLibrary(PythonBufferAccessLibrary.class)
 public final class PMemoryView extends PythonBuiltinObject {
@@ -341,6 +343,12 @@ public final class PMemoryView extends PythonBuiltinObject {
         return readonly;
     }
 
+    @ExportMessage
+    public static boolean hasBufferElements(PMemoryView self) {
+        // the buffer access messages are only valid for live contiguous views
+        return !self.isReleased() && self.isCContiguous();
+    }
+
     @ExportMessage
     boolean hasInternalByteArray(
                     @Shared("bufferLib") @CachedLibrary(limit = "3") PythonBufferAccessLibrary bufferLib) {
@@ -381,7 +389,7 @@ public final class PMemoryView extends PythonBuiltinObject {
     byte readByte(int byteOffset,
                     @Shared("bufferLib") @CachedLibrary(limit = "3") PythonBufferAccessLibrary bufferLib) {
         assert isCContiguous() && !isReleased();
-        return bufferLib.readByte(buffer, byteOffset);
+        return bufferLib.readByte(buffer, offset + byteOffset);
     }
 
     @ExportMessage
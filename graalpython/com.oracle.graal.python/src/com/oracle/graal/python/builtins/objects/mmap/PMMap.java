@@ -53,6 +53,7 @@ import com.oracle.graal.python.runtime.PythonContext;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Cached.Exclusive;
 import com.oracle.truffle.api.dsl.Cached.Shared;
+import com.oracle.truffle.api.interop.InteropLibrary;
 import com.oracle.truffle.api.library.CachedLibrary;
 import com.oracle.truffle.api.library.ExportLibrary;
 import com.oracle.truffle.api.library.ExportMessage;
@@ -60,6 +61,7 @@ import com.oracle.truffle.api.object.Shape;
 import com.oracle.truffle.api.profiles.BranchProfile;
 import com.oracle.truffle.api.strings.TruffleString;
 
+@ExportLibrary(InteropLibrary.class)
 @ExportLibrary(PythonBufferAcquireLibrary.class)
 @ExportLibrary(PythonBufferAccessLibrary.class)
 public final class PMMap extends PythonObject {
@@ -106,6 +108,11 @@ public final class PMMap extends PythonObject {
         return !isWriteable();
     }
 
+    @ExportMessage
+    public static boolean hasBufferElements(PMMap self) {
+        return !self.isClosed();
+    }
+
     public boolean isWriteable() {
         return access != ACCESS_READ;
     }
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.operator;
+
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___CALL__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___REDUCE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___REPR__;
+import static com.oracle.graal.python.nodes.StringLiterals.T_COMMA_SPACE;
+import static com.oracle.graal.python.nodes.StringLiterals.T_LPAREN;
+import static com.oracle.graal.python.nodes.StringLiterals.T_RPAREN;
+import static com.oracle.graal.python.util.PythonUtils.TS_ENCODING;
+
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.object.ObjectNodes;
+import com.oracle.graal.python.lib.PyObjectGetAttr;
+import com.oracle.graal.python.lib.PyObjectReprAsTruffleStringNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.object.GetClassNode;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Cached.Shared;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.strings.TruffleString;
+import com.oracle.truffle.api.strings.TruffleStringBuilder;
+
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PAttrGetter)
+public final class AttrGetterBuiltins extends PythonBuiltins {
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return AttrGetterBuiltinsFactory.getFactories();
+    }
+
+    @Builtin(name = J___CALL__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    public abstract static class AttrGetterCallNode extends PythonBinaryBuiltinNode {
+        @Specialization(guards = "self.isSingleAttr()")
+        static Object getAttr(VirtualFrame frame, PAttrGetter self, Object obj,
+                        @Shared("getAttr") @Cached PyObjectGetAttr getAttr) {
+            return getPath(frame, obj, self.getPaths()[0], getAttr);
+        }
+
+        @Specialization(guards = "!self.isSingleAttr()")
+        Object getAttrs(VirtualFrame frame, PAttrGetter self, Object obj,
+                        @Shared("getAttr") @Cached PyObjectGetAttr getAttr) {
+            TruffleString[][] paths = self.getPaths();
+            Object[] result = new Object[paths.length];
+            for (int i = 0; i < paths.length; i++) {
+                result[i] = getPath(frame, obj, paths[i], getAttr);
+            }
+            return factory().createTuple(result);
+        }
+
+        private static Object getPath(VirtualFrame frame, Object obj, TruffleString[] path, PyObjectGetAttr getAttr) {
+            Object result = obj;
+            for (TruffleString name : path) {
+                result = getAttr.execute(frame, result, name);
+            }
+            return result;
+        }
+
+        public static AttrGetterCallNode create() {
+            return AttrGetterBuiltinsFactory.AttrGetterCallNodeFactory.create();
+        }
+    }
+
+    @Builtin(name = J___REPR__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class AttrGetterReprNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static TruffleString repr(VirtualFrame frame, PAttrGetter self,
+                        @Cached ObjectNodes.GetFullyQualifiedClassNameNode classNameNode,
+                        @Cached PyObjectReprAsTruffleStringNode reprNode,
+                        @Cached TruffleStringBuilder.AppendStringNode appendStringNode,
+                        @Cached TruffleStringBuilder.ToStringNode toStringNode) {
+            TruffleStringBuilder sb = TruffleStringBuilder.create(TS_ENCODING);
+            appendStringNode.execute(sb, classNameNode.execute(frame, self));
+            appendStringNode.execute(sb, T_LPAREN);
+            Object[] attrs = self.getAttrs();
+            for (int i = 0; i < attrs.length; i++) {
+                if (i > 0) {
+                    appendStringNode.execute(sb, T_COMMA_SPACE);
+                }
+                appendStringNode.execute(sb, reprNode.execute(frame, attrs[i]));
+            }
+            appendStringNode.execute(sb, T_RPAREN);
+            return toStringNode.execute(sb);
+        }
+    }
+
+    @Builtin(name = J___REDUCE__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class AttrGetterReduceNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object reduce(PAttrGetter self,
+                        @Cached GetClassNode getClassNode) {
+            return factory().createTuple(new Object[]{getClassNode.execute(self), factory().createTuple(self.getAttrs())});
+        }
+    }
+}
@@ -158,6 +158,7 @@ import com.oracle.graal.python.nodes.util.CastToJavaIntExactNode;
 import com.oracle.graal.python.nodes.util.CastToTruffleStringNode;
 import com.oracle.graal.python.runtime.ExecutionContext.IndirectCallContext;
 import com.oracle.graal.python.runtime.PythonContext;
+import com.oracle.graal.python.runtime.PythonOptions;
 import com.oracle.graal.python.runtime.exception.PException;
 import com.oracle.graal.python.runtime.formatting.InternalFormat;
 import com.oracle.graal.python.runtime.formatting.InternalFormat.Spec;
@@ -508,10 +509,15 @@ public final class StringBuiltins extends PythonBuiltins {
     @Builtin(name = J___ADD__, minNumOfPositionalArgs = 2)
     @GenerateNodeFactory
     public abstract static class AddNode extends PythonBinaryBuiltinNode {
+        /**
+         * With {@link PythonOptions#LazyStrings}, the result is a lazy concatenation that is only
+         * flattened when its contents are first needed. This keeps loops that build a string with
+         * repeated {@code s += piece} linear.
+         */
         @Specialization
         TruffleString doIt(TruffleString self, TruffleString other,
                         @Shared("concat") @Cached TruffleString.ConcatNode concatNode) {
-            return concatNode.execute(self, other, TS_ENCODING, false);
+            return concatNode.execute(self, other, TS_ENCODING, getLanguage().getEngineOption(PythonOptions.LazyStrings));
         }
 
         @Specialization
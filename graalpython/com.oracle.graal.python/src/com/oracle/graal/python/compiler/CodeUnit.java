@@ -279,6 +279,7 @@ public final class CodeUnit {
                         line[4] = String.format("% 2d", (byte) oparg);
                         break;
                     case LOAD_CONST:
+                    case RETURN_CONST:
                     case LOAD_BIGINT:
                     case LOAD_STRING:
                     case LOAD_BYTES:
@@ -349,6 +350,9 @@ public final class CodeUnit {
                     case DELETE_FAST:
                         line[5] = varnames[oparg].toJavaStringUncached();
                         break;
+                    case LOAD_FAST_LOAD_ATTR:
+                        line[5] = varnames[Byte.toUnsignedInt(followingArgs[0])].toJavaStringUncached() + "." + names[oparg].toJavaStringUncached();
+                        break;
                     case LOAD_NAME:
                     case LOAD_METHOD:
                     case STORE_NAME:
@@ -395,6 +399,9 @@ public final class CodeUnit {
                     case BINARY_OP:
                         line[5] = BinaryOps.values()[oparg].toString();
                         break;
+                    case CALL_FUSED_GENEXPR:
+                        line[5] = FusedGenexprCall.values()[oparg].toString();
+                        break;
                     case COLLECTION_FROM_STACK:
                     case COLLECTION_ADD_STACK:
                     case COLLECTION_FROM_COLLECTION:
@@ -55,6 +55,7 @@ import java.util.Comparator;
 import java.util.Deque;
 import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.SortedSet;
@@ -89,6 +90,11 @@ public final class CompilationUnit {
     final String privateName;
     BlockInfo blockInfo;
     int conditionProfileCount;
+    /**
+     * Set when the generator expression scope is compiled as the fused function for
+     * {@link OpCodes#CALL_FUSED_GENEXPR}, which is not a generator.
+     */
+    boolean fusedGenexpr;
 
     Block currentBlock = startBlock;
     int maxStackSize = 0;
@@ -181,6 +187,10 @@ public final class CompilationUnit {
 
     public CodeUnit assemble() {
         addImplicitReturn();
+        threadJumps();
+        computeStackLevels();
+        removeUnreachableCode();
+        fuseInstructions();
         calculateJumpInstructionArguments();
 
         SourceMap.Builder sourceMapBuilder = new SourceMap.Builder(startLocation.startLine, startLocation.startColumn);
@@ -188,8 +198,6 @@ public final class CompilationUnit {
         // The actual bytecodes
         ByteArrayOutputStream buf = new ByteArrayOutputStream();
 
-        computeStackLevels();
-
         int varCount = varnames.size();
         List<Instruction> quickenedInstructions = new ArrayList<>();
         List<List<Instruction>> variableStores = new ArrayList<>(varCount);
@@ -237,6 +245,8 @@ public final class CompilationUnit {
                     variableStores.get(i.arg).add(i);
                 } else if (i.opcode == OpCodes.LOAD_FAST) {
                     boxingMetric[i.arg] += i.quickenOutput != 0 ? quickenMetricWeight : -quickenMetricWeight;
+                } else if (i.opcode == OpCodes.LOAD_FAST_LOAD_ATTR) {
+                    boxingMetric[Byte.toUnsignedInt(i.followingArgs[0])] -= quickenMetricWeight;
                 }
                 i.bci = buf.size();
                 emitBytecode(i, buf, sourceMapBuilder);
@@ -257,9 +267,10 @@ public final class CompilationUnit {
         if (scope.isModule()) {
             flags |= PCode.CO_GRAALPYHON_MODULE;
         }
-        if (scope.isGenerator() && scope.isCoroutine()) {
+        boolean isGenerator = scope.isGenerator() && !fusedGenexpr;
+        if (isGenerator && scope.isCoroutine()) {
             flags |= PCode.CO_ASYNC_GENERATOR;
-        } else if (scope.isGenerator()) {
+        } else if (isGenerator) {
             flags |= PCode.CO_GENERATOR;
         } else if (scope.isCoroutine()) {
             flags |= PCode.CO_COROUTINE;
@@ -280,11 +291,10 @@ public final class CompilationUnit {
         for (Instruction insn : quickenedInstructions) {
             finishedCanQuickenOutput[insn.bci] = insn.quickenOutput;
             if (insn.quickeningGeneralizeList != null && insn.quickeningGeneralizeList.size() > 0) {
-                finishedGeneralizeInputsMap[insn.bci] = new int[insn.quickeningGeneralizeList.size()];
-                for (int j = 0; j < finishedGeneralizeInputsMap[insn.bci].length; j++) {
-                    int bci = insn.quickeningGeneralizeList.get(j).bci;
-                    assert bci >= 0;
-                    finishedGeneralizeInputsMap[insn.bci][j] = bci;
+                // inputs produced by removed unreachable code have no bci
+                int[] generalizeInputs = insn.quickeningGeneralizeList.stream().mapToInt(input -> input.bci).filter(inputBci -> inputBci >= 0).toArray();
+                if (generalizeInputs.length > 0) {
+                    finishedGeneralizeInputsMap[insn.bci] = generalizeInputs;
                 }
             }
         }
@@ -295,7 +305,7 @@ public final class CompilationUnit {
                 }
             }
         }
-        if (!scope.isGenerator()) {
+        if (!isGenerator) {
             /*
              * We do an optimization in the interpreter that we don't unbox variables that would
              * mostly get boxed again. This helps for interpreter performance, but for compiled code
@@ -340,7 +350,117 @@ public final class CompilationUnit {
         finishedExceptionHandlerRanges.add(range);
     }
 
-    private static final EnumSet<OpCodes> UNCONDITIONAL_JUMP_OPCODES = EnumSet.of(OpCodes.JUMP_BACKWARD, OpCodes.JUMP_FORWARD, OpCodes.RETURN_VALUE, OpCodes.RAISE_VARARGS, OpCodes.END_EXC_HANDLER);
+    private static final EnumSet<OpCodes> UNCONDITIONAL_JUMP_OPCODES = EnumSet.of(OpCodes.JUMP_BACKWARD, OpCodes.JUMP_FORWARD, OpCodes.RETURN_VALUE, OpCodes.RETURN_NONE,
+                    OpCodes.RETURN_CONST, OpCodes.RAISE_VARARGS, OpCodes.END_EXC_HANDLER);
+
+    private static final EnumSet<OpCodes> THREADABLE_JUMP_OPCODES = EnumSet.of(OpCodes.JUMP_BACKWARD, OpCodes.JUMP_FORWARD, OpCodes.POP_AND_JUMP_IF_FALSE, OpCodes.POP_AND_JUMP_IF_TRUE);
+
+    /**
+     * Retargets jumps whose target starts with an unconditional jump directly to the final
+     * destination. Conditional jumps are only retargeted forward, they have no backward variant.
+     */
+    private void threadJumps() {
+        HashMap<Block, Integer> blockOrder = new HashMap<>();
+        int order = 0;
+        for (Block b = startBlock; b != null; b = b.next) {
+            blockOrder.put(b, order++);
+        }
+        for (Block b = startBlock; b != null; b = b.next) {
+            for (Instruction i : b.instr) {
+                if (!THREADABLE_JUMP_OPCODES.contains(i.opcode)) {
+                    continue;
+                }
+                Block target = finalJumpTarget(i.target);
+                if (target == i.target) {
+                    continue;
+                }
+                boolean forward = blockOrder.get(target) > blockOrder.get(b);
+                if (i.opcode == OpCodes.JUMP_FORWARD || i.opcode == OpCodes.JUMP_BACKWARD) {
+                    i.opcode = forward ? OpCodes.JUMP_FORWARD : OpCodes.JUMP_BACKWARD;
+                } else if (!forward) {
+                    continue;
+                }
+                i.target = target;
+            }
+        }
+    }
+
+    private static Block finalJumpTarget(Block block) {
+        Block target = block;
+        HashSet<Block> visited = new HashSet<>();
+        while (visited.add(target)) {
+            Block first = target;
+            while (first.instr.isEmpty() && first.next != null) {
+                first = first.next;
+            }
+            if (first.instr.isEmpty()) {
+                break;
+            }
+            Instruction i = first.instr.get(0);
+            if (i.opcode != OpCodes.JUMP_FORWARD && i.opcode != OpCodes.JUMP_BACKWARD) {
+                break;
+            }
+            target = i.target;
+        }
+        return target;
+    }
+
+    /**
+     * Drops blocks that were not reached by {@link #computeStackLevels()} and instructions
+     * following an unconditional jump within a block.
+     */
+    private void removeUnreachableCode() {
+        Block prev = startBlock;
+        truncateAfterUnconditionalJump(startBlock);
+        for (Block b = startBlock.next; b != null; b = b.next) {
+            if (b.stackLevel == -1) {
+                prev.next = b.next;
+            } else {
+                truncateAfterUnconditionalJump(b);
+                prev = b;
+            }
+        }
+    }
+
+    private static void truncateAfterUnconditionalJump(Block block) {
+        for (int i = 0; i < block.instr.size() - 1; i++) {
+            if (UNCONDITIONAL_JUMP_OPCODES.contains(block.instr.get(i).opcode)) {
+                block.instr.subList(i + 1, block.instr.size()).clear();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Replaces common instruction pairs within a block with superinstructions.
+     */
+    private void fuseInstructions() {
+        for (Block b = startBlock; b != null; b = b.next) {
+            for (int i = 1; i < b.instr.size(); i++) {
+                Instruction fused = fuse(b.instr.get(i - 1), b.instr.get(i));
+                if (fused != null) {
+                    b.instr.set(i - 1, fused);
+                    b.instr.remove(i);
+                }
+            }
+        }
+    }
+
+    private static Instruction fuse(Instruction first, Instruction second) {
+        if (first.quickenOutput != 0 || first.quickeningGeneralizeList != null || second.quickenOutput != 0 || second.quickeningGeneralizeList != null) {
+            return null;
+        }
+        if (second.opcode == OpCodes.RETURN_VALUE) {
+            if (first.opcode == OpCodes.LOAD_NONE) {
+                return new Instruction(OpCodes.RETURN_NONE, 0, null, null, second.location);
+            } else if (first.opcode == OpCodes.LOAD_CONST || first.opcode == OpCodes.LOAD_STRING) {
+                return new Instruction(OpCodes.RETURN_CONST, first.arg, null, null, second.location);
+            }
+        } else if (second.opcode == OpCodes.LOAD_ATTR && first.opcode == OpCodes.LOAD_FAST && first.arg <= 0xFF) {
+            return new Instruction(OpCodes.LOAD_FAST_LOAD_ATTR, second.arg, new byte[]{(byte) first.arg}, null, second.location);
+        }
+        return null;
+    }
 
     private void computeStackLevels() {
         Deque<Block> todo = new ArrayDeque<>();
@@ -352,7 +472,7 @@ public final class CompilationUnit {
             assert level >= 0;
             maxStackSize = Math.max(maxStackSize, level);
             BlockInfo.AbstractExceptionHandler handler = block.findExceptionHandler();
-            if (handler != null) {
+            if (handler != null && !block.instr.isEmpty()) {
                 assert handler.tryBlock.stackLevel != -1;
                 int handlerLevel = handler.tryBlock.stackLevel + handler.exceptionHandler.unwindOffset + 1;
                 computeStackLevels(handler.exceptionHandler, handlerLevel, todo);
@@ -45,6 +45,7 @@ import static com.oracle.graal.python.compiler.OpCodes.BINARY_OP;
 import static com.oracle.graal.python.compiler.OpCodes.BINARY_SUBSCR;
 import static com.oracle.graal.python.compiler.OpCodes.BUILD_SLICE;
 import static com.oracle.graal.python.compiler.OpCodes.CALL_COMPREHENSION;
+import static com.oracle.graal.python.compiler.OpCodes.CALL_FUSED_GENEXPR;
 import static com.oracle.graal.python.compiler.OpCodes.CALL_FUNCTION;
 import static com.oracle.graal.python.compiler.OpCodes.CALL_FUNCTION_KW;
 import static com.oracle.graal.python.compiler.OpCodes.CALL_FUNCTION_VARARGS;
@@ -197,7 +198,7 @@ import com.oracle.truffle.api.strings.TruffleString;
  * Compiler for bytecode interpreter.
  */
 public class Compiler implements SSTreeVisitor<Void> {
-    public static final int BYTECODE_VERSION = 26;
+    public static final int BYTECODE_VERSION = 28;
 
     private final ErrorCallback errorCallback;
 
@@ -210,6 +211,11 @@ public class Compiler implements SSTreeVisitor<Void> {
     CompilationUnit unit;
     List<CompilationUnit> stack = new ArrayList<>();
     private boolean interactive;
+    /*
+     * Set while compiling the bodies of a fused generator expression call. They are compiled twice,
+     * so nested calls are not fused to avoid an exponential number of code units.
+     */
+    private boolean inFusedGenexprCall;
 
     private static class PatternContext {
         ArrayList<String> stores;
@@ -1020,6 +1026,10 @@ public class Compiler implements SSTreeVisitor<Void> {
     public Void visit(ExprTy.BinOp node) {
         SourceRange savedLocation = setLocation(node);
         try {
+            ConstantValue folded = foldBinOp(node);
+            if (folded != null) {
+                return addConstant(folded);
+            }
             node.left.accept(this);
             node.right.accept(this);
             switch (node.op) {
@@ -1071,6 +1081,85 @@ public class Compiler implements SSTreeVisitor<Void> {
         }
     }
 
+    /**
+     * Folds arithmetic on numeric literals. Only operations that cannot fail and whose result
+     * doesn't leave the {@code long} or {@code double} range are folded, everything else is left to
+     * the runtime.
+     */
+    private static ConstantValue foldBinOp(ExprTy.BinOp node) {
+        ConstantValue left = foldConstant(node.left);
+        if (left == null) {
+            return null;
+        }
+        ConstantValue right = foldConstant(node.right);
+        if (right == null) {
+            return null;
+        }
+        if (left.kind == Kind.LONG && right.kind == Kind.LONG) {
+            return foldLongBinOp(node.op, left.getLong(), right.getLong());
+        } else if (left.kind == Kind.DOUBLE || right.kind == Kind.DOUBLE) {
+            double l = left.kind == Kind.LONG ? left.getLong() : left.getDouble();
+            double r = right.kind == Kind.LONG ? right.getLong() : right.getDouble();
+            switch (node.op) {
+                case Add:
+                    return ConstantValue.ofDouble(l + r);
+                case Sub:
+                    return ConstantValue.ofDouble(l - r);
+                case Mult:
+                    return ConstantValue.ofDouble(l * r);
+                default:
+                    return null;
+            }
+        }
+        return null;
+    }
+
+    private static ConstantValue foldConstant(ExprTy expr) {
+        ConstantValue value = null;
+        if (expr instanceof ExprTy.Constant) {
+            value = ((ExprTy.Constant) expr).value;
+        } else if (expr instanceof ExprTy.UnaryOp && ((ExprTy.UnaryOp) expr).op == UnaryOpTy.USub) {
+            value = foldConstant(((ExprTy.UnaryOp) expr).operand);
+            if (value != null) {
+                value = value.negate();
+            }
+        } else if (expr instanceof ExprTy.BinOp) {
+            value = foldBinOp((ExprTy.BinOp) expr);
+        }
+        return value != null && (value.kind == Kind.LONG || value.kind == Kind.DOUBLE) ? value : null;
+    }
+
+    private static ConstantValue foldLongBinOp(OperatorTy op, long l, long r) {
+        try {
+            switch (op) {
+                case Add:
+                    return ConstantValue.ofLong(Math.addExact(l, r));
+                case Sub:
+                    return ConstantValue.ofLong(Math.subtractExact(l, r));
+                case Mult:
+                    return ConstantValue.ofLong(Math.multiplyExact(l, r));
+                case FloorDiv:
+                    return r == 0 || (l == Long.MIN_VALUE && r == -1) ? null : ConstantValue.ofLong(Math.floorDiv(l, r));
+                case Mod:
+                    return r == 0 ? null : ConstantValue.ofLong(Math.floorMod(l, r));
+                case LShift:
+                    return r < 0 || r >= Long.SIZE - 1 || (l << r) >> r != l ? null : ConstantValue.ofLong(l << r);
+                case RShift:
+                    return r < 0 ? null : ConstantValue.ofLong(l >> Math.min(r, Long.SIZE - 1));
+                case BitAnd:
+                    return ConstantValue.ofLong(l & r);
+                case BitOr:
+                    return ConstantValue.ofLong(l | r);
+                case BitXor:
+                    return ConstantValue.ofLong(l ^ r);
+                default:
+                    return null;
+            }
+        } catch (ArithmeticException e) {
+            return null;
+        }
+    }
+
     @Override
     public Void visit(ExprTy.BoolOp node) {
         SourceRange savedLocation = setLocation(node);
@@ -1125,6 +1214,11 @@ public class Compiler implements SSTreeVisitor<Void> {
             final ExprTy[] args = node.args;
             final KeywordTy[] keywords = node.keywords;
 
+            FusedGenexprCall fusedCall = inFusedGenexprCall ? null : getFusedGenexprCall(func, args, keywords);
+            if (fusedCall != null) {
+                return visitFusedGenexprCall(func, (ExprTy.GeneratorExp) args[0], fusedCall);
+            }
+
             if (isAttributeLoad(func) && keywords.length == 0) {
                 ((ExprTy.Attribute) func).value.accept(this);
                 op = CALL_METHOD_VARARGS;
@@ -1155,6 +1249,66 @@ public class Compiler implements SSTreeVisitor<Void> {
         }
     }
 
+    /**
+     * Recognizes calls of builtins that consume a single generator expression argument as a whole,
+     * such as {@code sum(x * x for x in xs)}. Whether the name really refers to the builtin can only
+     * be decided at runtime, see {@link OpCodes#CALL_FUSED_GENEXPR}.
+     */
+    private FusedGenexprCall getFusedGenexprCall(ExprTy func, ExprTy[] args, KeywordTy[] keywords) {
+        if (args.length != 1 || keywords.length != 0 || !(args[0] instanceof ExprTy.GeneratorExp)) {
+            return null;
+        }
+        ExprTy.GeneratorExp genexpr = (ExprTy.GeneratorExp) args[0];
+        for (ComprehensionTy gen : genexpr.generators) {
+            if (gen.isAsync) {
+                return null;
+            }
+        }
+        if (env.lookupScope(genexpr).isCoroutine()) {
+            return null;
+        }
+        FusedGenexprCall result = null;
+        if (func instanceof ExprTy.Name && ((ExprTy.Name) func).context == ExprContextTy.Load) {
+            result = FusedGenexprCall.forBuiltinName(((ExprTy.Name) func).id);
+        } else if (isAttributeLoad(func) && "join".equals(((ExprTy.Attribute) func).attr)) {
+            result = FusedGenexprCall.JOIN;
+        }
+        if (result == FusedGenexprCall.SUM && genexpr.generators.length != 1) {
+            // the accumulator is only kept below a single iterator, see visitComprehensionGenerator
+            return null;
+        }
+        return result;
+    }
+
+    private Void visitFusedGenexprCall(ExprTy func, ExprTy.GeneratorExp genexpr, FusedGenexprCall fusedCall) {
+        func.accept(this);
+        ComprehensionType fusedType;
+        switch (fusedCall) {
+            case SUM:
+                fusedType = ComprehensionType.SUM;
+                break;
+            case ANY:
+                fusedType = ComprehensionType.ANY;
+                break;
+            case ALL:
+                fusedType = ComprehensionType.ALL;
+                break;
+            default:
+                fusedType = ComprehensionType.LIST;
+                break;
+        }
+        inFusedGenexprCall = true;
+        try {
+            makeComprehensionFunction(genexpr, "<genexpr>", genexpr.generators, genexpr.element, null, ComprehensionType.GENEXPR);
+            makeComprehensionFunction(genexpr, "<genexpr>", genexpr.generators, genexpr.element, null, fusedType);
+        } finally {
+            inFusedGenexprCall = false;
+        }
+        genexpr.generators[0].iter.accept(this);
+        addOp(GET_ITER);
+        return addOp(CALL_FUSED_GENEXPR, fusedCall.ordinal());
+    }
+
     private Void callHelper(OpCodes op, int opArg, int alreadyOnStack, ExprTy[] args, KeywordTy[] keywords) {
         collectIntoArray(args, CollectionBits.KIND_OBJECT, op == CALL_METHOD_VARARGS ? 1 + alreadyOnStack : alreadyOnStack);
         if (keywords.length > 0) {
@@ -1468,7 +1622,11 @@ public class Compiler implements SSTreeVisitor<Void> {
         LIST(CollectionBits.KIND_LIST),
         SET(CollectionBits.KIND_SET),
         DICT(CollectionBits.KIND_DICT),
-        GENEXPR(-1);
+        GENEXPR(-1),
+        // Fused variants of a generator expression, see FusedGenexprCall
+        SUM(-1),
+        ANY(-1),
+        ALL(-1);
 
         public final int typeBits;
 
@@ -1489,18 +1647,7 @@ public class Compiler implements SSTreeVisitor<Void> {
          */
         SourceRange savedLocation = setLocation(node);
         try {
-            enterScope(name, CompilationScope.Comprehension, node, 1, 0, 0, false, false);
-            if (type != ComprehensionType.GENEXPR) {
-                // The result accumulator, empty at the beginning
-                addOp(COLLECTION_FROM_STACK, type.typeBits);
-            }
-            visitComprehensionGenerator(generators, 0, element, value, type);
-            if (type != ComprehensionType.GENEXPR) {
-                addOp(RETURN_VALUE);
-            }
-            CodeUnit code = unit.assemble();
-            exitScope();
-            makeClosure(code, 0);
+            makeComprehensionFunction(node, name, generators, element, value, type);
             generators[0].iter.accept(this);
             addOp(GET_ITER);
             addOp(CALL_COMPREHENSION);
@@ -1510,6 +1657,40 @@ public class Compiler implements SSTreeVisitor<Void> {
         }
     }
 
+    private void makeComprehensionFunction(ExprTy node, String name, ComprehensionTy[] generators, ExprTy element, ExprTy value, ComprehensionType type) {
+        enterScope(name, CompilationScope.Comprehension, node, 1, 0, 0, false, false);
+        switch (type) {
+            case GENEXPR:
+            case ANY:
+            case ALL:
+                break;
+            case SUM:
+                // The accumulator, sum() starts with 0
+                addOp(LOAD_BYTE, 0);
+                break;
+            default:
+                // The result accumulator, empty at the beginning
+                addOp(COLLECTION_FROM_STACK, type.typeBits);
+                break;
+        }
+        if (type != ComprehensionType.GENEXPR && node instanceof ExprTy.GeneratorExp) {
+            // The scope of a generator expression, but compiled as a plain function
+            unit.fusedGenexpr = true;
+        }
+        visitComprehensionGenerator(generators, 0, element, value, type);
+        if (type == ComprehensionType.ANY) {
+            addOp(LOAD_FALSE);
+        } else if (type == ComprehensionType.ALL) {
+            addOp(LOAD_TRUE);
+        }
+        if (type != ComprehensionType.GENEXPR) {
+            addOp(RETURN_VALUE);
+        }
+        CodeUnit code = unit.assemble();
+        exitScope();
+        makeClosure(code, 0);
+    }
+
     private void visitComprehensionGenerator(ComprehensionTy[] generators, int i, ExprTy element, ExprTy value, ComprehensionType type) {
         ComprehensionTy gen = generators[i];
         if (i == 0) {
@@ -1544,6 +1725,20 @@ public class Compiler implements SSTreeVisitor<Void> {
                 addOp(YIELD_VALUE);
                 addOp(RESUME_YIELD);
                 addOp(POP_TOP);
+            } else if (type == ComprehensionType.SUM) {
+                // [sum, iterator, element] -> [sum + element, iterator]
+                addOp(ROT_TWO);
+                addOp(ROT_THREE);
+                addOp(BINARY_OP, BinaryOps.ADD.ordinal());
+                addOp(ROT_TWO);
+            } else if (type == ComprehensionType.ANY || type == ComprehensionType.ALL) {
+                // Continue with the next element unless this one decides the result
+                addOp(type == ComprehensionType.ANY ? POP_AND_JUMP_IF_FALSE : POP_AND_JUMP_IF_TRUE, ifCleanup);
+                for (int j = 0; j < generators.length; j++) {
+                    addOp(POP_TOP);
+                }
+                addOp(type == ComprehensionType.ANY ? LOAD_TRUE : LOAD_FALSE);
+                addOp(RETURN_VALUE);
             } else {
                 /*
                  * There is an iterator for every generator on the stack. We need to append to the
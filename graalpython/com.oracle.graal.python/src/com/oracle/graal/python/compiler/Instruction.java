@@ -46,10 +46,10 @@ import com.oracle.graal.python.pegparser.tokenizer.SourceRange;
 
 final class Instruction {
 
-    final OpCodes opcode;
+    OpCodes opcode;
     int arg;
     final byte[] followingArgs;
-    final Block target;
+    Block target;
     final SourceRange location;
 
     public int bci = -1;
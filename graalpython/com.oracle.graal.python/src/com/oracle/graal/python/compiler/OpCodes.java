@@ -134,6 +134,17 @@ public enum OpCodes {
      * Pops: return value
      */
     RETURN_VALUE(0, 1, 0),
+    /**
+     * Returns {@code None} to the caller. Emitted by the compiler in place of {@code LOAD_NONE}
+     * followed by {@code RETURN_VALUE}.
+     */
+    RETURN_NONE(0, 0, 0),
+    /**
+     * Returns a constant from constants array ({@code co_consts}) determined by the immediate
+     * operand to the caller. Emitted by the compiler in place of {@code LOAD_CONST} followed by
+     * {@code RETURN_VALUE}.
+     */
+    RETURN_CONST(1, 0, 0),
     /**
      * Reads a name from locals dict, globals or builtins determined by the immediate operand which
      * indexes the names array ({@code co_names}).
@@ -162,6 +173,15 @@ public enum OpCodes {
      * Pushes: read attribute
      */
     LOAD_ATTR(1, 1, 1),
+    /**
+     * Reads an attribute of a local variable - {@code a.b}. {@code b} is determined by the
+     * immediate operand which indexes the names array ({@code co_names}), {@code a} by the
+     * following operand which indexes the local variables. Emitted by the compiler in place of
+     * {@code LOAD_FAST} followed by {@code LOAD_ATTR}.
+     *
+     * Pushes: read attribute
+     */
+    LOAD_FAST_LOAD_ATTR(2, 0, 1),
     /**
      * Reads method on an object. The method name is determined by the first immediate operand which
      * indexes the names array ({@code co_names}).
@@ -444,6 +464,20 @@ public enum OpCodes {
      * Pushes: call result
      */
     CALL_COMPREHENSION(0, 2, 1),
+    /**
+     * Calls a builtin with a single generator expression argument, e.g. {@code sum(x for x in xs)}.
+     * The generator expression is compiled twice: as a generator function and as a fused function
+     * that runs the whole loop and directly produces what the builtin would compute. The immediate
+     * operand is the ordinal of one of {@link FusedGenexprCall} constants and determines which
+     * builtin the call site expects. If the callable turns out to be that builtin, the fused
+     * function is called with the iterator. Otherwise, the generator is created and passed to the
+     * callable as usual.
+     *
+     * Pops: iterator, then the fused function, then the generator function, then the callable
+     *
+     * Pushes: call result
+     */
+    CALL_FUSED_GENEXPR(1, 4, 1),
     /**
      * Calls a callable using an arguments array and keywords array.
      *
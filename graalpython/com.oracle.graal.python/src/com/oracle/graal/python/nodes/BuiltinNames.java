@@ -343,6 +343,9 @@ public abstract class BuiltinNames {
 
     public static final String J__CONTEXTVARS = "_contextvars";
 
+    public static final String J__ASYNCIO = "_asyncio";
+    public static final TruffleString T__ASYNCIO = tsLiteral(J__ASYNCIO);
+
     public static final TruffleString T_THREADING = tsLiteral("threading");
 
     public static final String J_DICT_KEYITERATOR = "dict_keyiterator";
@@ -98,6 +98,7 @@ public abstract class ErrorMessages {
     public static final TruffleString ATTEMPTED_RELATIVE_IMPORT_BEYOND_TOPLEVEL = tsLiteral("attempted relative import beyond top-level package");
     public static final TruffleString KEY_IN_S_MUST_BE_STRING = tsLiteral("Key in %s.%s must be str, not %p");
     public static final TruffleString ITEM_IN_S_MUST_BE_STRING = tsLiteral("Item in %s.%s must be str, not %p");
+    public static final TruffleString ATTR_NAME_MUST_BE_A_STRING = tsLiteral("attribute name must be a string");
     public static final TruffleString ATTR_NAME_MUST_BE_STRING = tsLiteral("attribute name must be string, not '%p'");
     public static final TruffleString S_MUST_BE_STRING_NOT_S = tsLiteral("\"%s\" must be string, not %.200s");
     public static final TruffleString S_MUST_BE_STRING_OR_NONE_NOT_S = tsLiteral("\"%s\" must be string or None, not %.200s");
@@ -352,6 +353,7 @@ public abstract class ErrorMessages {
     public static final TruffleString HASH_MISMATCH = tsLiteral("hash mismatch: known hash is different to computed hash");
     public static final TruffleString HASH_SHOULD_RETURN_INTEGER = tsLiteral("__hash__ method should return an integer");
     public static final TruffleString HEX_VALUE_TOO_LARGE_AS_FLOAT = tsLiteral("hexadecimal value too large to represent as a float");
+    public static final TruffleString HEAP_ARGUMENT_MUST_BE_A_LIST = tsLiteral("heap argument must be a list");
     public static final TruffleString HOST_ACCESS_NOT_ALLOWED = tsLiteral("host access is not allowed");
     public static final TruffleString HOST_LOOKUP_NOT_ALLOWED = tsLiteral("host lookup is not allowed");
     public static final TruffleString HOST_SYM_NOT_DEFINED = tsLiteral("host symbol %s is not defined or access has been denied");
@@ -391,6 +393,7 @@ public abstract class ErrorMessages {
     public static final TruffleString INVALID_CONVERSION = tsLiteral("invalid conversion");
     public static final TruffleString INVALID_ESCAPE_AT = tsLiteral("invalid %s escape at position %d");
     public static final TruffleString INVALID_FILTER = tsLiteral("Invalid filter ID: %d");
+    public static final TruffleString INVALID_GENERATION = tsLiteral("invalid generation");
     public static final TruffleString INVALID_FILTER_CHAIN_FOR_FORMAT = tsLiteral("Invalid filter chain for FORMAT_ALONE - must be a single LZMA1 filter");
     public static final TruffleString INVALID_INDEX_S = tsLiteral("invalid index %s");
     public static final TruffleString INVALID_INSTANTIATION_OF_FOREIGN_OBJ = tsLiteral("invalid instantiation of foreign object");
@@ -450,6 +453,7 @@ public abstract class ErrorMessages {
     public static final TruffleString LIST_INDEX_OUT_OF_RANGE = tsLiteral("list index out of range");
     public static final TruffleString LIST_LENGTH_OUT_OF_RANGE = tsLiteral("list length out of range");
     public static final TruffleString LIST_DOES_NOT_ATTR_APPEND = tsLiteral("list does not have attribute 'append'");
+    public static final TruffleString LO_MUST_BE_NON_NEGATIVE = tsLiteral("lo must be non-negative");
     public static final TruffleString LOCAL_VAR_REFERENCED_BEFORE_ASSIGMENT = tsLiteral("local variable '%s' referenced before assignment");
     public static final TruffleString UNBOUNDFREEVAR = tsLiteral("cannot access free variable '%s' where it is not associated with a value in enclosing scope");
     public static final TruffleString LOCALS_MUST_BE_MAPPING = tsLiteral("%s() locals must be a mapping or None, not %p");
@@ -471,6 +475,7 @@ public abstract class ErrorMessages {
     public static final TruffleString MATH_DOMAIN_ERROR = tsLiteral("math domain error");
     public static final TruffleString MATH_RANGE_ERROR = tsLiteral("math range error");
     public static final TruffleString MAX_MARSHAL_STACK_DEPTH = tsLiteral("Maximum marshal stack depth");
+    public static final TruffleString MAXSIZE_SHOULD_BE_INTEGER_OR_NONE = tsLiteral("maxsize should be integer or None");
     public static final TruffleString M = tsLiteral("%m");
     public static final TruffleString MEMORYVIEW_INVALID_SLICE_KEY = tsLiteral("memoryview: invalid slice key");
     public static final TruffleString MEMORYVIEW_A_BYTES_LIKE_OBJECT_REQUIRED_NOT_P = tsLiteral("memoryview: a bytes-like object is required, not '%p'");
@@ -491,6 +496,8 @@ public abstract class ErrorMessages {
     public static final TruffleString MEMORYVIEW_FORMAT_S_NOT_SUPPORTED = tsLiteral("memoryview: format %s not supported");
     public static final TruffleString METACLASS_CONFLICT = tsLiteral("metaclass conflict: the metaclass of a derived class must be a (non-strict) subclass of the metaclasses of all its bases");
     public static final TruffleString METHOD_NAME_MUST_BE = tsLiteral("method name must be string, not %p");
+    public static final TruffleString METHOD_NAME_MUST_BE_A_STRING = tsLiteral("method name must be a string");
+    public static final TruffleString METHODCALLER_NEEDS_AT_LEAST_ONE_ARG = tsLiteral("methodcaller needs at least one argument, the method name");
     public static final TruffleString MISSING_D_REQUIRED_S_ARGUMENT_S_POS = tsLiteral("%s() missing required argument '%s' (pos %d)");
     public static final TruffleString MISSING_D_REQUIRED_S_ARGUMENT_S_S = tsLiteral("%s() missing %d required %s argument%s: '%s'");
     public static final TruffleString MISSING_S = tsLiteral("Missing %s");
@@ -859,7 +866,6 @@ public abstract class ErrorMessages {
     public static final TruffleString BUILD_CLS_NAME_NOT_STRING = tsLiteral("__build_class__: name is not a string");
     public static final TruffleString CAPI_NOT_YET_INITIALIZED = tsLiteral("C API not yet initialized");
     public static final TruffleString INCORRECT_USAGE_OF_INTERNAL_GROUPER = tsLiteral("incorrect usage of internal _grouper");
-    public static final TruffleString COVERAGE_TRACKER_NOT_AVAILABLE = tsLiteral("coverage tracker not available");
     public static final TruffleString GETPWUID_NOT_FOUND = tsLiteral("getpwuid(): uid not found");
     public static final TruffleString EXPECTED_INT_MESSAGE = tsLiteral("Expected an int as second argument to ldexp.");
     public static final TruffleString NOT_IMPLEMENTED = tsLiteral("not implemented");
@@ -1318,6 +1324,7 @@ public abstract class ErrorMessages {
     public static final TruffleString EMPTY_FIELD_RECORD_MUST_BE_QUOTED = tsLiteral("single empty field record must be quoted");
     public static final TruffleString ESCAPE_WITHOUT_ESCAPECHAR = tsLiteral("need to escape, but no escapechar set");
     public static final TruffleString S_MUST_HAVE_WRITE_METHOD = tsLiteral("%s must have \"write\" method");
+    public static final TruffleString LINE_D_HAS_D_FIELDS_EXPECTED_D = tsLiteral("line %d has %d fields, expected %d");
 
     // frozen module errors
     public static final TruffleString NO_SUCH_FROZEN_OBJECT = tsLiteral("No such frozen object named %s");
@@ -1464,4 +1471,27 @@ public abstract class ErrorMessages {
     public static final TruffleString PY_CAPSULE_SET_POINTER_CALLED_WITH_NULL_POINTER = tsLiteral("PyCapsule_SetPointer called with null pointer");
     public static final TruffleString PY_CAPSULE_IMPORT_COULD_NOT_IMPORT_MODULE_S = tsLiteral("PyCapsule_Import could not import module \"%s\"");
     public static final TruffleString PY_CAPSULE_IMPORT_S_IS_NOT_VALID = tsLiteral("PyCapsule_Import \"%s\" is not valid");
+
+    // _asyncio
+    public static final TruffleString A_COROUTINE_WAS_EXPECTED_GOT_S = tsLiteral("a coroutine was expected, got %s");
+    public static final TruffleString AWAIT_WASNT_USED_WITH_FUTURE = tsLiteral("await wasn't used with future");
+    public static final TruffleString CANNOT_ENTER_INTO_TASK_S_WHILE_ANOTHER_TASK_S = tsLiteral("Cannot enter into task %s while another task %s is being executed.");
+    public static final TruffleString EXCEPTION_IS_NOT_SET = tsLiteral("Exception is not set.");
+    public static final TruffleString FUTURE_OBJECT_IS_NOT_INITIALIZED = tsLiteral("Future object is not initialized.");
+    public static final TruffleString INVALID_EXCEPTION_OBJECT = tsLiteral("invalid exception object");
+    public static final TruffleString INVALID_STATE_S_S = tsLiteral("%s: %s");
+    public static final TruffleString LEAVING_TASK_S_DOES_NOT_MATCH_CURRENT_TASK_S = tsLiteral("Leaving task %s does not match the current task %s.");
+    public static final TruffleString LOG_TRACEBACK_CAN_ONLY_BE_SET_TO_FALSE = tsLiteral("_log_traceback can only be set to False");
+    public static final TruffleString NO_CURRENT_EVENT_LOOP = tsLiteral("There is no current event loop");
+    public static final TruffleString NO_RUNNING_EVENT_LOOP = tsLiteral("no running event loop");
+    public static final TruffleString RESULT_IS_NOT_READY = tsLiteral("Result is not ready.");
+    public static final TruffleString STEP_ALREADY_DONE_S_S = tsLiteral("_step(): already done: %s, %s");
+    public static final TruffleString STOP_ITERATION_CANNOT_BE_RAISED_INTO_FUTURE = tsLiteral("StopIteration interacts badly with generators and cannot be raised into a Future");
+    public static final TruffleString TASK_CANNOT_AWAIT_ON_ITSELF_S = tsLiteral("Task cannot await on itself: %s");
+    public static final TruffleString TASK_DOES_NOT_SUPPORT_SET_EXCEPTION = tsLiteral("Task does not support set_exception operation");
+    public static final TruffleString TASK_DOES_NOT_SUPPORT_SET_RESULT = tsLiteral("Task does not support set_result operation");
+    public static final TruffleString TASK_GOT_BAD_YIELD_S = tsLiteral("Task got bad yield: %s");
+    public static final TruffleString TASK_S_GOT_FUTURE_S_ATTACHED_TO_DIFFERENT_LOOP = tsLiteral("Task %s got Future %s attached to a different loop");
+    public static final TruffleString YIELD_INSTEAD_OF_YIELD_FROM_FOR_GENERATOR_S_S = tsLiteral("yield was used instead of yield from for generator in task %s with %s");
+    public static final TruffleString YIELD_INSTEAD_OF_YIELD_FROM_IN_TASK_S_S = tsLiteral("yield was used instead of yield from in task %s with %s");
 }
@@ -66,6 +66,7 @@ import com.oracle.graal.python.nodes.builtins.ListNodesFactory.AppendNodeGen;
 import com.oracle.graal.python.nodes.builtins.ListNodesFactory.ConstructListNodeGen;
 import com.oracle.graal.python.nodes.builtins.ListNodesFactory.IndexNodeGen;
 import com.oracle.graal.python.nodes.call.special.LookupAndCallUnaryNode;
+import com.oracle.graal.python.nodes.interop.GetHostPrimitiveArrayNode;
 import com.oracle.graal.python.nodes.object.GetClassNode;
 import com.oracle.graal.python.nodes.truffle.PythonArithmeticTypes;
 import com.oracle.graal.python.nodes.util.CastToTruffleStringNode;
@@ -140,9 +141,14 @@ public abstract class ListNodes {
 
         @Specialization(guards = {"!isNoValue(iterable)", "!isString(iterable)"})
         static PList listIterable(VirtualFrame frame, Object cls, Object iterable,
+                        @Cached GetHostPrimitiveArrayNode getHostArrayNode,
                         @Cached PyObjectGetIter getIter,
                         @Cached SequenceStorageNodes.CreateStorageFromIteratorNode createStorageFromIteratorNode,
                         @Cached PythonObjectFactory factory) {
+            Object hostArray = getHostArrayNode.execute(iterable);
+            if (hostArray != null) {
+                return factory.createList(cls, GetHostPrimitiveArrayNode.toSequenceStorage(hostArray));
+            }
             Object iterObj = getIter.execute(frame, iterable);
             SequenceStorage storage = createStorageFromIteratorNode.execute(frame, iterObj);
             return factory.createList(cls, storage);
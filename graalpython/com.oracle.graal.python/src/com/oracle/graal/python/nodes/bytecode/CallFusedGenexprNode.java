@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.nodes.bytecode;
+
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.modules.BuiltinFunctions;
+import com.oracle.graal.python.builtins.objects.function.PArguments;
+import com.oracle.graal.python.builtins.objects.function.PBuiltinFunction;
+import com.oracle.graal.python.builtins.objects.function.PFunction;
+import com.oracle.graal.python.builtins.objects.list.PList;
+import com.oracle.graal.python.builtins.objects.method.PBuiltinMethod;
+import com.oracle.graal.python.builtins.objects.str.PString;
+import com.oracle.graal.python.builtins.objects.str.StringBuiltins;
+import com.oracle.graal.python.builtins.objects.type.PythonBuiltinClass;
+import com.oracle.graal.python.compiler.FusedGenexprCallConstants;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PNodeWithContext;
+import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.graal.python.nodes.call.CallTargetInvokeNode;
+import com.oracle.graal.python.nodes.call.special.CallUnaryMethodNode;
+import com.oracle.graal.python.nodes.object.IsBuiltinClassProfile;
+import com.oracle.graal.python.runtime.exception.PException;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.profiles.ConditionProfile;
+import com.oracle.truffle.api.strings.TruffleString;
+
+/**
+ * Implements {@link com.oracle.graal.python.compiler.OpCodes#CALL_FUSED_GENEXPR}. Like
+ * {@code CALL_COMPREHENSION}, it relies on the fact that both the generator function and the fused
+ * function always have the same call target at given call site.
+ */
+public final class CallFusedGenexprNode extends PNodeWithContext {
+    private final int kind;
+    @Child private CallTargetInvokeNode fusedInvokeNode;
+    @Child private CallTargetInvokeNode generatorInvokeNode;
+    @Child private CallUnaryMethodNode callNode;
+    @Child private PythonObjectFactory factory;
+    @Child private IsBuiltinClassProfile stopIterationProfile;
+    @Child private PRaiseNode raiseNode;
+    private final ConditionProfile fusedProfile = ConditionProfile.create();
+
+    private CallFusedGenexprNode(int kind, PFunction generatorFunction, PFunction fusedFunction) {
+        this.kind = kind;
+        this.fusedInvokeNode = CallTargetInvokeNode.create(fusedFunction);
+        this.generatorInvokeNode = CallTargetInvokeNode.create(generatorFunction);
+    }
+
+    public static CallFusedGenexprNode create(int kind, PFunction generatorFunction, PFunction fusedFunction) {
+        return new CallFusedGenexprNode(kind, generatorFunction, fusedFunction);
+    }
+
+    /**
+     * Returns whether the callable is the builtin the call site was compiled for, so that calling
+     * it with the generator would be equivalent to calling the fused function.
+     */
+    public boolean canFuse(Object callable) {
+        return fusedProfile.profile(isExpectedBuiltin(callable));
+    }
+
+    private boolean isExpectedBuiltin(Object callable) {
+        switch (kind) {
+            case FusedGenexprCallConstants.LIST:
+                return isBuiltinClass(callable, PythonBuiltinClassType.PList);
+            case FusedGenexprCallConstants.TUPLE:
+                return isBuiltinClass(callable, PythonBuiltinClassType.PTuple);
+            case FusedGenexprCallConstants.SUM:
+                return isBuiltinFunction(callable, BuiltinFunctions.SumFunctionNode.class);
+            case FusedGenexprCallConstants.ANY:
+                return isBuiltinFunction(callable, BuiltinFunctions.AnyNode.class);
+            case FusedGenexprCallConstants.ALL:
+                return isBuiltinFunction(callable, BuiltinFunctions.AllNode.class);
+            case FusedGenexprCallConstants.JOIN:
+                // The join must not fail on the receiver only after the elements were computed
+                if (isBuiltinFunction(callable, StringBuiltins.JoinNode.class)) {
+                    Object self = ((PBuiltinMethod) callable).getSelf();
+                    return self instanceof TruffleString || self instanceof PString;
+                }
+                return false;
+            default:
+                throw CompilerDirectives.shouldNotReachHere();
+        }
+    }
+
+    private static boolean isBuiltinClass(Object callable, PythonBuiltinClassType type) {
+        return callable == type || callable instanceof PythonBuiltinClass && ((PythonBuiltinClass) callable).getType() == type;
+    }
+
+    private static boolean isBuiltinFunction(Object callable, Class<?> nodeClass) {
+        if (callable instanceof PBuiltinMethod) {
+            PBuiltinFunction function = ((PBuiltinMethod) callable).getFunction();
+            return function.getNodeClass() == nodeClass;
+        }
+        return false;
+    }
+
+    /**
+     * Runs the whole generator expression in the fused function and turns its result into the
+     * result of the builtin call. Must only be called if {@link #canFuse} returned {@code true}.
+     */
+    public Object executeFused(VirtualFrame frame, Object callable, PFunction fusedFunction, Object iterator) {
+        Object result;
+        try {
+            result = invoke(frame, fusedInvokeNode, fusedFunction, iterator);
+        } catch (PException e) {
+            throw handleException(e);
+        }
+        switch (kind) {
+            case FusedGenexprCallConstants.TUPLE:
+                return getFactory().createTuple(((PList) result).getSequenceStorage());
+            case FusedGenexprCallConstants.JOIN:
+                return callBuiltin(frame, callable, result);
+            default:
+                return result;
+        }
+    }
+
+    /**
+     * PEP 479 - the fused function runs the body of a generator, so a StopIteration escaping from it
+     * must be wrapped in RuntimeError just like in {@code GeneratorBuiltins}.
+     */
+    private PException handleException(PException e) {
+        if (stopIterationProfile == null) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            stopIterationProfile = insert(IsBuiltinClassProfile.create());
+        }
+        e.expectStopIteration(stopIterationProfile);
+        if (raiseNode == null) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            raiseNode = insert(PRaiseNode.create());
+        }
+        throw raiseNode.raise(PythonBuiltinClassType.RuntimeError, e.getEscapedException(), ErrorMessages.GENERATOR_RAISED_STOPITER);
+    }
+
+    public Object createGenerator(VirtualFrame frame, PFunction generatorFunction, Object iterator) {
+        return invoke(frame, generatorInvokeNode, generatorFunction, iterator);
+    }
+
+    public Object callBuiltin(VirtualFrame frame, Object callable, Object argument) {
+        if (callNode == null) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            callNode = insert(CallUnaryMethodNode.create());
+        }
+        return callNode.executeObject(frame, callable, argument);
+    }
+
+    private static Object invoke(VirtualFrame frame, CallTargetInvokeNode invokeNode, PFunction function, Object iterator) {
+        Object[] arguments = PArguments.create(1);
+        PArguments.setArgument(arguments, 0, iterator);
+        return invokeNode.execute(frame, function, function.getGlobals(), function.getClosure(), arguments);
+    }
+
+    private PythonObjectFactory getFactory() {
+        if (factory == null) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            factory = insert(PythonObjectFactory.create());
+        }
+        return factory;
+    }
+}
@@ -543,10 +543,29 @@ public final class PBytecodeRootNode extends PRootNode implements BytecodeOSRNod
     @CompilationFinal private Object osrMetadata;
 
     @CompilationFinal private boolean usingCachedNodes;
+    /*
+     * Calls and backward jumps left before the uncached interpreter switches to cached nodes, see
+     * PythonOptions.UncachedInterpreterLimit. Updated racily, being off by a few doesn't matter.
+     */
+    private int uncachedBudget;
     @CompilationFinal(dimensions = 1) private int[] conditionProfiles;
 
     @Child private InstrumentationRoot instrumentationRoot = InstrumentationRoot.create();
 
+    /*
+     * Line coverage probes, indexed by bci. The probes are armed when the code runs for the first
+     * time after some context started collecting line coverage. Each line deoptimizes once to record
+     * that it was executed and disarms the probes of all its instructions, so compiled code only
+     * pays for lines that have not been executed yet.
+     */
+    @CompilationFinal(dimensions = 1) private boolean[] lineCoverageProbes;
+    @CompilationFinal private Assumption lineCoverageEpoch;
+    /*
+     * Set if several contexts were collecting line coverage when the probes were armed. The probes
+     * are shared by all contexts of the engine, so then none of them disarms a probe it hits.
+     */
+    @CompilationFinal private boolean lineCoverageProbesShared;
+
     private static FrameDescriptor makeFrameDescriptor(CodeUnit co, FrameInfo info) {
         int capacity = co.varnames.length + co.cellvars.length + co.freevars.length + co.stacksize + 1;
         FrameDescriptor.Builder newBuilder = FrameDescriptor.newBuilder(capacity);
@@ -632,6 +651,8 @@ public final class PBytecodeRootNode extends PRootNode implements BytecodeOSRNod
         this.bytecode = PythonUtils.arrayCopyOf(co.code, co.code.length);
         this.adoptedNodes = new Node[co.code.length];
         this.conditionProfiles = new int[co.conditionProfileCount];
+        this.uncachedBudget = language.getEngineOption(PythonOptions.UncachedInterpreterLimit);
+        this.usingCachedNodes = uncachedBudget <= 0;
         this.outputCanQuicken = co.outputCanQuicken;
         this.variableShouldUnbox = co.variableShouldUnbox;
         this.generalizeInputsMap = co.generalizeInputsMap;
@@ -1173,17 +1194,22 @@ public final class PBytecodeRootNode extends PRootNode implements BytecodeOSRNod
     Object executeFromBci(VirtualFrame virtualFrame, Frame localFrame, BytecodeOSRNode osrNode, int initialBci, int initialStackTop) {
         /*
          * A lot of python code is executed just a single time, such as top level module code. We
-         * want to save some time and memory by trying to first use uncached nodes. We use two
-         * separate entry points so that they get each get compiled with monomorphic calls to either
-         * cached or uncached nodes.
+         * want to save some time and memory by trying to first use uncached nodes for the first
+         * few calls and loop iterations. We use two separate entry points so that they get each
+         * get compiled with monomorphic calls to either cached or uncached nodes.
          */
         if (usingCachedNodes) {
             return executeCached(virtualFrame, localFrame, osrNode, initialBci, initialStackTop, false);
         } else {
+            // Don't keep deoptimizing if the root got compiled before exhausting the budget
+            boolean wasCompiled = CompilerDirectives.inCompiledCode();
             CompilerDirectives.transferToInterpreterAndInvalidate();
-            usingCachedNodes = true;
+            if (wasCompiled || --uncachedBudget <= 0) {
+                usingCachedNodes = true;
+            }
             Object result = executeUncached(virtualFrame, localFrame, osrNode, initialBci, initialStackTop);
             if (result instanceof InterpreterContinuation) {
+                usingCachedNodes = true;
                 InterpreterContinuation continuation = (InterpreterContinuation) result;
                 return executeCached(virtualFrame, localFrame, osrNode, continuation.bci, continuation.stackTop, true);
             }
@@ -1224,6 +1250,10 @@ public final class PBytecodeRootNode extends PRootNode implements BytecodeOSRNod
                 return result;
             }
         }
+        final Assumption noLineCoverage = language.noLineCoverageAssumption;
+        if (!noLineCoverage.isValid()) {
+            ensureLineCoverageProbes(language);
+        }
 
         /*
          * We use an object as a workaround for not being able to specify which local variables are
@@ -1264,6 +1294,9 @@ public final class PBytecodeRootNode extends PRootNode implements BytecodeOSRNod
             if (tracingEnabled) {
                 traceLine(virtualFrame, mutableData, localBC, bci);
             }
+            if (!noLineCoverage.isValid()) {
+                checkLineCoverageProbe(bci);
+            }
             profilingEnabled = isProfilingEnabled(noTraceOrProfile, mutableData);
 
             CompilerAsserts.partialEvaluationConstant(bc);
@@ -1779,6 +1812,13 @@ public final class PBytecodeRootNode extends PRootNode implements BytecodeOSRNod
                     case OpCodesConstants.RETURN_VALUE: {
                         return bytecodeReturnValue(virtualFrame, isGeneratorOrCoroutine, instrumentation, mutableData, stackTop, tracingEnabled, profilingEnabled, beginBci);
                     }
+                    case OpCodesConstants.RETURN_NONE: {
+                        return bytecodeReturn(virtualFrame, isGeneratorOrCoroutine, instrumentation, mutableData, PNone.NONE, tracingEnabled, profilingEnabled, beginBci);
+                    }
+                    case OpCodesConstants.RETURN_CONST: {
+                        oparg |= Byte.toUnsignedInt(localBC[++bci]);
+                        return bytecodeReturn(virtualFrame, isGeneratorOrCoroutine, instrumentation, mutableData, localConsts[oparg], tracingEnabled, profilingEnabled, beginBci);
+                    }
                     case OpCodesConstants.LOAD_BUILD_CLASS: {
                         setCurrentBci(virtualFrame, bciSlot, bci);
                         bytecodeLoadBuildClass(virtualFrame, useCachedNodes, globals, ++stackTop, localNodes, beginBci);
@@ -1847,6 +1887,15 @@ public final class PBytecodeRootNode extends PRootNode implements BytecodeOSRNod
                         bytecodeLoadAttr(virtualFrame, stackTop, beginBci, oparg, localNodes, localNames, useCachedNodes);
                         break;
                     }
+                    case OpCodesConstants.LOAD_FAST_LOAD_ATTR: {
+                        setCurrentBci(virtualFrame, bciSlot, bci);
+                        oparg |= Byte.toUnsignedInt(localBC[++bci]);
+                        int index = Byte.toUnsignedInt(localBC[++bci]);
+                        // the last argument byte gives the variable load its own node slot
+                        bytecodeLoadFastBoxed(virtualFrame, localFrame, ++stackTop, bci, index, localNodes, inCompiledCode);
+                        bytecodeLoadAttr(virtualFrame, stackTop, beginBci, oparg, localNodes, localNames, useCachedNodes);
+                        break;
+                    }
                     case OpCodesConstants.IMPORT_NAME: {
                         setCurrentBci(virtualFrame, bciSlot, bci);
                         oparg |= Byte.toUnsignedInt(localBC[++bci]);
@@ -1976,9 +2025,11 @@ public final class PBytecodeRootNode extends PRootNode implements BytecodeOSRNod
                         }
                         if (CompilerDirectives.inInterpreter()) {
                             if (!useCachedNodes) {
-                                return new InterpreterContinuation(bci, stackTop);
-                            }
-                            if (BytecodeOSRNode.pollOSRBackEdge(osrNode)) {
+                                // only OSR compile after switching to cached nodes
+                                if (--uncachedBudget <= 0) {
+                                    return new InterpreterContinuation(bci, stackTop);
+                                }
+                            } else if (BytecodeOSRNode.pollOSRBackEdge(osrNode)) {
                                 /*
                                  * Beware of race conditions when adding more things to the
                                  * interpreterState argument. It gets stored already at this point,
@@ -2084,6 +2135,12 @@ public final class PBytecodeRootNode extends PRootNode implements BytecodeOSRNod
                         stackTop = bytecodeCallComprehension(virtualFrame, stackTop, beginBci, localNodes, mutableData, profilingEnabled);
                         break;
                     }
+                    case OpCodesConstants.CALL_FUSED_GENEXPR: {
+                        setCurrentBci(virtualFrame, bciSlot, bci);
+                        oparg |= Byte.toUnsignedInt(localBC[++bci]);
+                        stackTop = bytecodeCallFusedGenexpr(virtualFrame, stackTop, beginBci, oparg, localNodes, mutableData, tracingEnabled, profilingEnabled);
+                        break;
+                    }
                     case OpCodesConstants.CALL_FUNCTION_VARARGS: {
                         setCurrentBci(virtualFrame, bciSlot, bci);
                         stackTop = bytecodeCallFunctionVarargs(virtualFrame, stackTop, beginBci, localNodes, useCachedNodes, mutableData, profilingEnabled);
@@ -2517,10 +2574,15 @@ public final class PBytecodeRootNode extends PRootNode implements BytecodeOSRNod
     @BytecodeInterpreterSwitch
     private Object bytecodeReturnValue(VirtualFrame virtualFrame, boolean isGeneratorOrCoroutine, InstrumentationSupport instrumentation, MutableLoopData mutableData, int stackTop,
                     boolean tracingEnabled, boolean profilingEnabled, int beginBci) {
+        return bytecodeReturn(virtualFrame, isGeneratorOrCoroutine, instrumentation, mutableData, virtualFrame.getObject(stackTop), tracingEnabled, profilingEnabled, beginBci);
+    }
+
+    @BytecodeInterpreterSwitch
+    private Object bytecodeReturn(VirtualFrame virtualFrame, boolean isGeneratorOrCoroutine, InstrumentationSupport instrumentation, MutableLoopData mutableData, Object value,
+                    boolean tracingEnabled, boolean profilingEnabled, int beginBci) {
         if (CompilerDirectives.hasNextTier() && mutableData.loopCount > 0) {
             LoopNode.reportLoopCount(this, mutableData.loopCount);
         }
-        Object value = virtualFrame.getObject(stackTop);
         traceOrProfileReturn(virtualFrame, mutableData, value, tracingEnabled, profilingEnabled);
 
         if (instrumentation != null) {
@@ -2654,6 +2716,60 @@ public final class PBytecodeRootNode extends PRootNode implements BytecodeOSRNod
         return stackTop;
     }
 
+    private void ensureLineCoverageProbes(PythonLanguage language) {
+        Assumption epoch = language.lineCoverageEpoch.getAssumption();
+        if (lineCoverageEpoch != epoch || !epoch.isValid()) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            armLineCoverageProbes(language, language.lineCoverageEpoch.getAssumption());
+        }
+    }
+
+    private void armLineCoverageProbes(PythonLanguage language, Assumption epoch) {
+        boolean[] probes = null;
+        int collectors = language.lineCoverageCollectors.get();
+        if (collectors > 0 && frameIsVisibleToPython()) {
+            probes = new boolean[bytecode.length];
+            Arrays.fill(probes, true);
+        }
+        lineCoverageProbes = probes;
+        lineCoverageProbesShared = collectors > 1;
+        lineCoverageEpoch = epoch;
+    }
+
+    private void checkLineCoverageProbe(int bci) {
+        boolean[] probes = lineCoverageProbes;
+        if (probes != null && probes[bci]) {
+            PythonContext context = PythonContext.get(this);
+            if (context.isCollectingLineCoverage()) {
+                if (lineCoverageProbesShared) {
+                    recordLineCoverageProbe(context, bci);
+                } else {
+                    CompilerDirectives.transferToInterpreterAndInvalidate();
+                    hitLineCoverageProbe(context, probes, bci);
+                }
+            }
+        }
+    }
+
+    @TruffleBoundary
+    private void recordLineCoverageProbe(PythonContext context, int bci) {
+        context.recordLineCoverage(this, bciToLine(bci));
+    }
+
+    @TruffleBoundary
+    private void hitLineCoverageProbe(PythonContext context, boolean[] probes, int bci) {
+        int line = bciToLine(bci);
+        // another context may have started collecting since the probes were armed
+        if (context.getLanguage().lineCoverageCollectors.get() == 1) {
+            for (int i = 0; i < probes.length; i++) {
+                if (bciToLine(i) == line) {
+                    probes[i] = false;
+                }
+            }
+        }
+        context.recordLineCoverage(this, line);
+    }
+
     private boolean isTracingEnabled(Assumption noTrace, MutableLoopData mutableData) {
         return !noTrace.isValid() && mutableData.getThreadState(this).getTraceFun() != null && frameIsVisibleToPython();
     }
@@ -2935,6 +3051,11 @@ public final class PBytecodeRootNode extends PRootNode implements BytecodeOSRNod
         if (threadState.isProfiling()) {
             return;
         }
+        if (threadState.getProfileFun() instanceof PythonContext.ProfileHook) {
+            Object callee = event == PythonContext.ProfileEvent.CALL || event == PythonContext.ProfileEvent.RETURN ? this : arg;
+            invokeProfileHook((PythonContext.ProfileHook) threadState.getProfileFun(), threadState, event, callee);
+            return;
+        }
 
         threadState.profilingStart();
         PFrame pyFrame = mutableData.setPyFrame(ensurePyFrame(virtualFrame));
@@ -2957,6 +3078,19 @@ public final class PBytecodeRootNode extends PRootNode implements BytecodeOSRNod
         }
     }
 
+    @TruffleBoundary
+    private void invokeProfileHook(PythonContext.ProfileHook hook, PythonContext.PythonThreadState threadState, PythonContext.ProfileEvent event, Object callee) {
+        threadState.profilingStart();
+        try {
+            hook.profileEvent(event, callee);
+        } catch (Throwable e) {
+            threadState.setProfileFun(null, PythonLanguage.get(this));
+            throw e;
+        } finally {
+            threadState.profilingStop();
+        }
+    }
+
     @ExplodeLoop
     private void unboxVariables(Frame localFrame) {
         /*
@@ -4292,6 +4426,23 @@ public final class PBytecodeRootNode extends PRootNode implements BytecodeOSRNod
         virtualFrame.setObject(stackTop, value);
     }
 
+    @BytecodeInterpreterSwitch
+    private void bytecodeLoadFastBoxed(VirtualFrame virtualFrame, Frame localFrame, int stackTop, int bci, int index, Node[] localNodes, boolean inCompiledCode) {
+        if (inCompiledCode) {
+            bytecodeLoadFastO(virtualFrame, localFrame, stackTop, bci, index, localNodes, true);
+            return;
+        }
+        /*
+         * The fused instruction cannot rewrite itself like LOAD_FAST does, so box unboxed values
+         * instead of generalizing the variable.
+         */
+        Object value = localFrame.getValue(index);
+        if (value == null) {
+            throw raiseVarReferencedBeforeAssignment(localNodes, bci, index);
+        }
+        virtualFrame.setObject(stackTop, value);
+    }
+
     @InliningCutoff
     private PException raiseVarReferencedBeforeAssignment(Node[] localNodes, int bci, int index) {
         PRaiseNode raiseNode = insertChildNode(localNodes, bci, PRaiseNodeGen.class, NODE_RAISE);
@@ -4998,6 +5149,38 @@ public final class PBytecodeRootNode extends PRootNode implements BytecodeOSRNod
         return stackTop;
     }
 
+    @BytecodeInterpreterSwitch
+    private int bytecodeCallFusedGenexpr(VirtualFrame virtualFrame, int stackTop, int bci, int oparg, Node[] localNodes, MutableLoopData mutableData, boolean tracingEnabled,
+                    boolean profilingEnabled) {
+        Object iterator = virtualFrame.getObject(stackTop);
+        PFunction fusedFunction = (PFunction) virtualFrame.getObject(stackTop - 1);
+        PFunction generatorFunction = (PFunction) virtualFrame.getObject(stackTop - 2);
+        Object callable = virtualFrame.getObject(stackTop - 3);
+        CallFusedGenexprNode node = insertChildNode(localNodes, bci, CallFusedGenexprNode.class, () -> CallFusedGenexprNode.create(oparg, generatorFunction, fusedFunction));
+
+        Object result;
+        // Tracing and profiling must observe the generator and the builtin call
+        if (!tracingEnabled && !profilingEnabled && node.canFuse(callable)) {
+            result = node.executeFused(virtualFrame, callable, fusedFunction, iterator);
+        } else {
+            Object generator = node.createGenerator(virtualFrame, generatorFunction, iterator);
+            profileCEvent(virtualFrame, callable, PythonContext.ProfileEvent.C_CALL, mutableData, profilingEnabled);
+            try {
+                result = node.callBuiltin(virtualFrame, callable, generator);
+                profileCEvent(virtualFrame, callable, PythonContext.ProfileEvent.C_RETURN, mutableData, profilingEnabled);
+            } catch (PException pe) {
+                profileCEvent(virtualFrame, callable, PythonContext.ProfileEvent.C_EXCEPTION, mutableData, profilingEnabled);
+                throw pe;
+            }
+        }
+
+        virtualFrame.setObject(stackTop--, null);
+        virtualFrame.setObject(stackTop--, null);
+        virtualFrame.setObject(stackTop--, null);
+        virtualFrame.setObject(stackTop, result);
+        return stackTop;
+    }
+
     @BytecodeInterpreterSwitch
     private int bytecodeLoadMethod(VirtualFrame virtualFrame, int stackTop, int bci, int oparg, TruffleString[] localNames, Node[] localNodes, boolean useCachedNodes) {
         Object rcvr = virtualFrame.getObject(stackTop);
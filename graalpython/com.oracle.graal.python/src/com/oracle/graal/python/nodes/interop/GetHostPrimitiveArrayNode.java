@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.nodes.interop;
+
+import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import com.oracle.graal.python.nodes.PNodeWithContext;
+import com.oracle.graal.python.nodes.object.IsForeignObjectNode;
+import com.oracle.graal.python.runtime.sequence.storage.BoolSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.DoubleSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.IntSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.LongSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
+import com.oracle.graal.python.util.BufferFormat;
+import com.oracle.graal.python.util.PythonUtils;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.TruffleLanguage.Env;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateUncached;
+import com.oracle.truffle.api.dsl.NeverDefault;
+import com.oracle.truffle.api.dsl.Specialization;
+
+/**
+ * Unwraps host Java primitive arrays ({@code boolean[]}, {@code byte[]}, {@code short[]},
+ * {@code int[]}, {@code long[]}, {@code float[]} and {@code double[]}) passed to Python, so that
+ * constructors like {@code list()}, {@code bytes()} or {@code array.array()} can copy them in bulk
+ * instead of reading one boxed element at a time through interop. Returns {@code null} for
+ * anything else, including {@code char[]}, whose elements are seen as strings from Python.
+ * <p>
+ * The static helpers perform the copies. They never keep a reference to the host array, so later
+ * modifications on either side are not visible on the other, just like with element-wise copying.
+ */
+@GenerateUncached
+public abstract class GetHostPrimitiveArrayNode extends PNodeWithContext {
+
+    public abstract Object execute(Object object);
+
+    @Specialization
+    Object doGeneric(Object object,
+                    @Cached IsForeignObjectNode isForeignObjectNode) {
+        if (isForeignObjectNode.execute(object)) {
+            Env env = getContext().getEnv();
+            if (env.isHostObject(object)) {
+                Object hostObject = env.asHostObject(object);
+                if (isPrimitiveArray(hostObject)) {
+                    return hostObject;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static boolean isPrimitiveArray(Object o) {
+        return o instanceof int[] || o instanceof long[] || o instanceof double[] || o instanceof byte[] || o instanceof boolean[] || o instanceof short[] || o instanceof float[];
+    }
+
+    /**
+     * Copies the host array into the most specific sequence storage that can hold its elements.
+     * The elements have the same values as they would have when read through interop.
+     */
+    @TruffleBoundary
+    public static SequenceStorage toSequenceStorage(Object array) {
+        if (array instanceof int[]) {
+            int[] a = (int[]) array;
+            return new IntSequenceStorage(PythonUtils.arrayCopyOf(a, a.length));
+        } else if (array instanceof long[]) {
+            long[] a = (long[]) array;
+            return new LongSequenceStorage(PythonUtils.arrayCopyOf(a, a.length));
+        } else if (array instanceof double[]) {
+            double[] a = (double[]) array;
+            return new DoubleSequenceStorage(PythonUtils.arrayCopyOf(a, a.length));
+        } else if (array instanceof boolean[]) {
+            boolean[] a = (boolean[]) array;
+            return new BoolSequenceStorage(PythonUtils.arrayCopyOf(a, a.length));
+        } else if (array instanceof byte[]) {
+            byte[] a = (byte[]) array;
+            int[] values = new int[a.length];
+            for (int i = 0; i < a.length; i++) {
+                values[i] = a[i];
+            }
+            return new IntSequenceStorage(values);
+        } else if (array instanceof short[]) {
+            short[] a = (short[]) array;
+            int[] values = new int[a.length];
+            for (int i = 0; i < a.length; i++) {
+                values[i] = a[i];
+            }
+            return new IntSequenceStorage(values);
+        } else {
+            float[] a = (float[]) array;
+            double[] values = new double[a.length];
+            for (int i = 0; i < a.length; i++) {
+                values[i] = a[i];
+            }
+            return new DoubleSequenceStorage(values);
+        }
+    }
+
+    /**
+     * Copies the host array into a new byte array, or returns {@code null} if it contains values
+     * that are not in {@code range(0, 256)}. The caller should then fall back to the generic
+     * iteration so that the error is reported for the offending element.
+     */
+    @TruffleBoundary
+    public static byte[] toByteArray(Object array) {
+        if (array instanceof byte[]) {
+            byte[] a = (byte[]) array;
+            for (int i = 0; i < a.length; i++) {
+                if (a[i] < 0) {
+                    return null;
+                }
+            }
+            return PythonUtils.arrayCopyOf(a, a.length);
+        } else if (array instanceof boolean[]) {
+            boolean[] a = (boolean[]) array;
+            byte[] result = new byte[a.length];
+            for (int i = 0; i < a.length; i++) {
+                result[i] = (byte) (a[i] ? 1 : 0);
+            }
+            return result;
+        } else if (array instanceof float[] || array instanceof double[]) {
+            // rejected by bytes() anyway
+            return null;
+        }
+        int length = Array.getLength(array);
+        byte[] result = new byte[length];
+        for (int i = 0; i < length; i++) {
+            long value = Array.getLong(array, i);
+            if (value < 0 || value > 255) {
+                return null;
+            }
+            result[i] = (byte) value;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the {@code array.array} format whose items have exactly the representation of the
+     * host array elements, or {@code null} if there is none.
+     */
+    public static BufferFormat getMatchingFormat(Object array) {
+        if (array instanceof byte[]) {
+            return BufferFormat.INT_8;
+        } else if (array instanceof short[]) {
+            return BufferFormat.INT_16;
+        } else if (array instanceof int[]) {
+            return BufferFormat.INT_32;
+        } else if (array instanceof long[]) {
+            return BufferFormat.INT_64;
+        } else if (array instanceof float[]) {
+            return BufferFormat.FLOAT;
+        } else if (array instanceof double[]) {
+            return BufferFormat.DOUBLE;
+        }
+        return null;
+    }
+
+    @TruffleBoundary
+    public static int getLength(Object array) {
+        return Array.getLength(array);
+    }
+
+    /**
+     * Copies the host array into {@code dest} in native byte order. The host array must have a
+     * {@link #getMatchingFormat(Object) matching format} and {@code dest} must be large enough.
+     */
+    @TruffleBoundary
+    public static void copyToBuffer(Object array, byte[] dest) {
+        if (array instanceof byte[]) {
+            byte[] a = (byte[]) array;
+            PythonUtils.arraycopy(a, 0, dest, 0, a.length);
+            return;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(dest).order(ByteOrder.nativeOrder());
+        if (array instanceof short[]) {
+            buffer.asShortBuffer().put((short[]) array);
+        } else if (array instanceof int[]) {
+            buffer.asIntBuffer().put((int[]) array);
+        } else if (array instanceof long[]) {
+            buffer.asLongBuffer().put((long[]) array);
+        } else if (array instanceof float[]) {
+            buffer.asFloatBuffer().put((float[]) array);
+        } else {
+            buffer.asDoubleBuffer().put((double[]) array);
+        }
+    }
+
+    /**
+     * Copies the unboxed elements of {@code storage} into the host array with
+     * {@link System#arraycopy} if the element types match exactly. Returns {@code false} if they
+     * do not, in which case nothing was copied.
+     */
+    @TruffleBoundary
+    public static boolean copyFromStorage(SequenceStorage storage, Object array) {
+        int length = storage.length();
+        if (storage instanceof IntSequenceStorage && array instanceof int[]) {
+            PythonUtils.arraycopy(((IntSequenceStorage) storage).getInternalIntArray(), 0, array, 0, length);
+        } else if (storage instanceof LongSequenceStorage && array instanceof long[]) {
+            PythonUtils.arraycopy(((LongSequenceStorage) storage).getInternalLongArray(), 0, array, 0, length);
+        } else if (storage instanceof DoubleSequenceStorage && array instanceof double[]) {
+            PythonUtils.arraycopy(((DoubleSequenceStorage) storage).getInternalDoubleArray(), 0, array, 0, length);
+        } else if (storage instanceof BoolSequenceStorage && array instanceof boolean[]) {
+            PythonUtils.arraycopy(((BoolSequenceStorage) storage).getInternalBoolArray(), 0, array, 0, length);
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    @NeverDefault
+    public static GetHostPrimitiveArrayNode create() {
+        return GetHostPrimitiveArrayNodeGen.create();
+    }
+
+    public static GetHostPrimitiveArrayNode getUncached() {
+        return GetHostPrimitiveArrayNodeGen.getUncached();
+    }
+}
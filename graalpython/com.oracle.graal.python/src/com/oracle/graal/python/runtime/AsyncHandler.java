@@ -46,14 +46,17 @@ import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.graalvm.nativeimage.ImageInfo;
 
@@ -179,6 +182,14 @@ public class AsyncHandler {
 
     private final WeakReference<PythonContext> context;
     private final Queue<AsyncAction> rescheduled = new ConcurrentLinkedDeque<>();
+    private final Queue<AsyncAction> deferredUntilGcEnabled = new ConcurrentLinkedDeque<>();
+
+    private final ReferenceQueue<Object> referenceQueue = new ReferenceQueue<>();
+    private final List<Class<?>> referenceClasses = new CopyOnWriteArrayList<>();
+    private final List<ReferenceBatchHandler> referenceHandlers = new CopyOnWriteArrayList<>();
+    private final ReferenceStatistics referenceStatistics = new ReferenceStatistics();
+    private boolean referenceHandlerStarted;
+    private Thread referenceHandlerThread;
     private static final int ASYNC_ACTION_DELAY = 25;
     private static final int GIL_RELEASE_DELAY = 50;
 
@@ -193,49 +204,63 @@ public class AsyncHandler {
         public void run() {
             final AsyncAction asyncAction = actionSupplier.get();
             if (asyncAction != null) {
-                final PythonContext ctx = context.get();
-                if (ctx != null) {
-                    Thread mainThread = ctx.getMainThread();
-                    if (mainThread != null) {
-                        ctx.getEnv().submitThreadLocal(new Thread[]{mainThread}, new ThreadLocalAction(true, false) {
-                            @Override
-                            @SuppressWarnings("try")
-                            protected void perform(ThreadLocalAction.Access access) {
-                                /*
-                                 * Explanation of the rescheduling mechanism: We don't want async
-                                 * actions to trigger within async other async actions as it causes
-                                 * weird behavior when, for example, a signal handler triggers in a
-                                 * weakref callback. So we have a boolean "lock" that doesn't allow
-                                 * us to enter async action handler if another one is already in
-                                 * progress and instead we put those into a queue. The queue is then
-                                 * drained by the outer async handler that was holding the "lock".
-                                 * This all happens on the main thread, so if something holds the
-                                 * lock, it's above us on the stack.
-                                 */
-                                AsyncAction action = asyncAction;
-                                do {
-                                    if (ctx.tryEnterAsyncHandler()) {
-                                        try {
-                                            GilNode gil = GilNode.getUncached();
-                                            boolean mustRelease = gil.acquire();
-                                            try {
-                                                action.execute(ctx);
-                                            } finally {
-                                                gil.release(mustRelease);
-                                            }
-                                        } finally {
-                                            ctx.leaveAsyncHandler();
-                                        }
-                                        action = rescheduled.poll();
-                                    } else {
-                                        rescheduled.add(action);
-                                        return;
+                scheduleOnMainThread(asyncAction);
+            }
+        }
+    }
+
+    /**
+     * Schedules a single action to run on the main thread at its next safepoint, for events that
+     * are delivered by other threads.
+     */
+    void scheduleAction(AsyncAction asyncAction) {
+        PythonContext ctx = context.get();
+        if (ctx != null && !ctx.getOption(PythonOptions.NoAsyncActions)) {
+            scheduleOnMainThread(asyncAction);
+        }
+    }
+
+    private void scheduleOnMainThread(AsyncAction asyncAction) {
+        final PythonContext ctx = context.get();
+        if (ctx != null) {
+            Thread mainThread = ctx.getMainThread();
+            if (mainThread != null) {
+                ctx.getEnv().submitThreadLocal(new Thread[]{mainThread}, new ThreadLocalAction(true, false) {
+                    @Override
+                    @SuppressWarnings("try")
+                    protected void perform(ThreadLocalAction.Access access) {
+                        /*
+                         * Explanation of the rescheduling mechanism: We don't want async actions to
+                         * trigger within async other async actions as it causes weird behavior when,
+                         * for example, a signal handler triggers in a weakref callback. So we have a
+                         * boolean "lock" that doesn't allow us to enter async action handler if
+                         * another one is already in progress and instead we put those into a queue.
+                         * The queue is then drained by the outer async handler that was holding the
+                         * "lock". This all happens on the main thread, so if something holds the
+                         * lock, it's above us on the stack.
+                         */
+                        AsyncAction action = asyncAction;
+                        do {
+                            if (ctx.tryEnterAsyncHandler()) {
+                                try {
+                                    GilNode gil = GilNode.getUncached();
+                                    boolean mustRelease = gil.acquire();
+                                    try {
+                                        action.execute(ctx);
+                                    } finally {
+                                        gil.release(mustRelease);
                                     }
-                                } while (action != null);
+                                } finally {
+                                    ctx.leaveAsyncHandler();
+                                }
+                                action = rescheduled.poll();
+                            } else {
+                                rescheduled.add(action);
+                                return;
                             }
-                        });
+                        } while (action != null);
                     }
-                }
+                });
             }
         }
     }
@@ -332,6 +357,209 @@ public class AsyncHandler {
         }
     }
 
+    /**
+     * Creates the action that processes a batch of dead references of one kind, see
+     * {@link AsyncHandler#registerReferenceHandler}.
+     */
+    public interface ReferenceBatchHandler {
+        /**
+         * @param references the references of the registered kind that were enqueued together
+         * @return the action to run on the main thread, or {@code null}
+         */
+        AsyncAction createAction(List<Reference<?>> references);
+    }
+
+    /**
+     * Returns the queue for all references whose referents' collection needs to run Python code or
+     * free native resources. Each kind of reference must be registered with
+     * {@link #registerReferenceHandler}.
+     */
+    public ReferenceQueue<Object> getReferenceQueue() {
+        return referenceQueue;
+    }
+
+    /**
+     * Registers the handler for the dead references of the given class on the
+     * {@link #getReferenceQueue() reference queue}. In the automatic mode, a single dedicated
+     * thread blocks on the queue, collects the references enqueued by a GC into a batch, and
+     * schedules the actions created by the handlers on the main thread. Otherwise, the queue is
+     * drained when async actions are polled.
+     */
+    void registerReferenceHandler(Class<?> referenceClass, ReferenceBatchHandler handler) {
+        CompilerAsserts.neverPartOfCompilation();
+        if (ImageInfo.inImageBuildtimeCode() || context.get().getOption(PythonOptions.NoAsyncActions)) {
+            return;
+        }
+        synchronized (referenceQueue) {
+            // the class is added first, so that the handler thread never sees a handler without it
+            referenceClasses.add(referenceClass);
+            referenceHandlers.add(handler);
+            if (!referenceHandlerStarted) {
+                referenceHandlerStarted = true;
+                if (PythonOptions.AUTOMATIC_ASYNC_ACTIONS) {
+                    referenceHandlerThread = new Thread(this::processReferences, "python-reference-handler");
+                    referenceHandlerThread.setDaemon(true);
+                    referenceHandlerThread.start();
+                } else {
+                    registeredActions.add(new AsyncRunnable(() -> {
+                        Reference<?> reference = referenceQueue.poll();
+                        return reference == null ? null : createReferencesAction(reference);
+                    }));
+                }
+            }
+        }
+    }
+
+    private void processReferences() {
+        while (true) {
+            AsyncAction action;
+            try {
+                action = createReferencesAction(referenceQueue.remove());
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (action != null) {
+                scheduleOnMainThread(action);
+            }
+        }
+    }
+
+    /**
+     * Drains the reference queue and groups the references by their handler.
+     */
+    private AsyncAction createReferencesAction(Reference<?> first) {
+        @SuppressWarnings("unchecked")
+        ArrayList<Reference<?>>[] batches = new ArrayList[referenceHandlers.size()];
+        int batchSize = 0;
+        Reference<?> reference = first;
+        do {
+            for (int i = 0; i < batches.length; i++) {
+                if (referenceClasses.get(i).isInstance(reference)) {
+                    if (batches[i] == null) {
+                        batches[i] = new ArrayList<>();
+                    }
+                    batches[i].add(reference);
+                    break;
+                }
+            }
+            batchSize++;
+            reference = referenceQueue.poll();
+        } while (reference != null);
+        referenceStatistics.recordBatch(batchSize);
+
+        ArrayList<AsyncAction> actions = new ArrayList<>();
+        for (int i = 0; i < batches.length; i++) {
+            if (batches[i] != null) {
+                AsyncAction action = referenceHandlers.get(i).createAction(batches[i]);
+                if (action != null) {
+                    actions.add(action);
+                }
+            }
+        }
+        if (actions.isEmpty()) {
+            referenceStatistics.recordProcessed(batchSize, System.nanoTime());
+            return null;
+        }
+        return new ReferencesAction(actions.toArray(new AsyncAction[0]), batchSize, System.nanoTime());
+    }
+
+    public ReferenceStatistics getReferenceStatistics() {
+        return referenceStatistics;
+    }
+
+    /**
+     * Metrics of the reference handling. The latency is the time from dequeuing a batch of
+     * references to running its actions on the main thread.
+     */
+    public static final class ReferenceStatistics {
+        private final AtomicLong processed = new AtomicLong();
+        private final AtomicLong pending = new AtomicLong();
+        private final AtomicLong batches = new AtomicLong();
+        private final AtomicLong maxBatchSize = new AtomicLong();
+        private final AtomicLong totalLatencyNanos = new AtomicLong();
+        private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+        void recordBatch(int size) {
+            batches.incrementAndGet();
+            pending.addAndGet(size);
+            maxBatchSize.accumulateAndGet(size, Math::max);
+        }
+
+        void recordProcessed(int size, long dequeueTime) {
+            long latency = System.nanoTime() - dequeueTime;
+            pending.addAndGet(-size);
+            processed.addAndGet(size);
+            totalLatencyNanos.addAndGet(latency);
+            maxLatencyNanos.accumulateAndGet(latency, Math::max);
+        }
+
+        /**
+         * The number of dead references whose actions have run.
+         */
+        public long getProcessed() {
+            return processed.get();
+        }
+
+        /**
+         * The number of dead references that were dequeued but whose actions did not run yet.
+         */
+        public long getPending() {
+            return pending.get();
+        }
+
+        public long getBatches() {
+            return batches.get();
+        }
+
+        public long getMaxBatchSize() {
+            return maxBatchSize.get();
+        }
+
+        public long getAverageLatencyNanos() {
+            long count = batches.get();
+            return count == 0 ? 0 : totalLatencyNanos.get() / count;
+        }
+
+        public long getMaxLatencyNanos() {
+            return maxLatencyNanos.get();
+        }
+    }
+
+    private final class ReferencesAction implements AsyncAction {
+        private final AsyncAction[] actions;
+        private final int batchSize;
+        private final long dequeueTime;
+
+        ReferencesAction(AsyncAction[] actions, int batchSize, long dequeueTime) {
+            this.actions = actions;
+            this.batchSize = batchSize;
+            this.dequeueTime = dequeueTime;
+        }
+
+        @Override
+        public void execute(PythonContext ctx) {
+            referenceStatistics.recordProcessed(batchSize, dequeueTime);
+            for (AsyncAction action : actions) {
+                action.execute(ctx);
+            }
+        }
+    }
+
+    /**
+     * Keeps an action until the weakref callbacks are enabled again with {@code gc.enable()}.
+     */
+    public void deferUntilGcEnabled(AsyncAction action) {
+        deferredUntilGcEnabled.add(action);
+    }
+
+    @TruffleBoundary
+    void scheduleDeferredActions() {
+        AsyncAction action;
+        while ((action = deferredUntilGcEnabled.poll()) != null) {
+            scheduleOnMainThread(action);
+        }
+    }
+
     void activateGIL() {
         CompilerAsserts.neverPartOfCompilation();
         final PythonContext ctx = context.get();
@@ -392,13 +620,16 @@ public class AsyncHandler {
         if (executorService != null) {
             executorService.shutdownNow();
         }
+        if (referenceHandlerThread != null) {
+            referenceHandlerThread.interrupt();
+        }
     }
 
     public static class SharedFinalizer {
         private static final TruffleLogger LOGGER = PythonLanguage.getLogger(SharedFinalizer.class);
 
         private final PythonContext pythonContext;
-        private final ReferenceQueue<Object> queue = new ReferenceQueue<>();
+        private final ReferenceQueue<Object> queue;
 
         /**
          * This is a Set of references to keep them alive after their gc collected referents.
@@ -407,6 +638,7 @@ public class AsyncHandler {
 
         public SharedFinalizer(PythonContext context) {
             this.pythonContext = context;
+            this.queue = context.getAsyncHandler().getReferenceQueue();
         }
 
         /**
@@ -496,40 +728,26 @@ public class AsyncHandler {
         }
 
         /**
-         * We register the Async action once on the first encounter of a creation of
-         * {@link FinalizableReference}. This will reduce unnecessary Async thread load when there
-         * isn't any enqueued references.
+         * We register the reference handler once on the first encounter of a creation of
+         * {@link FinalizableReference}.
          */
         public void registerAsyncAction() {
-            pythonContext.registerAsyncAction(() -> {
-                Reference<? extends Object> reference = null;
-                if (PythonOptions.AUTOMATIC_ASYNC_ACTIONS) {
-                    try {
-                        reference = queue.remove();
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                    }
-                } else {
-                    reference = queue.poll();
-                }
+            pythonContext.registerReferenceHandler(FinalizableReference.class, references -> {
                 ArrayList<AsyncAction> actions = new ArrayList<>();
-                do {
-                    if (reference instanceof FinalizableReference) {
-                        FinalizableReference object = (FinalizableReference) reference;
-                        try {
-                            liveReferencesSet.remove(object);
-                            if (!object.isReleased()) {
-                                AsyncAction action = object.release();
-                                if (action != null) {
-                                    actions.add(action);
-                                }
+                for (Reference<?> reference : references) {
+                    FinalizableReference object = (FinalizableReference) reference;
+                    try {
+                        liveReferencesSet.remove(object);
+                        if (!object.isReleased()) {
+                            AsyncAction action = object.release();
+                            if (action != null) {
+                                actions.add(action);
                             }
-                        } catch (Exception e) {
-                            actions.add(new SharedFinalizerErrorCallback(object, e));
                         }
+                    } catch (Exception e) {
+                        actions.add(new SharedFinalizerErrorCallback(object, e));
                     }
-                    reference = queue.poll();
-                } while (reference != null);
+                }
                 if (!actions.isEmpty()) {
                     return new AsyncActionsList(actions.toArray(new AsyncAction[0]));
                 }
@@ -0,0 +1,282 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.runtime;
+
+import static com.oracle.graal.python.util.PythonUtils.tsLiteral;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+
+import org.graalvm.nativeimage.ImageInfo;
+
+import com.oracle.graal.python.builtins.objects.function.PKeyword;
+import com.oracle.graal.python.builtins.objects.list.PList;
+import com.oracle.graal.python.nodes.WriteUnraisableNode;
+import com.oracle.graal.python.nodes.call.CallNode;
+import com.oracle.graal.python.runtime.exception.PException;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.graal.python.util.PythonUtils;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.strings.TruffleString;
+
+/**
+ * The state behind the {@code gc} module. The collections of the JVM are received as
+ * {@link GarbageCollectorMXBean} notifications, counted per generation and reported to
+ * {@code gc.callbacks} from an async action. Minor JVM collections are reported as generation 0,
+ * major ones as generation 2. Explicit collections are run and reported by {@code gc.collect()}
+ * itself.
+ */
+public final class GcMonitor implements NotificationListener {
+    public static final int GENERATIONS = 3;
+    public static final int OLDEST_GENERATION = GENERATIONS - 1;
+
+    private static final TruffleString T_START = tsLiteral("start");
+    private static final TruffleString T_STOP = tsLiteral("stop");
+    private static final TruffleString T_GENERATION = tsLiteral("generation");
+    private static final TruffleString T_COLLECTED = tsLiteral("collected");
+    private static final TruffleString T_UNCOLLECTABLE = tsLiteral("uncollectable");
+
+    private static final String GC_NOTIFICATION = "com.sun.management.gc.notification";
+    private static final int MAX_PENDING_EVENTS = 256;
+    /*
+     * How long to wait for the reference handler after a full GC, so that the weakref callbacks
+     * and finalizers are ready to run when gc.collect() returns.
+     */
+    private static final long REFERENCE_PROCESSING_TIMEOUT_MS = 15;
+
+    private final PythonContext context;
+    private final AtomicLongArray collections = new AtomicLongArray(GENERATIONS);
+    private final ConcurrentLinkedQueue<Integer> pendingEvents = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingEventCount = new AtomicInteger();
+    private final AtomicBoolean callbacksScheduled = new AtomicBoolean();
+    private final List<NotificationEmitter> emitters = new ArrayList<>();
+    private PList callbacks;
+
+    private long lastFullCollectionEnd;
+    private long lastFullCollectionDuration;
+
+    GcMonitor(PythonContext context) {
+        this.context = context;
+    }
+
+    /**
+     * Starts listening for JVM collections and reporting them to the {@code callbacks} list.
+     */
+    @TruffleBoundary
+    public void start(PList callbacksList) {
+        this.callbacks = callbacksList;
+        if (ImageInfo.inImageBuildtimeCode()) {
+            return;
+        }
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (bean instanceof NotificationEmitter) {
+                NotificationEmitter emitter = (NotificationEmitter) bean;
+                emitter.addNotificationListener(this, null, null);
+                emitters.add(emitter);
+            }
+        }
+    }
+
+    @TruffleBoundary
+    void shutdown() {
+        for (NotificationEmitter emitter : emitters) {
+            try {
+                emitter.removeNotificationListener(this);
+            } catch (ListenerNotFoundException e) {
+                // already removed
+            }
+        }
+        emitters.clear();
+    }
+
+    @Override
+    public void handleNotification(Notification notification, Object handback) {
+        if (!GC_NOTIFICATION.equals(notification.getType()) || !(notification.getUserData() instanceof CompositeData)) {
+            return;
+        }
+        CompositeData data = (CompositeData) notification.getUserData();
+        String cause = String.valueOf(data.get("gcCause"));
+        if ("System.gc()".equals(cause) || "Diagnostic Command".equals(cause)) {
+            // explicit collections are reported by gc.collect()
+            return;
+        }
+        int generation = String.valueOf(data.get("gcAction")).contains("major") ? OLDEST_GENERATION : 0;
+        collections.incrementAndGet(generation);
+        if (pendingEventCount.incrementAndGet() <= MAX_PENDING_EVENTS) {
+            pendingEvents.add(generation);
+        } else {
+            pendingEventCount.decrementAndGet();
+        }
+        if (callbacksScheduled.compareAndSet(false, true)) {
+            context.getAsyncHandler().scheduleAction(new CallbacksAction());
+        }
+    }
+
+    public long getCollections(int generation) {
+        return collections.get(generation);
+    }
+
+    public void countCollection(int generation) {
+        collections.incrementAndGet(generation);
+    }
+
+    /**
+     * Decides whether an explicit full collection may run now, i.e., whether it keeps the share of
+     * time spent in explicit full collections below {@link PythonOptions#GcCollectMaxOverhead}.
+     * The estimate for the next collection is the duration of the previous one.
+     */
+    @TruffleBoundary
+    public synchronized boolean mayCollectFully() {
+        int maxOverhead = context.getOption(PythonOptions.GcCollectMaxOverhead);
+        if (maxOverhead <= 0 || lastFullCollectionEnd == 0) {
+            return true;
+        }
+        long sinceLast = System.nanoTime() - lastFullCollectionEnd;
+        return lastFullCollectionDuration * 100 <= (sinceLast + lastFullCollectionDuration) * maxOverhead;
+    }
+
+    /**
+     * Runs a full GC and waits until the reference handler has enqueued the cleared references,
+     * which is when the weakref callbacks and finalizers can be processed. Must be called without
+     * holding the GIL.
+     */
+    @TruffleBoundary
+    public void collectFully() {
+        long start = System.nanoTime();
+        ReferenceQueue<Object> queue = new ReferenceQueue<>();
+        WeakReference<Object> sentinel = new WeakReference<>(new Object(), queue);
+        PythonUtils.forceFullGC();
+        try {
+            queue.remove(REFERENCE_PROCESSING_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        sentinel.clear();
+        synchronized (this) {
+            lastFullCollectionEnd = System.nanoTime();
+            lastFullCollectionDuration = lastFullCollectionEnd - start;
+        }
+        countCollection(OLDEST_GENERATION);
+    }
+
+    /**
+     * Calls the {@code gc.callbacks} for the start or the end of a collection on the current
+     * thread.
+     */
+    @TruffleBoundary
+    public void invokeCallbacks(boolean start, int generation) {
+        for (Object callback : getCallbacks()) {
+            try {
+                CallNode.getUncached().execute(callback, start ? T_START : T_STOP, createInfo(generation));
+            } catch (PException e) {
+                WriteUnraisableNode.getUncached().execute(e.getEscapedException(), null, callback);
+            }
+        }
+    }
+
+    private Object[] getCallbacks() {
+        return callbacks == null ? PythonUtils.EMPTY_OBJECT_ARRAY : callbacks.getSequenceStorage().getCopyOfInternalArray();
+    }
+
+    private static Object createInfo(int generation) {
+        return PythonObjectFactory.getUncached().createDict(new PKeyword[]{
+                        new PKeyword(T_GENERATION, generation),
+                        new PKeyword(T_COLLECTED, 0),
+                        new PKeyword(T_UNCOLLECTABLE, 0)
+        });
+    }
+
+    /**
+     * Reports the pending JVM collections to the callbacks, with a start and a stop event for each
+     * one.
+     */
+    private final class CallbacksAction extends AsyncHandler.AsyncPythonAction {
+        private List<Integer> generations;
+        private Object[] callbacksSnapshot;
+        private int index;
+
+        @Override
+        protected Object callable() {
+            if (generations == null) {
+                callbacksScheduled.set(false);
+                generations = new ArrayList<>();
+                Integer generation;
+                while ((generation = pendingEvents.poll()) != null) {
+                    pendingEventCount.decrementAndGet();
+                    generations.add(generation);
+                }
+                callbacksSnapshot = getCallbacks();
+            }
+            return callbacksSnapshot.length == 0 || generations.isEmpty() ? null : callbacksSnapshot[index % callbacksSnapshot.length];
+        }
+
+        @Override
+        protected Object[] arguments() {
+            int event = index / callbacksSnapshot.length;
+            return new Object[]{event % 2 == 0 ? T_START : T_STOP, createInfo(generations.get(event / 2))};
+        }
+
+        @Override
+        protected boolean proceed() {
+            index++;
+            return index < callbacksSnapshot.length * generations.size() * 2;
+        }
+
+        @Override
+        protected void handleException(PException e) {
+            WriteUnraisableNode.getUncached().execute(e.getEscapedException(), null, callable());
+        }
+    }
+}
@@ -70,13 +70,17 @@ import java.security.SecureRandom;
 import java.text.MessageFormat;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListMap;
@@ -132,6 +136,7 @@ import com.oracle.graal.python.lib.PyObjectCallMethodObjArgs;
 import com.oracle.graal.python.nodes.SpecialAttributeNames;
 import com.oracle.graal.python.nodes.SpecialMethodNames;
 import com.oracle.graal.python.nodes.attributes.ReadAttributeFromObjectNode;
+import com.oracle.graal.python.nodes.bytecode.PBytecodeRootNode;
 import com.oracle.graal.python.nodes.call.CallNode;
 import com.oracle.graal.python.nodes.object.SetDictNode;
 import com.oracle.graal.python.nodes.statement.AbstractImportNode;
@@ -142,6 +147,7 @@ import com.oracle.graal.python.runtime.exception.PException;
 import com.oracle.graal.python.runtime.exception.PythonThreadKillException;
 import com.oracle.graal.python.runtime.object.IDUtils;
 import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.graal.python.runtime.sequence.storage.NativeSequenceStorage;
 import com.oracle.graal.python.util.Consumer;
 import com.oracle.graal.python.util.PythonUtils;
 import com.oracle.graal.python.util.ShutdownHook;
@@ -231,6 +237,22 @@ public final class PythonContext extends Python3Core {
         }
     }
 
+    /**
+     * A profile function implemented in Java, the equivalent of a C level {@code Py_tracefunc}
+     * installed with {@code PyEval_SetProfile}. When such an object is the thread's profile
+     * function, the interpreter passes events to it directly instead of materializing the frame and
+     * calling it as a Python callable.
+     */
+    public interface ProfileHook {
+        /**
+         * @param event the profile event
+         * @param callee the {@link PBytecodeRootNode} of the called Python function for
+         *            {@link ProfileEvent#CALL} and {@link ProfileEvent#RETURN}, the builtin function
+         *            for the {@code C_*} events
+         */
+        void profileEvent(ProfileEvent event, Object callee);
+    }
+
     /**
      * A class to store thread-local data mostly like CPython's {@code PyThreadState}.
      */
@@ -287,6 +309,18 @@ public final class PythonContext extends Python3Core {
          */
         PContextVarsContext contextVarsContext;
 
+        /* The running asyncio event loop, set by _asyncio._set_running_loop. */
+        Object runningEventLoop;
+
+        /* Nesting depth of calls into C extension functions. */
+        int nativeCallDepth;
+
+        /*
+         * Scoped native storages of lists (see NativeSequenceStorage#markScoped) that were pinned by
+         * the C extension calls of this thread. They are unpinned when the outermost C call returns.
+         */
+        IdentityHashMap<NativeSequenceStorage, PList> scopedNativeStorages;
+
         /*
          * The constructor needs to have this particular signature such that we can use it for
          * ContextThreadLocal.
@@ -382,6 +416,50 @@ public final class PythonContext extends Python3Core {
             this.contextVarsContext = contextVarsContext;
         }
 
+        public void enterNativeCall() {
+            nativeCallDepth++;
+        }
+
+        /**
+         * Leaves a C extension call and returns {@code true} if this was the outermost one and some
+         * lists were moved to native storage in the meantime.
+         */
+        public boolean exitNativeCall() {
+            return --nativeCallDepth == 0 && scopedNativeStorages != null;
+        }
+
+        public boolean isInNativeCall() {
+            return nativeCallDepth > 0;
+        }
+
+        /**
+         * Pins the scoped native storage of the list, once per outermost C extension call of this
+         * thread.
+         */
+        @TruffleBoundary
+        public void pinScopedNativeStorage(PList list, NativeSequenceStorage storage) {
+            if (scopedNativeStorages == null) {
+                scopedNativeStorages = new IdentityHashMap<>();
+            }
+            if (scopedNativeStorages.putIfAbsent(storage, list) == null) {
+                storage.pin();
+            }
+        }
+
+        public IdentityHashMap<NativeSequenceStorage, PList> takeScopedNativeStorages() {
+            IdentityHashMap<NativeSequenceStorage, PList> storages = scopedNativeStorages;
+            scopedNativeStorages = null;
+            return storages;
+        }
+
+        public Object getRunningEventLoop() {
+            return runningEventLoop;
+        }
+
+        public void setRunningEventLoop(Object runningEventLoop) {
+            this.runningEventLoop = runningEventLoop;
+        }
+
         public void dispose() {
             // This method may be called twice on the same object.
             ReleaseHandleNode releaseHandleNode = ReleaseHandleNodeGen.getUncached();
@@ -569,6 +647,16 @@ public final class PythonContext extends Python3Core {
     private static final TruffleString T_LIB_PYTHON_3 = tsLiteral("/lib/python" + PythonLanguage.MAJOR + "." + PythonLanguage.MINOR);
     private static final TruffleString T_LIB_GRAALPYTHON = tsLiteral("/lib/graalpy" + PythonLanguage.GRAALVM_MAJOR + "." + PythonLanguage.GRAALVM_MINOR);
     private static final TruffleString T_STD_LIB_PLACEHOLDER = tsLiteral("!stdLibHome!");
+    private static final TruffleString T_PATH_IMPORTER_CACHE = tsLiteral("path_importer_cache");
+
+    /**
+     * Warmup modules that may be imported at image build time. Everything they import must be in
+     * this set too. They must not use native libraries or builtin modules that are only set up at
+     * run time, and must not capture process state such as the environment or random seeds,
+     * because the image heap is shared by every process started from the image.
+     */
+    private static final Set<String> BUILDTIME_WARMUP_MODULES = Set.of("abc", "collections", "collections.abc", "copy", "enum", "functools", "keyword", "operator", "reprlib", "types",
+                    "weakref");
     private static final String J_NO_CORE_FATAL = "could not determine Graal.Python's core path - you must pass --python.CoreHome.";
     private static final String J_NO_PREFIX_WARNING = "could not determine Graal.Python's sys prefix path - you may need to pass --python.SysPrefix.";
     private static final String J_NO_CORE_WARNING = "could not determine Graal.Python's core path - you may need to pass --python.CoreHome.";
@@ -643,6 +731,7 @@ public final class PythonContext extends Python3Core {
     // The context-local resources
     private final AsyncHandler handler;
     private final AsyncHandler.SharedFinalizer sharedFinalizer;
+    private final GcMonitor gcMonitor;
 
     // decides if we run the async weakref callbacks and destructors
     private boolean gcEnabled = true;
@@ -680,6 +769,14 @@ public final class PythonContext extends Python3Core {
 
     private final ConcurrentHashMap<TruffleString, AtomicLong> deserializationId = new ConcurrentHashMap<>();
 
+    /*
+     * Lines executed since line coverage was last started, one bitmap indexed by line number for
+     * each code unit (i.e., bytecode root node). The bitmaps stay available after line coverage is
+     * stopped, until it is started again.
+     */
+    private Map<PBytecodeRootNode, BitSet> lineCoverage;
+    private boolean collectingLineCoverage;
+
     private final long perfCounterStart = ImageInfo.inImageBuildtimeCode() ? 0 : System.nanoTime();
 
     public static final String CHILD_CONTEXT_DATA = "childContextData";
@@ -1069,6 +1166,7 @@ public final class PythonContext extends Python3Core {
         this.sharedMultiprocessingData = this.childContextData == null ? new SharedMultiprocessingData(language.namedSemaphores) : childContextData.parentCtx.sharedMultiprocessingData;
         this.handler = new AsyncHandler(this);
         this.sharedFinalizer = new AsyncHandler.SharedFinalizer(this);
+        this.gcMonitor = new GcMonitor(this);
         this.optionValues = PythonOptions.createOptionValuesStorage(env);
         this.in = env.in();
         this.out = env.out();
@@ -1386,6 +1484,9 @@ public final class PythonContext extends Python3Core {
             initializePosixSupport();
             initialize(this);
             setupRuntimeInformation(false);
+            if (ImageInfo.inImageBuildtimeCode()) {
+                preImportWarmupModules();
+            }
             postInitialize();
             if (!ImageInfo.inImageBuildtimeCode()) {
                 importSiteIfForced();
@@ -1429,6 +1530,56 @@ public final class PythonContext extends Python3Core {
             // When InputFilePath is set, this is handled by __graalpython__.run_path
             addSysPath0();
         }
+        importWarmupModules();
+    }
+
+    /**
+     * Imports the modules listed in {@link PythonOptions#WarmupModules} that are also in
+     * {@link #BUILDTIME_WARMUP_MODULES} into a context that is being pre-initialized, so that they
+     * become part of the image heap. The others are only imported when the context is patched.
+     * The {@code sys.path} is only set up in {@link #postInitialize()}, so we import with just the
+     * standard library on it and drop the cached path finders afterwards. The paths of the new
+     * modules are patched like those of the other pre-loaded modules in
+     * {@link #setupRuntimeInformation}.
+     */
+    private void preImportWarmupModules() {
+        String modules = getOption(PythonOptions.WarmupModules).toJavaStringUncached();
+        if (modules.isEmpty()) {
+            return;
+        }
+        PythonModule sys = getSysModule();
+        Object sysPath = sys.getAttribute(T_PATH);
+        sys.setAttribute(T_PATH, factory().createList(new Object[]{getStdlibHome()}));
+        try {
+            for (String name : modules.split(",")) {
+                String trimmed = name.trim();
+                if (BUILDTIME_WARMUP_MODULES.contains(trimmed)) {
+                    AbstractImportNode.importModule(toTruffleStringUncached(trimmed));
+                }
+            }
+        } finally {
+            sys.setAttribute(T_PATH, sysPath);
+            sys.setAttribute(T_PATH_IMPORTER_CACHE, factory().createDict());
+        }
+        patchPackagePaths(getStdlibHome(), T_STD_LIB_PLACEHOLDER);
+    }
+
+    /**
+     * Imports the modules listed in {@link PythonOptions#WarmupModules}. In a pre-initialized
+     * context, those in {@link #BUILDTIME_WARMUP_MODULES} were already imported during the image
+     * build and this only finds them in {@code sys.modules}.
+     */
+    private void importWarmupModules() {
+        String modules = getOption(PythonOptions.WarmupModules).toJavaStringUncached();
+        if (modules.isEmpty()) {
+            return;
+        }
+        for (String name : modules.split(",")) {
+            String trimmed = name.trim();
+            if (!trimmed.isEmpty()) {
+                AbstractImportNode.importModule(toTruffleStringUncached(trimmed));
+            }
+        }
     }
 
     public void addSysPath0() {
@@ -1865,6 +2016,8 @@ public final class PythonContext extends Python3Core {
             }
             // shut down async actions threads
             handler.shutdown();
+            gcMonitor.shutdown();
+            stopLineCoverage();
             finalizing = true;
             // interrupt and join or kill python threads
             joinThreads();
@@ -2100,6 +2253,14 @@ public final class PythonContext extends Python3Core {
         handler.registerAction(actionSupplier);
     }
 
+    /**
+     * Register the handler for a kind of references on the shared reference queue. Refer to
+     * {@link AsyncHandler#registerReferenceHandler} for details.
+     */
+    public void registerReferenceHandler(Class<?> referenceClass, AsyncHandler.ReferenceBatchHandler referenceHandler) {
+        handler.registerReferenceHandler(referenceClass, referenceHandler);
+    }
+
     /**
      * Poll async actions in case they are not set to run automatically.
      *
@@ -2408,12 +2569,19 @@ public final class PythonContext extends Python3Core {
 
     public void setGcEnabled(boolean flag) {
         gcEnabled = flag;
+        if (flag) {
+            handler.scheduleDeferredActions();
+        }
     }
 
     public AsyncHandler.SharedFinalizer getSharedFinalizer() {
         return sharedFinalizer;
     }
 
+    public GcMonitor getGcMonitor() {
+        return gcMonitor;
+    }
+
     public boolean isFinalizing() {
         return finalizing;
     }
@@ -2434,6 +2602,54 @@ public final class PythonContext extends Python3Core {
         return codeUnitFilename.get(co);
     }
 
+    /**
+     * Starts collecting line coverage, dropping the data collected so far. All bytecode root nodes
+     * re-arm their line coverage probes the next time they run.
+     */
+    @TruffleBoundary
+    public void startLineCoverage() {
+        lineCoverage = new LinkedHashMap<>();
+        if (!collectingLineCoverage) {
+            collectingLineCoverage = true;
+            getLanguage().lineCoverageCollectors.incrementAndGet();
+        }
+        getLanguage().noLineCoverageAssumption.invalidate();
+        getLanguage().lineCoverageEpoch.invalidate();
+    }
+
+    /**
+     * Stops collecting line coverage. Bytecode root nodes re-arm their probes the next time they
+     * run, or drop them once no context of the language collects anymore.
+     */
+    @TruffleBoundary
+    public void stopLineCoverage() {
+        if (collectingLineCoverage) {
+            collectingLineCoverage = false;
+            getLanguage().lineCoverageCollectors.decrementAndGet();
+            getLanguage().lineCoverageEpoch.invalidate();
+        }
+    }
+
+    public boolean isCollectingLineCoverage() {
+        return collectingLineCoverage;
+    }
+
+    /**
+     * Called by a bytecode root node the first time a line is executed in a collecting context
+     * after its probes were armed. If several contexts collect at the same time, the probes are not
+     * disarmed and this is called each time a line is executed.
+     */
+    @TruffleBoundary
+    public void recordLineCoverage(PBytecodeRootNode rootNode, int line) {
+        if (line >= 0) {
+            lineCoverage.computeIfAbsent(rootNode, k -> new BitSet()).set(line);
+        }
+    }
+
+    public Map<PBytecodeRootNode, BitSet> getLineCoverage() {
+        return lineCoverage;
+    }
+
     public long getDeserializationId(TruffleString fileName) {
         return deserializationId.computeIfAbsent(fileName, f -> new AtomicLong()).incrementAndGet();
     }
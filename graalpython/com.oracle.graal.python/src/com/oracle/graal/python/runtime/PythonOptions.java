@@ -300,9 +300,19 @@ public final class PythonOptions {
     @EngineOption @Option(category = OptionCategory.EXPERT, usageSyntax = "true|false", help = "") //
     public static final OptionKey<Boolean> ForceInlineGeneratorCalls = new OptionKey<>(false);
 
+    @EngineOption @Option(category = OptionCategory.EXPERT, usageSyntax = "<limit>", help = "Number of calls and loop iterations a function runs in the uncached interpreter, which " +
+                    "creates no nodes and collects no profiles, before switching to the profiling interpreter that gets compiled. Higher values reduce startup time and memory of " +
+                    "short-running scripts, 0 disables the uncached interpreter.") //
+    public static final OptionKey<Integer> UncachedInterpreterLimit = new OptionKey<>(1);
+
     @Option(category = OptionCategory.EXPERT, usageSyntax = "true|false", help = "Force to automatically import site.py module.") //
     public static final OptionKey<Boolean> ForceImportSite = new OptionKey<>(false);
 
+    @Option(category = OptionCategory.EXPERT, usageSyntax = "<module>[,<module>]", help = "Comma-separated list of modules to import when a context is initialized, after site and sys.path " +
+                    "setup. When contexts are pre-initialized in a native image, a fixed set of pure standard library modules (such as collections, enum and functools) " +
+                    "is imported at image build time and becomes part of the image heap, the others are imported at startup.") //
+    public static final OptionKey<TruffleString> WarmupModules = new OptionKey<>(T_EMPTY_STRING, TS_OPTION_TYPE);
+
     @Option(category = OptionCategory.EXPERT, usageSyntax = "true|false", help = "This option is set by the Python launcher to tell the language it can print exceptions directly") //
     public static final OptionKey<Boolean> AlwaysRunExcepthook = new OptionKey<>(false);
 
@@ -317,7 +327,7 @@ public final class PythonOptions {
     @EngineOption @Option(category = OptionCategory.EXPERT, usageSyntax = "true|false", help = "Use the CPython sre engine as a fallback to the TRegex engine.") //
     public static final OptionKey<Boolean> TRegexUsesSREFallback = new OptionKey<>(true);
 
-    @Option(category = OptionCategory.EXPERT, usageSyntax = "true|false", help = "Switch on/off using lazy strings for performance reasons. Default true.") //
+    @EngineOption @Option(category = OptionCategory.EXPERT, usageSyntax = "true|false", help = "Switch on/off using lazy strings for performance reasons. Default true.") //
     public static final OptionKey<Boolean> LazyStrings = new OptionKey<>(true);
 
     @EngineOption @Option(category = OptionCategory.EXPERT, usageSyntax = "true|false", help = "Enable forced splitting (of builtins). Default false.") //
@@ -351,6 +361,10 @@ public final class PythonOptions {
     @Option(category = OptionCategory.EXPERT, usageSyntax = "true|false", help = "Disable weakref callback processing, signal handling, and other periodic async actions.") //
     public static final OptionKey<Boolean> NoAsyncActions = new OptionKey<>(false);
 
+    @Option(category = OptionCategory.EXPERT, usageSyntax = "<percent>", help = "Limit the share of run time spent in full GCs requested by gc.collect(). " +
+                    "Calls that would exceed it only process pending weakref callbacks and finalizers. 0 means no limit.") //
+    public static final OptionKey<Integer> GcCollectMaxOverhead = new OptionKey<>(0);
+
     @Option(category = OptionCategory.EXPERT, usageSyntax = "true|false", help = "Propagate append operations to lists created as literals back to where they were created, to inform overallocation to avoid having to grow them later.") //
     public static final OptionKey<Boolean> OverallocateLiteralLists = new OptionKey<>(true);
 
@@ -65,6 +65,11 @@ import com.oracle.graal.python.builtins.modules.lzma.LZMAObject;
 import com.oracle.graal.python.builtins.modules.zlib.ZLibCompObject;
 import com.oracle.graal.python.builtins.objects.PNone;
 import com.oracle.graal.python.builtins.objects.array.PArray;
+import com.oracle.graal.python.builtins.objects.asyncio.PFuture;
+import com.oracle.graal.python.builtins.objects.asyncio.PFutureIter;
+import com.oracle.graal.python.builtins.objects.asyncio.PTask;
+import com.oracle.graal.python.builtins.objects.asyncio.PTaskStepMethWrapper;
+import com.oracle.graal.python.builtins.objects.asyncio.PTaskWakeupMethWrapper;
 import com.oracle.graal.python.builtins.objects.bytes.PByteArray;
 import com.oracle.graal.python.builtins.objects.bytes.PBytes;
 import com.oracle.graal.python.builtins.objects.capsule.PyCapsule;
@@ -142,6 +147,7 @@ import com.oracle.graal.python.builtins.objects.itertools.PZipLongest;
 import com.oracle.graal.python.builtins.objects.keywrapper.PKeyWrapper;
 import com.oracle.graal.python.builtins.objects.list.PList;
 import com.oracle.graal.python.builtins.objects.list.PList.ListOrigin;
+import com.oracle.graal.python.builtins.objects.lrucache.PLruCacheWrapper;
 import com.oracle.graal.python.builtins.objects.map.PMap;
 import com.oracle.graal.python.builtins.objects.mappingproxy.PMappingproxy;
 import com.oracle.graal.python.builtins.objects.memoryview.BufferLifecycleManager;
@@ -154,6 +160,9 @@ import com.oracle.graal.python.builtins.objects.mmap.PMMap;
 import com.oracle.graal.python.builtins.objects.module.PythonModule;
 import com.oracle.graal.python.builtins.objects.namespace.PSimpleNamespace;
 import com.oracle.graal.python.builtins.objects.object.PythonObject;
+import com.oracle.graal.python.builtins.objects.operator.PAttrGetter;
+import com.oracle.graal.python.builtins.objects.operator.PItemGetter;
+import com.oracle.graal.python.builtins.objects.operator.PMethodCaller;
 import com.oracle.graal.python.builtins.objects.partial.PPartial;
 import com.oracle.graal.python.builtins.objects.posix.PDirEntry;
 import com.oracle.graal.python.builtins.objects.posix.PScandirIterator;
@@ -840,6 +849,23 @@ public abstract class PythonObjectFactory extends Node {
         return trace(new PPartial(cls, getShape(cls), function, args, kwDict));
     }
 
+    public final PLruCacheWrapper createLruCacheWrapper(Object cls, Object function, Object maxsizeObject, int maxsize, boolean typed, Object cacheInfoType) {
+        Object kwdMark = createPythonObject(PythonBuiltinClassType.PythonObject);
+        return trace(new PLruCacheWrapper(cls, getShape(cls), function, maxsizeObject, maxsize, typed, cacheInfoType, kwdMark));
+    }
+
+    public final PItemGetter createItemGetter(Object cls, Object[] items) {
+        return trace(new PItemGetter(cls, getShape(cls), items));
+    }
+
+    public final PAttrGetter createAttrGetter(Object cls, Object[] attrs, TruffleString[][] paths) {
+        return trace(new PAttrGetter(cls, getShape(cls), attrs, paths));
+    }
+
+    public final PMethodCaller createMethodCaller(Object cls, TruffleString name, Object[] args, PKeyword[] kwargs) {
+        return trace(new PMethodCaller(cls, getShape(cls), name, args, kwargs));
+    }
+
     public final PDefaultDict createDefaultDict(Object cls) {
         return createDefaultDict(cls, PNone.NONE);
     }
@@ -1477,6 +1503,26 @@ public abstract class PythonObjectFactory extends Node {
         return trace(new PContextVarsToken(var, oldValue, PythonBuiltinClassType.ContextVarsToken, getShape(PythonBuiltinClassType.ContextVarsToken)));
     }
 
+    public final PFuture createFuture(Object cls) {
+        return trace(new PFuture(cls, getShape(cls)));
+    }
+
+    public final PTask createTask(Object cls) {
+        return trace(new PTask(cls, getShape(cls)));
+    }
+
+    public final PFutureIter createFutureIter(PFuture future) {
+        return trace(new PFutureIter(PythonBuiltinClassType.PFutureIter, getShape(PythonBuiltinClassType.PFutureIter), future));
+    }
+
+    public final PTaskStepMethWrapper createTaskStepMethWrapper(PTask task, Object arg) {
+        return trace(new PTaskStepMethWrapper(PythonBuiltinClassType.PTaskStepMethWrapper, getShape(PythonBuiltinClassType.PTaskStepMethWrapper), task, arg));
+    }
+
+    public final PTaskWakeupMethWrapper createTaskWakeupMethWrapper(PTask task) {
+        return trace(new PTaskWakeupMethWrapper(PythonBuiltinClassType.PTaskWakeupMethWrapper, getShape(PythonBuiltinClassType.PTaskWakeupMethWrapper), task));
+    }
+
     public final PGenericAlias createGenericAlias(Object cls, Object origin, Object arguments) {
         PTuple argumentsTuple;
         if (arguments instanceof PTuple) {
@@ -60,12 +60,55 @@ public final class NativeSequenceStorage extends SequenceStorage {
 
     private final ListStorageType elementType;
 
+    /*
+     * Number of running C extension calls that took the array of a list that was only moved to
+     * native memory for the duration of such calls, or -1 if this storage stays native.
+     */
+    private int scopedPins = -1;
+
     public NativeSequenceStorage(Object ptr, int length, int capacity, ListStorageType elementType) {
         super(length, capacity);
         this.ptr = ptr;
         this.elementType = elementType;
     }
 
+    /**
+     * Marks this storage as only needed while C extension calls use its array. Such calls must
+     * {@link #pin()} it.
+     */
+    public void markScoped() {
+        assert scopedPins == -1;
+        scopedPins = 0;
+    }
+
+    public boolean isScoped() {
+        return scopedPins >= 0;
+    }
+
+    /**
+     * Makes a scoped storage stay native, e.g. because its array escaped outside of a C extension
+     * call.
+     */
+    public void makePermanent() {
+        scopedPins = -1;
+    }
+
+    public void pin() {
+        assert isScoped();
+        scopedPins++;
+    }
+
+    /**
+     * Releases one pin and returns {@code true} if the storage is still scoped and no C extension
+     * call uses its array anymore.
+     */
+    public boolean unpin() {
+        if (scopedPins > 0) {
+            return --scopedPins == 0;
+        }
+        return false;
+    }
+
     public Object getPtr() {
         return ptr;
     }
@@ -28,14 +28,47 @@ package com.oracle.graal.python.runtime.sequence.storage;
 import static com.oracle.graal.python.nodes.truffle.TruffleStringMigrationHelpers.assertContainsNoJavaString;
 import static com.oracle.graal.python.nodes.truffle.TruffleStringMigrationHelpers.assertNoJavaString;
 
+import java.lang.ref.WeakReference;
 import java.util.Arrays;
 
 import com.oracle.graal.python.util.PythonUtils;
+import com.oracle.truffle.api.CompilerDirectives;
 
 public final class ObjectSequenceStorage extends BasicSequenceStorage {
 
+    /**
+     * Slices with step 1 of at least this many elements share the backing array of the sliced
+     * storage instead of copying it.
+     */
+    private static final int MIN_SHARED_SLICE_LENGTH = 32;
+
+    /**
+     * A shared slice may keep alive a backing array at most this many times larger than itself.
+     */
+    private static final int MAX_SHARED_SLICE_OVERHEAD = 4;
+
     private Object[] values;
 
+    /**
+     * Index of the first element in {@link #values}. Only non-zero in a slice that shares the
+     * backing array of another storage.
+     */
+    private int offset;
+
+    /**
+     * Non-null if this storage is a slice sharing {@link #values} with other storages. All slices
+     * of the same backing array hold the same token, which keeps {@link #sliceViews} of the sliced
+     * storage alive.
+     */
+    private Object viewToken;
+
+    /**
+     * Set if slices sharing {@link #values} were created from this storage. The referent is their
+     * {@link #viewToken}, so it is cleared once all of them are gone and the array can be written
+     * to again without copying.
+     */
+    private WeakReference<Object> sliceViews;
+
     public ObjectSequenceStorage(Object[] elements) {
         this.values = elements;
         this.capacity = elements.length;
@@ -56,19 +89,60 @@ public final class ObjectSequenceStorage extends BasicSequenceStorage {
         this.length = 0;
     }
 
+    private ObjectSequenceStorage(Object[] sharedValues, int offset, int length, Object viewToken) {
+        this.values = sharedValues;
+        this.offset = offset;
+        this.capacity = length;
+        this.length = length;
+        this.viewToken = viewToken;
+    }
+
+    /**
+     * Must be called before writing to {@link #values}. Copies the array if it may still be
+     * referenced by another storage.
+     */
+    private void ensureNotShared() {
+        if (CompilerDirectives.injectBranchProbability(CompilerDirectives.UNLIKELY_PROBABILITY, viewToken != null || sliceViews != null)) {
+            unshare();
+        }
+    }
+
+    private void unshare() {
+        if (viewToken != null || sliceViews.get() != null) {
+            values = PythonUtils.arrayCopyOfRange(values, offset, offset + capacity);
+            offset = 0;
+        }
+        viewToken = null;
+        sliceViews = null;
+    }
+
+    private Object getOrCreateViewToken() {
+        if (viewToken != null) {
+            return viewToken;
+        }
+        Object token = sliceViews != null ? sliceViews.get() : null;
+        if (token == null) {
+            token = new Object();
+            sliceViews = new WeakReference<>(token);
+        }
+        return token;
+    }
+
     @Override
     public Object getItemNormalized(int idx) {
-        return values[idx];
+        return values[offset + idx];
     }
 
     @Override
     public void setItemNormalized(int idx, Object value) {
+        ensureNotShared();
         values[idx] = assertNoJavaString(value);
     }
 
     @Override
     public void insertItem(int idx, Object value) {
         ensureCapacity(length + 1);
+        ensureNotShared();
 
         // shifting tail to the right by one slot
         for (int i = values.length - 1; i > idx; i--) {
@@ -81,19 +155,24 @@ public final class ObjectSequenceStorage extends BasicSequenceStorage {
 
     @Override
     public void copyItem(int idxTo, int idxFrom) {
+        ensureNotShared();
         values[idxTo] = values[idxFrom];
     }
 
     @Override
     public ObjectSequenceStorage getSliceInBound(int start, int stop, int step, int sliceLength) {
+        if (step == 1 && sliceLength >= MIN_SHARED_SLICE_LENGTH && sliceLength >= values.length / MAX_SHARED_SLICE_OVERHEAD) {
+            return new ObjectSequenceStorage(values, offset + start, sliceLength, getOrCreateViewToken());
+        }
+
         Object[] newArray = new Object[sliceLength];
 
         if (step == 1) {
-            PythonUtils.arraycopy(values, start, newArray, 0, sliceLength);
+            PythonUtils.arraycopy(values, offset + start, newArray, 0, sliceLength);
             return new ObjectSequenceStorage(newArray);
         }
 
-        for (int i = start, j = 0; j < sliceLength; i += step, j++) {
+        for (int i = offset + start, j = 0; j < sliceLength; i += step, j++) {
             newArray[j] = values[i];
         }
 
@@ -110,31 +189,54 @@ public final class ObjectSequenceStorage extends BasicSequenceStorage {
         return new ObjectSequenceStorage(newCapacity);
     }
 
+    /**
+     * Returns the backing array, starting at index 0. The caller may write to it, so a shared
+     * array is copied first.
+     */
     @Override
     public Object[] getInternalArray() {
+        ensureNotShared();
         return values;
     }
 
+    /**
+     * Returns the items as an array of exactly {@link #length()} elements without copying the
+     * backing array if it already has that shape. The caller must not write to the result.
+     */
+    public Object[] getItemsForReading() {
+        if (offset == 0 && values.length == length) {
+            return values;
+        }
+        return getCopyOfInternalArray();
+    }
+
     @Override
     public Object[] getCopyOfInternalArray() {
-        return PythonUtils.arrayCopyOf(values, length);
+        return PythonUtils.arrayCopyOfRange(values, offset, offset + length);
     }
 
     @Override
     public void increaseCapacityExactWithCopy(int newCapacity) {
-        values = PythonUtils.arrayCopyOf(values, newCapacity);
+        values = PythonUtils.arrayCopyOfRange(values, offset, offset + newCapacity);
         capacity = values.length;
+        offset = 0;
+        viewToken = null;
+        sliceViews = null;
     }
 
     @Override
     public void increaseCapacityExact(int newCapacity) {
         values = new Object[newCapacity];
         capacity = values.length;
+        offset = 0;
+        viewToken = null;
+        sliceViews = null;
     }
 
     @Override
     public void reverse() {
         if (length > 0) {
+            ensureNotShared();
             int head = 0;
             int tail = length - 1;
             int middle = (length - 1) / 2;
@@ -159,23 +261,35 @@ public final class ObjectSequenceStorage extends BasicSequenceStorage {
 
     @Override
     public boolean equals(SequenceStorage other) {
-        Object[] otherArray = other.getInternalArray();
-        return Arrays.equals(values, otherArray);
+        Object[] otherArray;
+        int otherOffset;
+        if (other instanceof ObjectSequenceStorage) {
+            otherArray = ((ObjectSequenceStorage) other).values;
+            otherOffset = ((ObjectSequenceStorage) other).offset;
+        } else {
+            otherArray = other.getInternalArray();
+            otherOffset = 0;
+        }
+        return Arrays.equals(values, offset, offset + length, otherArray, otherOffset, otherOffset + other.length());
     }
 
     @Override
     public Object getInternalArrayObject() {
+        ensureNotShared();
         return values;
     }
 
     @Override
     public Object getCopyOfInternalArrayObject() {
-        return Arrays.copyOf(values, length);
+        return getCopyOfInternalArray();
     }
 
     @Override
     public void setInternalArrayObject(Object arrayObject) {
         this.values = (Object[]) arrayObject;
+        this.offset = 0;
+        this.viewToken = null;
+        this.sliceViews = null;
         assertContainsNoJavaString(values);
     }
 
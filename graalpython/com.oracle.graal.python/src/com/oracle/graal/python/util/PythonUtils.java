@@ -465,13 +465,15 @@ public final class PythonUtils {
     }
 
     /**
-     * {@link System#gc()} does not force a GC, but the DiagnosticCommand "gcRun" does.
+     * {@link System#gc()} does not force a GC, but the DiagnosticCommand "gcRun" does. It is only
+     * used as a fallback, so that a single full GC is run.
      */
     @TruffleBoundary
     public static void forceFullGC() {
         if (OBJECT_NAME != null && SERVER != null) {
             try {
                 SERVER.invoke(OBJECT_NAME, OPERATION_NAME, PARAMS, SIGNATURE);
+                return;
             } catch (InstanceNotFoundException | ReflectionException | MBeanException e) {
                 // use fallback
             }
@@ -1179,6 +1179,13 @@ class Decimal(object):
             if other._isinfinity():
                 return Decimal(other)  # Can't both be infinity here
 
+        # Begin Truffle change
+        if _truffle_decimal is not None:
+            ans = _truffle_arith(_truffle_decimal.add, self, other, context)
+            if ans is not None:
+                return ans
+        # End Truffle change
+
         exp = min(self._exp, other._exp)
         negativezero = 0
         if context.rounding == ROUND_FLOOR and self._sign != other._sign:
@@ -1293,6 +1300,13 @@ class Decimal(object):
                     return context._raise_error(InvalidOperation, '0 * (+-)INF')
                 return _SignedInfinity[resultsign]
 
+        # Begin Truffle change
+        if _truffle_decimal is not None:
+            ans = _truffle_arith(_truffle_decimal.mul, self, other, context)
+            if ans is not None:
+                return ans
+        # End Truffle change
+
         resultexp = self._exp + other._exp
 
         # Special case for multiplying by zero
@@ -3843,6 +3857,36 @@ def _dec_from_triple(sign, coefficient, exponent, special=False):
 
     return self
 
+# Begin Truffle change
+# Exact arithmetic kernels for finite, non-zero operands. They return None
+# whenever the result needs more than plain rounding to the context precision.
+try:
+    import _decimal_truffle as _truffle_decimal
+except ImportError:
+    _truffle_decimal = None
+
+_TRUFFLE_ROUNDING = {ROUND_DOWN: 0, ROUND_HALF_UP: 1, ROUND_HALF_EVEN: 2,
+                     ROUND_CEILING: 3, ROUND_FLOOR: 4, ROUND_UP: 5,
+                     ROUND_HALF_DOWN: 6}
+
+def _truffle_arith(kernel, a, b, context):
+    rounding = _TRUFFLE_ROUNDING.get(context.rounding)
+    if rounding is None:
+        return None
+    result = kernel(a._sign, a._int, a._exp, b._sign, b._int, b._exp,
+                    context.prec, rounding, context.Emin, context.Emax,
+                    context.clamp)
+    if result is None:
+        return None
+    sign, coefficient, exp, flags = result
+    ans = _dec_from_triple(sign, coefficient, exp)
+    if flags & _truffle_decimal.INEXACT:
+        context._raise_error(Inexact)
+    if flags & _truffle_decimal.ROUNDED:
+        context._raise_error(Rounded)
+    return ans
+# End Truffle change
+
 # Register Decimal as a kind of Number (an abstract base class).
 # However, do not register it as Real (because Decimals are not
 # interoperable with floats).
@@ -13,6 +13,13 @@ import math as _math
 import sys
 from operator import index as _index
 
+# Begin Truffle change
+try:
+    import _datetime_truffle as _truffle_datetime
+except ImportError:
+    _truffle_datetime = None
+# End Truffle change
+
 def _cmp(x, y):
     return 0 if x == y else 1 if x > y else -1
 
@@ -159,6 +166,12 @@ def _build_struct_time(y, m, d, hh, mm, ss, dstflag):
     return _time.struct_time((y, m, d, hh, mm, ss, wday, dnum, dstflag))
 
 def _format_time(hh, mm, ss, us, timespec='auto'):
+    # Begin Truffle change
+    if _truffle_datetime is not None:
+        s = _truffle_datetime.format_time(hh, mm, ss, us, timespec)
+        if s is not None:
+            return s
+    # End Truffle change
     specs = {
         'hours': '{:02d}',
         'minutes': '{:02d}:{:02d}',
@@ -265,6 +278,12 @@ def _wrap_strftime(object, format, timetuple):
 def _parse_isoformat_date(dtstr):
     # It is assumed that this function will only be called with a
     # string of length exactly 10, and (though this is not used) ASCII-only
+    # Begin Truffle change
+    if _truffle_datetime is not None:
+        date_comps = _truffle_datetime.parse_isoformat_date(dtstr)
+        if date_comps is not None:
+            return date_comps
+    # End Truffle change
     year = int(dtstr[0:4])
     if dtstr[4] != '-':
         raise ValueError('Invalid date separator: %s' % dtstr[4])
@@ -319,6 +338,18 @@ def _parse_hh_mm_ss_ff(tstr):
 
 def _parse_isoformat_time(tstr):
     # Format supported is HH[:MM[:SS[.fff[fff]]]][+HH:MM[:SS[.ffffff]]]
+    # Begin Truffle change
+    if _truffle_datetime is not None:
+        time_comps = _truffle_datetime.parse_isoformat_time(tstr)
+        if time_comps is not None:
+            offset = time_comps[4]
+            if offset is not None:
+                if offset == 0:
+                    time_comps[4] = timezone.utc
+                else:
+                    time_comps[4] = timezone(timedelta(microseconds=offset))
+            return time_comps
+    # End Truffle change
     len_str = len(tstr)
     if len_str < 2:
         raise ValueError('Isoformat time too short')
@@ -470,6 +501,22 @@ class timedelta:
 
         # XXX Check that all inputs are ints or floats.
 
+        # Begin Truffle change
+        if _truffle_datetime is not None:
+            normalized = _truffle_datetime.normalize_timedelta(
+                days, seconds, microseconds, milliseconds, minutes, hours, weeks)
+            if normalized is not None:
+                d, s, us = normalized
+                if abs(d) > 999999999:
+                    raise OverflowError("timedelta # of days is too large: %d" % d)
+                self = object.__new__(cls)
+                self._days = d
+                self._seconds = s
+                self._microseconds = us
+                self._hashcode = -1
+                return self
+        # End Truffle change
+
         # Final values, all integer.
         # s and us fit in 32-bit signed ints; d isn't bounded.
         d = s = us = 0
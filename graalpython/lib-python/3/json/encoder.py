@@ -256,6 +256,31 @@ class JSONEncoder(object):
                 self.skipkeys, _one_shot)
         return _iterencode(o, 0)
 
+    # Begin Truffle change
+    def _dump(self, o, fp):
+        """Encode the given object and write it to fp in chunks using the
+        builtin encoder. Returns False if the builtin encoder cannot be used
+        and the caller has to fall back to iterencode.
+
+        """
+        if (c_make_encoder is None or self.indent is not None
+                or type(self).iterencode is not JSONEncoder.iterencode):
+            return False
+        if self.check_circular:
+            markers = {}
+        else:
+            markers = None
+        if self.ensure_ascii:
+            _encoder = encode_basestring_ascii
+        else:
+            _encoder = encode_basestring
+        c_make_encoder(
+            markers, self.default, _encoder, self.indent,
+            self.key_separator, self.item_separator, self.sort_keys,
+            self.skipkeys, self.allow_nan).dump(o, fp)
+        return True
+    # End Truffle change
+
 def _make_iterencode(markers, _default, _encoder, _indent, _floatstr,
         _key_separator, _item_separator, _sort_keys, _skipkeys, _one_shot,
         ## HACK: hand-optimized bytecode; turn globals into locals
@@ -85,6 +85,8 @@ MICRO_BENCHMARKS = {
     'list-sort-objects': ITER_10 + ['10_000'],
     'list-sort-strings': ITER_10 + ['500_000'],
     'list-sort-keyed': ITER_10 + ['50_000'],
+    'heapq-priority-queue': ITER_10 + ['2_000_000'],
+    'bisect-search': ITER_10 + ['2_000_000'],
     'dict-getitem-sized': ITER_10 + ['50_000_000'],
     'math-sqrt': ITER_10 + ['500000000'],
     'object-allocate': ITER_10 + ['5000'],
@@ -136,6 +138,8 @@ MICRO_BENCHMARKS_SMALL = {
     'list-iterating': ITER_6 + WARMUP_2 + ['25_000'],
     'list-iterating-obj-sized': ITER_6 + WARMUP_2 + ['1_000_000'],
     'list-constructions-sized': ITER_6 + WARMUP_2 + ['500'],
+    'heapq-priority-queue': ITER_6 + WARMUP_2 + ['50_000'],
+    'bisect-search': ITER_6 + WARMUP_2 + ['50_000'],
     'dict-getitem-sized': ITER_6 + WARMUP_2 + ['1_000_000'],
     'math-sqrt': ITER_6 + WARMUP_2 + ['20_000_000'],
     'object-allocate': ITER_6 + WARMUP_2 + ['50'],